@@ -0,0 +1,322 @@
+package ec.edu.uce.pokedex.client;
+
+import ec.edu.uce.pokedex.exception.UpstreamThrottledException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.*;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * Filtro de WebClient que limita las peticiones simultáneas a la API externa con un
+ * límite adaptativo (AIMD).
+ * <p>
+ * Cada respuesta correcta sube el límite en {@code 1/límite}, es decir, un permiso
+ * por ventana completa. Un 429, un 5xx, un error de conexión o un timeout lo reducen
+ * a la mitad, como mucho una vez por ventana. También lo reduce la congestión: que la
+ * latencia reciente (media móvil corta) supere en {@code latency-tolerance} veces a la
+ * habitual (media móvil larga). La línea base larga absorbe el jitter normal de la red
+ * y sigue a la API si se vuelve más lenta o más rápida de forma sostenida, así que un
+ * mínimo puntual nunca deja el límite encogido para siempre. Las peticiones que
+ * superan el límite esperan en cola en orden de llegada.
+ * <p>
+ * Una petición ocupa su hueco hasta que se termina de leer el cuerpo de la respuesta,
+ * no solo hasta las cabeceras; la latencia se mide hasta las cabeceras.
+ * <p>
+ * Las respuestas 429, 502, 503 y 504 y los errores de conexión se reintentan con
+ * espera exponencial con jitter, respetando Retry-After cuando el servidor lo envía.
+ * Agotados los reintentos se propaga {@link UpstreamThrottledException}.
+ */
+@Slf4j
+@Component
+public class AdaptiveConcurrencyLimiter implements ExchangeFilterFunction {
+
+    /**
+     * Peso de cada muestra en la media corta (unas 5 respuestas) y en la larga (unas 100).
+     */
+    private static final double SHORT_WEIGHT = 0.2;
+    private static final double LONG_WEIGHT = 0.01;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int maxRetries;
+    private final Duration minBackoff;
+    private final Duration maxBackoff;
+    private final double latencyTolerance;
+    private final LongSupplier nanoClock;
+
+    private final Deque<MonoSink<Permit>> waiters = new ArrayDeque<>();
+    private double limit;
+    private int inFlight;
+    private double shortLatencyNanos;
+    private double longLatencyNanos;
+    private long lastDecreaseNanos = Long.MIN_VALUE; // Todavía ninguna reducción
+
+    @Autowired
+    public AdaptiveConcurrencyLimiter(@Value("${pokedex.http-limiter.initial-limit:8}") int initialLimit,
+                                      @Value("${pokedex.http-limiter.min-limit:1}") int minLimit,
+                                      @Value("${pokedex.http-limiter.max-limit:32}") int maxLimit,
+                                      @Value("${pokedex.http-limiter.max-retries:4}") int maxRetries,
+                                      @Value("${pokedex.http-limiter.min-backoff:PT0.5S}") Duration minBackoff,
+                                      @Value("${pokedex.http-limiter.max-backoff:PT30S}") Duration maxBackoff,
+                                      @Value("${pokedex.http-limiter.latency-tolerance:2.0}") double latencyTolerance) {
+        this(initialLimit, minLimit, maxLimit, maxRetries, minBackoff, maxBackoff, latencyTolerance, System::nanoTime);
+    }
+
+    /**
+     * @param nanoClock Reloj en nanosegundos; las pruebas pasan uno controlado.
+     */
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, int maxRetries,
+                               Duration minBackoff, Duration maxBackoff, double latencyTolerance,
+                               LongSupplier nanoClock) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.maxRetries = maxRetries;
+        this.minBackoff = minBackoff;
+        this.maxBackoff = maxBackoff;
+        this.latencyTolerance = latencyTolerance;
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> attempt(request, next))
+                .retryWhen(Retry.from(signals -> signals.concatMap(signal -> {
+                    Throwable failure = signal.failure();
+                    if (signal.totalRetries() >= maxRetries || !isRetryable(failure)) {
+                        return Mono.error(failure);
+                    }
+                    Duration delay = backoff(signal.totalRetries(), failure);
+                    log.debug("Retrying {} in {} ms: {}", request.url(), delay.toMillis(), failure.getMessage());
+                    return Mono.delay(delay);
+                })));
+    }
+
+    /**
+     * @return El límite de peticiones simultáneas actual.
+     */
+    public synchronized int currentLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * @return Número de peticiones en curso.
+     */
+    public synchronized int inFlight() {
+        return inFlight;
+    }
+
+    /**
+     * Ejecuta un intento con un permiso del limitador y clasifica su resultado.
+     * <p>
+     * El permiso de una respuesta que se entrega se libera al terminar su cuerpo (por
+     * completarse, fallar o cancelarse), no al emitir la respuesta.
+     */
+    private Mono<ClientResponse> attempt(ClientRequest request, ExchangeFunction next) {
+        return Mono.usingWhen(acquire(),
+                permit -> next.exchange(request)
+                        .flatMap(response -> {
+                            HttpStatusCode status = response.statusCode();
+                            if (isThrottle(status)) {
+                                permit.release(false);
+                                Duration retryAfter = parseRetryAfter(response.headers().asHttpHeaders());
+                                return response.releaseBody()
+                                        .then(Mono.<ClientResponse>error(new UpstreamThrottledException(status.value(), retryAfter)));
+                            }
+                            permit.responded(!status.is5xxServerError());
+                            return Mono.just(response.mutate()
+                                    .body(body -> body.doFinally(signal -> permit.release()))
+                                    .build());
+                        }),
+                permit -> Mono.empty(), // El cuerpo libera el permiso
+                (permit, ex) -> Mono.fromRunnable(() -> permit.release(false)),
+                permit -> Mono.fromRunnable(permit::cancel));
+    }
+
+    /**
+     * Obtiene un permiso, esperando en cola si ya se alcanzó el límite.
+     */
+    private Mono<Permit> acquire() {
+        return Mono.create(sink -> {
+            synchronized (this) {
+                waiters.addLast(sink);
+            }
+            sink.onCancel(() -> {
+                synchronized (this) {
+                    waiters.remove(sink);
+                }
+            });
+            drain();
+        });
+    }
+
+    /**
+     * Entrega permisos a las peticiones en cola mientras haya hueco bajo el límite.
+     */
+    private void drain() {
+        while (true) {
+            MonoSink<Permit> sink;
+            synchronized (this) {
+                if (waiters.isEmpty() || inFlight >= (int) limit) {
+                    return;
+                }
+                sink = waiters.pollFirst();
+                inFlight++;
+            }
+            sink.success(new Permit(nanoClock.getAsLong()));
+        }
+    }
+
+    /**
+     * Ajusta el límite con el resultado de una petición y libera su hueco.
+     *
+     * @param success      {@code true} si la respuesta no indica sobrecarga del servidor.
+     * @param latencyNanos Tiempo hasta recibir la respuesta, o -1 si no aplica.
+     */
+    private void onComplete(boolean success, long latencyNanos) {
+        synchronized (this) {
+            inFlight--;
+            long now = nanoClock.getAsLong();
+            if (latencyNanos >= 0) {
+                updateLatency(latencyNanos);
+            }
+            boolean congested = !success || shortLatencyNanos > latencyTolerance * longLatencyNanos;
+            if (congested) {
+                // Una sola reducción por ventana: las respuestas de la misma ráfaga no cuentan dos veces
+                if (lastDecreaseNanos == Long.MIN_VALUE || now - lastDecreaseNanos > (long) shortLatencyNanos) {
+                    limit = Math.max(minLimit, limit / 2);
+                    lastDecreaseNanos = now;
+                    log.debug("PokeAPI concurrency limit decreased to {}", (int) limit);
+                }
+            } else {
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+        }
+        drain();
+    }
+
+    /**
+     * Actualiza las medias corta y larga con la latencia de una respuesta.
+     */
+    private void updateLatency(long latencyNanos) {
+        if (longLatencyNanos == 0) {
+            shortLatencyNanos = latencyNanos;
+            longLatencyNanos = latencyNanos;
+            return;
+        }
+        // La media corta reacciona en unas pocas respuestas; una lenta aislada no basta
+        shortLatencyNanos = (1 - SHORT_WEIGHT) * shortLatencyNanos + SHORT_WEIGHT * latencyNanos;
+        longLatencyNanos = (1 - LONG_WEIGHT) * longLatencyNanos + LONG_WEIGHT * latencyNanos;
+        if (longLatencyNanos > 2 * shortLatencyNanos) {
+            // La API vuelve a ir rápida: la línea base baja antes de lo que lo haría la media larga
+            longLatencyNanos *= 0.95;
+        }
+    }
+
+    private boolean isThrottle(HttpStatusCode status) {
+        return status.isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS)
+                || status.isSameCodeAs(HttpStatus.SERVICE_UNAVAILABLE)
+                || status.isSameCodeAs(HttpStatus.BAD_GATEWAY)
+                || status.isSameCodeAs(HttpStatus.GATEWAY_TIMEOUT);
+    }
+
+    private boolean isRetryable(Throwable failure) {
+        return failure instanceof UpstreamThrottledException || failure instanceof WebClientRequestException;
+    }
+
+    /**
+     * Espera exponencial con jitter completo, o la que pida Retry-After si es mayor.
+     */
+    private Duration backoff(long retry, Throwable failure) {
+        long ceiling = Math.min(maxBackoff.toMillis(), minBackoff.toMillis() << Math.min(retry, 20));
+        Duration delay = Duration.ofMillis(ThreadLocalRandom.current().nextLong(minBackoff.toMillis(), ceiling + 1));
+        if (failure instanceof UpstreamThrottledException throttled && throttled.getRetryAfter() != null
+                && throttled.getRetryAfter().compareTo(delay) > 0) {
+            return throttled.getRetryAfter().compareTo(maxBackoff) > 0 ? maxBackoff : throttled.getRetryAfter();
+        }
+        return delay;
+    }
+
+    /**
+     * Lee Retry-After, que puede venir en segundos o como fecha HTTP.
+     */
+    private Duration parseRetryAfter(HttpHeaders headers) {
+        String value = headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Long.parseLong(value.trim()));
+        } catch (NumberFormatException e) {
+            try {
+                Instant at = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+                Duration wait = Duration.between(Instant.now(), at);
+                return wait.isNegative() ? Duration.ZERO : wait;
+            } catch (DateTimeParseException ignored) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Hueco concedido a una petición; se libera una sola vez aunque la petición
+     * termine, falle y se cancele.
+     */
+    private final class Permit {
+        private final long acquiredAt;
+        private final AtomicBoolean released = new AtomicBoolean();
+        private volatile boolean success = true;
+        private volatile long latencyNanos = -1;
+
+        private Permit(long acquiredAt) {
+            this.acquiredAt = acquiredAt;
+        }
+
+        /**
+         * Anota el resultado al llegar las cabeceras; el hueco sigue ocupado hasta {@link #release()}.
+         */
+        private void responded(boolean success) {
+            this.success = success;
+            this.latencyNanos = nanoClock.getAsLong() - acquiredAt;
+        }
+
+        /**
+         * Libera el hueco con el resultado anotado en {@link #responded(boolean)}.
+         */
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                onComplete(success, latencyNanos);
+            }
+        }
+
+        private void release(boolean success) {
+            if (released.compareAndSet(false, true)) {
+                onComplete(success, nanoClock.getAsLong() - acquiredAt);
+            }
+        }
+
+        private void cancel() {
+            if (released.compareAndSet(false, true)) {
+                onComplete(true, -1);
+            }
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package ec.edu.uce.pokedex.client;
+
+import ec.edu.uce.pokedex.client.HttpResponseCache.CachedResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Optional;
+
+/**
+ * Filtro de WebClient que respalda las peticiones GET con {@link HttpResponseCache}.
+ * <p>
+ * Una entrada fresca se sirve desde disco sin tocar la red. Si la entrada está
+ * vencida, se pide a la API y se reemplaza; si la API falla (error de red o 5xx),
+ * se sirve la entrada vencida para que la aplicación siga funcionando. Las peticiones
+ * condicionales (If-None-Match / If-Modified-Since) de la sincronización pasan sin
+ * caché, porque necesitan la respuesta real del servidor.
+ * <p>
+ * El cuerpo de una respuesta nueva no se acumula antes de entregarlo: cada fragmento
+ * pasa al consumidor según llega y se copia a la vez para la caché. La copia se guarda
+ * solo si el cuerpo se consume entero y no supera {@code maxEntrySize}; los cuerpos
+ * mayores se transmiten igual, pero sin guardarse.
+ */
+@Slf4j
+public class CachingExchangeFilter implements ExchangeFilterFunction {
+
+    /**
+     * Cabecera añadida a las respuestas servidas desde la caché ("HIT" o "STALE").
+     */
+    public static final String CACHE_HEADER = "X-Pokedex-Cache";
+
+    private final HttpResponseCache cache;
+    private final ExchangeStrategies strategies;
+    private final long maxEntryBytes;
+
+    /**
+     * @param cache        Caché en disco donde se guardan las respuestas.
+     * @param strategies   Códecs con los que se leen las respuestas servidas desde la caché.
+     * @param maxEntrySize Tamaño máximo de un cuerpo que se guarda en la caché.
+     */
+    public CachingExchangeFilter(HttpResponseCache cache, ExchangeStrategies strategies, DataSize maxEntrySize) {
+        this.cache = cache;
+        this.strategies = strategies;
+        this.maxEntryBytes = maxEntrySize.toBytes();
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (!isCacheable(request)) {
+            return next.exchange(request);
+        }
+        String url = request.url().toString();
+        return Mono.fromCallable(() -> cache.get(url))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(cached -> cached.filter(CachedResponse::fresh)
+                        .map(fresh -> Mono.just(toResponse(fresh, "HIT")))
+                        .orElseGet(() -> fetchAndStore(request, next, url, cached)));
+    }
+
+    private boolean isCacheable(ClientRequest request) {
+        HttpHeaders headers = request.headers();
+        return HttpMethod.GET.equals(request.method())
+                && !headers.containsKey(HttpHeaders.IF_NONE_MATCH)
+                && !headers.containsKey(HttpHeaders.IF_MODIFIED_SINCE);
+    }
+
+    /**
+     * Pide el recurso a la API y, si la respuesta es 200, guarda su cuerpo cuando se termina de leer.
+     */
+    private Mono<ClientResponse> fetchAndStore(ClientRequest request, ExchangeFunction next,
+                                               String url, Optional<CachedResponse> stale) {
+        return next.exchange(request)
+                .flatMap(response -> {
+                    if (response.statusCode().is5xxServerError() && stale.isPresent()) {
+                        log.warn("Serving stale cache for {} after {}", url, response.statusCode());
+                        return response.releaseBody().thenReturn(toResponse(stale.get(), "STALE"));
+                    }
+                    if (!response.statusCode().isSameCodeAs(HttpStatus.OK)
+                            || response.headers().contentLength().orElse(0) > maxEntryBytes) {
+                        return Mono.just(response);
+                    }
+                    HttpHeaders headers = response.headers().asHttpHeaders();
+                    return Mono.just(response.mutate().body(body -> tee(body, url, headers)).build());
+                })
+                .onErrorResume(ex -> {
+                    if (stale.isEmpty()) {
+                        return Mono.error(ex);
+                    }
+                    log.warn("Serving stale cache for {} after error: {}", url, ex.getMessage());
+                    return Mono.just(toResponse(stale.get(), "STALE"));
+                });
+    }
+
+    /**
+     * Entrega el cuerpo sin retenerlo y guarda una copia en la caché al completarse.
+     * <p>
+     * Si el consumidor cancela, el cuerpo falla o la copia supera {@code maxEntrySize},
+     * no se guarda nada.
+     */
+    private Flux<DataBuffer> tee(Flux<DataBuffer> body, String url, HttpHeaders headers) {
+        return Flux.defer(() -> {
+            BoundedCopy copy = new BoundedCopy(maxEntryBytes);
+            return body.doOnNext(copy::append)
+                    .doOnComplete(() -> copy.bytes().ifPresent(bytes -> store(url, headers, bytes)));
+        });
+    }
+
+    private void store(String url, HttpHeaders headers, byte[] body) {
+        String contentType = headers.getContentType() == null ? null : headers.getContentType().toString();
+        Schedulers.boundedElastic().schedule(() -> cache.put(url, contentType, headers.getETag(),
+                headers.getFirst(HttpHeaders.LAST_MODIFIED), body));
+    }
+
+    /**
+     * Reconstruye una respuesta 200 a partir de una entrada de la caché.
+     */
+    private ClientResponse toResponse(CachedResponse cached, String cacheStatus) {
+        ClientResponse.Builder builder = ClientResponse.create(HttpStatus.OK, strategies)
+                .header(CACHE_HEADER, cacheStatus)
+                .body(Flux.defer(() -> Flux.just(wrap(cached.body()))));
+        if (cached.contentType() != null) {
+            builder.header(HttpHeaders.CONTENT_TYPE, cached.contentType());
+        }
+        if (cached.etag() != null) {
+            builder.header(HttpHeaders.ETAG, cached.etag());
+        }
+        if (cached.lastModified() != null) {
+            builder.header(HttpHeaders.LAST_MODIFIED, cached.lastModified());
+        }
+        return builder.build();
+    }
+
+    private DataBuffer wrap(byte[] body) {
+        return DefaultDataBufferFactory.sharedInstance.wrap(body);
+    }
+
+    /**
+     * Copia de los fragmentos de un cuerpo, que se descarta al superar el límite.
+     */
+    private static final class BoundedCopy {
+        private final long limit;
+        private ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        private BoundedCopy(long limit) {
+            this.limit = limit;
+        }
+
+        private void append(DataBuffer buffer) {
+            if (out == null) {
+                return;
+            }
+            int length = buffer.readableByteCount();
+            if (out.size() + length > limit) {
+                out = null; // Demasiado grande para la caché
+                return;
+            }
+            // Se copia sin mover la posición de lectura: el buffer sigue intacto para el consumidor
+            int position = buffer.readPosition();
+            byte[] chunk = new byte[length];
+            buffer.read(chunk);
+            buffer.readPosition(position);
+            out.write(chunk, 0, length);
+        }
+
+        private Optional<byte[]> bytes() {
+            return Optional.ofNullable(out).map(ByteArrayOutputStream::toByteArray);
+        }
+    }
+}
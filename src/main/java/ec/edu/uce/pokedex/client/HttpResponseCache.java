@@ -0,0 +1,252 @@
+package ec.edu.uce.pokedex.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Caché en disco de respuestas de la API externa, indexada por URL.
+ * <p>
+ * Cada respuesta se guarda en un archivo cuyo nombre es el SHA-256 de la URL, con
+ * una cabecera de metadatos (fecha, tipo de contenido y validadores) seguida del
+ * cuerpo comprimido con gzip. Una entrada es fresca durante {@code ttl}; después
+ * sigue disponible como respaldo hasta {@code max-stale} por si la API no responde.
+ * Cuando el tamaño total supera {@code max-size} se eliminan primero las entradas
+ * usadas hace más tiempo.
+ */
+@Slf4j
+@Component
+public class HttpResponseCache {
+
+    private static final String SUFFIX = ".cache";
+
+    private final Path directory;
+    private final Duration ttl;
+    private final Duration maxStale;
+    private final long maxSizeBytes;
+    private final Map<String, IndexEntry> index = new ConcurrentHashMap<>();
+    private final AtomicLong totalBytes = new AtomicLong();
+
+    public HttpResponseCache(@Value("${pokedex.http-cache.dir:${user.home}/.pokedex/http-cache}") Path directory,
+                             @Value("${pokedex.http-cache.ttl:P1D}") Duration ttl,
+                             @Value("${pokedex.http-cache.max-stale:P30D}") Duration maxStale,
+                             @Value("${pokedex.http-cache.max-size:256MB}") DataSize maxSize) throws IOException {
+        this.directory = directory;
+        this.ttl = ttl;
+        this.maxStale = maxStale;
+        this.maxSizeBytes = maxSize.toBytes();
+        Files.createDirectories(directory);
+        loadIndex();
+    }
+
+    /**
+     * Busca la respuesta guardada para una URL.
+     *
+     * @param url URL completa de la petición.
+     * @return La entrada guardada, fresca o no, si existe y no ha caducado del todo.
+     */
+    public Optional<CachedResponse> get(String url) {
+        String key = keyOf(url);
+        IndexEntry entry = index.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(entry.file())))) {
+            Instant storedAt = Instant.ofEpochMilli(in.readLong());
+            if (storedAt.plus(maxStale).isBefore(Instant.now())) {
+                remove(key);
+                return Optional.empty();
+            }
+            String contentType = readNullable(in);
+            String etag = readNullable(in);
+            String lastModified = readNullable(in);
+            byte[] body;
+            try (InputStream gzip = new GZIPInputStream(in)) {
+                body = gzip.readAllBytes();
+            }
+            entry.touch();
+            return Optional.of(new CachedResponse(storedAt, contentType, etag, lastModified, body,
+                    storedAt.plus(ttl).isAfter(Instant.now())));
+        } catch (IOException e) {
+            log.warn("Discarding unreadable cache entry for {}: {}", url, e.getMessage());
+            remove(key);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Guarda el cuerpo de una respuesta para una URL, reemplazando la entrada anterior.
+     * <p>
+     * El archivo se escribe en uno temporal y se mueve al final, así que una lectura
+     * concurrente nunca ve una entrada a medio escribir.
+     *
+     * @param url          URL completa de la petición.
+     * @param contentType  Tipo de contenido de la respuesta.
+     * @param etag         ETag de la respuesta, si lo tiene.
+     * @param lastModified Last-Modified de la respuesta, si lo tiene.
+     * @param body         Cuerpo sin comprimir.
+     */
+    public void put(String url, String contentType, String etag, String lastModified, byte[] body) {
+        String key = keyOf(url);
+        Path file = directory.resolve(key + SUFFIX);
+        try {
+            Path temp = Files.createTempFile(directory, key, ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeLong(Instant.now().toEpochMilli());
+                writeNullable(out, contentType);
+                writeNullable(out, etag);
+                writeNullable(out, lastModified);
+                try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                    gzip.write(body);
+                }
+            }
+            long size = Files.size(temp);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            IndexEntry previous = index.put(key, new IndexEntry(file, size));
+            totalBytes.addAndGet(size - (previous == null ? 0 : previous.size()));
+        } catch (IOException e) {
+            log.warn("Could not cache response for {}: {}", url, e.getMessage());
+            return;
+        }
+        if (totalBytes.get() > maxSizeBytes) {
+            evict();
+        }
+    }
+
+    /**
+     * @return Tamaño total de la caché en disco, en bytes.
+     */
+    public long sizeInBytes() {
+        return totalBytes.get();
+    }
+
+    /**
+     * Elimina las entradas menos usadas hasta dejar la caché en el 90 % de su límite.
+     */
+    private synchronized void evict() {
+        long target = maxSizeBytes * 9 / 10;
+        List<String> leastRecentlyUsed = index.entrySet().stream()
+                .sorted(Comparator.comparingLong(e -> e.getValue().lastAccess()))
+                .map(Map.Entry::getKey)
+                .toList();
+        for (String key : leastRecentlyUsed) {
+            if (totalBytes.get() <= target) {
+                break;
+            }
+            remove(key);
+        }
+    }
+
+    private void remove(String key) {
+        IndexEntry entry = index.remove(key);
+        if (entry == null) {
+            return;
+        }
+        totalBytes.addAndGet(-entry.size());
+        try {
+            Files.deleteIfExists(entry.file());
+        } catch (IOException e) {
+            log.warn("Could not delete cache entry {}: {}", entry.file(), e.getMessage());
+        }
+    }
+
+    /**
+     * Reconstruye el índice en memoria a partir de los archivos del directorio.
+     */
+    private void loadIndex() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                String name = file.getFileName().toString();
+                try {
+                    if (name.endsWith(".tmp")) {
+                        Files.deleteIfExists(file); // Escritura interrumpida
+                    } else if (name.endsWith(SUFFIX)) {
+                        IndexEntry entry = new IndexEntry(file, Files.size(file));
+                        entry.lastAccess = Files.getLastModifiedTime(file).toMillis();
+                        index.put(name.substring(0, name.length() - SUFFIX.length()), entry);
+                        totalBytes.addAndGet(entry.size());
+                    }
+                } catch (IOException e) {
+                    log.warn("Skipping cache file {}: {}", file, e.getMessage());
+                }
+            });
+        }
+        log.info("HTTP cache at {} holds {} entries ({} bytes)", directory, index.size(), totalBytes.get());
+    }
+
+    private String keyOf(String url) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(url.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeUTF(value == null ? "" : value);
+    }
+
+    private String readNullable(DataInputStream in) throws IOException {
+        String value = in.readUTF();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Respuesta leída de la caché.
+     *
+     * @param fresh {@code true} si todavía no ha superado el TTL.
+     */
+    public record CachedResponse(Instant storedAt, String contentType, String etag, String lastModified,
+                                 byte[] body, boolean fresh) {
+    }
+
+    /**
+     * Archivo de una entrada y su último acceso, para el desalojo LRU.
+     */
+    private static final class IndexEntry {
+        private final Path file;
+        private final long size;
+        private volatile long lastAccess = System.currentTimeMillis();
+
+        private IndexEntry(Path file, long size) {
+            this.file = file;
+            this.size = size;
+        }
+
+        private Path file() {
+            return file;
+        }
+
+        private long size() {
+            return size;
+        }
+
+        private long lastAccess() {
+            return lastAccess;
+        }
+
+        private void touch() {
+            lastAccess = System.currentTimeMillis();
+        }
+    }
+}
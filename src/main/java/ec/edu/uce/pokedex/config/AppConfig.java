@@ -1,26 +1,121 @@
 package ec.edu.uce.pokedex.config;
 
+import ec.edu.uce.pokedex.client.AdaptiveConcurrencyLimiter;
+import ec.edu.uce.pokedex.client.CachingExchangeFilter;
+import ec.edu.uce.pokedex.client.HttpResponseCache;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.codec.CodecCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Configuration
+@EnableScheduling // Sincronización periódica con PokeAPI
 public class AppConfig {
 
+    /**
+     * Nombre o id de un recurso de la API en una ruta, p. ej. {@code /pokemon/pikachu}.
+     */
+    private static final String RESOURCE_ID = "(/(?:pokemon|pokemon-species|evolution-chain)/)[^/?]+";
+
     /**
      * Configuración del cliente WebClient para interactuar con la API de PokeAPI.
+     * <p>
+     * Las peticiones GET pasan por {@link CachingExchangeFilter}, que sirve desde disco
+     * las respuestas repetidas y las vencidas cuando la API no responde. Solo lo que
+     * llega a la red pasa por {@link AdaptiveConcurrencyLimiter}, que acota las
+     * peticiones simultáneas y reintenta las respuestas 429/5xx.
+     * <p>
+     * El builder de Spring Boot ya mide cada petición en {@code http.client.requests}
+     * (latencia por URI, método y código de estado); el conector añade las métricas de
+     * Reactor Netty, incluidas las conexiones activas, ociosas y pendientes del pool.
      *
-     * @param builder WebClient.Builder proporcionado por Spring.
-     * @return WebClient configurado con base URL y límite de memoria.
+     * @param builder WebClient.Builder proporcionado por Spring, con sus códecs.
+     * @param codecCustomizers Personalizaciones de los códecs de Spring Boot.
+     * @param httpResponseCache Caché en disco de respuestas de la API.
+     * @param maxCacheEntrySize Tamaño máximo de una respuesta que se guarda en la caché.
+     * @param concurrencyLimiter Limitador adaptativo de peticiones a la API.
+     * @param pokeApiConnections Pool de conexiones HTTP hacia la API.
+     * @return WebClient configurado con base URL, caché y limitador.
      */
     @Bean
-    public WebClient webClient(WebClient.Builder builder) {
+    public WebClient webClient(WebClient.Builder builder, ObjectProvider<CodecCustomizer> codecCustomizers,
+                               HttpResponseCache httpResponseCache,
+                               @Value("${pokedex.http-cache.max-entry-size:4MB}") DataSize maxCacheEntrySize,
+                               AdaptiveConcurrencyLimiter concurrencyLimiter, ConnectionProvider pokeApiConnections) {
+        // Las respuestas servidas desde la caché se leen con los mismos códecs que el builder
+        ExchangeStrategies strategies = ExchangeStrategies.builder()
+                .codecs(configurer -> codecCustomizers.orderedStream().forEach(customizer -> customizer.customize(configurer)))
+                .build();
         return builder
                 .baseUrl("https://pokeapi.co/api/v2")
-                .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(10 * 1024 * 1024)) // 10 MB
-                .clientConnector(new ReactorClientHttpConnector(HttpClient.create().wiretap(true)))
+                .filter(new CachingExchangeFilter(httpResponseCache, strategies, maxCacheEntrySize)) // Primero la caché
+                .filter(concurrencyLimiter) // Después el limitador, solo para lo que va a la red
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(pokeApiConnections)
+                        .metrics(true, uri -> uri.replaceAll(RESOURCE_ID, "$1{id}")) // Sin un tag por Pokémon
+                        .wiretap(true)))
                 .build();
     }
+
+    /**
+     * Límite de memoria de los códecs que acumulan el cuerpo entero ({@code bodyToMono}).
+     * <p>
+     * 2 MB bastan para el índice, las especies y las cadenas evolutivas; los recursos
+     * {@code /pokemon} se decodifican en streaming y no pasan por este límite.
+     *
+     * @return Personalización aplicada por Spring Boot a los códecs del WebClient.
+     */
+    @Bean
+    public CodecCustomizer pokeApiCodecLimits() {
+        return configurer -> configurer.defaultCodecs().maxInMemorySize(2 * 1024 * 1024);
+    }
+
+    /**
+     * Pool de conexiones hacia la API, con métricas ({@code reactor.netty.connection.provider.*}).
+     *
+     * @return El pool de conexiones.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider pokeApiConnections() {
+        return ConnectionProvider.builder("pokeapi").metrics(true).build();
+    }
+
+    /**
+     * Ejecutor compartido de hilos virtuales para el trabajo bloqueante que lanzan las vistas.
+     * <p>
+     * Cada tarea obtiene su propio hilo virtual, de modo que una consulta, una petición
+     * HTTP o la carga de una imagen pueden bloquear sin limitar cuántas se ejecutan a la vez.
+     *
+     * @return Ejecutor de un hilo virtual por tarea.
+     */
+    @Bean(destroyMethod = "close")
+    public ExecutorService uiTaskExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("ui-task-", 0).factory());
+    }
+
+    /**
+     * Ejecutor dedicado a las consultas que las vistas lanzan a través de
+     * {@code PokedexDataService}.
+     * <p>
+     * Tiene tantos hilos como conexiones el pool de Hikari: más hilos solo esperarían una
+     * conexión, y las consultas que sobran aguardan en la cola, de donde se pueden cancelar
+     * sin haber tocado la base de datos.
+     *
+     * @param threads Número de hilos ({@code pokedex.data-access.threads}).
+     * @return Ejecutor de tamaño fijo para el acceso a datos.
+     */
+    @Bean(destroyMethod = "close")
+    public ExecutorService dataAccessExecutor(@Value("${pokedex.data-access.threads:10}") int threads) {
+        return Executors.newFixedThreadPool(threads, Thread.ofPlatform().name("data-access-", 0).daemon().factory());
+    }
 }
@@ -0,0 +1,74 @@
+package ec.edu.uce.pokedex.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Cachés en memoria de la capa de servicio.
+ * <p>
+ * Cada región es una caché Caffeine (W-TinyLFU) con un número máximo de entradas y
+ * un tiempo de vida desde la escritura, y registra sus estadísticas de aciertos,
+ * fallos y desalojos. Solo existen las regiones declaradas aquí: un nombre de caché
+ * desconocido en un {@code @Cacheable} falla en lugar de crear una región sin límites. {@link ec.edu.uce.pokedex.service.PokemonBatchWriter} las
+ * invalida cuando confirma un lote.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /**
+     * Páginas de tarjetas de la página de inicio, por id de inicio o fin y tamaño.
+     */
+    public static final String POKEMON_PAGES = "pokemonPages";
+    /**
+     * Detalle de un Pokémon por nombre en minúsculas.
+     */
+    public static final String POKEMON_BY_NAME = "pokemonByName";
+    /**
+     * Estadísticas de un Pokémon por nombre en minúsculas.
+     */
+    public static final String POKEMON_STATS = "pokemonStats";
+    /**
+     * Pokémon de un tipo por nombre del tipo en minúsculas.
+     */
+    public static final String TYPE_MEMBERS = "typeMembers";
+    /**
+     * Sprites de un Pokémon por nombre en minúsculas.
+     */
+    public static final String SPRITES = "sprites";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${pokedex.cache.ttl:PT30M}") Duration ttl,
+                                     @Value("${pokedex.cache.pages.max-size:64}") long pages,
+                                     @Value("${pokedex.cache.names.max-size:512}") long names,
+                                     @Value("${pokedex.cache.stats.max-size:512}") long stats,
+                                     @Value("${pokedex.cache.type-members.max-size:32}") long typeMembers,
+                                     @Value("${pokedex.cache.sprites.max-size:1024}") long sprites) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAllowNullValues(false); // Un Pokémon que falta puede llegar con la próxima ingesta
+        cacheManager.registerCustomCache(POKEMON_PAGES, region(pages, ttl));
+        cacheManager.registerCustomCache(POKEMON_BY_NAME, region(names, ttl));
+        cacheManager.registerCustomCache(POKEMON_STATS, region(stats, ttl));
+        cacheManager.registerCustomCache(TYPE_MEMBERS, region(typeMembers, ttl));
+        cacheManager.registerCustomCache(SPRITES, region(sprites, ttl));
+        cacheManager.setCacheNames(List.of()); // Sin regiones dinámicas
+        return cacheManager;
+    }
+
+    private Cache<Object, Object> region(long maximumSize, Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+}
@@ -0,0 +1,204 @@
+package ec.edu.uce.pokedex.config;
+
+import ec.edu.uce.pokedex.util.ApiUrls;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+
+/**
+ * Migra los movimientos, tipos y habilidades copiados por Pokémon a los catálogos compartidos.
+ * <p>
+ * Antes cada Pokémon tenía sus propias filas en {@code move}, {@code type} y
+ * {@code ability} (con {@code pokemon_id}). Al arrancar, si esas tablas existen, sus
+ * filas se reparten entre el catálogo (una fila por id de la API) y la tabla de unión
+ * correspondiente; después se quitan sus claves foráneas hacia {@code pokemon} y la
+ * tabla antigua se renombra a {@code *_legacy}, de modo que la copia de respaldo no
+ * impide borrar ni reemplazar Pokémon. Solo se insertan las filas que faltan, así que
+ * una migración interrumpida se completa en el siguiente arranque.
+ * <p>
+ * El id de la API se obtiene de la URL en Java y las sentencias son SQL estándar, de
+ * modo que la migración funciona igual en MySQL que en H2.
+ */
+@Slf4j
+@Component("catalogMigration")
+@DependsOn("entityManagerFactory") // Las tablas nuevas las crea Hibernate (ddl-auto=update)
+public class CatalogMigration implements InitializingBean {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CatalogMigration(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (tableExists("move")) {
+            List<LegacyRow> rows = legacyRows("SELECT id, pokemon_id, name, url, 0, FALSE FROM move");
+            int catalogRows = insertCatalog("move_catalog", rows);
+            int memberships = insertMissing(
+                    "SELECT pokemon_id, move_id FROM pokemon_learnset",
+                    "INSERT INTO pokemon_learnset (pokemon_id, move_id) VALUES (?, ?)",
+                    rows.stream()
+                            .filter(row -> row.pokemonId() != null)
+                            .map(row -> List.<Object>of(row.pokemonId(), row.apiId()))
+                            .distinct()
+                            .toList(),
+                    2);
+            retire("move", catalogRows, memberships);
+        }
+        if (tableExists("type")) {
+            List<LegacyRow> rows = legacyRows("SELECT id, pokemon_id, name, url, slot, FALSE FROM type");
+            int catalogRows = insertCatalog("type_catalog", rows);
+            int memberships = insertMissing(
+                    "SELECT pokemon_id, type_id FROM pokemon_type_membership",
+                    "INSERT INTO pokemon_type_membership (pokemon_id, type_id, slot) VALUES (?, ?, ?)",
+                    typeMemberships(rows),
+                    2);
+            retire("type", catalogRows, memberships);
+        }
+        if (tableExists("ability")) {
+            List<LegacyRow> rows = legacyRows("SELECT id, pokemon_id, name, url, slot, is_hidden FROM ability");
+            int catalogRows = insertCatalog("ability_catalog", rows);
+            // Se conservan los ids para que la secuencia de pokemon_ability siga por encima
+            int memberships = insertMissing(
+                    "SELECT id FROM pokemon_ability",
+                    "INSERT INTO pokemon_ability (id, pokemon_id, ability_id, is_hidden, slot) VALUES (?, ?, ?, ?, ?)",
+                    rows.stream()
+                            .filter(row -> row.pokemonId() != null)
+                            .map(row -> List.<Object>of(row.id(), row.pokemonId(), row.apiId(),
+                                    row.hidden(), row.slot()))
+                            .toList(),
+                    1);
+            retire("ability", catalogRows, memberships);
+        }
+    }
+
+    /**
+     * Lee las filas de una tabla antigua con su id de la API; descarta las que no tienen URL.
+     *
+     * @param select Consulta que devuelve id, pokemon_id, name, url, slot e is_hidden, en ese orden.
+     */
+    private List<LegacyRow> legacyRows(String select) {
+        return jdbcTemplate.query(select, (rs, rowNum) -> new LegacyRow(rs.getLong(1),
+                        rs.getObject(2) == null ? null : rs.getInt(2), ApiUrls.idOf(rs.getString(4)),
+                        rs.getString(3), rs.getString(4), rs.getInt(5), rs.getBoolean(6))).stream()
+                .filter(row -> row.apiId() > 0)
+                .toList();
+    }
+
+    /**
+     * Inserta en el catálogo una fila por id de la API que todavía no esté.
+     */
+    private int insertCatalog(String catalog, List<LegacyRow> rows) {
+        Map<Integer, List<Object>> byApiId = new LinkedHashMap<>();
+        rows.forEach(row -> byApiId.putIfAbsent(row.apiId(), List.of(row.apiId(), row.name(), row.url())));
+        return insertMissing("SELECT id FROM " + catalog,
+                "INSERT INTO " + catalog + " (id, name, url) VALUES (?, ?, ?)",
+                List.copyOf(byApiId.values()), 1);
+    }
+
+    /**
+     * Tipos de cada Pokémon en el orden de su slot de la API.
+     * <p>
+     * La columna {@code slot} de la tabla de unión es el índice de la lista, que empieza
+     * en 1 ({@code @ListIndexBase(1)}) y no admite huecos; el slot guardado en la tabla
+     * antigua sí puede tenerlos, así que se renumera.
+     */
+    private List<List<Object>> typeMemberships(List<LegacyRow> rows) {
+        Map<Integer, List<LegacyRow>> byPokemon = new TreeMap<>();
+        rows.stream()
+                .filter(row -> row.pokemonId() != null)
+                .forEach(row -> byPokemon.computeIfAbsent(row.pokemonId(), id -> new ArrayList<>()).add(row));
+        List<List<Object>> memberships = new ArrayList<>();
+        byPokemon.forEach((pokemonId, types) -> {
+            types.sort(Comparator.comparingInt(LegacyRow::slot));
+            for (int index = 0; index < types.size(); index++) {
+                memberships.add(List.of(pokemonId, types.get(index).apiId(), index + 1));
+            }
+        });
+        return memberships;
+    }
+
+    /**
+     * Inserta las filas cuya clave (las primeras {@code keyColumns} columnas) no existe aún.
+     *
+     * @param existingKeys Consulta que devuelve las claves ya guardadas.
+     * @return Filas insertadas.
+     */
+    private int insertMissing(String existingKeys, String insert, List<List<Object>> rows, int keyColumns) {
+        Set<List<Object>> existing = new HashSet<>();
+        jdbcTemplate.query(existingKeys, (ResultSet rs) -> {
+            List<Object> key = new ArrayList<>(keyColumns);
+            for (int column = 1; column <= keyColumns; column++) {
+                key.add(rs.getLong(column));
+            }
+            existing.add(key);
+        });
+        List<Object[]> missing = rows.stream()
+                .filter(row -> !existing.contains(row.subList(0, keyColumns).stream()
+                        .map(value -> (Object) ((Number) value).longValue())
+                        .toList()))
+                .map(List::toArray)
+                .toList();
+        if (!missing.isEmpty()) {
+            jdbcTemplate.batchUpdate(insert, missing);
+        }
+        return missing.size();
+    }
+
+    /**
+     * Quita las claves foráneas de una tabla ya migrada y la renombra a {@code *_legacy}.
+     */
+    private void retire(String legacyTable, int catalogRows, int membershipRows) {
+        for (String foreignKey : foreignKeys(legacyTable)) {
+            jdbcTemplate.execute("ALTER TABLE " + legacyTable + " DROP CONSTRAINT " + foreignKey);
+        }
+        jdbcTemplate.execute("ALTER TABLE " + legacyTable + " RENAME TO " + legacyTable + "_legacy");
+        log.info("Migrated {} into {} catalog rows and {} membership rows", legacyTable, catalogRows, membershipRows);
+    }
+
+    private boolean tableExists(String table) {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            try (ResultSet tables = metaData.getTables(connection.getCatalog(), connection.getSchema(),
+                    identifier(metaData, table), new String[]{"TABLE"})) {
+                return tables.next();
+            }
+        }));
+    }
+
+    private List<String> foreignKeys(String table) {
+        return jdbcTemplate.execute((ConnectionCallback<List<String>>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            Set<String> names = new LinkedHashSet<>();
+            try (ResultSet keys = metaData.getImportedKeys(connection.getCatalog(), connection.getSchema(),
+                    identifier(metaData, table))) {
+                while (keys.next()) {
+                    names.add(keys.getString("FK_NAME"));
+                }
+            }
+            return List.copyOf(names);
+        });
+    }
+
+    /**
+     * Nombre de tabla tal como lo guarda la base de datos (H2 lo pasa a mayúsculas).
+     */
+    private String identifier(DatabaseMetaData metaData, String name) throws SQLException {
+        return metaData.storesUpperCaseIdentifiers() ? name.toUpperCase(Locale.ROOT) : name;
+    }
+
+    /**
+     * Fila de una tabla antigua por Pokémon.
+     */
+    private record LegacyRow(long id, Integer pokemonId, int apiId, String name, String url, int slot, boolean hidden) {
+    }
+}
@@ -0,0 +1,76 @@
+package ec.edu.uce.pokedex.config;
+
+import ec.edu.uce.pokedex.jfr.ServiceLookupEvent;
+import ec.edu.uce.pokedex.service.QueryStatisticsService;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Emite un {@link ServiceLookupEvent} por cada llamada a un método {@code @Cacheable}
+ * de los servicios mientras hay una grabación de Flight Recorder que lo pida.
+ * <p>
+ * El aspecto va por fuera del interceptor de caché, así que si la llamada no llega a
+ * ningún repositorio es que se sirvió desde la caché. Las llamadas a repositorios que
+ * ocurren dentro de la consulta, en el mismo hilo, se cuentan junto con las filas que
+ * devuelven. Sin grabación, el único coste es comprobar si el evento está activo.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class FlightRecorderAspect {
+
+    private static final ThreadLocal<ServiceLookupEvent> CURRENT = new ThreadLocal<>();
+
+    @Around("@annotation(org.springframework.cache.annotation.Cacheable)")
+    public Object recordLookup(ProceedingJoinPoint joinPoint) throws Throwable {
+        ServiceLookupEvent event = new ServiceLookupEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        ServiceLookupEvent outer = CURRENT.get();
+        CURRENT.set(event);
+        event.begin();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            event.end();
+            restore(outer);
+            if (event.shouldCommit()) {
+                event.operation = joinPoint.getSignature().getDeclaringType().getSimpleName()
+                        + "." + joinPoint.getSignature().getName();
+                event.key = Arrays.stream(joinPoint.getArgs())
+                        .map(String::valueOf)
+                        .collect(Collectors.joining(", "));
+                event.cacheHit = event.repositoryCalls == 0;
+                event.commit();
+            }
+        }
+    }
+
+    @Around("execution(* ec.edu.uce.pokedex.repository..*(..))")
+    public Object countRows(ProceedingJoinPoint joinPoint) throws Throwable {
+        ServiceLookupEvent event = CURRENT.get();
+        if (event == null) {
+            return joinPoint.proceed(); // Fuera de una consulta con caché o sin grabación
+        }
+        Object result = joinPoint.proceed();
+        event.repositoryCalls++;
+        event.rows += QueryStatisticsService.rowsOf(result);
+        return result;
+    }
+
+    private static void restore(ServiceLookupEvent outer) {
+        if (outer == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(outer);
+        }
+    }
+}
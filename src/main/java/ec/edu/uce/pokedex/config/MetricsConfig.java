@@ -0,0 +1,53 @@
+package ec.edu.uce.pokedex.config;
+
+import ec.edu.uce.pokedex.service.ImageCacheService;
+import ec.edu.uce.pokedex.service.ImageLoadScheduler;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Métricas propias de la Pokédex que no salen de la autoconfiguración de Spring Boot.
+ * <p>
+ * Spring Boot ya registra el WebClient ({@code http.client.requests}), los repositorios
+ * ({@code spring.data.repository.invocations}), las cachés de {@link CacheConfig}
+ * ({@code cache.*}) y el pool de Hikari ({@code hikaricp.*}); los servicios los mide
+ * {@link ServiceMetricsAspect}. Aquí se añaden las capas de la caché de imágenes y la cola
+ * de cargas de imágenes. {@code MetricsDumpService} vuelca todo periódicamente a disco.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Imágenes servidas por cada capa de {@link ImageCacheService} y cargas en cola.
+     *
+     * @param imageCacheService Caché de imágenes compartida por las vistas.
+     * @param imageLoadScheduler Cola central de cargas de imágenes.
+     * @return El registrador de las métricas de imágenes.
+     */
+    @Bean
+    public MeterBinder imageMetrics(ImageCacheService imageCacheService, ImageLoadScheduler imageLoadScheduler) {
+        return registry -> {
+            registerTier(registry, imageCacheService, "memory", ImageCacheService::memoryHits);
+            registerTier(registry, imageCacheService, "variant", ImageCacheService::variantHits);
+            registerTier(registry, imageCacheService, "disk", ImageCacheService::diskHits);
+            registerTier(registry, imageCacheService, "network", ImageCacheService::networkFetches);
+            Gauge.builder("pokedex.image.loader.queued", imageLoadScheduler, ImageLoadScheduler::queuedCount)
+                    .description("Cargas de imágenes esperando turno")
+                    .register(registry);
+        };
+    }
+
+    private static void registerTier(MeterRegistry registry, ImageCacheService images, String tier,
+                                     ToDoubleFunction<ImageCacheService> count) {
+        FunctionCounter.builder("pokedex.image.cache.requests", images, count)
+                .description("Imágenes servidas por cada capa de la caché")
+                .tag("tier", tier)
+                .register(registry);
+    }
+}
@@ -0,0 +1,58 @@
+package ec.edu.uce.pokedex.config;
+
+import ec.edu.uce.pokedex.service.QueryStatisticsService;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Abre en {@link QueryStatisticsService} una operación por cada consulta de las vistas:
+ * búsqueda por nombre, página de la Home, Pokémon de un tipo, estadísticas y sprites.
+ * Los lotes de ingesta los registra {@code PokemonBatchWriter}, que se llama a sí mismo.
+ * <p>
+ * Las llamadas que se sirven desde la caché no llegan a la base de datos y no se registran.
+ */
+@Aspect
+@Component
+public class QueryStatisticsAspect {
+
+    private final QueryStatisticsService queryStatistics;
+
+    public QueryStatisticsAspect(QueryStatisticsService queryStatistics) {
+        this.queryStatistics = queryStatistics;
+    }
+
+    @Around("execution(* ec.edu.uce.pokedex.service.PokeService.getPokemonByName(..))")
+    public Object search(ProceedingJoinPoint joinPoint) throws Throwable {
+        return track(QueryStatisticsService.SEARCH, joinPoint);
+    }
+
+    @Around("execution(* ec.edu.uce.pokedex.service.PokeServiceDto.getPage*(..))")
+    public Object page(ProceedingJoinPoint joinPoint) throws Throwable {
+        return track(QueryStatisticsService.PAGE, joinPoint);
+    }
+
+    @Around("execution(* ec.edu.uce.pokedex.service.TypeService.getPokemonByType(..))")
+    public Object typeLookup(ProceedingJoinPoint joinPoint) throws Throwable {
+        return track(QueryStatisticsService.TYPE_LOOKUP, joinPoint);
+    }
+
+    @Around("execution(* ec.edu.uce.pokedex.service.StatService.getStatsForPokemon(..))")
+    public Object stats(ProceedingJoinPoint joinPoint) throws Throwable {
+        return track(QueryStatisticsService.STATS, joinPoint);
+    }
+
+    @Around("execution(* ec.edu.uce.pokedex.service.SpriteService.getSpritesForPokemon(..))")
+    public Object sprites(ProceedingJoinPoint joinPoint) throws Throwable {
+        return track(QueryStatisticsService.SPRITES, joinPoint);
+    }
+
+    private Object track(String operation, ProceedingJoinPoint joinPoint) throws Throwable {
+        try (QueryStatisticsService.Operation tracked = queryStatistics.begin(operation)) {
+            Object result = joinPoint.proceed();
+            tracked.complete(QueryStatisticsService.rowsOf(result));
+            return result;
+        }
+    }
+}
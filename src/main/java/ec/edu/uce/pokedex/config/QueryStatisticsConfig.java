@@ -0,0 +1,25 @@
+package ec.edu.uce.pokedex.config;
+
+import ec.edu.uce.pokedex.service.QueryStatisticsService;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registra en Hibernate un {@link StatementInspector} que suma cada sentencia preparada
+ * a la operación abierta en {@link QueryStatisticsService}. No modifica el SQL.
+ */
+@Configuration
+public class QueryStatisticsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer queryStatisticsInspector(QueryStatisticsService queryStatistics) {
+        StatementInspector inspector = sql -> {
+            queryStatistics.onStatement(sql);
+            return sql;
+        };
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+    }
+}
@@ -0,0 +1,45 @@
+package ec.edu.uce.pokedex.config;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Alinea las tablas de secuencia de Hibernate con los datos existentes.
+ * <p>
+ * Las entidades hijas usaban ids auto-incrementales; al pasar a secuencias, las
+ * tablas de secuencia se crean empezando en 1 y chocarían con las filas ya
+ * guardadas. Al arrancar, cada secuencia se adelanta por encima del mayor id
+ * existente en su tabla. Los catálogos usan el id de la API y no tienen secuencia.
+ */
+@Component
+@DependsOn({"entityManagerFactory", "catalogMigration"}) // Tablas creadas por Hibernate y ya migradas
+public class SequenceTableInitializer implements InitializingBean {
+
+    private static final int ALLOCATION_SIZE = 50;
+
+    /**
+     * Tabla de cada entidad y su tabla de secuencia correspondiente.
+     */
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "pokemon_ability", "pokemon_ability_seq",
+            "stat", "stat_seq",
+            "sprites", "sprites_seq"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SequenceTableInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        SEQUENCES.forEach((table, sequence) -> jdbcTemplate.update(
+                "UPDATE " + sequence + " SET next_val = GREATEST(next_val, "
+                        + "(SELECT COALESCE(MAX(id), 0) + " + (ALLOCATION_SIZE + 1) + " FROM " + table + "))"));
+    }
+}
@@ -0,0 +1,92 @@
+package ec.edu.uce.pokedex.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Mide con un {@link Timer} {@code pokedex.service.calls} cada método público de los
+ * servicios, etiquetado por clase, método y resultado (success, error o cancelled).
+ * <p>
+ * Los métodos que devuelven un {@link Mono} o un {@link Flux} se miden desde la
+ * suscripción hasta que terminan, y los que devuelven un {@link CompletionStage}, hasta
+ * que se completa, de modo que el tiempo es el de la petición o la consulta y no solo
+ * el de armar la operación. Los repositorios ya los mide Spring Data
+ * ({@code spring.data.repository.invocations}) y las peticiones HTTP, el WebClient
+ * ({@code http.client.requests}).
+ */
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+
+    private static final String METRIC = "pokedex.service.calls";
+
+    private final MeterRegistry registry;
+
+    public ServiceMetricsAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("execution(public * ec.edu.uce.pokedex.service..*(..))"
+            + " && !within(ec.edu.uce.pokedex.service.EdtWatchdog)"
+            + " && !within(ec.edu.uce.pokedex.service.UiLatencyTracker)"
+            + " && !within(ec.edu.uce.pokedex.service.MetricsDumpService)"
+            + " && !within(ec.edu.uce.pokedex.service.QueryStatisticsService)")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        String type = joinPoint.getSignature().getDeclaringType().getSimpleName();
+        String method = joinPoint.getSignature().getName();
+        Timer.Sample sample = Timer.start(registry);
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable ex) {
+            stop(sample, type, method, "error");
+            throw ex;
+        }
+        if (result instanceof Mono<?> mono) {
+            return Mono.defer(() -> {
+                Timer.Sample subscribed = Timer.start(registry);
+                return mono.doFinally(signal -> stop(subscribed, type, method, outcome(signal)));
+            });
+        }
+        if (result instanceof Flux<?> flux) {
+            return Flux.defer(() -> {
+                Timer.Sample subscribed = Timer.start(registry);
+                return flux.doFinally(signal -> stop(subscribed, type, method, outcome(signal)));
+            });
+        }
+        if (result instanceof CompletionStage<?> stage) {
+            stage.whenComplete((value, ex) -> stop(sample, type, method, ex == null ? "success"
+                    : ex instanceof CancellationException ? "cancelled" : "error"));
+            return result; // El mismo objeto: cancelarlo debe seguir cancelando el trabajo
+        }
+        stop(sample, type, method, "success");
+        return result;
+    }
+
+    private static String outcome(SignalType signal) {
+        return switch (signal) {
+            case ON_ERROR -> "error";
+            case CANCEL -> "cancelled";
+            default -> "success";
+        };
+    }
+
+    private void stop(Timer.Sample sample, String type, String method, String outcome) {
+        sample.stop(Timer.builder(METRIC)
+                .description("Duración de los métodos de los servicios")
+                .tag("class", type)
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .register(registry));
+    }
+}
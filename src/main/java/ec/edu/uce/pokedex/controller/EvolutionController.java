@@ -1,28 +1,28 @@
 package ec.edu.uce.pokedex.controller;
 
-import ec.edu.uce.pokedex.service.EvolutionService;
+import ec.edu.uce.pokedex.service.PokedexDataService;
 import org.springframework.stereotype.Controller;
-import reactor.core.publisher.Mono;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Controller
 public class EvolutionController {
 
-    private final EvolutionService evolutionService;
+    private final PokedexDataService pokedexData;
 
-    public EvolutionController(EvolutionService evolutionService) {
-        this.evolutionService = evolutionService;
+    public EvolutionController(PokedexDataService pokedexData) {
+        this.pokedexData = pokedexData;
     }
 
     /**
      * Recupera la cadena de evolución de una especie de Pokémon determinada.
      *
-     * @paramspeciesName Nombre de la especie de Pokémon.
-     * @return Mono que contiene la cadena de evolución como una lista de etapas.
+     * @param speciesName Nombre de la especie de Pokémon.
+     * @return Future con la cadena de evolución como una lista de etapas.
      */
-    public Mono<List<Map<String, Object>>> getEvolutionChain(String speciesName) {
-        return evolutionService.getEvolutionChain(speciesName);
+    public CompletableFuture<List<Map<String, Object>>> getEvolutionChain(String speciesName) {
+        return pokedexData.getEvolutionChain(speciesName);
     }
 }
@@ -1,25 +1,27 @@
 package ec.edu.uce.pokedex.controller;
 
-import ec.edu.uce.pokedex.models.Sprites;
-import ec.edu.uce.pokedex.service.SpriteService;
+import ec.edu.uce.pokedex.dto.PokemonSprites;
+import ec.edu.uce.pokedex.service.PokedexDataService;
 import org.springframework.stereotype.Controller;
 
+import java.util.concurrent.CompletableFuture;
+
 @Controller
 public class SpriteController {
 
-    private final SpriteService spriteService;
+    private final PokedexDataService pokedexData;
 
-    public SpriteController(SpriteService spriteService) {
-        this.spriteService = spriteService;
+    public SpriteController(PokedexDataService pokedexData) {
+        this.pokedexData = pokedexData;
     }
 
     /**
      * Obtiene sprites de un Pokémon por su nombre.
      *
      * @param pokemonName Nombre del Pokémon.
-     * @return Objeto Sprites.
+     * @return Future con las URL de los sprites.
      */
-    public Sprites getSpritesForPokemon(String pokemonName) {
-        return spriteService.getSpritesForPokemon(pokemonName);
+    public CompletableFuture<PokemonSprites> getSpritesForPokemon(String pokemonName) {
+        return pokedexData.getSpritesForPokemon(pokemonName);
     }
 }
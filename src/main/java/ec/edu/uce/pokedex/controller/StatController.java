@@ -1,27 +1,28 @@
 package ec.edu.uce.pokedex.controller;
 
-import ec.edu.uce.pokedex.models.Stat;
-import ec.edu.uce.pokedex.service.StatService;
+import ec.edu.uce.pokedex.dto.PokemonStat;
+import ec.edu.uce.pokedex.service.PokedexDataService;
 import org.springframework.stereotype.Controller;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Controller
 public class StatController {
 
-    private final StatService statService;
+    private final PokedexDataService pokedexData;
 
-    public StatController(StatService statService) {
-        this.statService = statService;
+    public StatController(PokedexDataService pokedexData) {
+        this.pokedexData = pokedexData;
     }
 
     /**
      * Obtiene las estadísticas de un Pokémon de la base de datos.
      *
      * @param pokemonName Nombre del Pokémon.
-     * @return Lista de estadísticas.
+     * @return Future con la lista de estadísticas.
      */
-    public List<Stat> getStatsForPokemon(String pokemonName) {
-        return statService.getStatsForPokemon(pokemonName);
+    public CompletableFuture<List<PokemonStat>> getStatsForPokemon(String pokemonName) {
+        return pokedexData.getStatsForPokemon(pokemonName);
     }
 }
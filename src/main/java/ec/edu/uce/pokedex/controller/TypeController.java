@@ -1,27 +1,28 @@
 package ec.edu.uce.pokedex.controller;
 
-import ec.edu.uce.pokedex.models.Pokemon;
-import ec.edu.uce.pokedex.service.TypeService;
+import ec.edu.uce.pokedex.dto.PokemonCardRow;
+import ec.edu.uce.pokedex.service.PokedexDataService;
 import org.springframework.stereotype.Controller;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Controller
 public class TypeController {
 
-    private final TypeService typeService;
+    private final PokedexDataService pokedexData;
 
-    public TypeController(TypeService typeService) {
-        this.typeService = typeService;
+    public TypeController(PokedexDataService pokedexData) {
+        this.pokedexData = pokedexData;
     }
 
     /**
      * Busca todos los Pokémon asociados a un tipo.
      *
      * @param typeName Nombre del tipo.
-     * @return Lista de nombres de Pokémon.
+     * @return Future con el nombre y el sprite de cada Pokémon.
      */
-    public List<Pokemon> getPokemonByType(String typeName) {
-        return typeService.getPokemonByType(typeName);
+    public CompletableFuture<List<PokemonCardRow>> getPokemonByType(String typeName) {
+        return pokedexData.getPokemonByType(typeName);
     }
 }
@@ -0,0 +1,21 @@
+package ec.edu.uce.pokedex.dto;
+
+/**
+ * Estadísticas de una región de caché desde que arrancó la aplicación.
+ *
+ * @param region    Nombre de la región.
+ * @param size      Entradas guardadas ahora mismo (aproximado).
+ * @param hits      Lecturas servidas desde la caché.
+ * @param misses    Lecturas que tuvieron que ir a la base de datos.
+ * @param evictions Entradas desalojadas por tamaño o por tiempo de vida.
+ */
+public record CacheRegionStats(String region, long size, long hits, long misses, long evictions) {
+
+    /**
+     * @return Proporción de aciertos entre 0 y 1, o 0 si aún no hubo lecturas.
+     */
+    public double hitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+}
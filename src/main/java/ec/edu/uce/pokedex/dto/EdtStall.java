@@ -0,0 +1,27 @@
+package ec.edu.uce.pokedex.dto;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Un bloqueo del hilo de Swing detectado por {@code EdtWatchdog}.
+ *
+ * @param startedAt Momento en que el hilo de Swing dejó de atender eventos.
+ * @param duration  Tiempo que tardó en volver a atenderlos.
+ * @param stack     Pila del hilo de Swing al superar el umbral: el código que lo bloqueaba.
+ */
+public record EdtStall(Instant startedAt, Duration duration, List<StackTraceElement> stack) {
+
+    /**
+     * @return El primer marco de la pila fuera del JDK, o el primero si todos son del JDK.
+     */
+    public String blockingFrame() {
+        return stack.stream()
+                .filter(frame -> frame.getClassName().startsWith("ec.edu.uce.pokedex"))
+                .findFirst()
+                .or(() -> stack.stream().findFirst())
+                .map(StackTraceElement::toString)
+                .orElse("(no stack)");
+    }
+}
@@ -0,0 +1,17 @@
+package ec.edu.uce.pokedex.dto;
+
+/**
+ * Estado de avance de la ingesta de Pokémon.
+ *
+ * @param done  Pokémon ya confirmados en la base de datos.
+ * @param total Pokémon que forman parte de la carga.
+ */
+public record IngestionProgress(int done, int total) {
+
+    /**
+     * @return Pokémon que faltan por cargar.
+     */
+    public int remaining() {
+        return Math.max(total - done, 0);
+    }
+}
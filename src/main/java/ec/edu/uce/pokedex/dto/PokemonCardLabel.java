@@ -0,0 +1,14 @@
+package ec.edu.uce.pokedex.dto;
+
+/**
+ * Par tipo-habilidad de un Pokémon, tal como sale de la consulta de etiquetas de las tarjetas.
+ * <p>
+ * La consulta une tipos y habilidades en una sola pasada, así que cada fila combina
+ * uno de cada; cualquiera de los dos puede ser {@code null} si el Pokémon no tiene.
+ *
+ * @param pokemonId   Id del Pokémon.
+ * @param typeName    Nombre de un tipo del Pokémon.
+ * @param abilityName Nombre de una habilidad del Pokémon.
+ */
+public record PokemonCardLabel(int pokemonId, String typeName, String abilityName) {
+}
@@ -0,0 +1,11 @@
+package ec.edu.uce.pokedex.dto;
+
+/**
+ * Columnas de un Pokémon que dibuja la tarjeta de la página de inicio.
+ *
+ * @param id        Id del Pokémon.
+ * @param name      Nombre del Pokémon.
+ * @param spriteUrl URL del sprite frontal, o {@code null} si no tiene.
+ */
+public record PokemonCardRow(int id, String name, String spriteUrl) {
+}
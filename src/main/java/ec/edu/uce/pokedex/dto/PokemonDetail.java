@@ -0,0 +1,38 @@
+package ec.edu.uce.pokedex.dto;
+
+import java.util.List;
+
+/**
+ * Lo que muestra el detalle de la búsqueda de un Pokémon.
+ * <p>
+ * Es inmutable y no arrastra entidades JPA, así que puede guardarse en caché y
+ * compartirse entre hilos sin que nadie modifique la copia de otro.
+ *
+ * @param id             Id del Pokémon.
+ * @param name           Nombre del Pokémon.
+ * @param baseExperience Experiencia base, o {@code null} si la API no la da.
+ * @param height         Altura, o {@code null}.
+ * @param weight         Peso, o {@code null}.
+ * @param orderIndex     Orden en la Pokédex, o {@code null}.
+ * @param spriteUrl      URL del sprite frontal, o {@code null} si no tiene.
+ * @param abilities      Habilidades en orden de slot.
+ * @param moveNames      Nombres de los movimientos que aprende.
+ */
+public record PokemonDetail(int id, String name, Integer baseExperience, Integer height, Integer weight,
+                            Integer orderIndex, String spriteUrl, List<Ability> abilities, List<String> moveNames) {
+
+    public PokemonDetail {
+        abilities = List.copyOf(abilities);
+        moveNames = List.copyOf(moveNames);
+    }
+
+    /**
+     * Habilidad de un Pokémon.
+     *
+     * @param name   Nombre de la habilidad.
+     * @param slot   Slot de la API.
+     * @param hidden {@code true} si es una habilidad oculta.
+     */
+    public record Ability(String name, int slot, boolean hidden) {
+    }
+}
@@ -1,19 +1,17 @@
 package ec.edu.uce.pokedex.dto;
 
-import ec.edu.uce.pokedex.models.Ability;
-import ec.edu.uce.pokedex.models.Type;
 import lombok.Builder;
 import lombok.Data;
 
-import java.net.ProtocolFamily;
 import java.util.List;
 
 @Data
 @Builder
 public class PokemonDto {
+    private int id;
     private String name;
-    private List<Type> types;
-    private List<Ability> abilities;
+    private List<String> typeNames; // En orden de slot
+    private List<String> abilityNames; // En orden de slot
     private String spriteUrl;
 
 }
@@ -0,0 +1,10 @@
+package ec.edu.uce.pokedex.dto;
+
+/**
+ * Referencia ligera a un Pokémon tal como aparece en el índice de la API externa.
+ *
+ * @param id   Id del Pokémon, extraído de la URL del recurso.
+ * @param name Nombre del Pokémon.
+ */
+public record PokemonRef(int id, String name) {
+}
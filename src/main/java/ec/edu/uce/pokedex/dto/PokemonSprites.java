@@ -0,0 +1,19 @@
+package ec.edu.uce.pokedex.dto;
+
+/**
+ * URL de los sprites de un Pokémon; cada una puede ser {@code null} si la API no la da.
+ * <p>
+ * Es inmutable y no arrastra entidades JPA, así que puede guardarse en caché.
+ *
+ * @param frontDefault     Frontal.
+ * @param backDefault      Trasero.
+ * @param frontShiny       Frontal variocolor.
+ * @param backShiny        Trasero variocolor.
+ * @param frontFemale      Frontal de la hembra.
+ * @param backFemale       Trasero de la hembra.
+ * @param frontShinyFemale Frontal variocolor de la hembra.
+ * @param backShinyFemale  Trasero variocolor de la hembra.
+ */
+public record PokemonSprites(String frontDefault, String backDefault, String frontShiny, String backShiny,
+                             String frontFemale, String backFemale, String frontShinyFemale, String backShinyFemale) {
+}
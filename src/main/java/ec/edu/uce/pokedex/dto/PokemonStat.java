@@ -0,0 +1,13 @@
+package ec.edu.uce.pokedex.dto;
+
+/**
+ * Una estadística de un Pokémon, tal como la muestra la tabla de estadísticas.
+ * <p>
+ * Es inmutable y no arrastra entidades JPA, así que puede guardarse en caché.
+ *
+ * @param name     Nombre de la estadística, p. ej. "hp".
+ * @param baseStat Valor base.
+ * @param effort   Puntos de esfuerzo que otorga.
+ */
+public record PokemonStat(String name, int baseStat, int effort) {
+}
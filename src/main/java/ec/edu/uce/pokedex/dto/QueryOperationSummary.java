@@ -0,0 +1,21 @@
+package ec.edu.uce.pokedex.dto;
+
+/**
+ * Sentencias SQL por operación lógica (búsqueda, página, tipo, ingesta...), calculadas
+ * con las últimas llamadas que registró {@code QueryStatisticsService}.
+ *
+ * @param operation          Nombre de la operación, p. ej. "search" o "type".
+ * @param calls              Llamadas que llegaron a la base de datos.
+ * @param avgStatements      Sentencias por llamada, de media.
+ * @param maxStatements      Máximo de sentencias en una llamada.
+ * @param avgRows            Tamaño medio del resultado (Pokémon, filas o elementos del lote).
+ * @param selectsPerRow      Pendiente de los SELECT frente al tamaño del resultado.
+ * @param nPlusOneSuspected  Si los SELECT crecen con el resultado, señal de un N+1.
+ * @param slowCalls          Llamadas que superaron {@code pokedex.query-stats.slow-operation}.
+ * @param maxMillis          Llamada más lenta, en milisegundos.
+ * @param mostRepeatedStatement SELECT que más veces se repitió en una sola llamada, o vacío si ninguno se repitió.
+ */
+public record QueryOperationSummary(String operation, long calls, double avgStatements, int maxStatements,
+                                    double avgRows, double selectsPerRow, boolean nPlusOneSuspected,
+                                    long slowCalls, long maxMillis, String mostRepeatedStatement) {
+}
@@ -0,0 +1,10 @@
+package ec.edu.uce.pokedex.dto;
+
+/**
+ * Resultado de una sincronización incremental con la API externa.
+ *
+ * @param checked Recursos consultados.
+ * @param changed Pokémon nuevos o modificados que se guardaron.
+ */
+public record SyncResult(int checked, int changed) {
+}
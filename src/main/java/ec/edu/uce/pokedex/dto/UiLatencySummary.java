@@ -0,0 +1,15 @@
+package ec.edu.uce.pokedex.dto;
+
+/**
+ * Tiempos hasta que la interfaz responde para un tipo de acción sobre una vista,
+ * calculados con las últimas muestras de {@code UiLatencyTracker}.
+ *
+ * @param kind      Tipo de acción, p. ej. "view" (cambio de vista) o "search".
+ * @param label     Vista en la que se midió.
+ * @param count     Muestras usadas.
+ * @param p50Millis Mediana en milisegundos.
+ * @param p95Millis Percentil 95 en milisegundos.
+ * @param maxMillis Máximo en milisegundos.
+ */
+public record UiLatencySummary(String kind, String label, int count, long p50Millis, long p95Millis, long maxMillis) {
+}
@@ -0,0 +1,13 @@
+package ec.edu.uce.pokedex.dto;
+
+import ec.edu.uce.pokedex.models.Pokemon;
+import ec.edu.uce.pokedex.models.ResourceVersion;
+
+/**
+ * Pokémon recibido de la API junto con los validadores HTTP de su respuesta.
+ *
+ * @param pokemon Pokémon mapeado.
+ * @param version Validadores de la respuesta, para la siguiente petición condicional.
+ */
+public record VersionedPokemon(Pokemon pokemon, ResourceVersion version) {
+}
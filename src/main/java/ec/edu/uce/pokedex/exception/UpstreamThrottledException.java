@@ -0,0 +1,40 @@
+package ec.edu.uce.pokedex.exception;
+
+import java.time.Duration;
+
+/**
+ * Excepción personalizada para respuestas de la API externa que piden reducir el ritmo
+ * de peticiones (429, 503) o que fallan de forma transitoria.
+ */
+public class UpstreamThrottledException extends RuntimeException {
+
+    private final int statusCode;
+    private final Duration retryAfter;
+
+    /**
+     * Construye una nueva UpstreamThrottledException con el estado y la espera indicados.
+     *
+     * @param statusCode el código de estado HTTP recibido
+     * @param retryAfter la espera pedida por el servidor en Retry-After, o {@code null} si no la indicó
+     */
+    public UpstreamThrottledException(int statusCode, Duration retryAfter) {
+        super("Upstream responded " + statusCode
+                + (retryAfter == null ? "" : ", retry after " + retryAfter.toMillis() + " ms"));
+        this.statusCode = statusCode;
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * @return el código de estado HTTP recibido
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * @return la espera pedida por el servidor, o {@code null} si no la indicó
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
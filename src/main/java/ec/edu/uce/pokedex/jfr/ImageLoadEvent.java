@@ -0,0 +1,40 @@
+package ec.edu.uce.pokedex.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Obtención de una imagen de sprite de {@code ImageCacheService}: de qué capa salió,
+ * cuántos bytes se leyeron y cuánto costó decodificarla y escalarla.
+ */
+@Name("ec.edu.uce.pokedex.ImageLoad")
+@Label("Image Load")
+@Category({"Pokédex", "Images"})
+@Description("Carga de un sprite desde memoria, disco o la red")
+@StackTrace(false)
+public class ImageLoadEvent extends Event {
+
+    @Label("URL")
+    public String url;
+
+    @Label("Source")
+    @Description("variant, memory, disk o network")
+    public String source;
+
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+
+    @Label("Decode Time")
+    @Timespan
+    public long decodeTime;
+
+    @Label("Scale Time")
+    @Timespan
+    public long scaleTime;
+
+    @Label("Width")
+    public int width;
+
+    @Label("Height")
+    public int height;
+}
@@ -0,0 +1,33 @@
+package ec.edu.uce.pokedex.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Descarga y decodificación de un Pokémon durante la ingesta o la sincronización.
+ * <p>
+ * La respuesta se decodifica en streaming mientras llega, así que las dos fases se
+ * solapan: {@link #networkWait} es el tiempo que el decodificador pasó esperando bytes
+ * de la red y {@link #decodeTime}, el resto de la duración del evento.
+ */
+@Name("ec.edu.uce.pokedex.PokemonFetch")
+@Label("Pokémon Fetch")
+@Category({"Pokédex", "Ingestion"})
+@Description("Descarga y decodificación del recurso /pokemon de la API")
+@StackTrace(false)
+public class PokemonFetchEvent extends Event {
+
+    @Label("Pokémon")
+    public String pokemon;
+
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+
+    @Label("Network Wait")
+    @Timespan
+    public long networkWait;
+
+    @Label("Decode Time")
+    @Timespan
+    public long decodeTime;
+}
@@ -0,0 +1,30 @@
+package ec.edu.uce.pokedex.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Escritura de un lote de Pokémon en la base de datos.
+ * <p>
+ * Los Pokémon se guardan por lotes en una sola transacción, así que la fase de
+ * persistencia se registra por lote y no por Pokémon.
+ */
+@Name("ec.edu.uce.pokedex.PokemonPersist")
+@Label("Pokémon Persist")
+@Category({"Pokédex", "Ingestion"})
+@Description("Transacción que guarda un lote de Pokémon y sus checkpoints")
+@StackTrace(false)
+public class PokemonPersistEvent extends Event {
+
+    @Label("Batch Size")
+    public int batchSize;
+
+    @Label("First Id")
+    public int firstId;
+
+    @Label("Last Id")
+    public int lastId;
+
+    @Label("Merged")
+    @Description("Pokémon que ya existían y se actualizaron en lugar de insertarse")
+    public int merged;
+}
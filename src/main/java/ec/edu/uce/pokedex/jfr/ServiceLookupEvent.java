@@ -0,0 +1,30 @@
+package ec.edu.uce.pokedex.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Una consulta de un servicio con caché ({@code @Cacheable}): si se sirvió desde la
+ * caché y, si no, cuántas filas devolvieron los repositorios.
+ */
+@Name("ec.edu.uce.pokedex.ServiceLookup")
+@Label("Service Lookup")
+@Category({"Pokédex", "Data"})
+@Description("Consulta de un servicio con caché")
+@StackTrace(false)
+public class ServiceLookupEvent extends Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Key")
+    public String key;
+
+    @Label("Cache Hit")
+    public boolean cacheHit;
+
+    @Label("Repository Calls")
+    public int repositoryCalls;
+
+    @Label("Rows")
+    public int rows;
+}
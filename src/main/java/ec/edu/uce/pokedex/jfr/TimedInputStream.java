@@ -0,0 +1,57 @@
+package ec.edu.uce.pokedex.jfr;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Flujo que cuenta los bytes leídos y el tiempo bloqueado en {@code read}, para separar
+ * en {@link PokemonFetchEvent} la espera de la red del trabajo del decodificador.
+ * <p>
+ * Solo se usa cuando el evento está activo, así que sin grabación no añade nada.
+ */
+public class TimedInputStream extends FilterInputStream {
+
+    private long bytes;
+    private long waitNanos;
+
+    public TimedInputStream(InputStream in) {
+        super(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+        long start = System.nanoTime();
+        int value = super.read();
+        waitNanos += System.nanoTime() - start;
+        if (value >= 0) {
+            bytes++;
+        }
+        return value;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        long start = System.nanoTime();
+        int read = super.read(buffer, offset, length);
+        waitNanos += System.nanoTime() - start;
+        if (read > 0) {
+            bytes += read;
+        }
+        return read;
+    }
+
+    /**
+     * @return Bytes leídos hasta ahora.
+     */
+    public long bytes() {
+        return bytes;
+    }
+
+    /**
+     * @return Nanosegundos pasados dentro de {@code read}.
+     */
+    public long waitNanos() {
+        return waitNanos;
+    }
+}
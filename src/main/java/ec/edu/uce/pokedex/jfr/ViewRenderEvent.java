@@ -0,0 +1,21 @@
+package ec.edu.uce.pokedex.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Desde que el usuario cambia de vista o lanza una búsqueda hasta que la vista responde,
+ * con los mismos límites que mide {@code UiLatencyTracker}.
+ */
+@Name("ec.edu.uce.pokedex.ViewRender")
+@Label("View Render")
+@Category({"Pokédex", "UI"})
+@Description("Cambio de vista o búsqueda hasta que la interfaz responde")
+@StackTrace(false)
+public class ViewRenderEvent extends Event {
+
+    @Label("View")
+    public String view;
+
+    @Label("Action")
+    public String action;
+}
@@ -1,32 +1,28 @@
 package ec.edu.uce.pokedex.models;
 
+import ec.edu.uce.pokedex.util.ApiUrls;
 import jakarta.persistence.*;
 import lombok.*;
 
+/**
+ * Habilidad del catálogo compartido. Si es oculta y su slot dependen del Pokémon,
+ * así que esos datos viven en {@link PokemonAbility}.
+ */
 @Getter @Setter
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@Table(name = "ability_catalog")
 public class Ability {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY) // Auto-incremental para la tabla
-    private Long id;
+    private int id; // Id de la habilidad en la API externa
 
+    @Column(unique = true)
     private String name;
     private String url;
-    private boolean isHidden;
-    private int slot;
 
-    @ManyToOne(fetch = FetchType.LAZY) // Muchas habilidades pueden pertenecer a un Pokémon
-    @JoinColumn(name = "pokemon_id") // Clave foránea en Ability
-    private Pokemon pokemon;
-
-    public Ability(String name, String url, boolean isHidden, int slot) {
-        this.name = name;
-        this.url = url;
-        this.isHidden = isHidden;
-        this.slot = slot;
+    public Ability(String name, String url) {
+        this(ApiUrls.idOf(url), name, url);
     }
-
 }
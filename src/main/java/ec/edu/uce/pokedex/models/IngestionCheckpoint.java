@@ -0,0 +1,27 @@
+package ec.edu.uce.pokedex.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Registro durable de un Pokémon ya confirmado por la ingesta.
+ * <p>
+ * Se escribe en la misma transacción que el Pokémon, de modo que una carga
+ * interrumpida puede reanudarse a partir de los ids que faltan.
+ */
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "ingestion_checkpoint")
+public class IngestionCheckpoint {
+
+    @Id
+    private int pokemonId; // Id del Pokémon confirmado
+
+    private Instant committedAt;
+}
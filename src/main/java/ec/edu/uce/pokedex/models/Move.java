@@ -1,27 +1,28 @@
 package ec.edu.uce.pokedex.models;
 
+import ec.edu.uce.pokedex.util.ApiUrls;
 import jakarta.persistence.*;
 import lombok.*;
 
+/**
+ * Movimiento del catálogo compartido. Cada movimiento se guarda una sola vez y los
+ * Pokémon lo referencian a través de la tabla {@code pokemon_learnset}.
+ */
 @Getter @Setter
 @Entity
+@Table(name = "move_catalog")
 @NoArgsConstructor
 @AllArgsConstructor
 public class Move {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY) // Clave primaria auto-generada
-    private Long id;
+    private int id; // Id del movimiento en la API externa
 
+    @Column(unique = true)
     private String name;
     private String url;
 
-    @ManyToOne(fetch = FetchType.EAGER) // Muchos movimientos pertenecen a un Pokémon
-    @JoinColumn(name = "pokemon_id") // Clave foránea en Move
-    private Pokemon pokemon;
-
     public Move(String name, String url) {
-        this.name = name;
-        this.url = url;
+        this(ApiUrls.idOf(url), name, url);
     }
 }
@@ -3,13 +3,35 @@ package ec.edu.uce.pokedex.models;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hibernate.annotations.ListIndexBase;
 
 import java.util.List;
 
+/**
+ * Pokémon guardado en la base de datos.
+ * <p>
+ * Todas las asociaciones son perezosas; cada vista indica lo que dibuja con uno de los
+ * grafos de entidad declarados aquí (o con una proyección, como las tarjetas de
+ * inicio), de modo que una consulta no arrastra los movimientos cuando solo hacen
+ * falta el nombre y el sprite.
+ */
 @Data
 @Entity
+@NamedEntityGraph(name = Pokemon.DETAIL_GRAPH, // Detalle de la búsqueda; los movimientos van en otra consulta
+        attributeNodes = {
+                @NamedAttributeNode("sprites"),
+                @NamedAttributeNode(value = "abilities", subgraph = "ability")
+        },
+        subgraphs = @NamedSubgraph(name = "ability", attributeNodes = @NamedAttributeNode("ability")))
+@NamedEntityGraph(name = Pokemon.SPRITE_GRAPH, // Listado por tipo: nombre y sprite
+        attributeNodes = @NamedAttributeNode("sprites"))
 public class Pokemon {
 
+    public static final String DETAIL_GRAPH = "Pokemon.detail";
+    public static final String SPRITE_GRAPH = "Pokemon.sprite";
+
     @Id
     private int id; // Id único del Pokémon
 
@@ -21,29 +43,47 @@ public class Pokemon {
     @Column(name = "pokemon_order") // Cambia el nombre de la columna
     private Integer orderIndex; // Cambiado a Integer para permitir null
 
-    @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER, orphanRemoval = true)
-    @JoinColumn(name = "pokemon_id") // Clave foránea en Ability
+    @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
+    @JoinColumn(name = "pokemon_id") // Clave foránea en PokemonAbility
     @JsonIgnore // Ignora esta propiedad al serializar
-    private List<Ability> abilities;
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private List<PokemonAbility> abilities;
 
-    @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER, orphanRemoval = true)
+    @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
     @JoinColumn(name = "pokemon_id") // Clave foránea en Stat
     @JsonIgnore // Ignora esta propiedad al serializar
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private List<Stat> stats;
 
-    @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER, orphanRemoval = true)
-    @JoinColumn(name = "pokemon_id") // Clave foránea en Type
+    @ManyToMany(fetch = FetchType.LAZY) // Los tipos vienen del catálogo compartido
+    @JoinTable(name = "pokemon_type_membership",
+            joinColumns = @JoinColumn(name = "pokemon_id"),
+            inverseJoinColumns = @JoinColumn(name = "type_id"))
+    @OrderColumn(name = "slot")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ListIndexBase(1) // El slot de la API empieza en 1
     private List<Type> types;
 
-    @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER, orphanRemoval = true)
-    @JoinColumn(name = "pokemon_id") // Clave foránea en Move
+    @ManyToMany(fetch = FetchType.LAZY) // Los movimientos vienen del catálogo compartido
+    @JoinTable(name = "pokemon_learnset",
+            joinColumns = @JoinColumn(name = "pokemon_id"),
+            inverseJoinColumns = @JoinColumn(name = "move_id"))
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private List<Move> moves;
 
-    @OneToOne(cascade = CascadeType.ALL, orphanRemoval = true)
+    @OneToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
     @JoinColumn(name = "species_id") // Clave foránea en Species
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Species species;
 
-    @OneToOne(cascade = CascadeType.ALL, orphanRemoval = true)
+    @OneToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
     @JoinColumn(name = "sprites_id") // Clave foránea en Sprites
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Sprites sprites;
-}
\ No newline at end of file
+}
@@ -0,0 +1,41 @@
+package ec.edu.uce.pokedex.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Habilidad de un Pokémon: referencia al catálogo más los datos propios del Pokémon.
+ */
+@Getter @Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "pokemon_ability")
+public class PokemonAbility {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pokemon_ability_seq") // Ids por bloques para permitir inserciones JDBC por lotes
+    @SequenceGenerator(name = "pokemon_ability_seq", sequenceName = "pokemon_ability_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY) // Muchos Pokémon comparten la misma habilidad
+    @JoinColumn(name = "ability_id")
+    private Ability ability;
+
+    private boolean isHidden;
+    private int slot;
+
+    public PokemonAbility(Ability ability, boolean isHidden, int slot) {
+        this.ability = ability;
+        this.isHidden = isHidden;
+        this.slot = slot;
+    }
+
+    public String getName() {
+        return ability == null ? null : ability.getName();
+    }
+
+    public String getUrl() {
+        return ability == null ? null : ability.getUrl();
+    }
+}
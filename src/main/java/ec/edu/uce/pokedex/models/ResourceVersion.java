@@ -0,0 +1,29 @@
+package ec.edu.uce.pokedex.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Validadores HTTP (ETag / Last-Modified) de un recurso de la API externa.
+ * <p>
+ * Permiten repetir la petición como GET condicional, de modo que un recurso sin
+ * cambios vuelve como 304 sin cuerpo.
+ */
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "resource_version")
+public class ResourceVersion {
+
+    @Id
+    private String path; // Ruta del recurso, p. ej. "/pokemon/bulbasaur"
+
+    private String etag;
+    private String lastModified;
+    private Instant checkedAt;
+}
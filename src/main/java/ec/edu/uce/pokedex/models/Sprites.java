@@ -8,7 +8,8 @@ import lombok.Data;
 public class Sprites {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY) // Clave primaria auto-generada
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sprites_seq") // Ids por bloques para permitir inserciones JDBC por lotes
+    @SequenceGenerator(name = "sprites_seq", sequenceName = "sprites_seq", allocationSize = 50)
     private Long id;
 
     private String frontDefault;
@@ -11,14 +11,15 @@ import lombok.*;
 public class Stat {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY) // Clave primaria auto-generada
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stat_seq") // Ids por bloques para permitir inserciones JDBC por lotes
+    @SequenceGenerator(name = "stat_seq", sequenceName = "stat_seq", allocationSize = 50)
     private Long id;
 
     private int baseStat;
     private int effort;
     private String name;
 
-    @ManyToOne(fetch = FetchType.EAGER) // Muchas estadísticas pertenecen a un Pokémon
+    @ManyToOne(fetch = FetchType.LAZY) // Muchas estadísticas pertenecen a un Pokémon
     @JoinColumn(name = "pokemon_id") // Clave foránea en Stat
     @JsonIgnore
     private Pokemon pokemon;
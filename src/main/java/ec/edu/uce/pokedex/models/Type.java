@@ -1,31 +1,30 @@
 package ec.edu.uce.pokedex.models;
 
+import ec.edu.uce.pokedex.util.ApiUrls;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+/**
+ * Tipo del catálogo compartido. Los Pokémon lo referencian a través de la tabla
+ * {@code pokemon_type_membership}, que guarda también el slot.
+ */
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@Table(name = "type_catalog")
 public class Type {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY) // Clave primaria auto-generada
-    private Long id;
+    private int id; // Id del tipo en la API externa
 
-    private int slot;
+    @Column(unique = true)
     private String name;
     private String url;
 
-    @ManyToOne(fetch = FetchType.LAZY) // Muchos tipos pertenecen a un Pokémon
-    @JoinColumn(name = "pokemon_id") // Clave foránea en Type
-    private Pokemon pokemon;
-
-    public Type(int slot, String name, String url) {
-        this.slot = slot;
-        this.name = name;
-        this.url = url;
+    public Type(String name, String url) {
+        this(ApiUrls.idOf(url), name, url);
     }
 }
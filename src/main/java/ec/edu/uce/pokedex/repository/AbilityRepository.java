@@ -2,12 +2,14 @@ package ec.edu.uce.pokedex.repository;
 
 import ec.edu.uce.pokedex.models.Ability;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
-public interface AbilityRepository extends JpaRepository<Ability, Long> {
+public interface AbilityRepository extends JpaRepository<Ability, Integer> {
     // Buscar habilidades por Pokémon ID
+    @Query("SELECT pa.ability FROM Pokemon p JOIN p.abilities pa WHERE p.id = :pokemonId ORDER BY pa.slot")
     List<Ability> findByPokemonId(Integer pokemonId);
 }
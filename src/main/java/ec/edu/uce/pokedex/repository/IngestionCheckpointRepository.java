@@ -0,0 +1,20 @@
+package ec.edu.uce.pokedex.repository;
+
+import ec.edu.uce.pokedex.models.IngestionCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface IngestionCheckpointRepository extends JpaRepository<IngestionCheckpoint, Integer> {
+
+    /**
+     * Obtiene los ids de todos los Pokémon ya confirmados por la ingesta.
+     *
+     * @return Lista de ids confirmados.
+     */
+    @Query("SELECT c.pokemonId FROM IngestionCheckpoint c")
+    List<Integer> findCommittedIds();
+}
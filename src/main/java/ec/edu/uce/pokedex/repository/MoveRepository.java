@@ -2,11 +2,14 @@ package ec.edu.uce.pokedex.repository;
 
 import ec.edu.uce.pokedex.models.Move;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
-public interface MoveRepository extends JpaRepository<Move, Long> {
+public interface MoveRepository extends JpaRepository<Move, Integer> {
+    // Movimientos del learnset de un Pokémon
+    @Query("SELECT m FROM Pokemon p JOIN p.moves m WHERE p.name = :name")
     List<Move> findByPokemonName(String name);
 }
@@ -1,17 +1,62 @@
 package ec.edu.uce.pokedex.repository;
 
+import ec.edu.uce.pokedex.dto.PokemonCardLabel;
+import ec.edu.uce.pokedex.dto.PokemonCardRow;
 import ec.edu.uce.pokedex.models.Pokemon;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface PokemonRepository extends JpaRepository<Pokemon, Integer> {
-    // Buscar Pokémon por nombre (case-insensitive)
+    // Buscar Pokémon por nombre (case-insensitive) con lo que muestra el detalle de la búsqueda
+    @EntityGraph(Pokemon.DETAIL_GRAPH)
     Pokemon findByNameIgnoreCase(String name);
 
+    // Comprueba si un Pokémon está guardado sin cargar sus asociaciones
+    boolean existsByNameIgnoreCase(String name);
+
     // Método para obtener Pokémon paginados
     Page<Pokemon> findAll(Pageable pageable);
 
+    /**
+     * Nombre y sprite de los Pokémon con id mayor que {@code afterId}, en orden ascendente.
+     * <p>
+     * Paginación por clave: la consulta salta directamente al id por el índice de la
+     * clave primaria, así que cualquier página cuesta lo mismo, y no hace falta contar filas.
+     */
+    @Query("SELECT new ec.edu.uce.pokedex.dto.PokemonCardRow(p.id, p.name, s.frontDefault) "
+            + "FROM Pokemon p LEFT JOIN p.sprites s WHERE p.id > :afterId ORDER BY p.id ASC")
+    List<PokemonCardRow> findCardRowsAfter(int afterId, Pageable limit);
+
+    /**
+     * Pokémon con id mayor que {@code afterId}, en orden ascendente, para recorrer toda
+     * la tabla por clave sin que cada página cueste más que la anterior.
+     */
+    @Query("SELECT p FROM Pokemon p WHERE p.id > :afterId ORDER BY p.id ASC")
+    List<Pokemon> findPageAfter(int afterId, Pageable limit);
+
+    /**
+     * Nombre y sprite de todos los Pokémon en orden de id, para construir el atlas de sprites.
+     */
+    @Query("SELECT new ec.edu.uce.pokedex.dto.PokemonCardRow(p.id, p.name, s.frontDefault) "
+            + "FROM Pokemon p LEFT JOIN p.sprites s ORDER BY p.id ASC")
+    List<PokemonCardRow> findAllCardRows();
+
+    /**
+     * Nombres de tipos y habilidades de varios Pokémon, en orden de slot.
+     * <p>
+     * Tipos y habilidades se unen en la misma consulta; con dos tipos y tres habilidades
+     * como mucho, el producto no pasa de seis filas por Pokémon.
+     */
+    @Query("SELECT new ec.edu.uce.pokedex.dto.PokemonCardLabel(p.id, t.name, a.name) "
+            + "FROM Pokemon p LEFT JOIN p.types t LEFT JOIN p.abilities pa LEFT JOIN pa.ability a "
+            + "WHERE p.id IN :ids ORDER BY p.id, INDEX(t), pa.slot")
+    List<PokemonCardLabel> findCardLabels(Collection<Integer> ids);
 }
@@ -0,0 +1,9 @@
+package ec.edu.uce.pokedex.repository;
+
+import ec.edu.uce.pokedex.models.ResourceVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ResourceVersionRepository extends JpaRepository<ResourceVersion, String> {
+}
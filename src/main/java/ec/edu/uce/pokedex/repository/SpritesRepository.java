@@ -1,12 +1,23 @@
 package ec.edu.uce.pokedex.repository;
 
+import ec.edu.uce.pokedex.dto.PokemonSprites;
 import ec.edu.uce.pokedex.models.Sprites;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface SpritesRepository extends JpaRepository<Sprites, Long> {
-    // Agregar consultas personalizadas si es necesario
-    Sprites findByPokemonName(String name);
+
+    /**
+     * URL de los sprites de un Pokémon.
+     *
+     * @param name Nombre del Pokémon.
+     * @return Sus sprites, o {@code null} si no está guardado o no tiene.
+     */
+    @Query("SELECT new ec.edu.uce.pokedex.dto.PokemonSprites(s.frontDefault, s.backDefault, s.frontShiny, "
+            + "s.backShiny, s.frontFemale, s.backFemale, s.frontShinyFemale, s.backShinyFemale) "
+            + "FROM Pokemon p JOIN p.sprites s WHERE p.name = :name")
+    PokemonSprites findSpritesByPokemonName(String name);
 
 }
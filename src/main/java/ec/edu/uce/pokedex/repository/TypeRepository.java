@@ -1,7 +1,9 @@
 package ec.edu.uce.pokedex.repository;
 
+import ec.edu.uce.pokedex.dto.PokemonCardRow;
 import ec.edu.uce.pokedex.models.Pokemon;
 import ec.edu.uce.pokedex.models.Type;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -9,14 +11,25 @@ import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
-public interface TypeRepository extends JpaRepository<Type, Long> {
+public interface TypeRepository extends JpaRepository<Type, Integer> {
 
     /**
-     * Buscar todos los Pokémon asociados a un tipo.
+     * Buscar todos los Pokémon asociados a un tipo, con su sprite.
      *
      * @param typeName El nombre del tipo (por ejemplo, "fire").
      * @return Lista de Pokémon asociados a ese tipo.
      */
-    @Query("SELECT p FROM Pokemon p JOIN p.types t WHERE LOWER(t.name) = LOWER(:typeName)")
+    @EntityGraph(Pokemon.SPRITE_GRAPH)
+    @Query("SELECT p FROM Pokemon p JOIN p.types t WHERE LOWER(t.name) = LOWER(:typeName) ORDER BY p.id")
     List<Pokemon> findPokemonsByTypeName(String typeName);
+
+    /**
+     * Nombre y sprite de los Pokémon de un tipo, en orden de id.
+     *
+     * @param typeName El nombre del tipo (por ejemplo, "fire").
+     * @return Una fila por Pokémon del tipo.
+     */
+    @Query("SELECT new ec.edu.uce.pokedex.dto.PokemonCardRow(p.id, p.name, s.frontDefault) "
+            + "FROM Pokemon p JOIN p.types t LEFT JOIN p.sprites s WHERE LOWER(t.name) = LOWER(:typeName) ORDER BY p.id")
+    List<PokemonCardRow> findCardRowsByTypeName(String typeName);
 }
@@ -0,0 +1,46 @@
+package ec.edu.uce.pokedex.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import ec.edu.uce.pokedex.dto.CacheRegionStats;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Consulta las estadísticas de las regiones de caché configuradas en
+ * {@link ec.edu.uce.pokedex.config.CacheConfig}.
+ */
+@Service
+public class CacheStatsService {
+
+    private final CacheManager cacheManager;
+
+    public CacheStatsService(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * @return Aciertos, fallos, desalojos y tamaño de cada región, ordenadas por nombre.
+     */
+    public List<CacheRegionStats> getRegionStats() {
+        return cacheManager.getCacheNames().stream()
+                .sorted()
+                .map(cacheManager::getCache)
+                .filter(CaffeineCache.class::isInstance)
+                .map(CaffeineCache.class::cast)
+                .map(this::toRegionStats)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private CacheRegionStats toRegionStats(CaffeineCache cache) {
+        Cache<Object, Object> nativeCache = cache.getNativeCache();
+        CacheStats stats = nativeCache.stats();
+        return new CacheRegionStats(cache.getName(), nativeCache.estimatedSize(),
+                stats.hitCount(), stats.missCount(), stats.evictionCount());
+    }
+}
@@ -0,0 +1,140 @@
+package ec.edu.uce.pokedex.service;
+
+import ec.edu.uce.pokedex.dto.EdtStall;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.swing.*;
+import java.lang.reflect.InvocationTargetException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vigila que el hilo de Swing siga atendiendo eventos.
+ * <p>
+ * Un hilo propio encola cada {@code pokedex.edt-watchdog.interval} una sonda vacía con
+ * {@link SwingUtilities#invokeLater(Runnable)}. Si la sonda tarda más de
+ * {@code pokedex.edt-watchdog.threshold} en ejecutarse, la ventana está congelada: se
+ * toma la pila del hilo de Swing en ese momento, que señala el código que lo bloquea
+ * (p. ej. una consulta a la base de datos), y al volver la sonda se guarda el bloqueo con
+ * su duración total. Se conservan los últimos {@code pokedex.edt-watchdog.max-stalls}.
+ */
+@Service
+public class EdtWatchdog {
+
+    private final boolean enabled;
+    private final Duration threshold;
+    private final Duration interval;
+    private final int maxStalls;
+    private final Deque<EdtStall> stalls = new ArrayDeque<>(); // Protegido por this
+    private long totalStalls; // Protegido por this
+    private volatile Thread edt; // Hilo de Swing, renovado por cada sonda
+    private Thread watcher;
+
+    public EdtWatchdog(@Value("${pokedex.edt-watchdog.enabled:true}") boolean enabled,
+                       @Value("${pokedex.edt-watchdog.threshold:PT0.2S}") Duration threshold,
+                       @Value("${pokedex.edt-watchdog.interval:PT0.1S}") Duration interval,
+                       @Value("${pokedex.edt-watchdog.max-stalls:200}") int maxStalls) {
+        this.enabled = enabled;
+        this.threshold = threshold;
+        this.interval = interval;
+        this.maxStalls = maxStalls;
+    }
+
+    /**
+     * Resuelve el hilo de Swing antes de lanzar la vigilancia, para que el primer bloqueo
+     * ya tenga su pila aunque ninguna sonda haya llegado a ejecutarse.
+     */
+    @PostConstruct
+    void start() throws InterruptedException, InvocationTargetException {
+        if (enabled) {
+            if (SwingUtilities.isEventDispatchThread()) {
+                edt = Thread.currentThread();
+            } else {
+                SwingUtilities.invokeAndWait(() -> edt = Thread.currentThread());
+            }
+            watcher = Thread.ofPlatform().name("edt-watchdog").daemon().start(this::watch);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (watcher != null) {
+            watcher.interrupt();
+        }
+    }
+
+    /**
+     * @return Los bloqueos registrados, del más reciente al más antiguo.
+     */
+    public synchronized List<EdtStall> getStalls() {
+        return List.copyOf(stalls.reversed());
+    }
+
+    /**
+     * @return Bloqueos detectados desde el arranque, incluidos los que ya no se conservan.
+     */
+    public synchronized long getTotalStalls() {
+        return totalStalls;
+    }
+
+    /**
+     * @return Umbral a partir del cual una espera del hilo de Swing cuenta como bloqueo.
+     */
+    public Duration getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Olvida los bloqueos registrados.
+     */
+    public synchronized void clear() {
+        stalls.clear();
+        totalStalls = 0;
+    }
+
+    private void watch() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                probe();
+                Thread.sleep(interval);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Encola una sonda y, si no se ejecuta a tiempo, registra el bloqueo.
+     */
+    private void probe() throws InterruptedException {
+        Instant postedAt = Instant.now();
+        long postedNanos = System.nanoTime();
+        CountDownLatch ran = new CountDownLatch(1);
+        SwingUtilities.invokeLater(() -> {
+            edt = Thread.currentThread();
+            ran.countDown();
+        });
+        if (ran.await(threshold.toNanos(), TimeUnit.NANOSECONDS)) {
+            return;
+        }
+        StackTraceElement[] stack = edt.getStackTrace();
+        ran.await(); // Esperar a que el hilo de Swing se libere para conocer la duración
+        record(new EdtStall(postedAt, Duration.ofNanos(System.nanoTime() - postedNanos), List.of(stack)));
+    }
+
+    private synchronized void record(EdtStall stall) {
+        totalStalls++;
+        stalls.addLast(stall);
+        while (stalls.size() > maxStalls) {
+            stalls.removeFirst();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package ec.edu.uce.pokedex.service;
 
+import ec.edu.uce.pokedex.util.SingleFlight;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -13,6 +14,7 @@ import java.util.Map;
 public class EvolutionService {
 
     private final WebClient webClient;
+    private final SingleFlight<String, List<Map<String, Object>>> chainRequests = new SingleFlight<>();
 
     public EvolutionService(WebClient webClient) {
         this.webClient = webClient;
@@ -20,14 +22,17 @@ public class EvolutionService {
 
     /**
      * Obtiene la cadena evolutiva de un Pokémon por su nombre de especie.
+     * <p>
+     * Las llamadas concurrentes para la misma especie comparten una sola petición.
      *
      * @param speciesName Nombre de la especie del Pokémon.
      * @return Mono con una lista de mapas que representan los detalles evolutivos.
      */
     public Mono<List<Map<String, Object>>> getEvolutionChain(String speciesName) {
-        return fetchSpeciesData(speciesName)
+        String key = speciesName.toLowerCase();
+        return chainRequests.execute(key, () -> fetchSpeciesData(key)
                 .flatMap(this::fetchEvolutionChain)
-                .map(this::extractEvolutionDetails);
+                .map(this::extractEvolutionDetails));
     }
 
     /**
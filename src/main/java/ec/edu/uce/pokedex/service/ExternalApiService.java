@@ -1,149 +1,171 @@
 package ec.edu.uce.pokedex.service;
 
-import ec.edu.uce.pokedex.models.*;
+import ec.edu.uce.pokedex.dto.PokemonRef;
+import ec.edu.uce.pokedex.dto.VersionedPokemon;
+import ec.edu.uce.pokedex.jfr.PokemonFetchEvent;
+import ec.edu.uce.pokedex.jfr.TimedInputStream;
+import ec.edu.uce.pokedex.models.Pokemon;
+import ec.edu.uce.pokedex.models.ResourceVersion;
+import ec.edu.uce.pokedex.util.SingleFlight;
+import ec.edu.uce.pokedex.util.ApiUrls;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import java.io.InputStream;
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class ExternalApiService {
 
     private final WebClient webClient;
+    private final PokemonJsonDecoder pokemonJsonDecoder;
+    private final SingleFlight<String, Pokemon> pokemonRequests = new SingleFlight<>();
 
     /**
      * Obtiene los datos de un Pokémon desde la API externa.
      * <p>
      * Este método realiza una petición a la API externa para obtener los datos
-     * completos de un Pokémon específico utilizando su nombre. Luego, mapea
-     * la respuesta a un objeto `Pokemon` con la información correspondiente.
+     * completos de un Pokémon específico utilizando su nombre. La respuesta se
+     * decodifica en streaming con {@link PokemonJsonDecoder}, sin cargarla entera
+     * en memoria ni convertirla antes en un mapa. Las llamadas concurrentes para el
+     * mismo Pokémon comparten una sola petición.
      *
      * @param name Nombre del Pokémon a consultar.
      * @return Un objeto `Mono<Pokemon>` que contiene el Pokémon mapeado.
      */
     public Mono<Pokemon> getPokemonFromApi(String name) {
-        return webClient.get()
-                .uri("/pokemon/{name}", name.toLowerCase()) // Se utiliza el nombre del Pokémon en minúsculas
+        String key = name.toLowerCase(); // Se utiliza el nombre del Pokémon en minúsculas
+        return pokemonRequests.execute(key, () -> webClient.get()
+                .uri("/pokemon/{name}", key)
                 .retrieve()
-                .bodyToMono(Map.class) // Se convierte la respuesta en un mapa
-                .map(this::mapToPokemon); // Mapea el mapa a un objeto Pokémon
+                .bodyToFlux(DataBuffer.class)
+                .as(body -> decodePokemon(body, key))); // Decodifica solo los campos que se guardan
     }
 
     /**
-     * Obtiene todos los Pokémon de la API externa.
+     * Obtiene un Pokémon de la API externa solo si ha cambiado.
      * <p>
-     * Este método realiza una petición a la API externa para obtener una lista
-     * de Pokémon. La respuesta se procesa y mapea a objetos `Pokemon` y se devuelve
-     * como un flujo (`Flux`).
+     * Si se conocen los validadores de una respuesta anterior, la petición se envía
+     * como GET condicional (If-None-Match / If-Modified-Since). Un 304 se traduce en
+     * un `Mono` vacío; un 200 devuelve el Pokémon junto con los nuevos validadores.
+     *
+     * @param name  Nombre del Pokémon a consultar.
+     * @param known Validadores guardados del recurso, o {@code null} si no se conocen.
+     * @return Un `Mono<VersionedPokemon>` vacío si el recurso no ha cambiado.
+     */
+    public Mono<VersionedPokemon> getPokemonIfChanged(String name, ResourceVersion known) {
+        String path = "/pokemon/" + name.toLowerCase();
+        return webClient.get()
+                .uri("/pokemon/{name}", name.toLowerCase())
+                .headers(headers -> {
+                    if (known != null && known.getEtag() != null) {
+                        headers.setIfNoneMatch(known.getEtag());
+                    }
+                    if (known != null && known.getLastModified() != null) {
+                        headers.set(HttpHeaders.IF_MODIFIED_SINCE, known.getLastModified());
+                    }
+                })
+                .exchangeToMono(response -> {
+                    if (response.statusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                        return response.releaseBody().then(Mono.<VersionedPokemon>empty()); // Sin cambios
+                    }
+                    if (!response.statusCode().is2xxSuccessful()) {
+                        return response.<VersionedPokemon>createError();
+                    }
+                    HttpHeaders headers = response.headers().asHttpHeaders();
+                    ResourceVersion version = new ResourceVersion(
+                            path, headers.getETag(), headers.getFirst(HttpHeaders.LAST_MODIFIED), Instant.now());
+                    return decodePokemon(response.bodyToFlux(DataBuffer.class), name.toLowerCase())
+                            .map(pokemon -> new VersionedPokemon(pokemon, version));
+                });
+    }
+
+    /**
+     * Obtiene el índice de Pokémon de la API externa en una sola petición.
+     * <p>
+     * El índice solo contiene el nombre y la URL de cada Pokémon; el id se extrae
+     * de la URL para no tener que pedir el detalle completo.
      *
      * @param limit  Límite de Pokémon a obtener.
      * @param offset Punto de inicio para obtener los Pokémon.
-     * @return Un objeto `Flux<Pokemon>` que contiene los Pokémon mapeados.
+     * @return Un objeto `Flux<PokemonRef>` con las referencias del índice.
      */
-    public Flux<Pokemon> getAllPokemonFromApi(int limit, int offset) {
+    public Flux<PokemonRef> getPokemonIndex(int limit, int offset) {
         return webClient.get()
                 .uri("/pokemon?limit={limit}&offset={offset}", limit, offset) // Obtiene una lista de Pokémon
                 .retrieve()
                 .bodyToMono(Map.class) // Convierte la respuesta a un mapa
                 .flatMapMany(data -> Flux.fromIterable((List<Map<String, Object>>) data.get("results"))) // Extrae los resultados
-                .flatMap(result -> getPokemonFromApi((String) result.get("name"))); // Obtiene detalles de cada Pokémon
+                .map(result -> new PokemonRef(ApiUrls.idOf((String) result.get("url")), (String) result.get("name")));
     }
 
-
     /**
-     * Mapea los datos obtenidos de la API a un objeto `Pokemon`.
+     * Obtiene el detalle de un conjunto de Pokémon de la API externa.
      * <p>
-     * Este método toma un mapa con los datos crudos obtenidos de la API externa
-     * y mapea esos datos a un objeto `Pokemon`. Este proceso incluye la conversión
-     * de las habilidades, estadísticas, tipos y movimientos a objetos específicos.
+     * Este método pide el detalle de cada referencia en paralelo, con un máximo de
+     * `concurrency` peticiones en curso. Un Pokémon cuyo detalle falla se omite sin
+     * interrumpir el resto de la carga.
      *
-     * @param data Mapa de datos crudos obtenidos de la API externa.
-     * @return Un objeto `Pokemon` con los datos mapeados.
+     * @param refs        Referencias de los Pokémon a obtener.
+     * @param concurrency Número máximo de peticiones de detalle simultáneas.
+     * @return Un objeto `Flux<Pokemon>` que contiene los Pokémon mapeados.
      */
-    private Pokemon mapToPokemon(Map<String, Object> data) {
-        Pokemon pokemon = new Pokemon();
-        pokemon.setId((int) data.get("id"));
-        pokemon.setName((String) data.get("name"));
-        pokemon.setBaseExperience((int) data.get("base_experience"));
-        pokemon.setHeight((int) data.get("height"));
-        pokemon.setWeight((int) data.get("weight"));
-        pokemon.setOrderIndex((int) data.get("order"));
-        pokemon.setAbilities(mapList(data, "abilities", this::mapToAbility));
-        pokemon.setStats(mapList(data, "stats", this::mapToStat));
-        pokemon.setTypes(mapList(data, "types", this::mapToType));
-        pokemon.setMoves(mapList(data, "moves", this::mapToMove));
-        pokemon.setSprites(mapToSprites((Map<String, Object>) data.get("sprites")));
-        return pokemon;
+    public Flux<Pokemon> getAllPokemonFromApi(Flux<PokemonRef> refs, int concurrency) {
+        return refs.flatMap(ref -> getPokemonFromApi(ref.name())
+                .onErrorResume(ex -> {
+                    log.warn("Error loading Pokémon {}: {}", ref.name(), ex.getMessage());
+                    return Mono.empty();
+                }), concurrency); // Obtiene detalles de cada Pokémon con concurrencia acotada
     }
 
     /**
-     * Mapea un listado general de datos a una lista de objetos específicos.
+     * Decodifica en streaming el cuerpo de un recurso Pokémon.
      * <p>
-     * Este método recibe un listado de datos crudos y los mapea utilizando
-     * una función `mapper` que define cómo convertir cada elemento del listado
-     * en un objeto de tipo `T`.
+     * Los fragmentos de la respuesta se leen a medida que llegan desde un hilo de
+     * {@code boundedElastic}, ya que el parser de Jackson es bloqueante. Si se está
+     * grabando con Flight Recorder, se emite un {@link PokemonFetchEvent} con los bytes
+     * recibidos y el tiempo de espera de la red separado del de decodificación.
      *
-     * @param data   El mapa que contiene los datos crudos.
-     * @param key    La clave que contiene el listado de elementos en el mapa.
-     * @param mapper La función que mapea cada elemento del listado a un objeto.
-     * @param <T>    El tipo de objeto al que se mapea cada elemento.
-     * @return Una lista de objetos mapeados de tipo `T`.
+     * @param body Fragmentos del cuerpo de la respuesta.
+     * @param name Nombre del Pokémon, para el evento.
+     * @return Un objeto `Mono<Pokemon>` con el Pokémon decodificado.
      */
-    private <T> List<T> mapList(Map<String, Object> data, String key, java.util.function.Function<Map<String, Object>, T> mapper) {
-        return ((List<Map<String, Object>>) data.get(key)).stream()
-                .map(mapper)
-                .collect(Collectors.toList());
-    }
-
-    private Ability mapToAbility(Map<String, Object> data) {
-        Map<String, Object> abilityData = (Map<String, Object>) data.get("ability");
-        return new Ability(
-                (String) abilityData.get("name"),
-                (String) abilityData.get("url"),
-                (boolean) data.get("is_hidden"),
-                (int) data.get("slot")
-        );
-    }
-
-    private Stat mapToStat(Map<String, Object> data) {
-        Map<String, Object> statData = (Map<String, Object>) data.get("stat");
-        return new Stat(
-                (int) data.get("base_stat"),
-                (int) data.get("effort"),
-                (String) statData.get("name")
-        );
-    }
-
-    private Type mapToType(Map<String, Object> data) {
-        Map<String, Object> typeData = (Map<String, Object>) data.get("type");
-        return new Type(
-                (int) data.get("slot"),
-                (String) typeData.get("name"),
-                (String) typeData.get("url")
-        );
-    }
-
-    private Move mapToMove(Map<String, Object> data) {
-        Map<String, Object> moveData = (Map<String, Object>) data.get("move");
-        return new Move((String) moveData.get("name"), (String) moveData.get("url"));
-    }
-
-    private Sprites mapToSprites(Map<String, Object> data) {
-        Sprites sprites = new Sprites();
-        sprites.setFrontDefault((String) data.get("front_default"));
-        sprites.setBackDefault((String) data.get("back_default"));
-        sprites.setFrontShiny((String) data.get("front_shiny"));
-        sprites.setBackShiny((String) data.get("back_shiny"));
-        sprites.setFrontFemale((String) data.get("front_female"));
-        sprites.setBackFemale((String) data.get("back_female"));
-        sprites.setFrontShinyFemale((String) data.get("front_shiny_female"));
-        sprites.setBackShinyFemale((String) data.get("back_shiny_female"));
-        return sprites;
+    private Mono<Pokemon> decodePokemon(Flux<DataBuffer> body, String name) {
+        return Mono.fromCallable(() -> {
+                    PokemonFetchEvent event = new PokemonFetchEvent();
+                    if (!event.isEnabled()) {
+                        try (InputStream in = DataBufferUtils.subscriberInputStream(body, 4)) {
+                            return pokemonJsonDecoder.decode(in);
+                        }
+                    }
+                    event.begin();
+                    long start = System.nanoTime();
+                    try (TimedInputStream in = new TimedInputStream(DataBufferUtils.subscriberInputStream(body, 4))) {
+                        Pokemon pokemon = pokemonJsonDecoder.decode(in);
+                        event.end();
+                        if (event.shouldCommit()) {
+                            event.pokemon = name;
+                            event.bytes = in.bytes();
+                            event.networkWait = in.waitNanos();
+                            event.decodeTime = System.nanoTime() - start - in.waitNanos();
+                            event.commit();
+                        }
+                        return pokemon;
+                    }
+                })
+                .subscribeOn(Schedulers.boundedElastic());
     }
 }
@@ -0,0 +1,105 @@
+package ec.edu.uce.pokedex.service;
+
+import ec.edu.uce.pokedex.jfr.*;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Inicia y detiene desde la interfaz una grabación de Flight Recorder con la
+ * configuración {@code pokedex.jfr.configuration} (por defecto "profile") y los eventos
+ * propios del paquete {@code ec.edu.uce.pokedex.jfr}.
+ * <p>
+ * Los eventos propios se emiten desde la ingesta, las consultas con caché, las cargas de
+ * imágenes y las vistas, pero mientras no hay ninguna grabación activa no se registran y
+ * su coste es el de comprobar si están activos. La grabación se vuelca a un archivo
+ * {@code .jfr} al detenerla, listo para abrirlo con JDK Mission Control o {@code jfr print}.
+ */
+@Service
+public class FlightRecorderService {
+
+    private static final List<Class<? extends jdk.jfr.Event>> EVENTS = List.of(
+            PokemonFetchEvent.class, PokemonPersistEvent.class, ServiceLookupEvent.class,
+            ImageLoadEvent.class, ViewRenderEvent.class);
+
+    private final String configurationName;
+    private final Duration maxAge;
+    private Recording recording; // Protegido por this
+
+    public FlightRecorderService(@Value("${pokedex.jfr.configuration:profile}") String configurationName,
+                                 @Value("${pokedex.jfr.max-age:PT30M}") Duration maxAge) {
+        this.configurationName = configurationName;
+        this.maxAge = maxAge;
+    }
+
+    /**
+     * @return Si hay una grabación en curso.
+     */
+    public synchronized boolean isRecording() {
+        return recording != null;
+    }
+
+    /**
+     * Inicia una grabación. Solo se conservan los últimos {@code pokedex.jfr.max-age}.
+     *
+     * @throws IOException Si no se puede leer la configuración.
+     * @throws IllegalStateException Si ya hay una grabación en curso.
+     */
+    public synchronized void start() throws IOException {
+        if (recording != null) {
+            throw new IllegalStateException("A flight recording is already running");
+        }
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(configurationName);
+        } catch (ParseException e) {
+            throw new IOException("Invalid JFR configuration " + configurationName, e);
+        }
+        Recording started = new Recording(configuration);
+        started.setName("Pokédex");
+        started.setToDisk(true);
+        started.setMaxAge(maxAge);
+        EVENTS.forEach(started::enable);
+        started.start();
+        recording = started;
+    }
+
+    /**
+     * Detiene la grabación en curso y la guarda.
+     *
+     * @param file Archivo {@code .jfr} de destino.
+     * @return El archivo escrito.
+     * @throws IOException Si no se puede escribir el archivo.
+     * @throws IllegalStateException Si no hay ninguna grabación en curso.
+     */
+    public synchronized Path stop(Path file) throws IOException {
+        if (recording == null) {
+            throw new IllegalStateException("No flight recording is running");
+        }
+        try (Recording stopped = recording) {
+            recording = null;
+            stopped.stop();
+            stopped.dump(file);
+        }
+        return file;
+    }
+
+    /**
+     * Descarta la grabación en curso al cerrar la aplicación.
+     */
+    @PreDestroy
+    synchronized void close() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+}
@@ -0,0 +1,354 @@
+package ec.edu.uce.pokedex.service;
+
+import ec.edu.uce.pokedex.jfr.ImageLoadEvent;
+import ec.edu.uce.pokedex.util.ImageScaler;
+import ec.edu.uce.pokedex.util.LruCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import javax.imageio.ImageIO;
+import javax.swing.ImageIcon;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caché de imágenes de sprites compartida por todas las vistas, en dos niveles.
+ * <p>
+ * El primer nivel guarda en memoria las imágenes ya decodificadas, en una LRU
+ * acotada por los bytes de sus píxeles. El segundo guarda en disco los PNG
+ * originales por contenido: el archivo se llama como el SHA-256 de sus bytes y cada
+ * URL apunta a su archivo, así que un mismo sprite publicado en varias URL se guarda
+ * una sola vez. Solo si la imagen no está en ninguno de los dos se descarga.
+ * <p>
+ * Los iconos se sirven desde una tercera LRU de variantes escaladas, una por URL y
+ * tamaño, que {@link ImageScaler} calcula una sola vez. Si la imagen no está en memoria,
+ * se decodifica ya submuestreada para el tamaño pedido.
+ * <p>
+ * Los métodos bloquean mientras leen o descargan, así que deben llamarse desde un
+ * hilo en segundo plano. Las cargas concurrentes de la misma imagen comparten una
+ * única descarga.
+ * <p>
+ * Cada llamada que devuelve una imagen emite un {@link ImageLoadEvent} de Flight
+ * Recorder con la capa que la sirvió, los bytes leídos y los tiempos de decodificación y
+ * escalado; sin grabación en curso el evento no se registra.
+ */
+@Service
+public class ImageCacheService {
+
+    private final Path blobDirectory;
+    private final Path urlDirectory;
+    private final LruCache<String, BufferedImage> memory;
+    private final LruCache<Variant, BufferedImage> variants;
+    private final Map<Object, CompletableFuture<BufferedImage>> inFlight = new ConcurrentHashMap<>();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong networkFetches = new AtomicLong();
+
+    public ImageCacheService(@Value("${pokedex.image-cache.dir:${user.home}/.pokedex/images}") Path directory,
+                             @Value("${pokedex.image-cache.memory-size:64MB}") DataSize memorySize,
+                             @Value("${pokedex.image-cache.variant-size:32MB}") DataSize variantSize) throws IOException {
+        this.blobDirectory = directory.resolve("blobs");
+        this.urlDirectory = directory.resolve("urls");
+        this.memory = new LruCache<>(memorySize.toBytes(), ImageCacheService::pixelBytes);
+        this.variants = new LruCache<>(variantSize.toBytes(), ImageCacheService::pixelBytes);
+        Files.createDirectories(blobDirectory);
+        Files.createDirectories(urlDirectory);
+    }
+
+    /**
+     * Obtiene la imagen de una URL desde memoria, disco o la red, en ese orden.
+     *
+     * @param url URL de la imagen.
+     * @return La imagen decodificada a su tamaño original.
+     * @throws IOException Si la imagen no se puede descargar ni decodificar.
+     */
+    public BufferedImage getImage(String url) throws IOException {
+        ImageLoadEvent event = new ImageLoadEvent();
+        event.begin();
+        BufferedImage cached = memory.get(url);
+        if (cached != null) {
+            event.source = "memory";
+            return commit(event, url, cached);
+        }
+        BufferedImage loaded = coalesce(url, () -> {
+            BufferedImage image = decode(loadBytes(url, event), url, event);
+            memory.put(url, image);
+            return image;
+        });
+        return commit(event, url, loaded);
+    }
+
+    /**
+     * Lee la imagen de una URL desde disco o la red sin guardarla en memoria.
+     * <p>
+     * Para recorridos de todo el conjunto, como la construcción del atlas de sprites,
+     * que de otro modo desalojarían de la LRU las imágenes que usan las vistas.
+     *
+     * @param url URL de la imagen.
+     * @return La imagen decodificada a su tamaño original.
+     * @throws IOException Si la imagen no se puede descargar ni decodificar.
+     */
+    public BufferedImage readImage(String url) throws IOException {
+        ImageLoadEvent event = new ImageLoadEvent();
+        event.begin();
+        BufferedImage image = memory.get(url);
+        if (image != null) {
+            event.source = "memory";
+        } else {
+            image = decode(loadBytes(url, event), url, event);
+        }
+        return commit(event, url, image);
+    }
+
+    /**
+     * Obtiene la imagen de una URL escalada para caber en el tamaño indicado.
+     * <p>
+     * Cada combinación de URL y tamaño se escala una sola vez y queda en la caché de variantes.
+     *
+     * @param url    URL de la imagen.
+     * @param width  Ancho máximo.
+     * @param height Alto máximo.
+     * @return La imagen escalada, manteniendo la proporción.
+     * @throws IOException Si la imagen no se puede obtener.
+     */
+    public BufferedImage getScaledImage(String url, int width, int height) throws IOException {
+        ImageLoadEvent event = new ImageLoadEvent();
+        event.begin();
+        Variant key = new Variant(url, width, height);
+        BufferedImage cached = variants.get(key);
+        if (cached != null) {
+            event.source = "variant";
+            return commit(event, url, cached);
+        }
+        BufferedImage loaded = coalesce(key, () -> {
+            BufferedImage source = memory.get(url);
+            if (source == null) {
+                byte[] bytes = loadBytes(url, event);
+                long decodeStart = System.nanoTime();
+                source = ImageScaler.decode(bytes, width, height);
+                event.decodeTime = System.nanoTime() - decodeStart;
+                if (source.getWidth() <= width && source.getHeight() <= height) {
+                    memory.put(url, source); // Sin submuestreo: es el original y sirve para otros tamaños
+                }
+            } else {
+                event.source = "memory";
+            }
+            long scaleStart = System.nanoTime();
+            BufferedImage scaled = ImageScaler.scale(source, width, height);
+            event.scaleTime = System.nanoTime() - scaleStart;
+            variants.put(key, scaled);
+            return scaled;
+        });
+        return commit(event, url, loaded);
+    }
+
+    /**
+     * Obtiene la imagen de una URL escalada al tamaño indicado.
+     *
+     * @param url    URL de la imagen.
+     * @param width  Ancho del icono.
+     * @param height Alto del icono.
+     * @return Un `ImageIcon` listo para un `JLabel`.
+     * @throws IOException Si la imagen no se puede obtener.
+     */
+    public ImageIcon getIcon(String url, int width, int height) throws IOException {
+        return new ImageIcon(getScaledImage(url, width, height));
+    }
+
+    /**
+     * @return Imágenes servidas desde memoria.
+     */
+    public long memoryHits() {
+        return memory.hits();
+    }
+
+    /**
+     * @return Iconos servidos desde la caché de variantes sin volver a escalar.
+     */
+    public long variantHits() {
+        return variants.hits();
+    }
+
+    /**
+     * @return Imágenes que no estaban en memoria y se leyeron del disco.
+     */
+    public long diskHits() {
+        return diskHits.get();
+    }
+
+    /**
+     * @return Descargas hechas desde que arrancó la aplicación.
+     */
+    public long networkFetches() {
+        return networkFetches.get();
+    }
+
+    /**
+     * Lee los bytes del PNG desde el almacén en disco o, si no están, los descarga y los guarda.
+     * Anota en el evento de dónde salieron y cuántos son.
+     */
+    private byte[] loadBytes(String url, ImageLoadEvent event) throws IOException {
+        Path pointer = urlDirectory.resolve(sha256(url.getBytes(StandardCharsets.UTF_8)));
+        if (Files.exists(pointer)) {
+            Path blob = blobDirectory.resolve(Files.readString(pointer).trim());
+            if (Files.exists(blob)) {
+                diskHits.incrementAndGet();
+                byte[] bytes = Files.readAllBytes(blob);
+                event.source = "disk";
+                event.bytes = bytes.length;
+                return bytes;
+            }
+        }
+        byte[] bytes = download(url);
+        event.source = "network";
+        event.bytes = bytes.length;
+        String contentHash = sha256(bytes);
+        Path blob = blobDirectory.resolve(contentHash);
+        if (!Files.exists(blob)) {
+            writeAtomically(blob, bytes);
+        }
+        writeAtomically(pointer, contentHash.getBytes(StandardCharsets.UTF_8));
+        return bytes;
+    }
+
+    private byte[] download(String url) throws IOException {
+        networkFetches.incrementAndGet();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        try {
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() != 200) {
+                throw new IOException("HTTP " + response.statusCode() + " for " + url);
+            }
+            return response.body();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // La vista canceló la carga
+            throw new InterruptedIOException("Image download interrupted: " + url);
+        }
+    }
+
+    private BufferedImage decode(byte[] bytes, String url, ImageLoadEvent event) throws IOException {
+        long start = System.nanoTime();
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(bytes));
+        event.decodeTime = System.nanoTime() - start;
+        if (image == null) {
+            throw new IOException("Unsupported image format: " + url);
+        }
+        return image;
+    }
+
+    /**
+     * Cierra el evento de una carga y lo registra si hay una grabación que lo pida.
+     *
+     * @return La misma imagen.
+     */
+    private static BufferedImage commit(ImageLoadEvent event, String url, BufferedImage image) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.url = url;
+            if (event.source == null) {
+                event.source = "shared"; // Esperó la carga que ya había lanzado otra vista
+            }
+            event.width = image.getWidth();
+            event.height = image.getHeight();
+            event.commit();
+        }
+        return image;
+    }
+
+    /**
+     * Escribe en un temporal y lo mueve, para que nunca se lea un archivo a medias.
+     */
+    private void writeAtomically(Path target, byte[] bytes) throws IOException {
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, bytes);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Ejecuta la carga una sola vez por clave; quien llegue mientras tanto espera su resultado.
+     */
+    private BufferedImage coalesce(Object key, ImageLoad loader) throws IOException {
+        CompletableFuture<BufferedImage> load = new CompletableFuture<>();
+        CompletableFuture<BufferedImage> existing = inFlight.putIfAbsent(key, load);
+        if (existing != null) {
+            return await(existing); // Otra vista ya está cargando la misma imagen
+        }
+        try {
+            BufferedImage image = loader.load();
+            load.complete(image);
+            return image;
+        } catch (IOException | RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, load);
+        }
+    }
+
+    private BufferedImage await(CompletableFuture<BufferedImage> load) throws IOException {
+        try {
+            return load.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for image");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private static long pixelBytes(BufferedImage image) {
+        return (long) image.getWidth() * image.getHeight() * 4; // ARGB
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Una imagen escalada: la URL de origen y el tamaño máximo pedido.
+     */
+    private record Variant(String url, int width, int height) {
+    }
+
+    @FunctionalInterface
+    private interface ImageLoad {
+        BufferedImage load() throws IOException;
+    }
+}
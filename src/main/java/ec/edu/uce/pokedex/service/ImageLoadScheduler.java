@@ -0,0 +1,169 @@
+package ec.edu.uce.pokedex.service;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+/**
+ * Cola central de cargas de imágenes de todas las vistas.
+ * <p>
+ * Las cargas esperan en una cola y se lanzan en el ejecutor de hilos virtuales de la
+ * interfaz, con dos reglas:
+ * <ul>
+ *     <li>Como mucho {@code pokedex.image-loader.max-per-host} cargas a la vez por host,
+ *     para no saturar el servidor de sprites con las tarjetas de varias vistas.</li>
+ *     <li>Primero las de la vista que se está mostrando ({@link #setActiveView(String)}) y,
+ *     dentro de cada vista, en el orden en que se pidieron, que es el orden de las tarjetas.</li>
+ * </ul>
+ * Cancelar el future que devuelve {@link #submit(String, String, Callable)} saca la
+ * carga de la cola o, si ya había empezado, interrumpe su hilo y deja el hueco libre.
+ */
+@Service
+public class ImageLoadScheduler {
+
+    private final ExecutorService executor;
+    private final int maxPerHost;
+    private final Deque<Job<?>> queue = new ArrayDeque<>(); // Protegido por this
+    private final Map<String, Integer> activePerHost = new HashMap<>(); // Protegido por this
+    private volatile String activeView;
+
+    public ImageLoadScheduler(@Qualifier("uiTaskExecutor") ExecutorService uiTaskExecutor,
+                              @Value("${pokedex.image-loader.max-per-host:6}") int maxPerHost) {
+        this.executor = uiTaskExecutor;
+        this.maxPerHost = maxPerHost;
+    }
+
+    /**
+     * Pone en cola la carga de una imagen.
+     *
+     * @param view Nombre de la vista que la pide (el de su tarjeta en {@code MainView}).
+     * @param url  URL de la imagen; su host decide el límite de concurrencia.
+     * @param load Carga bloqueante de la imagen.
+     * @param <T>  Tipo del resultado.
+     * @return Un future con el resultado; cancelarlo cancela la carga.
+     */
+    public <T> CompletableFuture<T> submit(String view, String url, Callable<T> load) {
+        Job<T> job = new Job<>(view, hostOf(url), load);
+        job.result.whenComplete((value, ex) -> {
+            if (job.result.isCancelled()) {
+                cancel(job);
+            }
+        });
+        synchronized (this) {
+            queue.addLast(job);
+        }
+        dispatch();
+        return job.result;
+    }
+
+    /**
+     * Indica qué vista se está mostrando; sus cargas pendientes pasan delante de las demás.
+     *
+     * @param view Nombre de la vista visible.
+     */
+    public void setActiveView(String view) {
+        activeView = view;
+        dispatch();
+    }
+
+    /**
+     * @return Número de cargas esperando turno.
+     */
+    public synchronized int queuedCount() {
+        return queue.size();
+    }
+
+    /**
+     * Lanza las cargas en cola que tienen hueco en su host, primero las de la vista visible.
+     */
+    private synchronized void dispatch() {
+        String visible = activeView;
+        startEligible(job -> job.view.equals(visible));
+        startEligible(job -> true);
+    }
+
+    private void startEligible(Predicate<Job<?>> filter) {
+        Iterator<Job<?>> iterator = queue.iterator();
+        while (iterator.hasNext()) {
+            Job<?> job = iterator.next();
+            if (job.result.isDone()) {
+                iterator.remove(); // Cancelada antes de entrar en la cola
+            } else if (filter.test(job) && activePerHost.getOrDefault(job.host, 0) < maxPerHost) {
+                iterator.remove();
+                activePerHost.merge(job.host, 1, Integer::sum);
+                job.future = executor.submit(() -> run(job));
+            }
+        }
+    }
+
+    private <T> void run(Job<T> job) {
+        if (!job.started.compareAndSet(false, true)) {
+            return; // Cancelada antes de arrancar; cancel ya liberó el hueco
+        }
+        try {
+            job.result.complete(job.load.call());
+        } catch (Throwable ex) {
+            job.result.completeExceptionally(ex);
+        } finally {
+            release(job);
+        }
+    }
+
+    private void cancel(Job<?> job) {
+        Future<?> future;
+        synchronized (this) {
+            if (queue.remove(job)) {
+                return; // No había empezado
+            }
+            future = job.future;
+        }
+        if (future != null && future.cancel(true) && job.started.compareAndSet(false, true)) {
+            release(job); // run no llegó a empezar; si empezó, libera el hueco al salir
+        }
+    }
+
+    private synchronized void release(Job<?> job) {
+        activePerHost.computeIfPresent(job.host, (host, count) -> count > 1 ? count - 1 : null);
+        dispatch();
+    }
+
+    private static String hostOf(String url) {
+        if (url == null) {
+            return "";
+        }
+        try {
+            String host = URI.create(url).getHost();
+            return host != null ? host : "";
+        } catch (IllegalArgumentException e) {
+            return ""; // La carga fallará igualmente; comparte el límite de las URL sin host
+        }
+    }
+
+    /**
+     * Una carga en cola o en curso.
+     */
+    private static final class Job<T> {
+
+        final String view;
+        final String host;
+        final Callable<T> load;
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        final AtomicBoolean started = new AtomicBoolean();
+        Future<?> future; // Protegido por el planificador; null mientras está en cola
+
+        Job(String view, String host, Callable<T> load) {
+            this.view = view;
+            this.host = host;
+            this.load = load;
+        }
+    }
+}
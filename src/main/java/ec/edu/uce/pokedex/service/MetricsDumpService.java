@@ -0,0 +1,169 @@
+package ec.edu.uce.pokedex.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.*;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vuelca periódicamente todas las métricas a un archivo JSON Lines por día en
+ * {@code pokedex.metrics.dir}, una línea por medidor y volcado.
+ * <p>
+ * Los temporizadores llevan cuenta, total, máximo y los percentiles configurados en
+ * {@code management.metrics.distribution.percentiles} (p50 y p99), en milisegundos;
+ * los contadores, su valor acumulado, y los medidores, su valor actual. Cada línea lleva
+ * las etiquetas comunes, incluida la versión, así que los archivos de dos versiones se
+ * pueden comparar directamente.
+ */
+@Slf4j
+@Service
+public class MetricsDumpService {
+
+    private final MeterRegistry registry;
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final boolean enabled;
+
+    public MetricsDumpService(MeterRegistry registry, ObjectMapper objectMapper,
+                              @Value("${pokedex.metrics.dir:${user.home}/.pokedex/metrics}") Path directory,
+                              @Value("${pokedex.metrics.dump-enabled:true}") boolean enabled) {
+        this.registry = registry;
+        this.objectMapper = objectMapper;
+        this.directory = directory;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Escribe un volcado cada {@code pokedex.metrics.dump-interval}.
+     */
+    @Scheduled(initialDelayString = "${pokedex.metrics.dump-interval:PT1M}",
+            fixedDelayString = "${pokedex.metrics.dump-interval:PT1M}")
+    public void scheduledDump() {
+        if (enabled) {
+            dump();
+        }
+    }
+
+    /**
+     * Escribe un último volcado al cerrar, para no perder lo medido desde el anterior.
+     */
+    @PreDestroy
+    void dumpOnShutdown() {
+        scheduledDump();
+    }
+
+    /**
+     * Añade una línea por medidor al archivo del día.
+     *
+     * @return El archivo escrito, o {@code null} si no se pudo escribir.
+     */
+    public synchronized Path dump() {
+        Instant now = Instant.now();
+        Path file = directory.resolve("metrics-" + LocalDate.ofInstant(now, ZoneOffset.UTC) + ".jsonl");
+        StringBuilder lines = new StringBuilder();
+        for (Meter meter : registry.getMeters()) {
+            Map<String, Object> line = toLine(meter, now);
+            if (line != null) {
+                try {
+                    lines.append(objectMapper.writeValueAsString(line)).append('\n');
+                } catch (JsonProcessingException e) {
+                    log.debug("Skipping meter {}: {}", meter.getId().getName(), e.getMessage());
+                }
+            }
+        }
+        try {
+            Files.createDirectories(directory);
+            Files.writeString(file, lines, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            return file;
+        } catch (IOException e) {
+            log.warn("Could not write metrics to {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private Map<String, Object> toLine(Meter meter, Instant now) {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("ts", now.toString());
+        line.put("name", meter.getId().getName());
+        Map<String, String> tags = new TreeMap<>();
+        meter.getId().getTags().forEach(tag -> tags.put(tag.getKey(), tag.getValue()));
+        line.put("tags", tags);
+
+        if (meter instanceof Timer timer) {
+            line.put("type", "timer");
+            putHistogram(line, timer.takeSnapshot());
+        } else if (meter instanceof LongTaskTimer timer) {
+            line.put("type", "long-task-timer");
+            line.put("active", timer.activeTasks());
+            line.put("durationMs", timer.duration(TimeUnit.MILLISECONDS));
+        } else if (meter instanceof FunctionTimer timer) {
+            line.put("type", "timer");
+            line.put("count", timer.count());
+            line.put("totalMs", timer.totalTime(TimeUnit.MILLISECONDS));
+        } else if (meter instanceof DistributionSummary summary) {
+            line.put("type", "summary");
+            HistogramSnapshot snapshot = summary.takeSnapshot();
+            line.put("count", snapshot.count());
+            line.put("total", snapshot.total());
+            line.put("max", snapshot.max());
+            for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+                line.put(percentileKey(percentile, ""), percentile.value());
+            }
+        } else if (meter instanceof Counter counter) {
+            line.put("type", "counter");
+            line.put("count", counter.count());
+        } else if (meter instanceof FunctionCounter counter) {
+            line.put("type", "counter");
+            line.put("count", counter.count());
+        } else if (meter instanceof TimeGauge gauge) {
+            line.put("type", "gauge");
+            line.put("valueMs", gauge.value(TimeUnit.MILLISECONDS));
+        } else if (meter instanceof Gauge gauge) {
+            double value = gauge.value();
+            if (Double.isNaN(value)) {
+                return null; // El objeto medido ya no existe
+            }
+            line.put("type", "gauge");
+            line.put("value", value);
+        } else {
+            return null;
+        }
+        return line;
+    }
+
+    private static void putHistogram(Map<String, Object> line, HistogramSnapshot snapshot) {
+        line.put("count", snapshot.count());
+        line.put("totalMs", snapshot.total(TimeUnit.MILLISECONDS));
+        line.put("maxMs", snapshot.max(TimeUnit.MILLISECONDS));
+        for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+            line.put(percentileKey(percentile, "Ms"), percentile.value(TimeUnit.MILLISECONDS));
+        }
+    }
+
+    /**
+     * @return p. ej. "p50Ms" para el percentil 0.5 o "p99.9Ms" para el 0.999.
+     */
+    private static String percentileKey(ValueAtPercentile percentile, String unit) {
+        String value = String.valueOf(percentile.percentile() * 100).replaceAll("\\.0$", "");
+        return "p" + value + unit;
+    }
+}
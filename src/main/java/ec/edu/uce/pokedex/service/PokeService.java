@@ -1,12 +1,25 @@
 package ec.edu.uce.pokedex.service;
 
+import ec.edu.uce.pokedex.config.CacheConfig;
+import ec.edu.uce.pokedex.dto.IngestionProgress;
+import ec.edu.uce.pokedex.dto.PokemonDetail;
+import ec.edu.uce.pokedex.dto.PokemonRef;
 import ec.edu.uce.pokedex.models.*;
 import ec.edu.uce.pokedex.repository.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
 
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
@@ -14,26 +27,107 @@ public class PokeService {
 
     private final PokemonRepository pokemonRepository;
     private final ExternalApiService externalApiService;
+    private final PokemonBatchWriter pokemonBatchWriter;
+    private final IngestionCheckpointRepository checkpointRepository;
+
+    @Value("${pokedex.ingestion.concurrency:16}")
+    private int ingestionConcurrency;
+
+    @Value("${pokedex.ingestion.total:1025}")
+    private int ingestionTotal;
+
+    /**
+     * Carga los Pokémon desde la API externa y los guarda en la base de datos.
+     * <p>
+     * El índice se consulta una sola vez y se descartan los Pokémon que ya tienen un
+     * {@link IngestionCheckpoint}, de modo que una carga interrumpida solo paga el
+     * trabajo pendiente. Los detalles restantes se piden en paralelo, con un máximo
+     * de {@code pokedex.ingestion.concurrency} peticiones simultáneas, y se guardan
+     * en lotes desde el hilo escritor de {@link PokemonBatchWriter}. El método bloquea
+     * hasta que el último lote ha sido confirmado, por lo que no debe invocarse desde
+     * el hilo de Swing.
+     *
+     * @param onProgress Recibe el avance cada vez que se confirma un Pokémon.
+     * @return El avance final de la carga.
+     */
+    public IngestionProgress loadAllPokemonsFromApiAndSave(Consumer<IngestionProgress> onProgress) {
+        Set<Integer> committedIds = new HashSet<>(checkpointRepository.findCommittedIds());
+        List<PokemonRef> index = externalApiService.getPokemonIndex(ingestionTotal, 0).collectList().block();
+        List<PokemonRef> pending = index.stream()
+                .filter(ref -> !committedIds.contains(ref.id()))
+                .toList();
+
+        int total = index.size();
+        AtomicInteger done = new AtomicInteger(total - pending.size());
+        onProgress.accept(new IngestionProgress(done.get(), total));
+
+        externalApiService.getAllPokemonFromApi(Flux.fromIterable(pending), ingestionConcurrency)
+                .transform(pokemonBatchWriter::write)
+                .doOnNext(pokemon -> onProgress.accept(new IngestionProgress(done.incrementAndGet(), total)))
+                .blockLast();
+        return new IngestionProgress(done.get(), total);
+    }
 
     /**
-     * Carga todos los Pokémon desde la API externa y los guarda en la base de datos.
+     * Obtiene el avance de la ingesta a partir de los checkpoints guardados.
+     *
+     * @return Pokémon confirmados y pendientes respecto al total configurado.
      */
-    @Transactional
-    public void loadAllPokemonsFromApiAndSave(int limit, int offset) {
-        externalApiService.getAllPokemonFromApi(limit, offset)
-                .doOnNext(this::savePokemonData)
-                .subscribe();
+    public IngestionProgress getIngestionProgress() {
+        int done = (int) Math.min(checkpointRepository.count(), ingestionTotal);
+        return new IngestionProgress(done, ingestionTotal);
     }
 
     /**
      * Guarda un Pokémon y sus datos relacionados.
+     * <p>
+     * Se escribe desde el hilo de {@link PokemonBatchWriter}, como un lote de uno, para
+     * que sus movimientos, tipos y habilidades se resuelvan contra los catálogos sin
+     * competir con una ingesta en curso por las mismas entradas. Bloquea hasta que se
+     * confirma.
      */
-    @Transactional
     public void savePokemonData(Pokemon pokemon) {
-        pokemonRepository.save(pokemon);
+        pokemonBatchWriter.write(Flux.just(pokemon)).blockLast();
     }
 
-    public Optional<Pokemon> getPokemonByName(String lowerCase) {
-        return Optional.ofNullable(pokemonRepository.findByNameIgnoreCase(lowerCase));
+    /**
+     * Obtiene lo que muestra el detalle de la búsqueda de un Pokémon.
+     * <p>
+     * El grafo {@link Pokemon#DETAIL_GRAPH} trae el sprite y las habilidades; los
+     * movimientos se cargan en una segunda consulta, porque traer dos colecciones
+     * de tipo lista en el mismo JOIN multiplicaría las filas. Se devuelve (y se guarda
+     * en caché) una copia inmutable, no la entidad.
+     *
+     * @param lowerCase Nombre del Pokémon.
+     * @return El detalle del Pokémon, si está guardado.
+     */
+    @Cacheable(cacheNames = CacheConfig.POKEMON_BY_NAME, key = "#lowerCase.toLowerCase()", unless = "#result == null")
+    @Transactional(readOnly = true)
+    public Optional<PokemonDetail> getPokemonByName(String lowerCase) {
+        return Optional.ofNullable(pokemonRepository.findByNameIgnoreCase(lowerCase)).map(this::toDetail);
+    }
+
+    private PokemonDetail toDetail(Pokemon pokemon) {
+        List<PokemonDetail.Ability> abilities = pokemon.getAbilities() == null ? List.of() : pokemon.getAbilities().stream()
+                .sorted(Comparator.comparingInt(PokemonAbility::getSlot))
+                .map(ability -> new PokemonDetail.Ability(ability.getName(), ability.getSlot(), ability.isHidden()))
+                .toList();
+        List<String> moveNames = pokemon.getMoves() == null ? List.of() : pokemon.getMoves().stream()
+                .map(Move::getName)
+                .toList();
+        String spriteUrl = pokemon.getSprites() == null ? null : pokemon.getSprites().getFrontDefault();
+        return new PokemonDetail(pokemon.getId(), pokemon.getName(), pokemon.getBaseExperience(), pokemon.getHeight(),
+                pokemon.getWeight(), pokemon.getOrderIndex(), spriteUrl, abilities, moveNames);
+    }
+
+    /**
+     * Comprueba si un Pokémon ya está guardado, sin cargar sus asociaciones.
+     *
+     * @param name Nombre del Pokémon.
+     * @return {@code true} si existe en la base de datos.
+     */
+    @Transactional(readOnly = true)
+    public boolean isPokemonStored(String name) {
+        return pokemonRepository.existsByNameIgnoreCase(name);
     }
 }
@@ -1,16 +1,17 @@
 package ec.edu.uce.pokedex.service;
 
+import ec.edu.uce.pokedex.config.CacheConfig;
+import ec.edu.uce.pokedex.dto.PokemonCardLabel;
+import ec.edu.uce.pokedex.dto.PokemonCardRow;
 import ec.edu.uce.pokedex.dto.PokemonDto;
-import ec.edu.uce.pokedex.models.*;
 import ec.edu.uce.pokedex.repository.PokemonRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.*;
 
 /**
  * Clase de servicio para gestionar las operaciones relacionadas con Pokémon.
@@ -23,42 +24,52 @@ public class PokeServiceDto {
     private final PokemonRepository pokemonRepository;
 
     /**
-     * Mapea una entidad de Pokémon a un DTO de Pokémon.
-     * Este método convierte el objeto interno de la entidad `Pokemon` en un `PokemonDto`
-     * que puede ser utilizado para la presentación de datos o respuestas de API externas.
+     * Obtiene la página de Pokémon que sigue a un id y la mapea a DTOs.
+     * Este método lee solo las columnas que dibuja la tarjeta de inicio, sin cargar
+     * entidades: una consulta trae el id, el nombre y el sprite de la página, y otra
+     * los nombres de tipos y habilidades de esos ids.
+     * <p>
+     * La página se busca por clave (id mayor que `afterId`), así que ir al final o saltar
+     * a un id concreto cuesta lo mismo que la primera página.
      *
-     * @param pokemon La entidad de Pokémon a mapear.
-     * @return Un objeto `PokemonDto` con los datos de la entidad `Pokemon`.
+     * El método utiliza cache para evitar obtener los mismos datos repetidamente.
+     *
+     * @param afterId Id a partir del cual empieza la página (exclusivo); 0 para la primera.
+     * @param limit   El número de elementos por página.
+     * @return Una lista de objetos `PokemonDto` ordenados por id; vacía si no hay más.
      */
-    private PokemonDto mapToPokemonDto(Pokemon pokemon) {
-        return PokemonDto.builder()
-                .name(pokemon.getName()) // Extrae el nombre del Pokémon
-                .spriteUrl(pokemon.getSprites().getFrontDefault()) // Extrae la URL del sprite del Pokémon
-                .types(pokemon.getTypes().stream() // Mapea cada tipo del Pokémon
-                        .map(type -> new Type(type.getSlot(), type.getName(), type.getUrl()))
-                        .collect(Collectors.toList())) // Colecciona los tipos en una lista
-                .abilities(pokemon.getAbilities().stream() // Mapea cada habilidad del Pokémon
-                        .map(ability -> new Ability(ability.getName(), ability.getUrl(), ability.isHidden(), ability.getSlot()))
-                        .collect(Collectors.toList())) // Colecciona las habilidades en una lista
-                .build(); // Construye el DTO del Pokémon
+    @Cacheable(cacheNames = CacheConfig.POKEMON_PAGES, key = "'after:' + #afterId + ':' + #limit")
+    @Transactional(readOnly = true)
+    public List<PokemonDto> getPageAfter(int afterId, int limit) {
+        return toDtos(pokemonRepository.findCardRowsAfter(afterId, PageRequest.ofSize(limit)));
     }
 
     /**
-     * Obtiene una lista paginada de Pokémon y los mapea a DTOs.
-     * Este método recupera una lista de Pokémon desde el repositorio y los devuelve
-     * como una lista de objetos `PokemonDto`.
-     *
-     * El método utiliza cache para evitar obtener los mismos datos repetidamente.
-     *
-     * @param offset El número de página (empezando desde 0).
-     * @param limit  El número de elementos por página.
-     * @return Una lista de objetos `PokemonDto`.
+     * Completa las filas de una página con los nombres de sus tipos y habilidades.
      */
-    @Cacheable("pokemons") // Cachea el resultado para optimizar el rendimiento en solicitudes subsecuentes
-    public List<PokemonDto> getPokemonPage(int offset, int limit) {
-        // Obtiene una página de Pokémon desde el repositorio, mapeada a DTOs
-        Page<PokemonDto> pokemonPage = pokemonRepository.findAll(PageRequest.of(offset, limit))
-                .map(this::mapToPokemonDto); // Mapea las entidades a DTOs
-        return pokemonPage.getContent(); // Devuelve el contenido de la página (lista de Pokémon DTOs)
+    private List<PokemonDto> toDtos(List<PokemonCardRow> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        Map<Integer, Set<String>> typeNames = new HashMap<>();
+        Map<Integer, Set<String>> abilityNames = new HashMap<>();
+        for (PokemonCardLabel label : pokemonRepository.findCardLabels(rows.stream().map(PokemonCardRow::id).toList())) {
+            // Cada fila combina un tipo con una habilidad, así que se quitan los repetidos
+            if (label.typeName() != null) {
+                typeNames.computeIfAbsent(label.pokemonId(), id -> new LinkedHashSet<>()).add(label.typeName());
+            }
+            if (label.abilityName() != null) {
+                abilityNames.computeIfAbsent(label.pokemonId(), id -> new LinkedHashSet<>()).add(label.abilityName());
+            }
+        }
+        return rows.stream()
+                .map(row -> PokemonDto.builder()
+                        .id(row.id())
+                        .name(row.name())
+                        .spriteUrl(row.spriteUrl())
+                        .typeNames(List.copyOf(typeNames.getOrDefault(row.id(), Set.of())))
+                        .abilityNames(List.copyOf(abilityNames.getOrDefault(row.id(), Set.of())))
+                        .build())
+                .toList();
     }
 }
@@ -0,0 +1,161 @@
+package ec.edu.uce.pokedex.service;
+
+import ec.edu.uce.pokedex.dto.IngestionProgress;
+import ec.edu.uce.pokedex.dto.PokemonCardRow;
+import ec.edu.uce.pokedex.dto.PokemonDetail;
+import ec.edu.uce.pokedex.dto.PokemonDto;
+import ec.edu.uce.pokedex.dto.PokemonSprites;
+import ec.edu.uce.pokedex.dto.PokemonStat;
+import ec.edu.uce.pokedex.exception.EvolutionFetchException;
+import ec.edu.uce.pokedex.exception.SpriteFetchException;
+import ec.edu.uce.pokedex.exception.StatFetchException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Acceso asíncrono a los datos de la Pokédex para las vistas.
+ * <p>
+ * Cada método devuelve enseguida un {@link CompletableFuture} y la consulta se ejecuta
+ * en el ejecutor {@code dataAccessExecutor}, nunca en el hilo de Swing, así que una
+ * consulta lenta a MySQL no congela la interfaz. Cancelar el future saca la consulta de
+ * la cola si aún no ha empezado; si ya está en curso, termina y su resultado se descarta,
+ * para no interrumpir un hilo que tiene una conexión JDBC abierta.
+ * <p>
+ * Las vistas lo combinan con {@code TaskGroup#track}, que entrega el resultado en el
+ * hilo de Swing y cancela las consultas de una búsqueda reemplazada.
+ */
+@Service
+public class PokedexDataService {
+
+    private final PokeService pokeService;
+    private final PokeServiceDto pokeServiceDto;
+    private final StatService statService;
+    private final TypeService typeService;
+    private final SpriteService spriteService;
+    private final EvolutionService evolutionService;
+    private final ExecutorService executor;
+
+    public PokedexDataService(PokeService pokeService, PokeServiceDto pokeServiceDto, StatService statService,
+                              TypeService typeService, SpriteService spriteService, EvolutionService evolutionService,
+                              @Qualifier("dataAccessExecutor") ExecutorService dataAccessExecutor) {
+        this.pokeService = pokeService;
+        this.pokeServiceDto = pokeServiceDto;
+        this.statService = statService;
+        this.typeService = typeService;
+        this.spriteService = spriteService;
+        this.evolutionService = evolutionService;
+        this.executor = dataAccessExecutor;
+    }
+
+    /**
+     * @param name Nombre del Pokémon.
+     * @return Lo que muestra el detalle de la búsqueda, si está guardado.
+     */
+    public CompletableFuture<Optional<PokemonDetail>> getPokemonByName(String name) {
+        return supply(() -> pokeService.getPokemonByName(name.toLowerCase()));
+    }
+
+    /**
+     * @param name Nombre del Pokémon.
+     * @return {@code true} si el Pokémon ya está guardado.
+     */
+    public CompletableFuture<Boolean> isPokemonStored(String name) {
+        return supply(() -> pokeService.isPokemonStored(name));
+    }
+
+    /**
+     * @return El avance de la ingesta según los checkpoints guardados.
+     */
+    public CompletableFuture<IngestionProgress> getIngestionProgress() {
+        return supply(pokeService::getIngestionProgress);
+    }
+
+    /**
+     * @param afterId Id a partir del cual empieza la página (exclusivo); 0 para la primera.
+     * @param limit   El número de elementos por página.
+     * @return La página de tarjetas que sigue a `afterId`; vacía si no hay más.
+     */
+    public CompletableFuture<List<PokemonDto>> getPageAfter(int afterId, int limit) {
+        return supply(() -> pokeServiceDto.getPageAfter(afterId, limit));
+    }
+
+    /**
+     * @param pokemonName Nombre del Pokémon.
+     * @return Sus estadísticas; falla con {@link StatFetchException}.
+     */
+    public CompletableFuture<List<PokemonStat>> getStatsForPokemon(String pokemonName) {
+        return supply(() -> {
+            try {
+                return statService.getStatsForPokemon(pokemonName);
+            } catch (RuntimeException e) {
+                throw new StatFetchException("Failed to fetch stats for Pokémon: " + pokemonName, e);
+            }
+        });
+    }
+
+    /**
+     * @param typeName Nombre del tipo.
+     * @return Nombre y sprite de los Pokémon de ese tipo.
+     */
+    public CompletableFuture<List<PokemonCardRow>> getPokemonByType(String typeName) {
+        return supply(() -> typeService.getPokemonByType(typeName));
+    }
+
+    /**
+     * @param pokemonName Nombre del Pokémon.
+     * @return Sus sprites; falla con {@link SpriteFetchException}.
+     */
+    public CompletableFuture<PokemonSprites> getSpritesForPokemon(String pokemonName) {
+        return supply(() -> {
+            try {
+                return spriteService.getSpritesForPokemon(pokemonName);
+            } catch (RuntimeException e) {
+                throw new SpriteFetchException("Failed to fetch sprites for Pokémon: " + pokemonName, e);
+            }
+        });
+    }
+
+    /**
+     * La cadena se pide a la API con WebClient, que no bloquea, así que no ocupa un
+     * hilo del ejecutor; cancelar el future cancela la petición.
+     *
+     * @param speciesName Nombre de la especie.
+     * @return Las etapas de la cadena de evolución; falla con {@link EvolutionFetchException}.
+     */
+    public CompletableFuture<List<Map<String, Object>>> getEvolutionChain(String speciesName) {
+        return evolutionService.getEvolutionChain(speciesName)
+                .onErrorMap(e -> new EvolutionFetchException("Failed to fetch evolution chain for: " + speciesName, e))
+                .toFuture();
+    }
+
+    /**
+     * Ejecuta una consulta bloqueante en el ejecutor de acceso a datos.
+     */
+    private <T> CompletableFuture<T> supply(Callable<T> query) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> future = executor.submit(() -> {
+            if (result.isDone()) {
+                return; // Cancelada mientras esperaba turno
+            }
+            try {
+                result.complete(query.call());
+            } catch (Throwable ex) {
+                result.completeExceptionally(ex);
+            }
+        });
+        result.whenComplete((value, ex) -> {
+            if (result.isCancelled()) {
+                future.cancel(false); // Sin interrumpir: la conexión JDBC queda en buen estado
+            }
+        });
+        return result;
+    }
+}
@@ -0,0 +1,280 @@
+package ec.edu.uce.pokedex.service;
+
+import ec.edu.uce.pokedex.config.CacheConfig;
+import ec.edu.uce.pokedex.jfr.PokemonPersistEvent;
+import ec.edu.uce.pokedex.models.*;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Etapa de persistencia por lotes para la ingesta de Pokémon.
+ * <p>
+ * Agrupa los Pokémon ya mapeados en lotes de {@code pokedex.ingestion.batch-size}
+ * y los escribe desde un único hilo, un lote por transacción. Junto con
+ * {@code hibernate.jdbc.batch_size} y los ids por secuencia de las entidades hijas,
+ * cada lote se traduce en unas pocas sentencias INSERT por lotes en lugar de una
+ * sentencia por fila. Los movimientos, tipos y habilidades se resuelven contra los
+ * catálogos compartidos, así que solo se insertan las entradas que aún no existen.
+ */
+@Service
+public class PokemonBatchWriter {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+    private final Counter writtenPokemon;
+    private final QueryStatisticsService queryStatistics;
+    private final Scheduler writerScheduler = Schedulers.newSingle("pokemon-writer");
+
+    @Value("${pokedex.ingestion.batch-size:50}")
+    private int batchSize;
+
+    public PokemonBatchWriter(PlatformTransactionManager transactionManager, CacheManager cacheManager,
+                              MeterRegistry meterRegistry, QueryStatisticsService queryStatistics) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cacheManager = cacheManager;
+        this.queryStatistics = queryStatistics;
+        // Su ritmo es el rendimiento de la ingesta, venga de la API, de una instantánea o de la sincronización
+        this.writtenPokemon = Counter.builder("pokedex.ingestion.pokemon")
+                .description("Pokémon escritos por la ingesta")
+                .baseUnit("pokemon")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Detiene el hilo escritor al cerrar la aplicación.
+     */
+    @PreDestroy
+    void shutdown() {
+        writerScheduler.dispose();
+    }
+
+    /**
+     * Persiste un flujo de Pokémon en lotes desde el hilo escritor.
+     * <p>
+     * Los elementos se encolan hasta completar un lote (o hasta que termina el flujo)
+     * y el hilo escritor los va drenando en orden, de modo que nunca hay dos
+     * transacciones de ingesta en curso a la vez.
+     *
+     * @param pokemons Flujo de Pokémon mapeados desde la API.
+     * @return Un `Flux<Pokemon>` que emite cada Pokémon una vez confirmado su lote.
+     */
+    public Flux<Pokemon> write(Flux<Pokemon> pokemons) {
+        return pokemons
+                .buffer(batchSize)
+                .publishOn(writerScheduler)
+                .concatMapIterable(this::persistBatch);
+    }
+
+    /**
+     * Guarda un lote de Pokémon en una sola transacción.
+     * <p>
+     * Primero se resuelven los catálogos con {@link #resolveCatalogs(List)}. Los Pokémon
+     * nuevos se insertan con {@code persist}, que no necesita un SELECT previo; los que ya
+     * existen se cargan antes con {@link #loadExisting(List)} y pasan por {@code merge}
+     * sin consultar nada más. En la misma transacción
+     * se registra el {@link IngestionCheckpoint} de cada Pokémon, así que un lote
+     * confirmado nunca se vuelve a pedir al reanudar. Al terminar se limpia el
+     * contexto de persistencia para que la memoria no crezca con la ingesta, y tras
+     * la confirmación se invalidan las cachés afectadas. Cada lote confirmado se registra
+     * como un {@link PokemonPersistEvent} si se está grabando con Flight Recorder, y sus
+     * sentencias se cuentan como una operación {@code ingest} de {@link QueryStatisticsService}.
+     *
+     * Solo se llama desde el hilo escritor: dos lotes en paralelo podrían insertar la
+     * misma entrada de catálogo y chocar con su restricción única.
+     *
+     * @param batch Pokémon a guardar.
+     * @return El mismo lote, ya confirmado en la base de datos.
+     */
+    private List<Pokemon> persistBatch(List<Pokemon> batch) {
+        PokemonPersistEvent event = new PokemonPersistEvent();
+        event.begin();
+        int[] merged = new int[1];
+        List<Pokemon> written;
+        try (QueryStatisticsService.Operation operation = queryStatistics.begin(QueryStatisticsService.INGEST)) {
+            written = transactionTemplate.execute(status -> {
+                resolveCatalogs(batch);
+                List<Integer> ids = batch.stream().map(Pokemon::getId).toList();
+                Set<Integer> existingIds = loadExisting(ids);
+                Set<Integer> checkpointedIds = new HashSet<>(entityManager
+                        .createQuery("SELECT c.pokemonId FROM IngestionCheckpoint c WHERE c.pokemonId IN :ids", Integer.class)
+                        .setParameter("ids", ids)
+                        .getResultList());
+
+                Instant committedAt = Instant.now();
+                for (Pokemon pokemon : batch) {
+                    if (existingIds.contains(pokemon.getId())) {
+                        entityManager.merge(pokemon);
+                        merged[0]++;
+                    } else {
+                        entityManager.persist(pokemon);
+                    }
+                    if (!checkpointedIds.contains(pokemon.getId())) {
+                        entityManager.persist(new IngestionCheckpoint(pokemon.getId(), committedAt));
+                    }
+                }
+                entityManager.flush();
+                entityManager.clear();
+                evictAfterCommit(batch);
+                return batch;
+            });
+            operation.complete(batch.size()); // El resultado son los Pokémon del lote
+        }
+        writtenPokemon.increment(batch.size());
+        event.end();
+        if (event.shouldCommit() && !batch.isEmpty()) {
+            event.batchSize = batch.size();
+            event.firstId = batch.get(0).getId();
+            event.lastId = batch.get(batch.size() - 1).getId();
+            event.merged = merged[0];
+            event.commit();
+        }
+        return written;
+    }
+
+    /**
+     * Carga en el contexto de persistencia los Pokémon del lote que ya están guardados,
+     * con el sprite, la especie y las colecciones que {@code merge} va a reemplazar.
+     * <p>
+     * Sin esto, {@code merge} cargaría cada Pokémon y cada una de sus colecciones por
+     * separado al reanudar o sincronizar, varias consultas por Pokémon. Aquí son una
+     * consulta para los Pokémon y una por colección para todo el lote; las colecciones
+     * van en consultas distintas porque traer varias listas en el mismo JOIN
+     * multiplicaría las filas. Debe llamarse dentro de una transacción.
+     *
+     * @param ids Ids del lote.
+     * @return Los ids que ya estaban guardados.
+     */
+    private Set<Integer> loadExisting(List<Integer> ids) {
+        Set<Integer> existingIds = entityManager.createQuery(
+                        "SELECT p FROM Pokemon p LEFT JOIN FETCH p.sprites LEFT JOIN FETCH p.species WHERE p.id IN :ids",
+                        Pokemon.class)
+                .setParameter("ids", ids)
+                .getResultStream()
+                .map(Pokemon::getId)
+                .collect(Collectors.toSet());
+        if (!existingIds.isEmpty()) {
+            for (String collection : List.of("abilities", "stats", "types", "moves")) {
+                entityManager.createQuery("SELECT p FROM Pokemon p LEFT JOIN FETCH p." + collection
+                                + " WHERE p.id IN :ids", Pokemon.class)
+                        .setParameter("ids", existingIds)
+                        .getResultList();
+            }
+        }
+        return existingIds;
+    }
+
+    /**
+     * Sustituye los movimientos, tipos y habilidades del lote por las entradas del catálogo.
+     * <p>
+     * Por cada catálogo se hace una sola consulta con los ids del lote; las entradas
+     * que faltan se insertan una vez, aunque varios Pokémon del lote las compartan.
+     * Debe llamarse dentro de una transacción.
+     *
+     * @param batch Pokémon recién decodificados.
+     */
+    void resolveCatalogs(List<Pokemon> batch) {
+        Map<Integer, Move> moves = resolve(Move.class, Move::getId, batch.stream()
+                .flatMap(pokemon -> nullSafe(pokemon.getMoves()).stream()));
+        Map<Integer, Type> types = resolve(Type.class, Type::getId, batch.stream()
+                .flatMap(pokemon -> nullSafe(pokemon.getTypes()).stream()));
+        Map<Integer, Ability> abilities = resolve(Ability.class, Ability::getId, batch.stream()
+                .flatMap(pokemon -> nullSafe(pokemon.getAbilities()).stream())
+                .map(PokemonAbility::getAbility));
+
+        for (Pokemon pokemon : batch) {
+            pokemon.setMoves(nullSafe(pokemon.getMoves()).stream()
+                    .map(move -> moves.get(move.getId()))
+                    .distinct()
+                    .collect(Collectors.toCollection(ArrayList::new)));
+            pokemon.setTypes(nullSafe(pokemon.getTypes()).stream()
+                    .map(type -> types.get(type.getId()))
+                    .collect(Collectors.toCollection(ArrayList::new)));
+            nullSafe(pokemon.getAbilities())
+                    .forEach(ability -> ability.setAbility(abilities.get(ability.getAbility().getId())));
+        }
+    }
+
+    /**
+     * Carga las entradas existentes de un catálogo e inserta las que faltan.
+     *
+     * @return Entrada gestionada del catálogo para cada id.
+     */
+    private <T> Map<Integer, T> resolve(Class<T> catalog, Function<T, Integer> idOf, Stream<T> entries) {
+        Map<Integer, T> byId = entries.collect(Collectors.toMap(idOf, Function.identity(), (first, second) -> first));
+        if (byId.isEmpty()) {
+            return byId;
+        }
+        Map<Integer, T> resolved = new HashMap<>();
+        entityManager.createQuery("SELECT c FROM " + catalog.getSimpleName() + " c WHERE c.id IN :ids", catalog)
+                .setParameter("ids", byId.keySet())
+                .getResultList()
+                .forEach(entry -> resolved.put(idOf.apply(entry), entry));
+        byId.forEach((id, entry) -> resolved.computeIfAbsent(id, missing -> {
+            entityManager.persist(entry);
+            return entry;
+        }));
+        return resolved;
+    }
+
+    private <T> List<T> nullSafe(List<T> items) {
+        return items == null ? List.of() : items;
+    }
+
+    /**
+     * Invalida las cachés de lectura cuando se confirma la transacción en curso.
+     * <p>
+     * Las entradas por nombre se quitan una a una; las páginas y los listados por tipo
+     * se vacían enteros, porque un Pokémon nuevo puede cambiar cualquiera de ellos. Si
+     * la transacción se revierte, las cachés quedan como estaban.
+     */
+    void evictAfterCommit(List<Pokemon> batch) {
+        List<String> names = batch.stream()
+                .map(Pokemon::getName)
+                .filter(Objects::nonNull)
+                .map(String::toLowerCase)
+                .toList();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                clear(CacheConfig.POKEMON_PAGES);
+                clear(CacheConfig.TYPE_MEMBERS);
+                for (String region : List.of(CacheConfig.POKEMON_BY_NAME, CacheConfig.POKEMON_STATS, CacheConfig.SPRITES)) {
+                    Cache cache = cacheManager.getCache(region);
+                    if (cache != null) {
+                        names.forEach(cache::evict);
+                    }
+                }
+            }
+        });
+    }
+
+    private void clear(String region) {
+        Cache cache = cacheManager.getCache(region);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
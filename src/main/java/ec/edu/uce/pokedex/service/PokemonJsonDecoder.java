@@ -0,0 +1,234 @@
+package ec.edu.uce.pokedex.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import ec.edu.uce.pokedex.models.*;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Decodificador en streaming del recurso {@code /pokemon/{name}} de la API externa.
+ * <p>
+ * Recorre el JSON token a token y solo materializa los campos que se guardan (id,
+ * nombre, estadísticas, tipos, habilidades, referencias de movimientos y sprites).
+ * El resto, sobre todo {@code moves[].version_group_details} y los sprites de
+ * {@code other}/{@code versions}, se salta sin crear mapas ni cadenas.
+ */
+@Component
+public class PokemonJsonDecoder {
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    /**
+     * Decodifica un Pokémon a partir de un flujo de bytes JSON.
+     *
+     * @param in Flujo con el cuerpo de la respuesta.
+     * @return El Pokémon mapeado.
+     * @throws IOException Si el JSON no se puede leer.
+     */
+    public Pokemon decode(InputStream in) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(in)) {
+            parser.nextToken();
+            return readPokemon(parser);
+        }
+    }
+
+    /**
+     * Decodifica un Pokémon a partir de un arreglo de bytes JSON.
+     *
+     * @param json Cuerpo de la respuesta.
+     * @return El Pokémon mapeado.
+     * @throws IOException Si el JSON no se puede leer.
+     */
+    public Pokemon decode(byte[] json) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            parser.nextToken();
+            return readPokemon(parser);
+        }
+    }
+
+    /**
+     * Lee un objeto Pokémon completo. El parser debe estar situado en su START_OBJECT.
+     *
+     * @param parser Parser situado al inicio del objeto.
+     * @return El Pokémon mapeado.
+     * @throws IOException Si el JSON no se puede leer.
+     */
+    public Pokemon readPokemon(JsonParser parser) throws IOException {
+        expect(parser, JsonToken.START_OBJECT);
+        Pokemon pokemon = new Pokemon();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "id" -> pokemon.setId(parser.getIntValue());
+                case "name" -> pokemon.setName(parser.getValueAsString());
+                case "base_experience" -> pokemon.setBaseExperience(readInteger(parser));
+                case "height" -> pokemon.setHeight(readInteger(parser));
+                case "weight" -> pokemon.setWeight(readInteger(parser));
+                case "order" -> pokemon.setOrderIndex(readInteger(parser));
+                case "abilities" -> pokemon.setAbilities(readArray(parser, this::readAbility));
+                case "stats" -> pokemon.setStats(readArray(parser, this::readStat));
+                case "types" -> pokemon.setTypes(readTypes(parser));
+                case "moves" -> pokemon.setMoves(readArray(parser, this::readMove));
+                case "sprites" -> pokemon.setSprites(readSprites(parser));
+                default -> parser.skipChildren(); // Campo que no se guarda
+            }
+        }
+        return pokemon;
+    }
+
+    private PokemonAbility readAbility(JsonParser parser) throws IOException {
+        NamedResource resource = new NamedResource(null, null);
+        boolean hidden = false;
+        int slot = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "ability" -> resource = readNamedResource(parser);
+                case "is_hidden" -> hidden = parser.getBooleanValue();
+                case "slot" -> slot = parser.getIntValue();
+                default -> parser.skipChildren();
+            }
+        }
+        return new PokemonAbility(new Ability(resource.name(), resource.url()), hidden, slot);
+    }
+
+    private Stat readStat(JsonParser parser) throws IOException {
+        Stat stat = new Stat();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "base_stat" -> stat.setBaseStat(parser.getIntValue());
+                case "effort" -> stat.setEffort(parser.getIntValue());
+                case "stat" -> stat.setName(readNamedResource(parser).name());
+                default -> parser.skipChildren();
+            }
+        }
+        return stat;
+    }
+
+    /**
+     * Lee los tipos y los ordena por su {@code slot}, que se guarda como posición en la lista.
+     */
+    private List<Type> readTypes(JsonParser parser) throws IOException {
+        List<Type> types = new ArrayList<>();
+        readArray(parser, this::readSlottedType).stream()
+                .sorted(Comparator.comparingInt(SlottedType::slot))
+                .forEach(slotted -> types.add(slotted.type()));
+        return types;
+    }
+
+    private SlottedType readSlottedType(JsonParser parser) throws IOException {
+        NamedResource resource = new NamedResource(null, null);
+        int slot = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "slot" -> slot = parser.getIntValue();
+                case "type" -> resource = readNamedResource(parser);
+                default -> parser.skipChildren();
+            }
+        }
+        return new SlottedType(slot, new Type(resource.name(), resource.url()));
+    }
+
+    private Move readMove(JsonParser parser) throws IOException {
+        NamedResource resource = new NamedResource(null, null);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if ("move".equals(field)) {
+                resource = readNamedResource(parser);
+            } else {
+                parser.skipChildren(); // version_group_details
+            }
+        }
+        return new Move(resource.name(), resource.url());
+    }
+
+    private Sprites readSprites(JsonParser parser) throws IOException {
+        Sprites sprites = new Sprites();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "front_default" -> sprites.setFrontDefault(parser.getValueAsString());
+                case "back_default" -> sprites.setBackDefault(parser.getValueAsString());
+                case "front_shiny" -> sprites.setFrontShiny(parser.getValueAsString());
+                case "back_shiny" -> sprites.setBackShiny(parser.getValueAsString());
+                case "front_female" -> sprites.setFrontFemale(parser.getValueAsString());
+                case "back_female" -> sprites.setBackFemale(parser.getValueAsString());
+                case "front_shiny_female" -> sprites.setFrontShinyFemale(parser.getValueAsString());
+                case "back_shiny_female" -> sprites.setBackShinyFemale(parser.getValueAsString());
+                default -> parser.skipChildren(); // other, versions
+            }
+        }
+        return sprites;
+    }
+
+    /**
+     * Lee un objeto {@code {"name": ..., "url": ...}} de la API.
+     */
+    private NamedResource readNamedResource(JsonParser parser) throws IOException {
+        String name = null;
+        String url = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if ("name".equals(field)) {
+                name = parser.getValueAsString();
+            } else if ("url".equals(field)) {
+                url = parser.getValueAsString();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return new NamedResource(name, url);
+    }
+
+    /**
+     * Lee un arreglo de objetos aplicando `reader` a cada elemento.
+     */
+    private <T> List<T> readArray(JsonParser parser, ElementReader<T> reader) throws IOException {
+        List<T> items = new ArrayList<>();
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return items;
+        }
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            items.add(reader.read(parser));
+        }
+        return items;
+    }
+
+    private Integer readInteger(JsonParser parser) throws IOException {
+        return parser.currentToken() == JsonToken.VALUE_NULL ? null : parser.getIntValue();
+    }
+
+    private void expect(JsonParser parser, JsonToken token) throws IOException {
+        if (parser.currentToken() != token) {
+            throw new IOException("Expected " + token + " but found " + parser.currentToken());
+        }
+    }
+
+    @FunctionalInterface
+    private interface ElementReader<T> {
+        T read(JsonParser parser) throws IOException;
+    }
+
+    private record NamedResource(String name, String url) {
+    }
+
+    private record SlottedType(int slot, Type type) {
+    }
+}
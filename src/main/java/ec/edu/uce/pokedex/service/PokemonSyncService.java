@@ -0,0 +1,134 @@
+package ec.edu.uce.pokedex.service;
+
+import ec.edu.uce.pokedex.dto.PokemonRef;
+import ec.edu.uce.pokedex.dto.SyncResult;
+import ec.edu.uce.pokedex.dto.VersionedPokemon;
+import ec.edu.uce.pokedex.models.Pokemon;
+import ec.edu.uce.pokedex.models.ResourceVersion;
+import ec.edu.uce.pokedex.repository.IngestionCheckpointRepository;
+import ec.edu.uce.pokedex.repository.ResourceVersionRepository;
+import ec.edu.uce.pokedex.util.SingleFlight;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Sincronización incremental de los Pokémon guardados con la API externa.
+ * <p>
+ * Cada recurso se pide como GET condicional con los validadores de la última
+ * respuesta; los que vuelven como 304 no se descargan ni se escriben. Solo se
+ * guardan los Pokémon que faltan en la base de datos o que han cambiado.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PokemonSyncService {
+
+    private final ExternalApiService externalApiService;
+    private final PokemonBatchWriter pokemonBatchWriter;
+    private final IngestionCheckpointRepository checkpointRepository;
+    private final ResourceVersionRepository resourceVersionRepository;
+    private final SingleFlight<String, SyncResult> syncs = new SingleFlight<>();
+
+    @Value("${pokedex.sync.enabled:true}")
+    private boolean enabled;
+
+    @Value("${pokedex.ingestion.total:1025}")
+    private int ingestionTotal;
+
+    @Value("${pokedex.ingestion.concurrency:16}")
+    private int concurrency;
+
+    /**
+     * Ejecuta la sincronización periódica en segundo plano.
+     * <p>
+     * Se omite si está desactivada o si todavía no hay datos: la primera carga
+     * completa sigue siendo la del botón "Load Data from API".
+     */
+    @Scheduled(initialDelayString = "${pokedex.sync.initial-delay:PT5M}", fixedDelayString = "${pokedex.sync.interval:PT6H}")
+    public void scheduledSync() {
+        if (!enabled || checkpointRepository.count() == 0) {
+            return;
+        }
+        try {
+            sync();
+        } catch (Exception e) {
+            log.warn("Pokémon sync failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Sincroniza los Pokémon del índice con la base de datos.
+     * <p>
+     * Un Pokémon guardado antes de que existieran validadores adopta los de la
+     * respuesta actual sin reescribirse; a partir de ahí sus peticiones son
+     * condicionales. Si ya hay una sincronización en curso, no se inicia otra: se espera
+     * a que termine y se devuelve su resultado.
+     *
+     * @return Recursos consultados y Pokémon guardados.
+     */
+    public SyncResult sync() {
+        // La ejecuta el hilo del primer llamador; los demás esperan al mismo resultado
+        return syncs.execute("sync", () -> Mono.fromCallable(this::runSync)).block();
+    }
+
+    private SyncResult runSync() {
+        Set<Integer> storedIds = new HashSet<>(checkpointRepository.findCommittedIds());
+        Map<String, ResourceVersion> versions = resourceVersionRepository.findAll().stream()
+                .collect(Collectors.toMap(ResourceVersion::getPath, Function.identity()));
+        List<PokemonRef> index = externalApiService.getPokemonIndex(ingestionTotal, 0).collectList().block();
+
+        Map<Integer, ResourceVersion> pendingVersions = new ConcurrentHashMap<>();
+        List<ResourceVersion> adoptedVersions = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger changed = new AtomicInteger();
+
+        Flux<Pokemon> changedPokemons = Flux.fromIterable(index)
+                .flatMap(ref -> fetchIfChanged(ref, storedIds.contains(ref.id()), versions), concurrency)
+                .filter(versioned -> {
+                    boolean stored = storedIds.contains(versioned.pokemon().getId());
+                    if (stored && !versions.containsKey(versioned.version().getPath())) {
+                        adoptedVersions.add(versioned.version()); // Guardado sin validadores: solo se adoptan
+                        return false;
+                    }
+                    pendingVersions.put(versioned.pokemon().getId(), versioned.version());
+                    return true;
+                })
+                .map(VersionedPokemon::pokemon);
+
+        // Los validadores se guardan solo cuando el Pokémon ya está confirmado
+        List<ResourceVersion> confirmedVersions = new ArrayList<>();
+        pokemonBatchWriter.write(changedPokemons)
+                .doOnNext(pokemon -> {
+                    changed.incrementAndGet();
+                    confirmedVersions.add(pendingVersions.remove(pokemon.getId()));
+                })
+                .blockLast();
+        confirmedVersions.addAll(adoptedVersions);
+        resourceVersionRepository.saveAll(confirmedVersions);
+
+        log.info("Pokémon sync checked {} resources, saved {} new or changed", index.size(), changed.get());
+        return new SyncResult(index.size(), changed.get());
+    }
+
+    /**
+     * Pide un Pokémon como GET condicional si ya está guardado y se conocen sus validadores.
+     */
+    private Mono<VersionedPokemon> fetchIfChanged(PokemonRef ref, boolean stored, Map<String, ResourceVersion> versions) {
+        ResourceVersion known = stored ? versions.get("/pokemon/" + ref.name().toLowerCase()) : null;
+        return externalApiService.getPokemonIfChanged(ref.name(), known)
+                .onErrorResume(ex -> {
+                    log.warn("Error syncing Pokémon {}: {}", ref.name(), ex.getMessage());
+                    return Mono.empty();
+                });
+    }
+}
@@ -0,0 +1,285 @@
+package ec.edu.uce.pokedex.service;
+
+import ec.edu.uce.pokedex.dto.QueryOperationSummary;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cuenta las sentencias SQL de cada operación lógica de la aplicación (búsqueda,
+ * página, consulta por tipo, lote de ingesta...) y detecta los patrones N+1.
+ * <p>
+ * Una operación se abre con {@link #begin(String)} en el hilo que hace las consultas
+ * y el {@code StatementInspector} de Hibernate le suma cada sentencia que se prepara en
+ * ese hilo mientras está abierta. Al completarla con el tamaño de su resultado se guarda
+ * una muestra; con las últimas {@code pokedex.query-stats.max-samples} de cada operación
+ * se calcula la pendiente de los SELECT frente al tamaño del resultado. Si supera
+ * {@code pokedex.query-stats.n-plus-one-slope}, la operación lanza una consulta por cada
+ * elemento del resultado y se avisa en el log, una vez por operación, con la sentencia
+ * que más se repitió. Las operaciones que tardan más de
+ * {@code pokedex.query-stats.slow-operation} también se registran en el log.
+ */
+@Slf4j
+@Service
+public class QueryStatisticsService {
+
+    public static final String SEARCH = "search";
+    public static final String PAGE = "page";
+    public static final String TYPE_LOOKUP = "type";
+    public static final String STATS = "stats";
+    public static final String SPRITES = "sprites";
+    public static final String INGEST = "ingest";
+
+    private final ThreadLocal<Operation> current = new ThreadLocal<>();
+    private final Map<String, History> histories = new ConcurrentHashMap<>();
+    private final int maxSamples;
+    private final double nPlusOneSlope;
+    private final Duration slowOperation;
+
+    public QueryStatisticsService(@Value("${pokedex.query-stats.max-samples:100}") int maxSamples,
+                                  @Value("${pokedex.query-stats.n-plus-one-slope:0.5}") double nPlusOneSlope,
+                                  @Value("${pokedex.query-stats.slow-operation:PT0.5S}") Duration slowOperation) {
+        this.maxSamples = maxSamples;
+        this.nPlusOneSlope = nPlusOneSlope;
+        this.slowOperation = slowOperation;
+    }
+
+    /**
+     * Abre una operación en el hilo actual. Si ya hay una abierta, la nueva no cuenta
+     * nada y sus sentencias se suman a la de fuera.
+     *
+     * @param name Nombre de la operación.
+     * @return La operación, que se completa con {@link Operation#complete(int)} y se cierra con {@link Operation#close()}.
+     */
+    public Operation begin(String name) {
+        if (current.get() != null) {
+            return new Operation(name, true);
+        }
+        Operation operation = new Operation(name, false);
+        current.set(operation);
+        return operation;
+    }
+
+    /**
+     * Suma una sentencia a la operación abierta en el hilo actual, si la hay. Lo llama
+     * el {@code StatementInspector} de Hibernate.
+     *
+     * @param sql Sentencia que se va a preparar.
+     */
+    public void onStatement(String sql) {
+        Operation operation = current.get();
+        if (operation != null) {
+            operation.count(sql);
+        }
+    }
+
+    /**
+     * @return El resumen de cada operación registrada, ordenado por nombre.
+     */
+    public List<QueryOperationSummary> getSummaries() {
+        return new TreeMap<>(histories).values().stream().map(History::summarize).toList();
+    }
+
+    /**
+     * @param operation Nombre de la operación.
+     * @return Su resumen, si se ha registrado alguna llamada.
+     */
+    public Optional<QueryOperationSummary> getSummary(String operation) {
+        return Optional.ofNullable(histories.get(operation)).map(History::summarize);
+    }
+
+    /**
+     * Olvida las muestras registradas.
+     */
+    public void clear() {
+        histories.clear();
+    }
+
+    /**
+     * Tamaño de un resultado para compararlo con sus sentencias: los elementos de una
+     * colección o una página, 1 para un objeto y 0 si no hay nada.
+     *
+     * @param result Valor devuelto por la operación.
+     * @return Número de elementos.
+     */
+    public static int rowsOf(Object result) {
+        if (result == null || result instanceof Number || result instanceof Boolean) {
+            return 0; // Conteos y comprobaciones de existencia no devuelven filas
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        return 1;
+    }
+
+    private static boolean isSelect(String sql) {
+        String statement = sql.stripLeading();
+        if (statement.startsWith("/*")) { // Comentario de hibernate.use_sql_comments
+            int end = statement.indexOf("*/");
+            statement = end < 0 ? statement : statement.substring(end + 2).stripLeading();
+        }
+        return statement.regionMatches(true, 0, "select", 0, 6) || statement.regionMatches(true, 0, "with", 0, 4);
+    }
+
+    private void record(Operation operation, int rows) {
+        long millis = (System.nanoTime() - operation.startNanos) / 1_000_000;
+        Map.Entry<String, Integer> repeated = operation.bySql.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .orElse(null);
+        Sample sample = new Sample(rows, operation.statements, operation.selects, millis);
+        History history = histories.computeIfAbsent(operation.name, History::new);
+        boolean newlySuspected = history.add(sample, repeated);
+
+        if (millis >= slowOperation.toMillis()) {
+            log.warn("Slow operation '{}': {} ms, {} statements for {} rows",
+                    operation.name, millis, operation.statements, rows);
+        }
+        if (newlySuspected) {
+            QueryOperationSummary summary = history.summarize();
+            log.warn("Possible N+1 in '{}': {} SELECTs per result row over {} calls; most repeated: {}",
+                    operation.name, String.format(Locale.ROOT, "%.2f", summary.selectsPerRow()),
+                    summary.calls(), summary.mostRepeatedStatement());
+        }
+    }
+
+    /**
+     * Una operación abierta en un hilo.
+     */
+    public final class Operation implements AutoCloseable {
+
+        private final String name;
+        private final boolean nested;
+        private final long startNanos = System.nanoTime();
+        private final Map<String, Integer> bySql = new HashMap<>();
+        private int statements;
+        private int selects;
+
+        private Operation(String name, boolean nested) {
+            this.name = name;
+            this.nested = nested;
+        }
+
+        private void count(String sql) {
+            statements++;
+            if (isSelect(sql)) {
+                selects++;
+                bySql.merge(sql, 1, Integer::sum);
+            }
+        }
+
+        /**
+         * Registra la operación con el tamaño de su resultado. Las que no llegaron a la
+         * base de datos (p. ej. servidas desde la caché) no se registran.
+         *
+         * @param rows Tamaño del resultado, p. ej. con {@link #rowsOf(Object)}.
+         */
+        public void complete(int rows) {
+            if (!nested && statements > 0) {
+                record(this, rows);
+            }
+        }
+
+        /**
+         * @return Sentencias preparadas hasta ahora.
+         */
+        public int statements() {
+            return statements;
+        }
+
+        /**
+         * @return SELECT preparados hasta ahora.
+         */
+        public int selects() {
+            return selects;
+        }
+
+        /**
+         * Cierra la operación en el hilo actual.
+         */
+        @Override
+        public void close() {
+            if (!nested) {
+                current.remove();
+            }
+        }
+    }
+
+    private record Sample(int rows, int statements, int selects, long millis) {
+    }
+
+    /**
+     * Últimas muestras de una operación.
+     */
+    private final class History {
+
+        private final String name;
+        private final Deque<Sample> samples = new ArrayDeque<>(); // Protegido por this
+        private long calls;
+        private long slowCalls;
+        private String mostRepeated = "";
+        private int mostRepeatedCount;
+        private boolean suspected;
+
+        private History(String name) {
+            this.name = name;
+        }
+
+        /**
+         * @return {@code true} si con esta muestra la operación pasa a parecer un N+1.
+         */
+        synchronized boolean add(Sample sample, Map.Entry<String, Integer> repeated) {
+            calls++;
+            if (sample.millis >= slowOperation.toMillis()) {
+                slowCalls++;
+            }
+            if (repeated != null && repeated.getValue() > Math.max(1, mostRepeatedCount)) {
+                mostRepeated = repeated.getKey();
+                mostRepeatedCount = repeated.getValue();
+            }
+            samples.addLast(sample);
+            while (samples.size() > maxSamples) {
+                samples.removeFirst();
+            }
+            boolean wasSuspected = suspected;
+            suspected = slope() >= nPlusOneSlope;
+            return suspected && !wasSuspected;
+        }
+
+        /**
+         * Pendiente por mínimos cuadrados de los SELECT frente a las filas; 0 mientras
+         * no haya al menos dos tamaños de resultado distintos.
+         */
+        private double slope() {
+            double meanRows = samples.stream().mapToInt(Sample::rows).average().orElse(0);
+            double meanSelects = samples.stream().mapToInt(Sample::selects).average().orElse(0);
+            double covariance = 0;
+            double variance = 0;
+            for (Sample sample : samples) {
+                covariance += (sample.rows - meanRows) * (sample.selects - meanSelects);
+                variance += (sample.rows - meanRows) * (sample.rows - meanRows);
+            }
+            return variance == 0 ? 0 : covariance / variance;
+        }
+
+        synchronized QueryOperationSummary summarize() {
+            return new QueryOperationSummary(name, calls,
+                    samples.stream().mapToInt(Sample::statements).average().orElse(0),
+                    samples.stream().mapToInt(Sample::statements).max().orElse(0),
+                    samples.stream().mapToInt(Sample::rows).average().orElse(0),
+                    slope(), suspected, slowCalls,
+                    samples.stream().mapToLong(Sample::millis).max().orElse(0),
+                    mostRepeated);
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package ec.edu.uce.pokedex.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import ec.edu.uce.pokedex.dto.IngestionProgress;
+import ec.edu.uce.pokedex.models.*;
+import ec.edu.uce.pokedex.repository.PokemonRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exportación e importación de instantáneas del conjunto de datos.
+ * <p>
+ * Una instantánea es un archivo NDJSON comprimido con gzip: cada línea contiene el
+ * grafo completo de un Pokémon con la misma forma que {@code /pokemon/{name}} de la
+ * API, de modo que la importación reutiliza {@link PokemonJsonDecoder} y la etapa de
+ * escritura por lotes. Permite preparar un equipo nuevo sin acceso a la red.
+ */
+@Slf4j
+@Service
+public class SnapshotService {
+
+    private static final int EXPORT_PAGE_SIZE = 100;
+
+    private final PokemonRepository pokemonRepository;
+    private final PokemonJsonDecoder pokemonJsonDecoder;
+    private final PokemonBatchWriter pokemonBatchWriter;
+    private final TransactionTemplate readOnlyTransaction;
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    public SnapshotService(PokemonRepository pokemonRepository,
+                           PokemonJsonDecoder pokemonJsonDecoder,
+                           PokemonBatchWriter pokemonBatchWriter,
+                           PlatformTransactionManager transactionManager) {
+        this.pokemonRepository = pokemonRepository;
+        this.pokemonJsonDecoder = pokemonJsonDecoder;
+        this.pokemonBatchWriter = pokemonBatchWriter;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Exporta todos los Pokémon guardados a una instantánea.
+     * <p>
+     * Los Pokémon se leen por páginas de id creciente, cada una en su propia
+     * transacción de solo lectura, para no mantener todo el conjunto en memoria. Cada
+     * página continúa desde el último id de la anterior, así que la base de datos no
+     * recorre las filas ya exportadas como haría un {@code OFFSET}.
+     *
+     * @param file Archivo de destino ({@code .ndjson.gz}).
+     * @return Número de Pokémon exportados.
+     * @throws IOException Si el archivo no se puede escribir.
+     */
+    public int exportSnapshot(Path file) throws IOException {
+        int exported = 0;
+        try (OutputStream out = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            int afterId = 0;
+            while (true) {
+                int from = afterId;
+                EncodedPage page = readOnlyTransaction.execute(status ->
+                        encodePage(pokemonRepository.findPageAfter(from, PageRequest.ofSize(EXPORT_PAGE_SIZE))));
+                if (page.count() == 0) {
+                    break;
+                }
+                out.write(page.lines());
+                exported += page.count();
+                afterId = page.lastId();
+            }
+        }
+        log.info("Exported {} Pokémon to {}", exported, file);
+        return exported;
+    }
+
+    /**
+     * Importa una instantánea y guarda sus Pokémon en lotes.
+     * <p>
+     * El archivo se lee línea a línea y cada línea se decodifica en streaming, así que
+     * la memoria no depende del tamaño de la instantánea. Los Pokémon importados
+     * quedan registrados como checkpoints igual que en la carga desde la API.
+     *
+     * @param file       Instantánea a importar.
+     * @param onProgress Recibe el avance cada vez que se confirma un Pokémon.
+     * @return El avance final de la importación.
+     * @throws IOException Si el archivo no se puede leer.
+     */
+    public IngestionProgress importSnapshot(Path file, Consumer<IngestionProgress> onProgress) throws IOException {
+        int total;
+        try (BufferedReader reader = openReader(file)) {
+            total = (int) reader.lines().filter(line -> !line.isBlank()).count();
+        }
+        AtomicInteger done = new AtomicInteger();
+        onProgress.accept(new IngestionProgress(0, total));
+
+        Flux<Pokemon> pokemons = Flux.using(
+                () -> openReader(file),
+                reader -> Flux.fromStream(reader.lines()),
+                this::closeQuietly)
+                .filter(line -> !line.isBlank())
+                .map(this::decodeLine);
+
+        pokemonBatchWriter.write(pokemons)
+                .doOnNext(pokemon -> onProgress.accept(new IngestionProgress(done.incrementAndGet(), total)))
+                .blockLast();
+        return new IngestionProgress(done.get(), total);
+    }
+
+    private BufferedReader openReader(Path file) throws IOException {
+        return new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(new BufferedInputStream(Files.newInputStream(file))), StandardCharsets.UTF_8));
+    }
+
+    private void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            log.warn("Error closing snapshot: {}", e.getMessage());
+        }
+    }
+
+    private Pokemon decodeLine(String line) {
+        try {
+            return pokemonJsonDecoder.decode(line.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Invalid snapshot line", e);
+        }
+    }
+
+    /**
+     * Líneas NDJSON de una página, cuántos Pokémon contiene y el id del último.
+     */
+    private record EncodedPage(byte[] lines, int count, int lastId) {
+    }
+
+    /**
+     * Codifica una página de Pokémon como líneas NDJSON.
+     */
+    private EncodedPage encodePage(List<Pokemon> page) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            for (Pokemon pokemon : page) {
+                try (JsonGenerator json = jsonFactory.createGenerator(out)) {
+                    json.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+                    writePokemon(json, pokemon);
+                }
+                out.write('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        int lastId = page.isEmpty() ? 0 : page.get(page.size() - 1).getId();
+        return new EncodedPage(out.toByteArray(), page.size(), lastId);
+    }
+
+    /**
+     * Escribe un Pokémon con la forma de {@code /pokemon/{name}} que entiende {@link PokemonJsonDecoder}.
+     */
+    private void writePokemon(JsonGenerator json, Pokemon pokemon) throws IOException {
+        json.writeStartObject();
+        json.writeNumberField("id", pokemon.getId());
+        json.writeStringField("name", pokemon.getName());
+        writeInteger(json, "base_experience", pokemon.getBaseExperience());
+        writeInteger(json, "height", pokemon.getHeight());
+        writeInteger(json, "weight", pokemon.getWeight());
+        writeInteger(json, "order", pokemon.getOrderIndex());
+
+        json.writeArrayFieldStart("abilities");
+        for (PokemonAbility ability : nullSafe(pokemon.getAbilities())) {
+            json.writeStartObject();
+            writeNamed(json, "ability", ability.getName(), ability.getUrl());
+            json.writeBooleanField("is_hidden", ability.isHidden());
+            json.writeNumberField("slot", ability.getSlot());
+            json.writeEndObject();
+        }
+        json.writeEndArray();
+
+        json.writeArrayFieldStart("stats");
+        for (Stat stat : nullSafe(pokemon.getStats())) {
+            json.writeStartObject();
+            json.writeNumberField("base_stat", stat.getBaseStat());
+            json.writeNumberField("effort", stat.getEffort());
+            writeNamed(json, "stat", stat.getName(), null);
+            json.writeEndObject();
+        }
+        json.writeEndArray();
+
+        json.writeArrayFieldStart("types");
+        List<Type> types = nullSafe(pokemon.getTypes());
+        for (int i = 0; i < types.size(); i++) {
+            Type type = types.get(i);
+            json.writeStartObject();
+            json.writeNumberField("slot", i + 1); // La posición en la lista es el slot
+            writeNamed(json, "type", type.getName(), type.getUrl());
+            json.writeEndObject();
+        }
+        json.writeEndArray();
+
+        json.writeArrayFieldStart("moves");
+        for (Move move : nullSafe(pokemon.getMoves())) {
+            json.writeStartObject();
+            writeNamed(json, "move", move.getName(), move.getUrl());
+            json.writeEndObject();
+        }
+        json.writeEndArray();
+
+        Sprites sprites = pokemon.getSprites();
+        if (sprites != null) {
+            json.writeObjectFieldStart("sprites");
+            json.writeStringField("front_default", sprites.getFrontDefault());
+            json.writeStringField("back_default", sprites.getBackDefault());
+            json.writeStringField("front_shiny", sprites.getFrontShiny());
+            json.writeStringField("back_shiny", sprites.getBackShiny());
+            json.writeStringField("front_female", sprites.getFrontFemale());
+            json.writeStringField("back_female", sprites.getBackFemale());
+            json.writeStringField("front_shiny_female", sprites.getFrontShinyFemale());
+            json.writeStringField("back_shiny_female", sprites.getBackShinyFemale());
+            json.writeEndObject();
+        }
+        json.writeEndObject();
+    }
+
+    private void writeNamed(JsonGenerator json, String field, String name, String url) throws IOException {
+        json.writeObjectFieldStart(field);
+        json.writeStringField("name", name);
+        json.writeStringField("url", url);
+        json.writeEndObject();
+    }
+
+    private void writeInteger(JsonGenerator json, String field, Integer value) throws IOException {
+        if (value == null) {
+            json.writeNullField(field);
+        } else {
+            json.writeNumberField(field, value);
+        }
+    }
+
+    private <T> List<T> nullSafe(List<T> items) {
+        return items == null ? List.of() : items;
+    }
+}
@@ -0,0 +1,366 @@
+package ec.edu.uce.pokedex.service;
+
+import ec.edu.uce.pokedex.dto.PokemonCardRow;
+import ec.edu.uce.pokedex.repository.PokemonRepository;
+import ec.edu.uce.pokedex.util.ImageScaler;
+import ec.edu.uce.pokedex.util.LruCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import javax.imageio.ImageIO;
+import javax.swing.Icon;
+import javax.swing.ImageIcon;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+/**
+ * Atlas con los sprites frontales de todos los Pokémon, para las tarjetas de las vistas.
+ * <p>
+ * Al terminar una ingesta o una importación, {@link #rebuild()} descarga (o lee de la
+ * caché de imágenes) el sprite frontal de cada Pokémon y los empaqueta en una
+ * cuadrícula de celdas sobre unas pocas imágenes grandes, junto con un índice
+ * id -> rectángulo. Cada construcción se escribe en su propio directorio y el archivo
+ * {@code current} apunta a la última completa, así que una construcción interrumpida
+ * nunca deja un atlas a medias.
+ * <p>
+ * Las páginas se decodifican la primera vez que se usan: recorrer toda la Pokédex
+ * cuesta unas pocas decodificaciones y no necesita red. Cada sprite se escala una sola
+ * vez por tamaño de tarjeta y queda en una LRU acotada por los bytes de sus píxeles,
+ * así que repintar una tarjeta solo copia píxeles. Los Pokémon que no están en el
+ * atlas (p. ej. los que trae una sincronización posterior) siguen cargando su sprite por URL.
+ */
+@Slf4j
+@Service
+public class SpriteAtlasService {
+
+    private static final String CURRENT = "current";
+    private static final String INDEX = "index.bin";
+
+    private final Path directory;
+    private final int cellSize;
+    private final int columns;
+    private final int concurrency;
+    private final PokemonRepository pokemonRepository;
+    private final ImageCacheService imageCacheService;
+    private final LruCache<ScaledSprite, BufferedImage> scaled;
+    private final Object loadLock = new Object(); // No espera a una construcción en curso
+    private volatile Atlas atlas; // Se lee del disco la primera vez que se necesita
+
+    public SpriteAtlasService(@Value("${pokedex.sprite-atlas.dir:${user.home}/.pokedex/atlas}") Path directory,
+                              @Value("${pokedex.sprite-atlas.cell-size:96}") int cellSize,
+                              @Value("${pokedex.sprite-atlas.columns:16}") int columns,
+                              @Value("${pokedex.sprite-atlas.concurrency:16}") int concurrency,
+                              @Value("${pokedex.sprite-atlas.scaled-size:32MB}") DataSize scaledSize,
+                              PokemonRepository pokemonRepository,
+                              ImageCacheService imageCacheService) throws IOException {
+        this.directory = directory;
+        this.cellSize = cellSize;
+        this.columns = columns;
+        this.concurrency = concurrency;
+        this.pokemonRepository = pokemonRepository;
+        this.imageCacheService = imageCacheService;
+        this.scaled = new LruCache<>(scaledSize.toBytes(),
+                image -> (long) image.getWidth() * image.getHeight() * 4); // ARGB
+        Files.createDirectories(directory);
+    }
+
+    /**
+     * Construye un atlas nuevo con el sprite frontal de todos los Pokémon guardados y lo
+     * deja como el actual.
+     * <p>
+     * Los sprites se obtienen página a página, con {@code pokedex.sprite-atlas.concurrency}
+     * descargas a la vez, así que en memoria solo hay una página de sprites sueltos. Los
+     * que no se pueden obtener se omiten y esos Pokémon cargan su sprite por URL.
+     * Bloquea hasta terminar, así que no debe invocarse desde el hilo de Swing.
+     *
+     * @return Número de sprites empaquetados.
+     * @throws IOException Si el atlas no se puede escribir.
+     */
+    public synchronized int rebuild() throws IOException {
+        List<PokemonCardRow> rows = pokemonRepository.findAllCardRows().stream()
+                .filter(row -> row.spriteUrl() != null)
+                .toList();
+        Path generation = directory.resolve(Long.toString(System.currentTimeMillis()));
+        Files.createDirectories(generation);
+
+        Map<Integer, SpriteRect> rects = new LinkedHashMap<>();
+        List<BufferedImage> sprites = new ArrayList<>();
+        List<Integer> ids = new ArrayList<>();
+        int perPage = columns * columns;
+        int pages = 0;
+        for (int start = 0; start < rows.size(); start += perPage) {
+            List<PokemonCardRow> chunk = rows.subList(start, Math.min(start + perPage, rows.size()));
+            List<BufferedImage> images = fetchAll(chunk);
+            for (int i = 0; i < chunk.size(); i++) {
+                if (images.get(i) != null) {
+                    ids.add(chunk.get(i).id());
+                    sprites.add(images.get(i));
+                }
+            }
+            // Se llena cada página antes de escribirla; los sprites que faltan no dejan huecos
+            while (sprites.size() >= perPage || (start + perPage >= rows.size() && !sprites.isEmpty())) {
+                int count = Math.min(perPage, sprites.size());
+                writePage(generation, pages++, ids.subList(0, count), sprites.subList(0, count), rects);
+                ids.subList(0, count).clear();
+                sprites.subList(0, count).clear();
+            }
+        }
+        writeIndex(generation.resolve(INDEX), pages, rects);
+        writeAtomically(directory.resolve(CURRENT), generation.getFileName().toString().getBytes(StandardCharsets.UTF_8));
+
+        atlas = new Atlas(generation, pages, rects);
+        scaled.clear(); // Las variantes de la construcción anterior ya no se piden
+        deleteOtherGenerations(generation);
+        log.info("Packed {} of {} sprites into {} atlas pages at {}", rects.size(), rows.size(), pages, generation);
+        return rects.size();
+    }
+
+    /**
+     * @return {@code true} si hay un atlas construido con al menos un sprite.
+     */
+    public boolean isBuilt() {
+        return !current().rects().isEmpty();
+    }
+
+    /**
+     * Obtiene el sprite de un Pokémon desde el atlas, escalado para caber en el tamaño indicado.
+     * <p>
+     * Cada combinación de Pokémon y tamaño se escala una sola vez; el icono dibuja la
+     * imagen ya escalada. La primera vez que se usa una página se decodifica, así que
+     * puede bloquear; debe llamarse desde un hilo en segundo plano.
+     *
+     * @param pokemonId Id del Pokémon.
+     * @param width     Ancho máximo del icono.
+     * @param height    Alto máximo del icono.
+     * @return El icono, o vacío si el Pokémon no está en el atlas o su página no se puede leer.
+     */
+    public Optional<Icon> getIcon(int pokemonId, int width, int height) {
+        Atlas current = current();
+        SpriteRect rect = current.rects().get(pokemonId);
+        if (rect == null) {
+            return Optional.empty();
+        }
+        ScaledSprite key = new ScaledSprite(current.generation(), pokemonId, width, height);
+        BufferedImage sprite = scaled.get(key);
+        if (sprite == null) {
+            try {
+                BufferedImage page = current.page(rect.page());
+                sprite = ImageScaler.scale(page.getSubimage(rect.x(), rect.y(), rect.width(), rect.height()), width, height);
+            } catch (IOException e) {
+                log.warn("Could not read sprite atlas page {}: {}", rect.page(), e.getMessage());
+                return Optional.empty();
+            }
+            scaled.put(key, sprite);
+        }
+        return Optional.of(new ImageIcon(sprite));
+    }
+
+    /**
+     * Descarga en paralelo los sprites de un grupo de Pokémon; los que fallan quedan como {@code null}.
+     */
+    private List<BufferedImage> fetchAll(List<PokemonCardRow> chunk) throws IOException {
+        Semaphore permits = new Semaphore(concurrency);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<BufferedImage>> futures = chunk.stream()
+                    .map(row -> executor.submit(() -> {
+                        permits.acquire();
+                        try {
+                            return imageCacheService.readImage(row.spriteUrl());
+                        } catch (IOException e) {
+                            log.warn("Leaving {} out of the sprite atlas: {}", row.name(), e.getMessage());
+                            return null;
+                        } finally {
+                            permits.release();
+                        }
+                    }))
+                    .toList();
+            List<BufferedImage> images = new ArrayList<>(futures.size());
+            for (Future<BufferedImage> future : futures) {
+                images.add(future.get());
+            }
+            return images;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Sprite atlas build interrupted");
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * Dibuja un grupo de sprites en una página, de izquierda a derecha y de arriba abajo,
+     * y registra el rectángulo de cada uno.
+     */
+    private void writePage(Path generation, int page, List<Integer> ids, List<BufferedImage> sprites,
+                           Map<Integer, SpriteRect> rects) throws IOException {
+        int rows = (sprites.size() + columns - 1) / columns;
+        BufferedImage image = new BufferedImage(columns * cellSize, rows * cellSize, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = image.createGraphics();
+        try {
+            for (int i = 0; i < sprites.size(); i++) {
+                BufferedImage sprite = sprites.get(i);
+                if (sprite.getWidth() > cellSize || sprite.getHeight() > cellSize) {
+                    sprite = ImageScaler.scale(sprite, cellSize, cellSize);
+                }
+                int x = (i % columns) * cellSize;
+                int y = (i / columns) * cellSize;
+                graphics.drawImage(sprite, x, y, null);
+                rects.put(ids.get(i), new SpriteRect(page, x, y, sprite.getWidth(), sprite.getHeight()));
+            }
+        } finally {
+            graphics.dispose();
+        }
+        if (!ImageIO.write(image, "png", pageFile(generation, page).toFile())) {
+            throw new IOException("No PNG writer available");
+        }
+    }
+
+    private void writeIndex(Path file, int pages, Map<Integer, SpriteRect> rects) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(pages);
+            out.writeInt(rects.size());
+            for (Map.Entry<Integer, SpriteRect> entry : rects.entrySet()) {
+                SpriteRect rect = entry.getValue();
+                out.writeInt(entry.getKey());
+                out.writeInt(rect.page());
+                out.writeInt(rect.x());
+                out.writeInt(rect.y());
+                out.writeInt(rect.width());
+                out.writeInt(rect.height());
+            }
+        }
+    }
+
+    /**
+     * Devuelve el atlas actual, leyendo su índice del disco la primera vez.
+     */
+    private Atlas current() {
+        Atlas loaded = atlas;
+        if (loaded == null) {
+            synchronized (loadLock) {
+                if (atlas == null) {
+                    atlas = readCurrent();
+                }
+                loaded = atlas;
+            }
+        }
+        return loaded;
+    }
+
+    private Atlas readCurrent() {
+        Path pointer = directory.resolve(CURRENT);
+        if (!Files.exists(pointer)) {
+            return Atlas.EMPTY;
+        }
+        try {
+            Path generation = directory.resolve(Files.readString(pointer).trim());
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                    Files.newInputStream(generation.resolve(INDEX))))) {
+                int pages = in.readInt();
+                int count = in.readInt();
+                Map<Integer, SpriteRect> rects = new HashMap<>(count * 2);
+                for (int i = 0; i < count; i++) {
+                    rects.put(in.readInt(), new SpriteRect(in.readInt(), in.readInt(), in.readInt(), in.readInt(), in.readInt()));
+                }
+                log.info("Loaded sprite atlas {} with {} sprites", generation, count);
+                return new Atlas(generation, pages, rects);
+            }
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable sprite atlas: {}", e.getMessage());
+            return Atlas.EMPTY;
+        }
+    }
+
+    private void deleteOtherGenerations(Path keep) {
+        try (Stream<Path> entries = Files.list(directory)) {
+            entries.filter(Files::isDirectory)
+                    .filter(entry -> !entry.equals(keep))
+                    .forEach(this::deleteGeneration);
+        } catch (IOException e) {
+            log.warn("Could not clean old sprite atlases: {}", e.getMessage());
+        }
+    }
+
+    private void deleteGeneration(Path generation) {
+        try (Stream<Path> files = Files.list(generation)) {
+            for (Path file : files.toList()) {
+                Files.deleteIfExists(file);
+            }
+            Files.deleteIfExists(generation);
+        } catch (IOException e) {
+            log.warn("Could not delete old sprite atlas {}: {}", generation, e.getMessage());
+        }
+    }
+
+    /**
+     * Escribe en un temporal y lo mueve, para que nunca se lea un archivo a medias.
+     */
+    private void writeAtomically(Path target, byte[] bytes) throws IOException {
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, bytes);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static Path pageFile(Path generation, int page) {
+        return generation.resolve("page-" + page + ".png");
+    }
+
+    /**
+     * Posición de un sprite dentro de una página del atlas.
+     */
+    private record SpriteRect(int page, int x, int y, int width, int height) {
+    }
+
+    /**
+     * Un atlas construido: su índice y sus páginas, que se decodifican al usarse por primera vez.
+     */
+    private record Atlas(Path generation, BufferedImage[] pages, Map<Integer, SpriteRect> rects) {
+
+        static final Atlas EMPTY = new Atlas(null, 0, Map.of());
+
+        Atlas(Path generation, int pageCount, Map<Integer, SpriteRect> rects) {
+            this(generation, new BufferedImage[pageCount], rects);
+        }
+
+        synchronized BufferedImage page(int page) throws IOException {
+            if (pages[page] == null) {
+                BufferedImage decoded = ImageIO.read(pageFile(generation, page).toFile());
+                if (decoded == null) {
+                    throw new IOException("Unreadable atlas page " + page);
+                }
+                // Los sprites se escalan desde la página; en ARGB entero la copia es directa
+                BufferedImage argb = new BufferedImage(decoded.getWidth(), decoded.getHeight(), BufferedImage.TYPE_INT_ARGB);
+                Graphics2D graphics = argb.createGraphics();
+                graphics.drawImage(decoded, 0, 0, null);
+                graphics.dispose();
+                pages[page] = argb;
+            }
+            return pages[page];
+        }
+    }
+
+    /**
+     * Un sprite escalado: la construcción de la que sale, el Pokémon y el tamaño máximo pedido.
+     */
+    private record ScaledSprite(Path generation, int pokemonId, int width, int height) {
+    }
+}
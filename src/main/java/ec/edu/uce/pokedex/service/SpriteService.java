@@ -1,40 +1,60 @@
 package ec.edu.uce.pokedex.service;
 
+import ec.edu.uce.pokedex.config.CacheConfig;
+import ec.edu.uce.pokedex.dto.PokemonSprites;
 import ec.edu.uce.pokedex.models.Pokemon;
 import ec.edu.uce.pokedex.models.Sprites;
 import ec.edu.uce.pokedex.repository.SpritesRepository;
+import ec.edu.uce.pokedex.util.SingleFlight;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 
 @Service
 public class SpriteService {
 
     private final SpritesRepository spritesRepository;
     private final ExternalApiService externalApiService;
+    private final PokemonBatchWriter pokemonBatchWriter;
+    private final SingleFlight<String, Pokemon> misses = new SingleFlight<>();
 
-    public SpriteService(SpritesRepository spritesRepository, ExternalApiService externalApiService) {
+    public SpriteService(SpritesRepository spritesRepository, ExternalApiService externalApiService,
+                         PokemonBatchWriter pokemonBatchWriter) {
         this.spritesRepository = spritesRepository;
         this.externalApiService = externalApiService;
+        this.pokemonBatchWriter = pokemonBatchWriter;
     }
 
     /**
      * Recupera los sprites de un Pokémon de la base de datos o los carga desde la API si no se encuentran.
+     * <p>
+     * En caso de fallo se guarda el Pokémon completo a través de {@link PokemonBatchWriter},
+     * no solo sus sprites: un {@code Sprites} guardado por separado quedaría sin ningún
+     * Pokémon que lo referencie. Los fallos concurrentes para el mismo Pokémon comparten
+     * una sola petición y una sola escritura.
+     * <p>
+     * Se devuelve (y se guarda en caché) una copia inmutable, no la entidad. La lectura
+     * es una proyección en la transacción de solo lectura del repositorio; la petición a
+     * la API queda fuera de cualquier transacción.
      *
      * @param pokemonName Nombre del Pokémon.
-     * @return Objeto Sprites del Pokémon.
+     * @return Los sprites del Pokémon.
      */
-    public Sprites getSpritesForPokemon(String pokemonName) {
-        Sprites sprites = spritesRepository.findByPokemonName(pokemonName);
-        if (sprites != null) {
-            return sprites;
+    @Cacheable(cacheNames = CacheConfig.SPRITES, key = "#pokemonName.toLowerCase()", unless = "#result == null")
+    public PokemonSprites getSpritesForPokemon(String pokemonName) {
+        String key = pokemonName.toLowerCase();
+        PokemonSprites stored = spritesRepository.findSpritesByPokemonName(key);
+        if (stored != null) {
+            return stored;
         }
 
-        Pokemon pokemon = externalApiService.getPokemonFromApi(pokemonName).block();
+        Pokemon pokemon = misses.execute(key, () -> externalApiService.getPokemonFromApi(key)
+                        .flatMap(fetched -> pokemonBatchWriter.write(Flux.just(fetched)).next()))
+                .block();
         assert pokemon != null;
-        Sprites fetchedSprites = pokemon.getSprites();
-        if (fetchedSprites != null) {
-            fetchedSprites.setPokemon(pokemon);
-            spritesRepository.save(fetchedSprites);
-        }
-        return fetchedSprites;
+        Sprites sprites = pokemon.getSprites();
+        return sprites == null ? null : new PokemonSprites(sprites.getFrontDefault(), sprites.getBackDefault(),
+                sprites.getFrontShiny(), sprites.getBackShiny(), sprites.getFrontFemale(), sprites.getBackFemale(),
+                sprites.getFrontShinyFemale(), sprites.getBackShinyFemale());
     }
 }
@@ -1,8 +1,11 @@
 package ec.edu.uce.pokedex.service;
 
-import ec.edu.uce.pokedex.models.Stat;
+import ec.edu.uce.pokedex.config.CacheConfig;
+import ec.edu.uce.pokedex.dto.PokemonStat;
 import ec.edu.uce.pokedex.repository.StatRepository;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -16,11 +19,17 @@ public class StatService {
 
     /**
      * Obtiene las estadísticas de un Pokémon de la base de datos.
+     * <p>
+     * Se devuelve (y se guarda en caché) una copia inmutable, no las entidades.
      *
      * @param pokemonName Nombre del Pokémon.
      * @return Lista de estadísticas.
      */
-    public List<Stat> getStatsForPokemon(String pokemonName) {
-        return statRepository.findByPokemonName(pokemonName);
+    @Cacheable(cacheNames = CacheConfig.POKEMON_STATS, key = "#pokemonName.toLowerCase()")
+    @Transactional(readOnly = true)
+    public List<PokemonStat> getStatsForPokemon(String pokemonName) {
+        return statRepository.findByPokemonName(pokemonName).stream()
+                .map(stat -> new PokemonStat(stat.getName(), stat.getBaseStat(), stat.getEffort()))
+                .toList();
     }
 }
@@ -1,8 +1,11 @@
 package ec.edu.uce.pokedex.service;
 
-import ec.edu.uce.pokedex.models.Pokemon;
+import ec.edu.uce.pokedex.config.CacheConfig;
+import ec.edu.uce.pokedex.dto.PokemonCardRow;
 import ec.edu.uce.pokedex.repository.TypeRepository;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -17,11 +20,16 @@ public class TypeService {
 
     /**
      * Busca todos los Pokémon asociados a un tipo.
+     * <p>
+     * Devuelve (y guarda en caché) una lista inmutable de filas con nombre y sprite, no
+     * entidades.
      *
      * @param typeName Nombre del tipo.
-     * @return Lista de nombres de Pokémon.
+     * @return Nombre y sprite de cada Pokémon del tipo, en orden de id.
      */
-    public List<Pokemon> getPokemonByType(String typeName) {
-        return typeRepository.findPokemonsByTypeName(typeName);
+    @Cacheable(cacheNames = CacheConfig.TYPE_MEMBERS, key = "#typeName.toLowerCase()")
+    @Transactional(readOnly = true)
+    public List<PokemonCardRow> getPokemonByType(String typeName) {
+        return List.copyOf(typeRepository.findCardRowsByTypeName(typeName));
     }
 }
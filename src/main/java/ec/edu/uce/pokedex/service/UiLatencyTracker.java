@@ -0,0 +1,146 @@
+package ec.edu.uce.pokedex.service;
+
+import ec.edu.uce.pokedex.dto.UiLatencySummary;
+import ec.edu.uce.pokedex.jfr.ViewRenderEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.swing.*;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Mide cuánto tarda la interfaz en responder tras una acción del usuario: cambiar de
+ * vista en {@code MainView} o lanzar una búsqueda.
+ * <p>
+ * Una medición empieza con {@link #start(String, String)} y termina con
+ * {@link Measurement#finish()} cuando la vista ya tiene su contenido. El tiempo se toma
+ * en el siguiente turno del hilo de Swing, después de la distribución y el pintado que
+ * dejó pendientes la acción, así que incluye lo que el usuario espera hasta poder
+ * interactuar. Se conservan las últimas {@code pokedex.ui-latency.max-samples} muestras.
+ * <p>
+ * Cada medición es también un {@link ViewRenderEvent} de Flight Recorder con los mismos
+ * límites, para verla en la línea de tiempo junto a las cargas que provocó.
+ */
+@Service
+public class UiLatencyTracker {
+
+    public static final String VIEW_SWITCH = "view";
+    public static final String SEARCH = "search";
+
+    private final int maxSamples;
+    private final Deque<Sample> samples = new ArrayDeque<>(); // Protegido por this
+
+    public UiLatencyTracker(@Value("${pokedex.ui-latency.max-samples:500}") int maxSamples) {
+        this.maxSamples = maxSamples;
+    }
+
+    /**
+     * Empieza a medir una acción.
+     *
+     * @param kind  Tipo de acción ({@link #VIEW_SWITCH} o {@link #SEARCH}).
+     * @param label Vista en la que ocurre (el nombre de su tarjeta en {@code MainView}).
+     * @return La medición, que se termina con {@link Measurement#finish()}.
+     */
+    public Measurement start(String kind, String label) {
+        return new Measurement(new Action(kind, label), System.nanoTime());
+    }
+
+    /**
+     * @return Mediana, percentil 95 y máximo por tipo de acción y vista, ordenados por tipo y vista.
+     */
+    public List<UiLatencySummary> getSummaries() {
+        Map<Action, List<Long>> byAction = new TreeMap<>(Comparator.comparing(Action::kind).thenComparing(Action::label));
+        synchronized (this) {
+            for (Sample sample : samples) {
+                byAction.computeIfAbsent(sample.action, action -> new ArrayList<>()).add(sample.millis);
+            }
+        }
+        List<UiLatencySummary> summaries = new ArrayList<>();
+        byAction.forEach((action, millis) -> {
+            Collections.sort(millis);
+            summaries.add(new UiLatencySummary(action.kind, action.label, millis.size(),
+                    percentile(millis, 0.50), percentile(millis, 0.95), millis.get(millis.size() - 1)));
+        });
+        return summaries;
+    }
+
+    /**
+     * Olvida las muestras registradas.
+     */
+    public synchronized void clear() {
+        samples.clear();
+    }
+
+    private static long percentile(List<Long> sorted, double fraction) {
+        int index = (int) Math.ceil(fraction * sorted.size()) - 1;
+        return sorted.get(Math.max(index, 0));
+    }
+
+    private synchronized void record(Sample sample) {
+        samples.addLast(sample);
+        while (samples.size() > maxSamples) {
+            samples.removeFirst();
+        }
+    }
+
+    private record Action(String kind, String label) {
+    }
+
+    private record Sample(Action action, long millis) {
+    }
+
+    /**
+     * Una acción en curso.
+     */
+    public final class Measurement {
+
+        private final Action action;
+        private final long startNanos;
+        private final ViewRenderEvent event = new ViewRenderEvent();
+        private final AtomicBoolean finished = new AtomicBoolean();
+
+        private Measurement(Action action, long startNanos) {
+            this.action = action;
+            this.startNanos = startNanos;
+            event.begin();
+        }
+
+        /**
+         * Termina la medición en el siguiente turno del hilo de Swing. Solo cuenta la
+         * primera llamada.
+         */
+        public void finish() {
+            if (finished.compareAndSet(false, true)) {
+                SwingUtilities.invokeLater(() -> {
+                    record(new Sample(action, (System.nanoTime() - startNanos) / 1_000_000));
+                    commitEvent();
+                });
+            }
+        }
+
+        private void commitEvent() {
+            event.end();
+            if (event.shouldCommit()) {
+                event.view = action.label;
+                event.action = action.kind;
+                event.commit();
+            }
+        }
+
+        /**
+         * Envuelve un callback de {@code TaskGroup} para que la medición termine después de él.
+         *
+         * @param callback Callback que muestra el resultado o el error.
+         * @param <T>      Tipo de lo que recibe el callback.
+         * @return El callback envuelto.
+         */
+        public <T> Consumer<T> finishAfter(Consumer<T> callback) {
+            return value -> {
+                callback.accept(value);
+                finish();
+            };
+        }
+    }
+}
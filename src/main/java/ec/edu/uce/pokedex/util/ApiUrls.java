@@ -0,0 +1,28 @@
+package ec.edu.uce.pokedex.util;
+
+/**
+ * Utilidades para las URL de recursos de la API externa.
+ */
+public final class ApiUrls {
+
+    private ApiUrls() {
+    }
+
+    /**
+     * Extrae el id de un recurso a partir de su URL (p. ej. ".../move/33/").
+     *
+     * @param url URL del recurso en la API externa.
+     * @return El id numérico del recurso, o 0 si la URL no lo contiene.
+     */
+    public static int idOf(String url) {
+        if (url == null) {
+            return 0;
+        }
+        String[] parts = url.split("/");
+        try {
+            return Integer.parseInt(parts[parts.length - 1]);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package ec.edu.uce.pokedex.util;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Iterator;
+
+/**
+ * Decodificación y escalado de imágenes para las vistas.
+ * <p>
+ * Sustituye a {@code getScaledInstance(..., SCALE_SMOOTH)}, que aplica un filtro de
+ * promedio por áreas muy lento y devuelve una imagen perezosa que se vuelve a
+ * escalar en cada repintado. Aquí el resultado es un {@link BufferedImage} ya
+ * escalado:
+ * <ul>
+ *     <li>Al decodificar, las imágenes mucho mayores que el destino (el arte oficial
+ *     ronda los 475 px) se leen con submuestreo, así que no se llegan a decodificar
+ *     todos sus píxeles.</li>
+ *     <li>La reducción se hace con interpolación bilineal, por mitades mientras
+ *     la imagen sea más del doble del destino, para que no aparezcan dientes de sierra.</li>
+ * </ul>
+ * La imagen escalada mantiene la proporción y cabe en el tamaño pedido.
+ */
+public final class ImageScaler {
+
+    private ImageScaler() {
+    }
+
+    /**
+     * Decodifica una imagen leyendo solo los píxeles necesarios para el tamaño de destino.
+     *
+     * @param bytes        Bytes de la imagen (PNG, JPEG o GIF).
+     * @param targetWidth  Ancho al que se va a mostrar.
+     * @param targetHeight Alto al que se va a mostrar.
+     * @return La imagen decodificada; puede ser mayor que el destino, pero nunca más
+     * del doble en ambos ejes.
+     * @throws IOException Si el formato no es compatible o los bytes están dañados.
+     */
+    public static BufferedImage decode(byte[] bytes, int targetWidth, int targetHeight) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(bytes))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new IOException("Unsupported image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int factor = Math.min(reader.getWidth(0) / Math.max(targetWidth, 1),
+                        reader.getHeight(0) / Math.max(targetHeight, 1));
+                ImageReadParam param = reader.getDefaultReadParam();
+                if (factor >= 2) {
+                    param.setSourceSubsampling(factor, factor, 0, 0);
+                }
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Escala una imagen para que quepa en el tamaño indicado, manteniendo la proporción.
+     *
+     * @param source Imagen original.
+     * @param width  Ancho máximo.
+     * @param height Alto máximo.
+     * @return Una imagen nueva en ARGB del tamaño final.
+     */
+    public static BufferedImage scale(BufferedImage source, int width, int height) {
+        double ratio = Math.min((double) width / source.getWidth(), (double) height / source.getHeight());
+        int targetWidth = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+
+        BufferedImage current = source;
+        int currentWidth = source.getWidth();
+        int currentHeight = source.getHeight();
+        do {
+            // Reducir por mitades; la bilineal solo mira 2x2 píxeles y en un salto grande pierde detalle
+            currentWidth = currentWidth / 2 >= targetWidth ? currentWidth / 2 : targetWidth;
+            currentHeight = currentHeight / 2 >= targetHeight ? currentHeight / 2 : targetHeight;
+            current = draw(current, currentWidth, currentHeight);
+        } while (currentWidth != targetWidth || currentHeight != targetHeight);
+        return current;
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_SPEED);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+}
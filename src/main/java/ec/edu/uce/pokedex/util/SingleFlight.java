@@ -0,0 +1,43 @@
+package ec.edu.uce.pokedex.util;
+
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa las peticiones concurrentes con la misma clave en una sola ejecución.
+ * <p>
+ * El primer llamador crea el `Mono` y los que llegan mientras sigue en curso reciben
+ * ese mismo `Mono`, de modo que todos comparten un único resultado (o error). Al
+ * terminar, la clave se libera y la siguiente llamada vuelve a ejecutarse; no es una
+ * caché de resultados.
+ *
+ * @param <K> Tipo de la clave que identifica la petición.
+ * @param <V> Tipo del resultado.
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, Mono<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Ejecuta `call` para la clave o se une a la ejecución en curso.
+     *
+     * @param key  Clave de la petición.
+     * @param call Crea la petición si no hay ninguna en curso para la clave.
+     * @return Un `Mono` compartido por todos los llamadores concurrentes de la clave.
+     */
+    public Mono<V> execute(K key, Supplier<Mono<V>> call) {
+        return Mono.defer(() -> inFlight.computeIfAbsent(key, k -> call.get()
+                .doFinally(signal -> inFlight.remove(k))
+                .cache()));
+    }
+
+    /**
+     * @return Número de claves con una petición en curso.
+     */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+}
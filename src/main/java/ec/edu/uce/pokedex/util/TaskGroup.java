@@ -0,0 +1,142 @@
+package ec.edu.uce.pokedex.util;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Grupo de tareas en segundo plano de una vista, con cancelación conjunta.
+ * <p>
+ * Las tareas se ejecutan en el ejecutor compartido de hilos virtuales, así que pueden
+ * bloquear (base de datos, HTTP, imágenes) sin ocupar un hilo de plataforma. Los
+ * resultados se entregan en el hilo de Swing, pero solo si el grupo no se ha
+ * cancelado desde que se lanzó la tarea: una búsqueda nueva llama a {@link #cancelAll()}
+ * y los resultados de la anterior, incluidas sus imágenes pendientes, se descartan.
+ */
+public class TaskGroup {
+
+    private final ExecutorService executor;
+    private final AtomicInteger generation = new AtomicInteger();
+    private final Set<Future<?>> running = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param executor Ejecutor en el que se lanzan las tareas.
+     */
+    public TaskGroup(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Lanza una tarea y entrega su resultado en el hilo de Swing.
+     *
+     * @param task      Trabajo bloqueante a ejecutar.
+     * @param onSuccess Recibe el resultado en el hilo de Swing.
+     * @param onError   Recibe el error en el hilo de Swing.
+     * @param <T>       Tipo del resultado.
+     * @return Un `CompletableFuture` con el resultado, por si hace falta encadenar otra tarea.
+     * Siempre termina: si el grupo se cancela, aunque la tarea no haya empezado, queda
+     * cancelado. Cancelarlo interrumpe la tarea o evita que empiece.
+     */
+    public <T> CompletableFuture<T> submit(Callable<T> task, Consumer<T> onSuccess, Consumer<Throwable> onError) {
+        int launchedIn = generation.get();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> future = executor.submit(() -> {
+            try {
+                result.complete(task.call());
+            } catch (Throwable ex) {
+                result.completeExceptionally(ex);
+            }
+        });
+        result.whenComplete((value, ex) -> {
+            if (result.isCancelled()) {
+                future.cancel(true);
+            }
+        });
+        running.add(result);
+        deliver(launchedIn, result, onSuccess, onError);
+        return result;
+    }
+
+    /**
+     * Sigue un trabajo que ya se lanzó en otro sitio (p. ej. en {@code ImageLoadScheduler})
+     * y entrega su resultado en el hilo de Swing, con las mismas reglas que {@link #submit}:
+     * {@link #cancelAll()} cancela el future y descarta el resultado.
+     *
+     * @param result    Future del trabajo; se cancela con el grupo.
+     * @param onSuccess Recibe el resultado en el hilo de Swing.
+     * @param onError   Recibe el error en el hilo de Swing.
+     * @param <T>       Tipo del resultado.
+     * @return El mismo future.
+     */
+    public <T> CompletableFuture<T> track(CompletableFuture<T> result, Consumer<T> onSuccess, Consumer<Throwable> onError) {
+        int launchedIn = generation.get();
+        running.add(result);
+        deliver(launchedIn, result, onSuccess, onError);
+        return result;
+    }
+
+    /**
+     * Entrega el resultado en el hilo de Swing si ni el trabajo ni el grupo se han
+     * cancelado desde `launchedIn`.
+     */
+    private <T> void deliver(int launchedIn, CompletableFuture<T> result,
+                             Consumer<T> onSuccess, Consumer<Throwable> onError) {
+        result.whenComplete((value, ex) -> {
+            running.remove(result);
+            SwingUtilities.invokeLater(() -> {
+                if (launchedIn != generation.get() || result.isCancelled()) {
+                    return; // Resultado de una operación ya reemplazada o cancelada
+                }
+                if (ex == null) {
+                    onSuccess.accept(value);
+                } else {
+                    onError.accept(ex);
+                }
+            });
+        });
+        if (result.isDone()) {
+            running.remove(result);
+        }
+    }
+
+    /**
+     * Ejecuta varias tareas en paralelo desde una tarea del grupo y espera a todas.
+     * <p>
+     * Si la tarea que llama se cancela, se cancelan también las que siguen pendientes.
+     *
+     * @param tasks Tareas a ejecutar.
+     * @param <T>   Tipo de los resultados.
+     * @return Los resultados en el mismo orden que las tareas.
+     * @throws InterruptedException Si el grupo se canceló mientras se esperaba.
+     * @throws ExecutionException   Si alguna tarea falló.
+     */
+    public <T> List<T> invokeAll(List<Callable<T>> tasks) throws InterruptedException, ExecutionException {
+        List<T> results = new ArrayList<>(tasks.size());
+        for (Future<T> future : executor.invokeAll(tasks)) {
+            results.add(future.get());
+        }
+        return results;
+    }
+
+    /**
+     * Cancela todas las tareas en curso e invalida los resultados que aún no se han entregado.
+     */
+    public void cancelAll() {
+        generation.incrementAndGet();
+        for (Future<?> future : List.copyOf(running)) {
+            future.cancel(true);
+            running.remove(future);
+        }
+    }
+
+    /**
+     * @return Número de tareas en curso.
+     */
+    public int runningCount() {
+        return running.size();
+    }
+}
@@ -0,0 +1,261 @@
+package ec.edu.uce.pokedex.util;
+
+import javax.swing.*;
+import javax.swing.event.ChangeListener;
+import java.awt.*;
+import java.util.*;
+import java.util.List;
+
+/**
+ * Cuadrícula de tarjetas del mismo tamaño que solo crea y distribuye las que se ven.
+ * <p>
+ * Va dentro de un {@link JScrollPane}. Las columnas se calculan con
+ * {@link WrapLayout#columnsFor(Container, int)}, así que las tarjetas quedan igual que
+ * con {@code WrapLayout}, pero en lugar de un componente por elemento solo existen
+ * las tarjetas de las filas visibles (y una fila más por arriba y por abajo). Al
+ * desplazarse, las tarjetas que salen de la vista se desvinculan de su elemento y se
+ * reutilizan para las que entran, de modo que la memoria no depende del número de
+ * elementos y las imágenes solo se cargan para las filas que se ven.
+ *
+ * @param <T> Tipo de los elementos.
+ * @param <C> Tipo de las tarjetas.
+ */
+public class VirtualCardGrid<T, C extends JComponent> extends JPanel implements Scrollable {
+
+    /**
+     * Crea tarjetas y les asigna o quita un elemento.
+     *
+     * @param <T> Tipo de los elementos.
+     * @param <C> Tipo de las tarjetas.
+     */
+    public interface CardBinder<T, C extends JComponent> {
+
+        /**
+         * @return Una tarjeta nueva y vacía.
+         */
+        C createCard();
+
+        /**
+         * Muestra un elemento en una tarjeta, que puede haber mostrado otro antes.
+         */
+        void bind(C card, T item);
+
+        /**
+         * La tarjeta sale de la vista; debe cancelar lo que haya pedido para su elemento.
+         */
+        void unbind(C card);
+    }
+
+    private final CardBinder<T, C> binder;
+    private final Dimension cardSize;
+    private final WrapLayout sizing;
+    private final List<T> items = new ArrayList<>();
+    private final Map<Integer, C> bound = new HashMap<>(); // Índice del elemento -> tarjeta
+    private final Deque<C> pool = new ArrayDeque<>();
+    private final ChangeListener viewportListener = e -> updateCards();
+    private JViewport viewport; // Al que está suscrita mientras está en pantalla
+    private Runnable onNearEnd = () -> { };
+    private int nearEndNotifiedAt = -1;
+
+    /**
+     * @param binder   Crea y rellena las tarjetas.
+     * @param cardSize Tamaño de cada tarjeta.
+     * @param hgap     Separación horizontal entre tarjetas.
+     * @param vgap     Separación vertical entre tarjetas.
+     */
+    public VirtualCardGrid(CardBinder<T, C> binder, Dimension cardSize, int hgap, int vgap) {
+        super(null); // Las tarjetas se colocan a mano en updateCards
+        this.binder = binder;
+        this.cardSize = cardSize;
+        this.sizing = new WrapLayout(FlowLayout.LEFT, hgap, vgap);
+    }
+
+    /**
+     * Reemplaza todos los elementos y vuelve al principio.
+     *
+     * @param newItems Elementos a mostrar.
+     */
+    public void setItems(List<? extends T> newItems) {
+        bound.forEach((index, card) -> release(card));
+        bound.clear();
+        items.clear();
+        items.addAll(newItems);
+        nearEndNotifiedAt = -1;
+        scrollRectToVisible(new Rectangle(0, 0, 1, 1));
+        refresh();
+    }
+
+    /**
+     * Añade elementos al final, p. ej. la siguiente página de un desplazamiento infinito.
+     *
+     * @param moreItems Elementos a añadir.
+     */
+    public void addItems(List<? extends T> moreItems) {
+        items.addAll(moreItems);
+        refresh();
+    }
+
+    /**
+     * @return Los elementos de la cuadrícula, como vista de solo lectura.
+     */
+    public List<T> getItems() {
+        return Collections.unmodifiableList(items);
+    }
+
+    /**
+     * Desplaza la vista hasta la fila de un elemento.
+     *
+     * @param index Índice del elemento.
+     */
+    public void scrollToIndex(int index) {
+        int row = index / columns();
+        int vgap = sizing.getVgap();
+        scrollRectToVisible(new Rectangle(0, getInsets().top + vgap + row * (cardSize.height + vgap),
+                1, getVisibleRect().height));
+    }
+
+    /**
+     * Acción a ejecutar cuando las filas visibles llegan a las dos últimas; se avisa una
+     * sola vez por cada cantidad de elementos, así que hasta que {@link #addItems} añade
+     * más no se repite.
+     *
+     * @param onNearEnd Acción, p. ej. cargar la página siguiente.
+     */
+    public void setOnNearEnd(Runnable onNearEnd) {
+        this.onNearEnd = onNearEnd;
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        if (getParent() instanceof JViewport parent) {
+            viewport = parent;
+            viewport.addChangeListener(viewportListener);
+        }
+    }
+
+    @Override
+    public void removeNotify() {
+        if (viewport != null) {
+            viewport.removeChangeListener(viewportListener); // addNotify vuelve a suscribirla
+            viewport = null;
+        }
+        super.removeNotify();
+    }
+
+    @Override
+    public void doLayout() {
+        updateCards();
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        Insets insets = getInsets();
+        int hgap = sizing.getHgap();
+        int vgap = sizing.getVgap();
+        int columns = getWidth() > 0 ? columns() : 1;
+        int rows = (items.size() + columns - 1) / columns;
+        int width = insets.left + insets.right + hgap * 2 + columns * cardSize.width + (columns - 1) * hgap;
+        int height = insets.top + insets.bottom + vgap * 2 + rows * cardSize.height + Math.max(rows - 1, 0) * vgap;
+        return new Dimension(width, height);
+    }
+
+    @Override
+    public Dimension getPreferredScrollableViewportSize() {
+        return getPreferredSize();
+    }
+
+    @Override
+    public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return (cardSize.height + sizing.getVgap()) / 4;
+    }
+
+    @Override
+    public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return visibleRect.height;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportWidth() {
+        return true; // El ancho lo da la ventana; el alto, las filas
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportHeight() {
+        return false;
+    }
+
+    private int columns() {
+        return sizing.columnsFor(this, cardSize.width);
+    }
+
+    private void refresh() {
+        revalidate();
+        updateCards();
+        repaint();
+    }
+
+    /**
+     * Vincula las tarjetas de las filas visibles y libera las demás.
+     */
+    private void updateCards() {
+        Rectangle visible = getVisibleRect();
+        if (items.isEmpty() || visible.height == 0) {
+            bound.forEach((index, card) -> release(card));
+            bound.clear();
+            return;
+        }
+        Insets insets = getInsets();
+        int hgap = sizing.getHgap();
+        int vgap = sizing.getVgap();
+        int rowHeight = cardSize.height + vgap;
+        int columns = columns();
+        int firstRow = Math.max(0, (visible.y - insets.top - vgap) / rowHeight - 1);
+        int lastRow = (visible.y + visible.height - insets.top) / rowHeight + 1;
+        int first = firstRow * columns;
+        int last = Math.min(items.size(), (lastRow + 1) * columns); // Exclusivo
+
+        Iterator<Map.Entry<Integer, C>> iterator = bound.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Integer, C> entry = iterator.next();
+            if (entry.getKey() < first || entry.getKey() >= last) {
+                release(entry.getValue());
+                iterator.remove();
+            }
+        }
+        for (int index = first; index < last; index++) {
+            C card = bound.get(index);
+            if (card == null) {
+                card = acquire();
+                binder.bind(card, items.get(index));
+                bound.put(index, card);
+            }
+            int column = index % columns;
+            int row = index / columns;
+            card.setBounds(insets.left + hgap + column * (cardSize.width + hgap),
+                    insets.top + vgap + row * rowHeight, cardSize.width, cardSize.height);
+        }
+
+        int lastVisibleRow = (visible.y + visible.height - insets.top) / rowHeight;
+        if ((lastVisibleRow + 2) * columns >= items.size() && nearEndNotifiedAt != items.size()) {
+            nearEndNotifiedAt = items.size();
+            onNearEnd.run();
+        }
+    }
+
+    private C acquire() {
+        C card = pool.poll();
+        if (card == null) {
+            card = binder.createCard();
+            add(card);
+        }
+        card.setVisible(true);
+        return card;
+    }
+
+    private void release(C card) {
+        binder.unbind(card);
+        card.setVisible(false);
+        pool.push(card);
+    }
+}
@@ -22,6 +22,20 @@ public class WrapLayout extends FlowLayout {
         return layoutSize(target, false);
     }
 
+    /**
+     * Número de componentes de un mismo ancho que caben en una fila del contenedor,
+     * con los mismos márgenes y separaciones que usa este layout al ajustar filas.
+     *
+     * @param target    Contenedor que se distribuye.
+     * @param itemWidth Ancho de cada componente.
+     * @return Columnas por fila, al menos una.
+     */
+    public int columnsFor(Container target, int itemWidth) {
+        Insets insets = target.getInsets();
+        int maxWidth = target.getWidth() - insets.left - insets.right - getHgap() * 2;
+        return Math.max(1, (maxWidth + getHgap()) / (itemWidth + getHgap()));
+    }
+
     private Dimension layoutSize(Container target, boolean preferred) {
         synchronized (target.getTreeLock()) {
             int targetWidth = target.getSize().width;
@@ -0,0 +1,232 @@
+package ec.edu.uce.pokedex.view;
+
+import ec.edu.uce.pokedex.config.UIConfig;
+import ec.edu.uce.pokedex.dto.EdtStall;
+import ec.edu.uce.pokedex.dto.QueryOperationSummary;
+import ec.edu.uce.pokedex.dto.UiLatencySummary;
+import ec.edu.uce.pokedex.service.EdtWatchdog;
+import ec.edu.uce.pokedex.service.QueryStatisticsService;
+import ec.edu.uce.pokedex.service.UiLatencyTracker;
+import ec.edu.uce.pokedex.util.ComponentFactory;
+import ec.edu.uce.pokedex.util.TaskGroup;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import javax.swing.*;
+import javax.swing.filechooser.FileNameExtensionFilter;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+
+/**
+ * Panel de diagnóstico de la interfaz: los bloqueos del hilo de Swing que detectó
+ * {@link EdtWatchdog}, con la pila del código que los causó, y los tiempos hasta que la
+ * interfaz responde tras cambiar de vista o buscar, medidos por {@link UiLatencyTracker},
+ * y las sentencias SQL de cada operación, con las sospechas de N+1, que cuenta
+ * {@link QueryStatisticsService}. Los datos se pueden exportar a un informe de texto.
+ */
+@Component
+public class DiagnosticsView {
+
+    @Getter
+    private final JPanel panel;
+    private final EdtWatchdog edtWatchdog;
+    private final UiLatencyTracker uiLatencyTracker;
+    private final QueryStatisticsService queryStatistics;
+    private final UIConfig uiConfig;
+    private final TaskGroup tasks;
+    private final JLabel summaryLabel;
+    private final DefaultTableModel stallModel;
+    private final DefaultTableModel latencyModel;
+    private final DefaultTableModel queryModel;
+    private final JTextArea stackArea;
+    private List<EdtStall> stalls = List.of();
+
+    /**
+     * Constructor de la vista de diagnóstico.
+     *
+     * @param edtWatchdog Vigilante del hilo de Swing.
+     * @param uiLatencyTracker Medidor de los tiempos de respuesta de la interfaz.
+     * @param queryStatistics Sentencias SQL por operación y detección de N+1.
+     * @param uiConfig Configuración de la interfaz de usuario.
+     * @param uiTaskExecutor Ejecutor de hilos virtuales para el trabajo en segundo plano.
+     */
+    public DiagnosticsView(EdtWatchdog edtWatchdog, UiLatencyTracker uiLatencyTracker,
+                           QueryStatisticsService queryStatistics, UIConfig uiConfig,
+                           @Qualifier("uiTaskExecutor") ExecutorService uiTaskExecutor) {
+        this.edtWatchdog = edtWatchdog;
+        this.uiLatencyTracker = uiLatencyTracker;
+        this.queryStatistics = queryStatistics;
+        this.uiConfig = uiConfig;
+        this.tasks = new TaskGroup(uiTaskExecutor);
+        this.panel = new JPanel(new BorderLayout(10, 10));
+        this.summaryLabel = ComponentFactory.createLabel("", 16, SwingConstants.LEFT);
+        this.stallModel = readOnlyModel("Started", "Duration (ms)", "Blocking frame");
+        this.latencyModel = readOnlyModel("Action", "View", "Samples", "p50 (ms)", "p95 (ms)", "Max (ms)");
+        this.queryModel = readOnlyModel("Operation", "Calls", "Avg statements", "Max statements", "Avg rows",
+                "SELECTs per row", "N+1?", "Slow", "Max (ms)", "Most repeated statement");
+        this.stackArea = new JTextArea();
+        initialize();
+    }
+
+    /**
+     * Inicializa las tablas de bloqueos, tiempos y consultas, el área de la pila y los botones.
+     */
+    private void initialize() {
+        panel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+
+        JTable stallTable = new JTable(stallModel);
+        stallTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        stallTable.getSelectionModel().addListSelectionListener(e -> showStack(stallTable.getSelectedRow()));
+        stackArea.setEditable(false);
+        stackArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+
+        JSplitPane stallPane = new JSplitPane(JSplitPane.VERTICAL_SPLIT,
+                new JScrollPane(stallTable), new JScrollPane(stackArea));
+        stallPane.setResizeWeight(0.5);
+        stallPane.setBorder(BorderFactory.createTitledBorder("Event dispatch thread stalls"));
+
+        JTabbedPane timingTabs = new JTabbedPane();
+        timingTabs.addTab("Time to interactive", new JScrollPane(new JTable(latencyModel)));
+        timingTabs.addTab("Queries per operation", new JScrollPane(new JTable(queryModel)));
+        timingTabs.setPreferredSize(new Dimension(0, 180));
+
+        JButton refreshButton = ComponentFactory.createButton("Refresh", 14, uiConfig.primaryColor(), uiConfig.secondaryColor());
+        refreshButton.addActionListener(e -> refresh());
+        JButton clearButton = ComponentFactory.createButton("Clear", 14, uiConfig.primaryColor(), uiConfig.secondaryColor());
+        clearButton.addActionListener(e -> {
+            edtWatchdog.clear();
+            uiLatencyTracker.clear();
+            queryStatistics.clear();
+            refresh();
+        });
+        JButton exportButton = ComponentFactory.createButton("Export...", 14, uiConfig.primaryColor(), uiConfig.secondaryColor());
+        exportButton.addActionListener(e -> exportReport());
+
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 10, 0));
+        buttonPanel.add(refreshButton);
+        buttonPanel.add(clearButton);
+        buttonPanel.add(exportButton);
+
+        JPanel southPanel = new JPanel(new BorderLayout(10, 10));
+        southPanel.add(timingTabs, BorderLayout.CENTER);
+        southPanel.add(buttonPanel, BorderLayout.SOUTH);
+
+        panel.add(summaryLabel, BorderLayout.NORTH);
+        panel.add(stallPane, BorderLayout.CENTER);
+        panel.add(southPanel, BorderLayout.SOUTH);
+    }
+
+    /**
+     * Vuelve a leer los bloqueos, los tiempos y las consultas registrados.
+     */
+    public void refresh() {
+        stalls = edtWatchdog.getStalls();
+        long longest = stalls.stream().mapToLong(stall -> stall.duration().toMillis()).max().orElse(0);
+        summaryLabel.setText(edtWatchdog.getTotalStalls() + " stalls over " + edtWatchdog.getThreshold().toMillis()
+                + " ms since startup" + (stalls.isEmpty() ? "" : "; longest kept: " + longest + " ms"));
+
+        stallModel.setRowCount(0);
+        stalls.forEach(stall -> stallModel.addRow(new Object[]{
+                stall.startedAt(), stall.duration().toMillis(), stall.blockingFrame()}));
+        latencyModel.setRowCount(0);
+        uiLatencyTracker.getSummaries().forEach(summary -> latencyModel.addRow(new Object[]{
+                summary.kind(), summary.label(), summary.count(),
+                summary.p50Millis(), summary.p95Millis(), summary.maxMillis()}));
+        queryModel.setRowCount(0);
+        queryStatistics.getSummaries().forEach(summary -> queryModel.addRow(new Object[]{
+                summary.operation(), summary.calls(), String.format("%.1f", summary.avgStatements()),
+                summary.maxStatements(), String.format("%.1f", summary.avgRows()),
+                String.format("%.2f", summary.selectsPerRow()), summary.nPlusOneSuspected() ? "yes" : "",
+                summary.slowCalls(), summary.maxMillis(), summary.mostRepeatedStatement()}));
+        stackArea.setText("");
+    }
+
+    /**
+     * Muestra la pila del bloqueo seleccionado.
+     *
+     * @param row Fila seleccionada, o -1 si no hay ninguna.
+     */
+    private void showStack(int row) {
+        if (row < 0 || row >= stalls.size()) {
+            stackArea.setText("");
+            return;
+        }
+        stackArea.setText(formatStack(stalls.get(row)));
+        stackArea.setCaretPosition(0);
+    }
+
+    /**
+     * Exporta los bloqueos, con sus pilas, los tiempos y las consultas a un archivo de texto
+     * elegido por el usuario.
+     */
+    private void exportReport() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setFileFilter(new FileNameExtensionFilter("Text report (*.txt)", "txt"));
+        chooser.setSelectedFile(new File("pokedex-diagnostics.txt"));
+        if (chooser.showSaveDialog(panel) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        Path file = chooser.getSelectedFile().toPath();
+        List<EdtStall> stallsToExport = edtWatchdog.getStalls();
+        List<UiLatencySummary> summaries = uiLatencyTracker.getSummaries();
+        List<QueryOperationSummary> queries = queryStatistics.getSummaries();
+        tasks.submit(() -> Files.writeString(file, buildReport(stallsToExport, summaries, queries)),
+                path -> JOptionPane.showMessageDialog(panel, "Diagnostics exported to " + path,
+                        "Information", JOptionPane.INFORMATION_MESSAGE),
+                ex -> JOptionPane.showMessageDialog(panel, "Diagnostics export failed: " + ex.getMessage(),
+                        "Error", JOptionPane.ERROR_MESSAGE));
+    }
+
+    private String buildReport(List<EdtStall> stallsToExport, List<UiLatencySummary> summaries,
+                               List<QueryOperationSummary> queries) {
+        StringBuilder report = new StringBuilder("Pokédex UI diagnostics, ").append(Instant.now()).append("\n\n");
+        report.append("Time to interactive (ms)\n");
+        report.append(String.format("%-8s %-16s %8s %8s %8s %8s%n", "Action", "View", "Samples", "p50", "p95", "Max"));
+        summaries.forEach(summary -> report.append(String.format("%-8s %-16s %8d %8d %8d %8d%n",
+                summary.kind(), summary.label(), summary.count(),
+                summary.p50Millis(), summary.p95Millis(), summary.maxMillis())));
+
+        report.append("\nQueries per operation\n");
+        report.append(String.format("%-10s %8s %10s %10s %8s %10s %5s %6s %8s%n",
+                "Operation", "Calls", "Avg stmts", "Max stmts", "Avg rows", "SEL/row", "N+1", "Slow", "Max ms"));
+        queries.forEach(query -> {
+            report.append(String.format("%-10s %8d %10.1f %10d %8.1f %10.2f %5s %6d %8d%n",
+                    query.operation(), query.calls(), query.avgStatements(), query.maxStatements(),
+                    query.avgRows(), query.selectsPerRow(), query.nPlusOneSuspected() ? "yes" : "no",
+                    query.slowCalls(), query.maxMillis()));
+            if (query.nPlusOneSuspected()) {
+                report.append("    most repeated: ").append(query.mostRepeatedStatement()).append('\n');
+            }
+        });
+
+        report.append("\nEvent dispatch thread stalls over ").append(edtWatchdog.getThreshold().toMillis())
+                .append(" ms (").append(edtWatchdog.getTotalStalls()).append(" since startup)\n");
+        stallsToExport.forEach(stall -> report.append('\n')
+                .append(stall.startedAt()).append("  ").append(stall.duration().toMillis()).append(" ms\n")
+                .append(formatStack(stall)));
+        return report.toString();
+    }
+
+    private static String formatStack(EdtStall stall) {
+        return stall.stack().stream()
+                .map(frame -> "    at " + frame + "\n")
+                .collect(Collectors.joining());
+    }
+
+    private static DefaultTableModel readOnlyModel(String... columns) {
+        return new DefaultTableModel(columns, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+    }
+}
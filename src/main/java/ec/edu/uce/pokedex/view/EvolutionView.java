@@ -1,17 +1,22 @@
 package ec.edu.uce.pokedex.view;
 
 import ec.edu.uce.pokedex.config.UIConfig;
-import ec.edu.uce.pokedex.controller.EvolutionController;
 import ec.edu.uce.pokedex.exception.EvolutionFetchException;
+import ec.edu.uce.pokedex.service.ImageCacheService;
+import ec.edu.uce.pokedex.service.ImageLoadScheduler;
+import ec.edu.uce.pokedex.service.PokedexDataService;
+import ec.edu.uce.pokedex.service.UiLatencyTracker;
 import ec.edu.uce.pokedex.util.ComponentFactory;
+import ec.edu.uce.pokedex.util.TaskGroup;
 import lombok.Getter;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
 import javax.swing.*;
 import java.awt.*;
-import java.net.URI;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 
 /**
  * La clase EvolutionView es responsable de gestionar la interfaz de usuario relacionada con la visualización de la cadena de evolución de un Pokémon.
@@ -22,19 +27,34 @@ public class EvolutionView {
 
     @Getter
     private final JPanel panel;
-    private final EvolutionController controller;
+    private final PokedexDataService pokedexData;
     private final UIConfig uiConfig;
+    private final ImageCacheService imageCacheService;
+    private final ImageLoadScheduler imageLoadScheduler;
+    private final UiLatencyTracker uiLatencyTracker;
+    private final TaskGroup tasks;
+    private static final String VIEW = "EvolutionView"; // Nombre de su tarjeta en MainView
 
     /**
      * Constructor de la clase EvolutionView.
      * Inicializa los componentes de la vista y configura los detectores de eventos.
      *
-     * @param controller El controlador responsable de obtener los datos de la cadena de evolución.
+     * @param pokedexData Acceso asíncrono a los datos de los Pokémon.
      * @param uiConfig La configuración para el estilo de la interfaz de usuario.
+     * @param imageCacheService Caché de imágenes compartida por las vistas.
+     * @param imageLoadScheduler Cola central de cargas de imágenes.
+     * @param uiLatencyTracker Medidor del tiempo que tardan en responder las búsquedas.
+     * @param uiTaskExecutor Ejecutor de hilos virtuales para el trabajo en segundo plano.
      */
-    public EvolutionView(EvolutionController controller, UIConfig uiConfig) {
-        this.controller = controller;
+    public EvolutionView(PokedexDataService pokedexData, UIConfig uiConfig, ImageCacheService imageCacheService,
+                         ImageLoadScheduler imageLoadScheduler, UiLatencyTracker uiLatencyTracker,
+                         @Qualifier("uiTaskExecutor") ExecutorService uiTaskExecutor) {
+        this.pokedexData = pokedexData;
         this.uiConfig = uiConfig;
+        this.imageCacheService = imageCacheService;
+        this.imageLoadScheduler = imageLoadScheduler;
+        this.uiLatencyTracker = uiLatencyTracker;
+        this.tasks = new TaskGroup(uiTaskExecutor);
         this.panel = new JPanel(new BorderLayout());
         initialize();
     }
@@ -104,33 +124,17 @@ public class EvolutionView {
      * @param evolutionPanel El panel donde se mostrará la cadena de evolución.
      */
     private void fetchAndDisplayEvolutionChain(String speciesName, JPanel evolutionPanel) {
-        SwingWorker<List<Map<String, Object>>, Void> worker = new SwingWorker<>() {
-            @Override
-            protected List<Map<String, Object>> doInBackground() {
-                try {
-                    return controller.getEvolutionChain(speciesName).block();
-                } catch (Exception e) {
-                    throw new EvolutionFetchException("Failed to fetch evolution chain for: " + speciesName, e);
-                }
+        tasks.cancelAll(); // Descarta la búsqueda anterior y sus imágenes pendientes
+        UiLatencyTracker.Measurement search = uiLatencyTracker.start(UiLatencyTracker.SEARCH, VIEW);
+        tasks.track(pokedexData.getEvolutionChain(speciesName), search.finishAfter(chain -> {
+            if (chain == null || chain.isEmpty()) {
+                showErrorMessage("No evolution chain found for: " + speciesName);
+            } else {
+                populateEvolutionPanel(chain, evolutionPanel);
             }
-
-            @Override
-            protected void done() {
-                try {
-                    List<Map<String, Object>> chain = get();
-                    if (chain == null || chain.isEmpty()) {
-                        showErrorMessage("No evolution chain found for: " + speciesName);
-                    } else {
-                        populateEvolutionPanel(chain, evolutionPanel);
-                    }
-                } catch (EvolutionFetchException e) {
-                    showErrorMessage(e.getMessage());
-                } catch (Exception e) {
-                    showErrorMessage("An unexpected error occurred while displaying the evolution chain.");
-                }
-            }
-        };
-        worker.execute();
+        }), search.finishAfter(e -> showErrorMessage(e instanceof EvolutionFetchException
+                ? e.getMessage()
+                : "An unexpected error occurred while displaying the evolution chain.")));
     }
 
     /**
@@ -190,35 +194,11 @@ public class EvolutionView {
         JLabel spriteLabel = new JLabel();
         spriteLabel.setHorizontalAlignment(SwingConstants.CENTER);
 
-        SwingWorker<ImageIcon, Void> worker = new SwingWorker<>() {
-            @Override
-            protected ImageIcon doInBackground() {
-                try {
-                    URI uri = new URI(imageUrl);
-                    ImageIcon spriteIcon = new ImageIcon(uri.toURL());
-                    return new ImageIcon(spriteIcon.getImage().getScaledInstance(250, 250, Image.SCALE_SMOOTH));
-                } catch (Exception e) {
-                    return null;
-                }
-            }
-
-            @Override
-            protected void done() {
-                try {
-                    ImageIcon spriteIcon = get();
-                    if (spriteIcon != null) {
-                        spriteLabel.setIcon(spriteIcon);
-                    } else {
-                        spriteLabel.setText("Image not available");
-                        spriteLabel.setFont(uiConfig.labelFont());
-                    }
-                } catch (Exception e) {
-                    spriteLabel.setText("Error loading image");
-                    spriteLabel.setFont(uiConfig.labelFont());
-                }
-            }
-        };
-        worker.execute();
+        tasks.track(imageLoadScheduler.submit(VIEW, imageUrl,
+                () -> imageCacheService.getIcon(imageUrl, 250, 250)), spriteLabel::setIcon, e -> {
+            spriteLabel.setText("Image not available");
+            spriteLabel.setFont(uiConfig.labelFont());
+        });
 
         return spriteLabel;
     }
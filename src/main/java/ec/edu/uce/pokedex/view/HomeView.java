@@ -2,71 +2,123 @@ package ec.edu.uce.pokedex.view;
 
 import ec.edu.uce.pokedex.config.UIConfig;
 import ec.edu.uce.pokedex.dto.PokemonDto;
-import ec.edu.uce.pokedex.models.Ability;
-import ec.edu.uce.pokedex.models.Type;
-import ec.edu.uce.pokedex.service.PokeServiceDto;
+import ec.edu.uce.pokedex.service.ImageCacheService;
+import ec.edu.uce.pokedex.service.ImageLoadScheduler;
+import ec.edu.uce.pokedex.service.PokedexDataService;
+import ec.edu.uce.pokedex.service.SpriteAtlasService;
 import ec.edu.uce.pokedex.util.ComponentFactory;
+import ec.edu.uce.pokedex.util.TaskGroup;
+import ec.edu.uce.pokedex.util.VirtualCardGrid;
 import lombok.Getter;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionListener;
-import java.net.URI;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 
 /**
- * Vista principal de la aplicación Pokédex que maneja la visualización de los Pokémon
- * y su paginación en la interfaz gráfica.
+ * Vista principal de la aplicación Pokédex que muestra todos los Pokémon en una
+ * cuadrícula con desplazamiento infinito.
+ * <p>
+ * Las páginas se piden por clave a medida que el usuario se acerca al final y la
+ * cuadrícula solo crea las tarjetas de las filas visibles, así que recorrer los 1025
+ * Pokémon no acumula componentes ni imágenes.
  */
 @Component
 public class HomeView {
 
     @Getter
     private final JPanel panel;
-    private final PokeServiceDto pokeServiceDto;
+    private final PokedexDataService pokedexData;
     private final UIConfig uiConfig;
-    private int offset = 0; // Controla la posición actual de paginación
-    private static final int POKEMON_PER_PAGE = 6;
+    private final ImageCacheService imageCacheService;
+    private final ImageLoadScheduler imageLoadScheduler;
+    private final SpriteAtlasService spriteAtlasService;
+    private final TaskGroup tasks;
+    private VirtualCardGrid<PokemonDto, PokemonCard> grid;
+    private int firstAfterId = 0; // La cuadrícula empieza tras este id; 0 si empieza por el primero
+    private int lastId = 0; // Id del último Pokémon cargado
+    private CompletableFuture<List<PokemonDto>> pageLoad; // Página en camino, o null
+    private boolean exhausted = false; // No quedan más páginas
+    private static final int POKEMON_PER_PAGE = 30;
+    private static final Dimension CARD_SIZE = new Dimension(320, 320);
+    private static final String VIEW = "HomeView"; // Nombre de su tarjeta en MainView
 
     /**
      * Constructor de la vista principal.
      *
-     * @param pokeServiceDto Servicio para obtener datos de los Pokémon.
+     * @param pokedexData Acceso asíncrono a los datos de los Pokémon.
      * @param uiConfig Configuración de la interfaz de usuario.
+     * @param imageCacheService Caché de imágenes compartida por las vistas.
+     * @param spriteAtlasService Atlas de sprites del que se dibujan las tarjetas.
+     * @param imageLoadScheduler Cola central de cargas de imágenes.
+     * @param uiTaskExecutor Ejecutor de hilos virtuales para el trabajo en segundo plano.
      */
-    public HomeView(PokeServiceDto pokeServiceDto, UIConfig uiConfig) {
-        this.pokeServiceDto = pokeServiceDto;
+    public HomeView(PokedexDataService pokedexData, UIConfig uiConfig, ImageCacheService imageCacheService,
+                    SpriteAtlasService spriteAtlasService, ImageLoadScheduler imageLoadScheduler,
+                    @Qualifier("uiTaskExecutor") ExecutorService uiTaskExecutor) {
+        this.pokedexData = pokedexData;
         this.uiConfig = uiConfig;
+        this.imageCacheService = imageCacheService;
+        this.imageLoadScheduler = imageLoadScheduler;
+        this.spriteAtlasService = spriteAtlasService;
+        this.tasks = new TaskGroup(uiTaskExecutor);
         this.panel = new JPanel(new BorderLayout(0, 0)); // Elimina el espaciado en el BorderLayout
         initialize();
     }
 
     /**
      * Inicializa los componentes de la vista, como los paneles, botones y etiquetas.
-     * Configura la paginación y carga la primera página de Pokémon.
+     * Configura la cuadrícula y carga la primera página de Pokémon.
      */
     private void initialize() {
         JLabel titleLabel = ComponentFactory.createLabel("Pokédex - Home", 35, SwingConstants.CENTER);
-        JPanel pokemonPanel = new JPanel(new GridLayout(2, 3, 10, 10)); // Asegura que las tarjetas ocupen todo el espacio
-        JScrollPane scrollPane = new JScrollPane(pokemonPanel);
+        grid = new VirtualCardGrid<>(new VirtualCardGrid.CardBinder<>() {
+            @Override
+            public PokemonCard createCard() {
+                return new PokemonCard();
+            }
+
+            @Override
+            public void bind(PokemonCard card, PokemonDto dto) {
+                card.bind(dto);
+            }
+
+            @Override
+            public void unbind(PokemonCard card) {
+                card.unbind();
+            }
+        }, CARD_SIZE, 10, 10);
+        grid.setBackground(uiConfig.secondaryColor());
+        grid.setOnNearEnd(this::loadNextPage);
+        JScrollPane scrollPane = new JScrollPane(grid);
         scrollPane.setBorder(BorderFactory.createEmptyBorder()); // Quitar borde del JScrollPane
+        scrollPane.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
         scrollPane.setPreferredSize(new Dimension(0, 0)); // Esto debería hacer que ocupe toda la ventana disponible
 
-        JButton backButton = createNavigationButton("Back", e -> navigate(-1, pokemonPanel));
-        JButton nextButton = createNavigationButton("Next", e -> navigate(1, pokemonPanel));
+        JTextField jumpField = new JTextField(5);
+        jumpField.setFont(new Font("Arial", Font.PLAIN, 18));
+        ActionListener jumpAction = e -> jumpTo(jumpField.getText());
+        jumpField.addActionListener(jumpAction);
+        JButton jumpButton = createNavigationButton("Go to #", jumpAction);
+        JButton topButton = createNavigationButton("Top", e -> showFromStart());
 
         JPanel navigationPanel = ComponentFactory.createPanel(new FlowLayout(FlowLayout.CENTER), uiConfig.secondaryColor());
-        navigationPanel.add(backButton);
-        navigationPanel.add(nextButton);
+        navigationPanel.add(topButton);
+        navigationPanel.add(jumpButton);
+        navigationPanel.add(jumpField);
 
         panel.setBackground(uiConfig.secondaryColor());
         panel.add(titleLabel, BorderLayout.NORTH);
         panel.add(scrollPane, BorderLayout.CENTER);
         panel.add(navigationPanel, BorderLayout.SOUTH);
 
-        loadPokemonPage(pokemonPanel);
+        loadNextPage();
     }
 
     /**
@@ -83,140 +135,207 @@ public class HomeView {
     }
 
     /**
-     * Maneja la navegación entre páginas de Pokémon.
-     *
-     * @param direction Dirección de la navegación, positivo para siguiente página y negativo para la anterior.
-     * @param pokemonPanel El panel donde se muestran los Pokémon.
+     * Carga en segundo plano la página que sigue al último Pokémon cargado y la añade a
+     * la cuadrícula. La cuadrícula la pide cuando las filas visibles se acercan al final.
      */
-    private void navigate(int direction, JPanel pokemonPanel) {
-        if (direction < 0 && offset > 0) {
-            offset -= POKEMON_PER_PAGE;
-        } else if (direction > 0) {
-            offset += POKEMON_PER_PAGE;
-        } else {
-            showError("You're already on the first page.");
+    private void loadNextPage() {
+        if (pageLoad != null || exhausted) {
             return;
         }
-        loadPokemonPage(pokemonPanel);
+        pageLoad = tasks.track(pokedexData.getPageAfter(lastId, POKEMON_PER_PAGE), page -> {
+            pageLoad = null;
+            appendPage(page);
+        }, e -> {
+            pageLoad = null;
+            showError("Failed to load Pokémon data: " + e.getMessage());
+        });
     }
 
     /**
-     * Carga una página de Pokémon, actualizando el panel de Pokémon en la vista.
+     * Añade una página a la cuadrícula y pide la siguiente en segundo plano para que
+     * quede en la caché de páginas.
      *
-     * @param pokemonPanel El panel donde se mostrarán las tarjetas de Pokémon.
+     * @param page Pokémon de la página, ordenados por id.
      */
-    private void loadPokemonPage(JPanel pokemonPanel) {
-        try {
-            List<PokemonDto> pokemonDtos = pokeServiceDto.getPokemonPage(offset, POKEMON_PER_PAGE);
-            pokemonPanel.removeAll();
-            pokemonDtos.forEach(dto -> pokemonPanel.add(createPokemonCard(dto)));
-            pokemonPanel.revalidate();
-            pokemonPanel.repaint();
-        } catch (Exception e) {
-            showError("Failed to load Pokémon data: " + e.getMessage());
+    private void appendPage(List<PokemonDto> page) {
+        if (page.isEmpty()) {
+            exhausted = true;
+            return;
         }
+        lastId = page.get(page.size() - 1).getId();
+        grid.addItems(page);
+        pokedexData.getPageAfter(lastId, POKEMON_PER_PAGE); // Solo para dejarla en la caché
     }
 
     /**
-     * Crea una tarjeta de información para un Pokémon específico.
+     * Desplaza la cuadrícula hasta el Pokémon con el id indicado (o el siguiente que exista).
+     * <p>
+     * Si ya está cargado solo se desplaza. Si no, la cuadrícula se reinicia en la página
+     * que empieza en ese id, pedida por clave como cualquier otra, en lugar de cargar
+     * todas las que hay hasta él. Una página que estuviera en camino se cancela.
      *
-     * @param dto El objeto que contiene los datos del Pokémon.
-     * @return El panel con la tarjeta de Pokémon.
+     * @param text Id escrito por el usuario, con o sin '#'.
      */
-    private JPanel createPokemonCard(PokemonDto dto) {
-        JPanel card = ComponentFactory.createPanel(new BorderLayout(0, 0), uiConfig.secondaryColor());
-        card.setBorder(BorderFactory.createLineBorder(uiConfig.tertiaryColor(), 2));
-
-        JLabel nameLabel = ComponentFactory.createLabel(dto.getName().toUpperCase(), 25, SwingConstants.CENTER);
-        JLabel spriteLabel = new JLabel();
-        spriteLabel.setHorizontalAlignment(SwingConstants.CENTER);
-
-        loadSpriteAsync(dto.getSpriteUrl(), spriteLabel, card);
-
-        JPanel detailsPanel = createDetailsPanel(dto);
-        card.add(nameLabel, BorderLayout.NORTH);
-        card.add(spriteLabel, BorderLayout.CENTER);
-        card.add(detailsPanel, BorderLayout.SOUTH);
+    private void jumpTo(String text) {
+        int id;
+        try {
+            id = Integer.parseInt(text.trim().replace("#", ""));
+        } catch (NumberFormatException e) {
+            showError("Enter a Pokémon number, e.g. #25.");
+            return;
+        }
+        if (id > firstAfterId && scrollToId(id)) {
+            return;
+        }
+        seek(Math.max(id - 1, 0), "No Pokémon found from #" + id + " onwards.");
+    }
 
-        return card;
+    /**
+     * Vuelve al principio de la Pokédex; si la cuadrícula empezó en un salto, la reinicia.
+     */
+    private void showFromStart() {
+        if (firstAfterId == 0) {
+            grid.scrollToIndex(0);
+        } else {
+            seek(0, "No Pokémon stored.");
+        }
     }
 
     /**
-     * Carga de manera asíncrona el sprite del Pokémon.
+     * Reinicia la cuadrícula en la página que sigue a `afterId`. Cancela la página que
+     * estuviera en camino; si la página nueva viene vacía, la cuadrícula queda como estaba.
      *
-     * @param spriteUrl La URL del sprite.
-     * @param spriteLabel El componente JLabel donde se mostrará la imagen.
-     * @param card El panel donde se encuentra el JLabel.
+     * @param afterId   La cuadrícula empieza por el primer Pokémon con id mayor que este.
+     * @param emptyText Mensaje si no hay ningún Pokémon después de `afterId`.
      */
-    private void loadSpriteAsync(String spriteUrl, JLabel spriteLabel, JPanel card) {
-        CompletableFuture.supplyAsync(() -> {
-            try {
-                URI uri = new URI(spriteUrl);
-                ImageIcon spriteIcon = new ImageIcon(uri.toURL());
-                Image scaledImage = spriteIcon.getImage().getScaledInstance(190, 190, Image.SCALE_SMOOTH);
-                return new ImageIcon(scaledImage);
-            } catch (Exception e) {
-                return new ImageIcon("Failed to load image");
+    private void seek(int afterId, String emptyText) {
+        if (pageLoad != null) {
+            pageLoad.cancel(true); // Su resultado ya no se entrega
+        }
+        pageLoad = tasks.track(pokedexData.getPageAfter(afterId, POKEMON_PER_PAGE), page -> {
+            pageLoad = null;
+            if (page.isEmpty()) {
+                showError(emptyText);
+                return;
             }
-        }).thenAcceptAsync(spriteIcon -> {
-            spriteLabel.setIcon(spriteIcon);
-            card.revalidate();
-            card.repaint();
-        }, SwingUtilities::invokeLater);
+            firstAfterId = afterId;
+            exhausted = false;
+            lastId = page.get(page.size() - 1).getId();
+            grid.setItems(page); // Vuelve arriba y, si hace falta, pide la página siguiente
+            pokedexData.getPageAfter(lastId, POKEMON_PER_PAGE); // Solo para dejarla en la caché
+        }, e -> {
+            pageLoad = null;
+            showError("Failed to load Pokémon data: " + e.getMessage());
+        });
     }
 
     /**
-     * Crea un panel con los detalles del Pokémon, como los tipos y habilidades.
+     * Desplaza la cuadrícula hasta el primer Pokémon cargado con id mayor o igual que `id`.
      *
-     * @param dto El objeto que contiene los datos del Pokémon.
-     * @return El panel con los detalles del Pokémon.
+     * @return {@code false} si ese Pokémon aún no está cargado.
      */
-    private JPanel createDetailsPanel(PokemonDto dto) {
-        // Usamos un GridLayout con 1 fila y 2 columnas
-        JPanel detailsPanel = ComponentFactory.createPanel(new GridLayout(1, 2, 0, 10), uiConfig.secondaryColor());
-
-        // Panel izquierdo para los tipos
-        JPanel typePanel = createTypePanel(dto.getTypes());
-        // Panel derecho para las habilidades
-        JPanel abilityPanel = createAbilityPanel(dto.getAbilities());
-
-        detailsPanel.add(typePanel);    // Agregar tipos al panel izquierdo
-        detailsPanel.add(abilityPanel); // Agregar habilidades al panel derecho
-
-        return detailsPanel;
+    private boolean scrollToId(int id) {
+        List<PokemonDto> items = grid.getItems();
+        for (int i = 0; i < items.size(); i++) {
+            if (items.get(i).getId() >= id) {
+                grid.scrollToIndex(i);
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
-     * Crea un panel con la lista de tipos del Pokémon.
-     *
-     * @param types Lista de tipos del Pokémon.
-     * @return El panel con los tipos del Pokémon.
+     * Tarjeta de información de un Pokémon. La cuadrícula la reutiliza para otros
+     * Pokémon al desplazarse, así que su contenido se asigna en {@link #bind}.
      */
-    private JPanel createTypePanel(List<Type> types) {
-        return createInfoPanel("Types: ", types.stream().map(Type::getName).distinct().toList());
+    private final class PokemonCard extends JPanel {
+
+        private final JLabel nameLabel = ComponentFactory.createLabel("", 25, SwingConstants.CENTER);
+        private final JLabel spriteLabel = new JLabel();
+        private final JLabel typesLabel = ComponentFactory.createLabel("", 14, SwingConstants.LEFT);
+        private final JLabel abilitiesLabel = ComponentFactory.createLabel("", 14, SwingConstants.LEFT);
+        private int pokemonId; // Pokémon mostrado; evita pintar el sprite de uno anterior
+        private CompletableFuture<Icon> spriteLoad;
+
+        PokemonCard() {
+            super(new BorderLayout(0, 0));
+            setBackground(uiConfig.secondaryColor());
+            setBorder(BorderFactory.createLineBorder(uiConfig.tertiaryColor(), 2));
+            spriteLabel.setHorizontalAlignment(SwingConstants.CENTER);
+
+            // Usamos un GridLayout con 1 fila y 2 columnas: tipos a la izquierda, habilidades a la derecha
+            JPanel detailsPanel = ComponentFactory.createPanel(new GridLayout(1, 2, 0, 10), uiConfig.secondaryColor());
+            detailsPanel.add(createInfoPanel("Types: ", typesLabel));
+            detailsPanel.add(createInfoPanel("Abilities: ", abilitiesLabel));
+
+            add(nameLabel, BorderLayout.NORTH);
+            add(spriteLabel, BorderLayout.CENTER);
+            add(detailsPanel, BorderLayout.SOUTH);
+        }
+
+        /**
+         * Muestra un Pokémon en la tarjeta y empieza a cargar su sprite.
+         *
+         * @param dto El objeto que contiene los datos del Pokémon.
+         */
+        void bind(PokemonDto dto) {
+            pokemonId = dto.getId();
+            nameLabel.setText(dto.getName().toUpperCase());
+            typesLabel.setText(String.join(", ", dto.getTypeNames()));
+            abilitiesLabel.setText(String.join(", ", dto.getAbilityNames().stream().limit(2).toList()));
+            spriteLoad = loadSpriteAsync(dto.getId(), dto.getSpriteUrl(), this);
+        }
+
+        /**
+         * Cancela la carga del sprite si la tarjeta sale de la vista antes de recibirlo.
+         */
+        void unbind() {
+            if (spriteLoad != null) {
+                spriteLoad.cancel(true);
+                spriteLoad = null;
+            }
+            pokemonId = 0;
+            spriteLabel.setIcon(null);
+            spriteLabel.setText(null);
+        }
     }
 
     /**
-     * Crea un panel con la lista de habilidades del Pokémon.
+     * Carga de manera asíncrona el sprite del Pokémon.
+     * Se dibuja desde el atlas de sprites y solo se descarga por URL si el Pokémon no está en él.
+     * La carga pasa por la cola central de imágenes y se cancela cuando la tarjeta sale de la vista.
      *
-     * @param abilities Lista de habilidades del Pokémon.
-     * @return El panel con las habilidades del Pokémon.
+     * @param pokemonId El id del Pokémon.
+     * @param spriteUrl La URL del sprite.
+     * @param card La tarjeta donde se mostrará la imagen.
+     * @return La carga en curso.
      */
-    private JPanel createAbilityPanel(List<Ability> abilities) {
-        return createInfoPanel("Abilities: ", abilities.stream().map(Ability::getName).distinct().limit(2).toList());
+    private CompletableFuture<Icon> loadSpriteAsync(int pokemonId, String spriteUrl, PokemonCard card) {
+        return tasks.track(imageLoadScheduler.submit(VIEW, spriteUrl, () -> {
+            Optional<Icon> atlasIcon = spriteAtlasService.getIcon(pokemonId, 190, 190);
+            return atlasIcon.isPresent() ? atlasIcon.get() : imageCacheService.getIcon(spriteUrl, 190, 190);
+        }), spriteIcon -> {
+            if (card.pokemonId == pokemonId) {
+                card.spriteLabel.setIcon(spriteIcon);
+            }
+        }, e -> {
+            if (card.pokemonId == pokemonId) {
+                card.spriteLabel.setText("Failed to load image");
+            }
+        });
     }
 
     /**
-     * Crea un panel con un título y una lista de elementos.
+     * Crea un panel con un título y la etiqueta con los elementos.
      *
      * @param title El título que aparecerá en la parte superior del panel.
-     * @param items La lista de elementos que se mostrarán en el panel.
+     * @param contentLabel La etiqueta en la que se muestran los elementos.
      * @return El panel con el título y los elementos.
      */
-    private JPanel createInfoPanel(String title, List<String> items) {
+    private JPanel createInfoPanel(String title, JLabel contentLabel) {
         JLabel titleLabel = ComponentFactory.createLabel(title, 16, SwingConstants.LEFT);
         titleLabel.setForeground(uiConfig.primaryColor());
-        JLabel contentLabel = ComponentFactory.createLabel(String.join(", ", items), 14, SwingConstants.LEFT);
 
         JPanel panel = ComponentFactory.createPanel(new BorderLayout(), uiConfig.secondaryColor());
         panel.add(titleLabel, BorderLayout.NORTH);
@@ -225,12 +344,16 @@ public class HomeView {
     }
 
     /**
-     * Actualiza la vista de la Pokédex, cargando nuevamente la primera página.
+     * Actualiza la vista de la Pokédex, volviendo a cargar desde el primer Pokémon.
      */
     public void refreshView() {
-        offset = 0; // Reiniciar el paginador al inicio
-        JPanel pokemonPanel = (JPanel) ((JScrollPane) panel.getComponent(1)).getViewport().getView();
-        loadPokemonPage(pokemonPanel);
+        tasks.cancelAll(); // Descarta la página en camino y las imágenes pendientes
+        firstAfterId = 0;
+        lastId = 0;
+        pageLoad = null;
+        exhausted = false;
+        grid.setItems(List.of());
+        loadNextPage();
     }
 
     /**
@@ -243,4 +366,4 @@ public class HomeView {
                 JOptionPane.showMessageDialog(panel, message, "Error", JOptionPane.ERROR_MESSAGE)
         );
     }
-}
\ No newline at end of file
+}
@@ -1,35 +1,95 @@
 package ec.edu.uce.pokedex.view;
 
 import ec.edu.uce.pokedex.config.UIConfig;
+import ec.edu.uce.pokedex.dto.CacheRegionStats;
+import ec.edu.uce.pokedex.dto.IngestionProgress;
+import ec.edu.uce.pokedex.service.CacheStatsService;
+import ec.edu.uce.pokedex.service.FlightRecorderService;
+import ec.edu.uce.pokedex.service.ImageLoadScheduler;
+import ec.edu.uce.pokedex.service.PokedexDataService;
 import ec.edu.uce.pokedex.service.PokeService;
+import ec.edu.uce.pokedex.service.PokemonSyncService;
+import ec.edu.uce.pokedex.service.SnapshotService;
+import ec.edu.uce.pokedex.service.SpriteAtlasService;
+import ec.edu.uce.pokedex.service.UiLatencyTracker;
 import ec.edu.uce.pokedex.util.ComponentFactory;
+import ec.edu.uce.pokedex.util.TaskGroup;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
 import javax.swing.*;
+import javax.swing.filechooser.FileNameExtensionFilter;
 import java.awt.*;
 import java.awt.event.ActionListener;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Vista principal de la aplicación Pokédex que maneja la configuración de la interfaz gráfica,
  * la carga de datos y la navegación entre diferentes vistas.
  */
+@Slf4j
 @Component
 public class MainView {
 
     private final UIConfig uiConfig;
     private final PokeService pokeService;
+    private final PokedexDataService pokedexData;
+    private final PokemonSyncService pokemonSyncService;
+    private final SnapshotService snapshotService;
+    private final CacheStatsService cacheStatsService;
+    private final SpriteAtlasService spriteAtlasService;
+    private final ImageLoadScheduler imageLoadScheduler;
+    private final UiLatencyTracker uiLatencyTracker;
+    private final DiagnosticsView diagnosticsView;
+    private final FlightRecorderService flightRecorderService;
+    private final TaskGroup tasks;
     private JFrame frame;
+    private JDialog diagnosticsDialog;
 
     /**
      * Constructor de la vista principal.
      *
      * @param uiConfig Configuración de la interfaz de usuario.
      * @param pokeService Servicio para obtener datos sobre los Pokémon.
+     * @param pokedexData Acceso asíncrono a los datos de los Pokémon.
+     * @param pokemonSyncService Servicio de sincronización incremental con la API.
+     * @param snapshotService Servicio de exportación e importación de instantáneas.
+     * @param cacheStatsService Servicio con las estadísticas de las cachés.
+     * @param spriteAtlasService Servicio que empaqueta los sprites de las tarjetas.
+     * @param imageLoadScheduler Cola central de cargas de imágenes, que prioriza la vista visible.
+     * @param uiLatencyTracker Medidor del tiempo que tarda cada vista en responder.
+     * @param diagnosticsView Vista de diagnóstico de la interfaz.
+     * @param flightRecorderService Servicio que inicia y guarda las grabaciones de Flight Recorder.
+     * @param uiTaskExecutor Ejecutor de hilos virtuales para el trabajo en segundo plano.
      */
-    public MainView(UIConfig uiConfig, PokeService pokeService) {
+    public MainView(UIConfig uiConfig, PokeService pokeService, PokedexDataService pokedexData,
+                    PokemonSyncService pokemonSyncService,
+                    SnapshotService snapshotService, CacheStatsService cacheStatsService,
+                    SpriteAtlasService spriteAtlasService, ImageLoadScheduler imageLoadScheduler,
+                    UiLatencyTracker uiLatencyTracker, DiagnosticsView diagnosticsView,
+                    FlightRecorderService flightRecorderService,
+                    @Qualifier("uiTaskExecutor") ExecutorService uiTaskExecutor) {
         this.uiConfig = uiConfig;
         this.pokeService = pokeService;
+        this.pokedexData = pokedexData;
+        this.pokemonSyncService = pokemonSyncService;
+        this.snapshotService = snapshotService;
+        this.cacheStatsService = cacheStatsService;
+        this.spriteAtlasService = spriteAtlasService;
+        this.imageLoadScheduler = imageLoadScheduler;
+        this.uiLatencyTracker = uiLatencyTracker;
+        this.diagnosticsView = diagnosticsView;
+        this.flightRecorderService = flightRecorderService;
+        this.tasks = new TaskGroup(uiTaskExecutor);
     }
 
     /**
@@ -70,14 +130,37 @@ public class MainView {
         frame.add(buttonPanel, BorderLayout.NORTH);
         frame.add(mainPanel, BorderLayout.CENTER);
 
-        // Verificar si hay datos en la base de datos
-        if (pokeService.getPokemonByName("ditto").isPresent()) {
-            ((CardLayout) mainPanel.getLayout()).show(mainPanel, "HomeView");
-        } else {
+        frame.setVisible(true);
+
+        // Verificar en segundo plano si hay datos en la base de datos; la ventana ya es visible
+        tasks.track(pokedexData.isPokemonStored("ditto"), stored -> {
+            if (stored) {
+                showStoredData(mainPanel, homeView);
+            } else {
+                showInitialMessage(mainPanel);
+            }
+        }, ex -> {
+            log.warn("Error checking stored Pokémon: {}", ex.getMessage());
             showInitialMessage(mainPanel);
-        }
+        });
+    }
 
-        frame.setVisible(true);
+    /**
+     * Muestra la vista Home cuando ya hay Pokémon guardados y, si faltan, empaqueta
+     * sus sprites en el atlas.
+     *
+     * @param mainPanel El panel principal con el CardLayout.
+     * @param homeView Vista de inicio de la Pokédex.
+     */
+    private void showStoredData(JPanel mainPanel, HomeView homeView) {
+        showCard(mainPanel, "HomeView");
+        // Datos cargados antes de existir el atlas: se construye una vez. Comprobarlo lee
+        // el índice del disco, así que también va en segundo plano
+        tasks.submit(() -> spriteAtlasService.isBuilt() ? 0 : spriteAtlasService.rebuild(), packed -> {
+            if (packed > 0) {
+                homeView.refreshView();
+            }
+        }, ex -> log.warn("Error building sprite atlas: {}", ex.getMessage()));
     }
 
     /**
@@ -134,8 +217,16 @@ public class MainView {
         JButton loadApiButton = ComponentFactory.createButton("Load Data from API", 16, Color.RED, Color.WHITE);
         loadApiButton.addActionListener(createLoadApiAction(mainPanel, homeView));
 
+        JButton loadSnapshotButton = ComponentFactory.createButton("Load from snapshot", 16, Color.DARK_GRAY, Color.WHITE);
+        loadSnapshotButton.addActionListener(createLoadSnapshotAction(mainPanel, homeView));
+
+        JPanel loadPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 10, 10));
+        loadPanel.setBackground(uiConfig.secondaryColor());
+        loadPanel.add(loadSnapshotButton);
+        loadPanel.add(loadApiButton);
+
         buttonPanel.add(navigationPanel, BorderLayout.CENTER);
-        buttonPanel.add(loadApiButton, BorderLayout.EAST);
+        buttonPanel.add(loadPanel, BorderLayout.EAST);
 
         return buttonPanel;
     }
@@ -150,16 +241,29 @@ public class MainView {
      */
     private JButton createNavigationButton(String text, JPanel mainPanel, String cardName) {
         JButton button = ComponentFactory.createButton(text, 16, uiConfig.primaryColor(), uiConfig.secondaryColor());
-        button.addActionListener(e -> {
-            CardLayout cl = (CardLayout) mainPanel.getLayout();
-            cl.show(mainPanel, cardName);
-        });
+        button.addActionListener(e -> showCard(mainPanel, cardName));
         return button;
     }
 
     /**
-     * Crea la barra de menú con opciones de "File" y "Help".
-     * Incluye la opción de salir y la opción de mostrar información sobre la aplicación.
+     * Muestra una vista del CardLayout y da prioridad a sus cargas de imágenes.
+     * El tiempo hasta que la vista responde queda registrado en {@link UiLatencyTracker}.
+     *
+     * @param mainPanel El panel principal con el CardLayout.
+     * @param cardName El nombre de la vista a mostrar.
+     */
+    private void showCard(JPanel mainPanel, String cardName) {
+        UiLatencyTracker.Measurement viewSwitch = uiLatencyTracker.start(UiLatencyTracker.VIEW_SWITCH, cardName);
+        ((CardLayout) mainPanel.getLayout()).show(mainPanel, cardName);
+        imageLoadScheduler.setActiveView(cardName);
+        viewSwitch.finish();
+    }
+
+    /**
+     * Crea la barra de menú con opciones de "File", "Tools" y "Help".
+     * Incluye la sincronización con la API, la exportación de instantáneas, la opción
+     * de salir, las herramientas de diagnóstico (incluida la grabación con Flight Recorder)
+     * y la opción de mostrar información sobre la aplicación.
      *
      * @return La barra de menú creada.
      */
@@ -167,21 +271,127 @@ public class MainView {
         JMenuBar menuBar = new JMenuBar();
 
         JMenu fileMenu = new JMenu("File");
+        JMenuItem syncItem = new JMenuItem("Sync with PokeAPI");
+        syncItem.addActionListener(e -> runSync());
+        fileMenu.add(syncItem);
+
+        JMenuItem exportItem = new JMenuItem("Export snapshot...");
+        exportItem.addActionListener(e -> exportSnapshot());
+        fileMenu.add(exportItem);
+
         JMenuItem exitItem = new JMenuItem("Exit");
         exitItem.addActionListener(e -> System.exit(0));
         fileMenu.add(exitItem);
 
+        JMenu toolsMenu = new JMenu("Tools");
+        JMenuItem cacheStatsItem = new JMenuItem("Cache statistics");
+        cacheStatsItem.addActionListener(e -> showCacheStats());
+        toolsMenu.add(cacheStatsItem);
+
+        JMenuItem diagnosticsItem = new JMenuItem("UI diagnostics");
+        diagnosticsItem.addActionListener(e -> showDiagnostics());
+        toolsMenu.add(diagnosticsItem);
+
+        JMenuItem recordingItem = new JMenuItem("Start flight recording");
+        recordingItem.addActionListener(e -> toggleRecording(recordingItem));
+        toolsMenu.add(recordingItem);
+
         JMenu helpMenu = new JMenu("Help");
         JMenuItem aboutItem = new JMenuItem("About");
         aboutItem.addActionListener(e -> showMessage("Pokédex Application\nCreated using Spring and Java Swing."));
         helpMenu.add(aboutItem);
 
         menuBar.add(fileMenu);
+        menuBar.add(toolsMenu);
         menuBar.add(helpMenu);
 
         return menuBar;
     }
 
+    /**
+     * Muestra una tabla con los aciertos, fallos y desalojos de cada región de caché.
+     */
+    private void showCacheStats() {
+        List<CacheRegionStats> regions = cacheStatsService.getRegionStats();
+        String[] columns = {"Region", "Entries", "Hits", "Misses", "Hit rate", "Evictions"};
+        Object[][] rows = regions.stream()
+                .map(region -> new Object[]{region.region(), region.size(), region.hits(), region.misses(),
+                        String.format("%.1f %%", region.hitRate() * 100), region.evictions()})
+                .toArray(Object[][]::new);
+        JTable table = new JTable(rows, columns);
+        table.setEnabled(false);
+        JScrollPane scrollPane = new JScrollPane(table);
+        scrollPane.setPreferredSize(new Dimension(560, 140));
+        JOptionPane.showMessageDialog(frame, scrollPane, "Cache statistics", JOptionPane.PLAIN_MESSAGE);
+    }
+
+    /**
+     * Muestra en una ventana aparte los bloqueos del hilo de Swing y los tiempos de
+     * respuesta de las vistas, con la opción de exportarlos.
+     */
+    private void showDiagnostics() {
+        diagnosticsView.refresh();
+        if (diagnosticsDialog == null) {
+            diagnosticsDialog = new JDialog(frame, "UI diagnostics", false);
+            diagnosticsDialog.getContentPane().add(diagnosticsView.getPanel(), BorderLayout.CENTER);
+            diagnosticsDialog.setSize(900, 650);
+            diagnosticsDialog.setLocationRelativeTo(frame);
+        }
+        diagnosticsDialog.setVisible(true);
+    }
+
+    /**
+     * Inicia una grabación de Flight Recorder o, si ya hay una, la detiene y la guarda en
+     * un archivo elegido por el usuario.
+     *
+     * @param recordingItem Opción del menú, cuyo texto cambia según haya grabación o no.
+     */
+    private void toggleRecording(JMenuItem recordingItem) {
+        recordingItem.setEnabled(false);
+        if (!flightRecorderService.isRecording()) {
+            tasks.submit(() -> {
+                flightRecorderService.start();
+                return true;
+            }, started -> {
+                recordingItem.setText("Stop and save flight recording...");
+                recordingItem.setEnabled(true);
+            }, ex -> {
+                recordingItem.setEnabled(true);
+                showMessage("Flight recording could not be started: " + ex.getMessage());
+            });
+            return;
+        }
+        JFileChooser chooser = new JFileChooser();
+        chooser.setFileFilter(new FileNameExtensionFilter("Flight recording (*.jfr)", "jfr"));
+        chooser.setSelectedFile(new File("pokedex.jfr"));
+        if (chooser.showSaveDialog(frame) != JFileChooser.APPROVE_OPTION) {
+            recordingItem.setEnabled(true); // Sigue grabando
+            return;
+        }
+        Path file = chooser.getSelectedFile().toPath();
+        tasks.submit(() -> flightRecorderService.stop(file), path -> {
+            recordingItem.setText("Start flight recording");
+            recordingItem.setEnabled(true);
+            showMessage("Flight recording saved to " + path);
+        }, ex -> {
+            recordingItem.setText(flightRecorderService.isRecording()
+                    ? "Stop and save flight recording..." : "Start flight recording");
+            recordingItem.setEnabled(true);
+            showMessage("Flight recording could not be saved: " + ex.getMessage());
+        });
+    }
+
+    /**
+     * Lanza una sincronización incremental en segundo plano y muestra su resultado.
+     * La sincronización también se ejecuta periódicamente sin intervención del usuario.
+     */
+    private void runSync() {
+        tasks.submit(pokemonSyncService::sync,
+                result -> showMessage("Sync finished: " + result.changed() + " new or changed Pokémon out of "
+                        + result.checked() + " checked."),
+                ex -> showMessage("Sync failed: " + ex.getMessage()));
+    }
+
     /**
      * Crea la acción para cargar los datos de los Pokémon desde la API y mostrar el progreso.
      *
@@ -190,64 +400,133 @@ public class MainView {
      * @return Un ActionListener que maneja la carga de datos desde la API.
      */
     private ActionListener createLoadApiAction(JPanel mainPanel, HomeView homeView) {
+        // Reanuda desde los Pokémon que aún no tienen checkpoint
+        return e -> runLoad(mainPanel, homeView, pokeService::loadAllPokemonsFromApiAndSave);
+    }
+
+    /**
+     * Crea la acción para cargar los datos de los Pokémon desde una instantánea local,
+     * sin acceso a la red.
+     *
+     * @param mainPanel El panel principal con el CardLayout.
+     * @param homeView Vista de inicio de la Pokédex.
+     * @return Un ActionListener que maneja la importación de la instantánea.
+     */
+    private ActionListener createLoadSnapshotAction(JPanel mainPanel, HomeView homeView) {
         return e -> {
-            JDialog progressDialog = createProgressDialog();
-            JProgressBar progressBar = (JProgressBar) progressDialog.getContentPane().getComponent(0);
-
-            SwingWorker<Void, Integer> worker = new SwingWorker<>() {
-                private int progress = 0;
-
-                @Override
-                protected Void doInBackground() {
-                    int offset = 0;
-
-                    // Número total de Pokémon a cargar
-                    int totalPokemons = 1025;
-                    for (int i = 0; i < totalPokemons; i++) {
-                        try {
-                            pokeService.loadAllPokemonsFromApiAndSave(1, offset++);
-                            progress++;
-                            publish(progress); // Publicar el progreso actual
-                        } catch (Exception ex) {
-                            System.err.println("Error loading Pokémon: " + ex.getMessage());
-                        }
-                    }
-                    return null;
+            JFileChooser chooser = createSnapshotChooser();
+            if (chooser.showOpenDialog(frame) != JFileChooser.APPROVE_OPTION) {
+                return;
+            }
+            Path file = chooser.getSelectedFile().toPath();
+            runLoad(mainPanel, homeView, onProgress -> {
+                try {
+                    return snapshotService.importSnapshot(file, onProgress);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
                 }
+            });
+        };
+    }
 
-                @Override
-                protected void process(List<Integer> chunks) {
-                    int latestProgress = chunks.getLast();
-                    progressBar.setValue(latestProgress); // Actualizar el valor de la barra de progreso
-                }
+    /**
+     * Ejecuta una carga en segundo plano mostrando su progreso y, al terminar,
+     * vuelve a la vista Home.
+     *
+     * @param mainPanel El panel principal con el CardLayout.
+     * @param homeView Vista de inicio de la Pokédex.
+     * @param loader Carga a ejecutar; recibe el consumidor de progreso y devuelve el avance final.
+     */
+    private void runLoad(JPanel mainPanel, HomeView homeView,
+                         Function<Consumer<IngestionProgress>, IngestionProgress> loader) {
+        JDialog progressDialog = createProgressDialog();
+        JProgressBar progressBar = (JProgressBar) progressDialog.getContentPane().getComponent(0);
+
+        // Solo se programa una actualización de la barra a la vez; la más reciente gana
+        AtomicReference<IngestionProgress> latestProgress = new AtomicReference<>();
+        Consumer<IngestionProgress> onProgress = progress -> {
+            if (latestProgress.getAndSet(progress) == null) {
+                SwingUtilities.invokeLater(() -> {
+                    IngestionProgress latest = latestProgress.getAndSet(null);
+                    progressBar.setMaximum(latest.total());
+                    progressBar.setValue(latest.done()); // Actualizar el valor de la barra de progreso
+                    progressBar.setString(latest.done() + " / " + latest.total()
+                            + " (" + latest.remaining() + " remaining)");
+                });
+            }
+        };
 
-                @Override
-                protected void done() {
-                    progressDialog.dispose();
-                    showMessage("Pokémon data loaded successfully!");
-
-                    // Precargar la vista Home en un nuevo hilo
-                    new SwingWorker<Void, Void>() {
-                        @Override
-                        protected Void doInBackground() {
-                            homeView.refreshView(); // Preparar los datos de la vista Home
-                            return null;
-                        }
-
-                        @Override
-                        protected void done() {
-                            SwingUtilities.invokeLater(() -> {
-                                ((CardLayout) mainPanel.getLayout()).show(mainPanel, "HomeView");
-                            });
-                        }
-                    }.execute();
-                }
-            };
+        tasks.submit(() -> {
+            IngestionProgress result = loader.apply(onProgress);
+            buildSpriteAtlas(progressBar);
+            return result;
+        }, result -> {
+            progressDialog.dispose();
+            showMessage(result.remaining() == 0
+                    ? "Pokémon data loaded successfully! (" + result.done() + " of " + result.total() + ")"
+                    : "Loaded " + result.done() + " of " + result.total() + " Pokémon. "
+                    + result.remaining() + " remaining; load again to resume.");
+            showHomeView(mainPanel, homeView);
+        }, ex -> {
+            progressDialog.dispose();
+            log.warn("Error loading Pokémon: {}", ex.getMessage());
+            showMessage("Pokémon data could not be fully loaded: " + ex.getMessage()
+                    + "\nLoad again to resume from the last saved Pokémon.");
+            showHomeView(mainPanel, homeView);
+        });
+        progressDialog.setVisible(true);
+    }
 
-            progressBar.setMaximum(1025); // Establecer el máximo de la barra de progreso
-            worker.execute();
-            progressDialog.setVisible(true);
-        };
+    /**
+     * Última etapa de una carga: empaqueta los sprites en el atlas del que dibujan las tarjetas.
+     * Si falla, la carga se da igualmente por buena y las tarjetas descargan cada sprite.
+     *
+     * @param progressBar La barra de progreso de la carga.
+     */
+    private void buildSpriteAtlas(JProgressBar progressBar) {
+        SwingUtilities.invokeLater(() -> progressBar.setString("Packing sprites..."));
+        try {
+            spriteAtlasService.rebuild();
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Error building sprite atlas: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Muestra la vista Home; su primera página se carga en segundo plano.
+     *
+     * @param mainPanel El panel principal con el CardLayout.
+     * @param homeView Vista de inicio de la Pokédex.
+     */
+    private void showHomeView(JPanel mainPanel, HomeView homeView) {
+        homeView.refreshView();
+        showCard(mainPanel, "HomeView");
+    }
+
+    /**
+     * Exporta los Pokémon guardados a una instantánea elegida por el usuario.
+     */
+    private void exportSnapshot() {
+        JFileChooser chooser = createSnapshotChooser();
+        chooser.setSelectedFile(new File("pokedex-snapshot.ndjson.gz"));
+        if (chooser.showSaveDialog(frame) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        Path file = chooser.getSelectedFile().toPath();
+        tasks.submit(() -> snapshotService.exportSnapshot(file),
+                count -> showMessage("Exported " + count + " Pokémon to " + file),
+                ex -> showMessage("Snapshot export failed: " + ex.getMessage()));
+    }
+
+    /**
+     * Crea un selector de archivos filtrado a instantáneas de la Pokédex.
+     *
+     * @return El selector de archivos.
+     */
+    private JFileChooser createSnapshotChooser() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setFileFilter(new FileNameExtensionFilter("Pokédex snapshot (*.ndjson.gz)", "gz"));
+        return chooser;
     }
 
     /**
@@ -266,13 +545,29 @@ public class MainView {
     }
 
     /**
-     * Muestra un mensaje inicial cuando no hay datos de Pokémon disponibles.
+     * Muestra un mensaje inicial cuando no hay datos de Pokémon disponibles, con el
+     * avance de la última carga, que se consulta en segundo plano.
      *
      * @param mainPanel El panel principal donde se mostrará el mensaje.
      */
     private void showInitialMessage(JPanel mainPanel) {
+        tasks.track(pokedexData.getIngestionProgress(), progress -> showInitialMessage(mainPanel, progress),
+                ex -> showInitialMessage(mainPanel, new IngestionProgress(0, 0)));
+    }
+
+    /**
+     * Muestra el mensaje inicial con el avance de la última carga.
+     *
+     * @param mainPanel El panel principal donde se mostrará el mensaje.
+     * @param progress Avance de la última carga.
+     */
+    private void showInitialMessage(JPanel mainPanel, IngestionProgress progress) {
         JPanel messagePanel = new JPanel(new BorderLayout());
-        JLabel messageLabel = ComponentFactory.createLabel("No data found. Please use the 'Load Data from API' button.", 20, SwingConstants.CENTER);
+        String message = progress.done() == 0
+                ? "No data found. Please use the 'Load Data from API' or 'Load from snapshot' button."
+                : "Previous load stopped at " + progress.done() + " of " + progress.total()
+                + " Pokémon. Use 'Load Data from API' to load the remaining " + progress.remaining() + ".";
+        JLabel messageLabel = ComponentFactory.createLabel(message, 20, SwingConstants.CENTER);
         messagePanel.add(messageLabel, BorderLayout.CENTER);
         mainPanel.add(messagePanel, "NoDataView");
         ((CardLayout) mainPanel.getLayout()).show(mainPanel, "NoDataView");
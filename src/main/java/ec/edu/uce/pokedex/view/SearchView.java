@@ -1,16 +1,20 @@
 package ec.edu.uce.pokedex.view;
 
 import ec.edu.uce.pokedex.config.UIConfig;
-import ec.edu.uce.pokedex.models.Move;
-import ec.edu.uce.pokedex.models.Pokemon;
-import ec.edu.uce.pokedex.service.PokeService;
+import ec.edu.uce.pokedex.dto.PokemonDetail;
+import ec.edu.uce.pokedex.service.ImageCacheService;
+import ec.edu.uce.pokedex.service.ImageLoadScheduler;
+import ec.edu.uce.pokedex.service.PokedexDataService;
+import ec.edu.uce.pokedex.service.UiLatencyTracker;
 import ec.edu.uce.pokedex.util.ComponentFactory;
+import ec.edu.uce.pokedex.util.TaskGroup;
 import lombok.Getter;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
 import javax.swing.*;
 import java.awt.*;
-import java.net.URI;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Vista de búsqueda de Pokémon que permite al usuario buscar un Pokémon por su nombre
@@ -27,15 +31,32 @@ public class SearchView {
     private final JList<String> abilityList;
     private final JList<String> moveList;
     private final JTextField searchField;
+    private final ImageCacheService imageCacheService;
+    private final ImageLoadScheduler imageLoadScheduler;
+    private final PokedexDataService pokedexData;
+    private final UiLatencyTracker uiLatencyTracker;
+    private final TaskGroup tasks;
+    private static final String VIEW = "SearchView"; // Nombre de su tarjeta en MainView
 
     /**
      * Constructor de la vista de búsqueda de Pokémon.
      *
-     * @param pokeService Servicio que gestiona las consultas a la API de Pokémon.
+     * @param pokedexData Acceso asíncrono a los datos de los Pokémon.
      * @param uiConfig Configuración de la interfaz de usuario.
+     * @param imageCacheService Caché de imágenes compartida por las vistas.
+     * @param imageLoadScheduler Cola central de cargas de imágenes.
+     * @param uiLatencyTracker Medidor del tiempo que tardan en responder las búsquedas.
+     * @param uiTaskExecutor Ejecutor de hilos virtuales para el trabajo en segundo plano.
      */
-    public SearchView(PokeService pokeService, UIConfig uiConfig) {
+    public SearchView(PokedexDataService pokedexData, UIConfig uiConfig, ImageCacheService imageCacheService,
+                      ImageLoadScheduler imageLoadScheduler, UiLatencyTracker uiLatencyTracker,
+                      @Qualifier("uiTaskExecutor") ExecutorService uiTaskExecutor) {
+        this.pokedexData = pokedexData;
         this.uiConfig = uiConfig;
+        this.imageCacheService = imageCacheService;
+        this.imageLoadScheduler = imageLoadScheduler;
+        this.uiLatencyTracker = uiLatencyTracker;
+        this.tasks = new TaskGroup(uiTaskExecutor);
         this.panel = new JPanel(new BorderLayout(15, 15));
         this.panel.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
 
@@ -43,7 +64,7 @@ public class SearchView {
         JLabel titleLabel = ComponentFactory.createLabel("Search Pokémon", 35, SwingConstants.CENTER);
         titleLabel.setForeground(uiConfig.primaryColor()); // Cambiar color del título
         this.searchField = createSearchField();
-        JButton searchButton = createSearchButton(pokeService);
+        JButton searchButton = createSearchButton();
 
         // Usar un panel con GridBagLayout para el panel de búsqueda
         JPanel searchPanel = new JPanel(new GridBagLayout());
@@ -100,10 +121,9 @@ public class SearchView {
      * Crea el botón de búsqueda y maneja su acción.
      * Al hacer clic, realiza la búsqueda del Pokémon y muestra su información.
      *
-     * @param pokeService El servicio de consulta de Pokémon.
      * @return El botón de búsqueda.
      */
-    private JButton createSearchButton(PokeService pokeService) {
+    private JButton createSearchButton() {
         JButton searchButton = ComponentFactory.createButton("Search", 18, uiConfig.primaryColor(), uiConfig.secondaryColor());
         searchButton.addActionListener(e -> {
             String name = searchField.getText().trim();
@@ -112,7 +132,7 @@ public class SearchView {
                 return;
             }
             try {
-                fetchAndDisplayPokemonInfo(pokeService, name);
+                fetchAndDisplayPokemonInfo(name);
             } catch (Exception ex) {
                 showError("An unexpected error occurred: " + ex.getMessage());
             }
@@ -190,14 +210,16 @@ public class SearchView {
     }
 
     /**
-     * Realiza la búsqueda del Pokémon y, si lo encuentra, muestra su información.
+     * Realiza la búsqueda del Pokémon en segundo plano y, si lo encuentra, muestra su información.
      *
-     * @param pokeService El servicio que maneja la búsqueda de Pokémon.
      * @param name El nombre del Pokémon a buscar.
      */
-    private void fetchAndDisplayPokemonInfo(PokeService pokeService, String name) {
-        pokeService.getPokemonByName(name.toLowerCase())
-                .ifPresentOrElse(this::displayPokemonInfo, () -> showError("Pokémon not found."));
+    private void fetchAndDisplayPokemonInfo(String name) {
+        tasks.cancelAll(); // Descarta la búsqueda anterior y su imagen pendiente
+        UiLatencyTracker.Measurement search = uiLatencyTracker.start(UiLatencyTracker.SEARCH, VIEW);
+        tasks.track(pokedexData.getPokemonByName(name),
+                search.finishAfter(result -> result.ifPresentOrElse(this::displayPokemonInfo, () -> showError("Pokémon not found."))),
+                search.finishAfter(e -> showError("An unexpected error occurred: " + e.getMessage())));
     }
 
     /**
@@ -206,7 +228,7 @@ public class SearchView {
      *
      * @param pokemon El Pokémon cuyas información será mostrada.
      */
-    private void displayPokemonInfo(Pokemon pokemon) {
+    private void displayPokemonInfo(PokemonDetail pokemon) {
         SwingUtilities.invokeLater(() -> {
             try {
                 // Limpiar el infoPanel antes de agregar nueva información
@@ -230,12 +252,12 @@ public class SearchView {
                 infoPanel.add(titleLabel);
 
                 // Información del Pokémon
-                infoPanel.add(createInfoLabel("ID:", String.valueOf(pokemon.getId())));
-                infoPanel.add(createInfoLabel("Name:", pokemon.getName()));
-                infoPanel.add(createInfoLabel("Base Experience:", String.valueOf(pokemon.getBaseExperience())));
-                infoPanel.add(createInfoLabel("Height:", String.valueOf(pokemon.getHeight())));
-                infoPanel.add(createInfoLabel("Weight:", String.valueOf(pokemon.getWeight())));
-                infoPanel.add(createInfoLabel("Order:", String.valueOf(pokemon.getOrderIndex())));
+                infoPanel.add(createInfoLabel("ID:", String.valueOf(pokemon.id())));
+                infoPanel.add(createInfoLabel("Name:", pokemon.name()));
+                infoPanel.add(createInfoLabel("Base Experience:", String.valueOf(pokemon.baseExperience())));
+                infoPanel.add(createInfoLabel("Height:", String.valueOf(pokemon.height())));
+                infoPanel.add(createInfoLabel("Weight:", String.valueOf(pokemon.weight())));
+                infoPanel.add(createInfoLabel("Order:", String.valueOf(pokemon.orderIndex())));
 
                 // Agregar un separador
                 infoPanel.add(new JSeparator()); // Separador
@@ -245,7 +267,7 @@ public class SearchView {
                 infoLabel.add(infoPanel, BorderLayout.CENTER); // Agregar el panel de información al infoLabel
 
                 // Cargar imagen
-                loadImage(pokemon.getSprites().getFrontDefault());
+                loadImage(pokemon.spriteUrl());
 
                 // Cargar habilidades y movimientos
                 loadAbilitiesAndMoves(pokemon);
@@ -284,19 +306,19 @@ public class SearchView {
     }
 
     /**
-     * Carga la imagen del Pokémon a partir de su URL y la muestra en la interfaz.
+     * Carga la imagen del Pokémon a partir de su URL en segundo plano y la muestra en la interfaz.
      *
      * @param spriteUrl La URL de la imagen del Pokémon.
      */
     private void loadImage(String spriteUrl) {
-        try {
-            URI uri = new URI(spriteUrl);
-            ImageIcon spriteIcon = new ImageIcon(uri.toURL());
-            imageLabel.setIcon(new ImageIcon(spriteIcon.getImage().getScaledInstance(380, 380, Image.SCALE_SMOOTH)));
-        } catch (Exception e) {
+        tasks.track(imageLoadScheduler.submit(VIEW, spriteUrl,
+                () -> imageCacheService.getIcon(spriteUrl, 380, 380)), spriteIcon -> {
+            imageLabel.setText(null);
+            imageLabel.setIcon(spriteIcon);
+        }, e -> {
             imageLabel.setText("Image not available");
             imageLabel.setIcon(null);
-        }
+        });
     }
 
     /**
@@ -304,16 +326,14 @@ public class SearchView {
      *
      * @param pokemon El Pokémon cuyas habilidades y movimientos serán mostrados.
      */
-    private void loadAbilitiesAndMoves(Pokemon pokemon) {
-        abilityList.setListData(pokemon.getAbilities().stream()
+    private void loadAbilitiesAndMoves(PokemonDetail pokemon) {
+        abilityList.setListData(pokemon.abilities().stream()
                 .map(ability -> String.format("Name: %s, Slot: %d, Hidden: %s",
-                        ability.getName(),
-                        ability.getSlot(),
-                        ability.isHidden() ? "Yes" : "No"))
-                .toArray(String[]::new));
-        moveList.setListData(pokemon.getMoves().stream()
-                .map(Move::getName)
+                        ability.name(),
+                        ability.slot(),
+                        ability.hidden() ? "Yes" : "No"))
                 .toArray(String[]::new));
+        moveList.setListData(pokemon.moveNames().toArray(String[]::new));
     }
 
     /**
@@ -1,18 +1,25 @@
 package ec.edu.uce.pokedex.view;
 
 import ec.edu.uce.pokedex.config.UIConfig;
-import ec.edu.uce.pokedex.controller.SpriteController;
+import ec.edu.uce.pokedex.dto.PokemonSprites;
 import ec.edu.uce.pokedex.exception.SpriteFetchException;
-import ec.edu.uce.pokedex.models.Sprites;
+import ec.edu.uce.pokedex.service.ImageCacheService;
+import ec.edu.uce.pokedex.service.PokedexDataService;
+import ec.edu.uce.pokedex.service.UiLatencyTracker;
 import ec.edu.uce.pokedex.util.ComponentFactory;
+import ec.edu.uce.pokedex.util.TaskGroup;
 import lombok.Getter;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
 import javax.swing.*;
 import java.awt.*;
-import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
 
 /**
  * La clase SpriteView es responsable de mostrar la interfaz de usuario para buscar y visualizar sprites de Pokémon.
@@ -23,19 +30,30 @@ public class SpriteView {
 
     @Getter
     private final JPanel panel;
-    private final SpriteController controller;
+    private final PokedexDataService pokedexData;
     private final UIConfig uiConfig;
+    private final ImageCacheService imageCacheService;
+    private final UiLatencyTracker uiLatencyTracker;
+    private final TaskGroup tasks;
+    private static final String VIEW = "SpriteView"; // Nombre de su tarjeta en MainView
 
     /**
      * Constructor de SpriteView.
      * Inicializa los componentes de la interfaz de usuario y configura los detectores de eventos.
      *
-     * @param controller El controlador responsable de obtener los datos de los sprites.
+     * @param pokedexData Acceso asíncrono a los datos de los Pokémon.
      * @param uiConfig La configuración para el estilo de la interfaz de usuario.
+     * @param imageCacheService Caché de imágenes compartida por las vistas.
+     * @param uiLatencyTracker Medidor del tiempo que tardan en responder las búsquedas.
+     * @param uiTaskExecutor Ejecutor de hilos virtuales para el trabajo en segundo plano.
      */
-    public SpriteView(SpriteController controller, UIConfig uiConfig) {
-        this.controller = controller;
+    public SpriteView(PokedexDataService pokedexData, UIConfig uiConfig, ImageCacheService imageCacheService,
+                      UiLatencyTracker uiLatencyTracker, @Qualifier("uiTaskExecutor") ExecutorService uiTaskExecutor) {
+        this.pokedexData = pokedexData;
         this.uiConfig = uiConfig;
+        this.imageCacheService = imageCacheService;
+        this.uiLatencyTracker = uiLatencyTracker;
+        this.tasks = new TaskGroup(uiTaskExecutor);
         this.panel = new JPanel(new BorderLayout(10, 10));
         initialize();
     }
@@ -112,70 +130,54 @@ public class SpriteView {
      * @param spritePanel El panel donde se mostrarán los sprites.
      */
     private void fetchAndDisplaySprites(String pokemonName, JPanel spritePanel) {
-        SwingWorker<List<ImageIcon>, Void> worker = new SwingWorker<>() {
-            @Override
-            protected List<ImageIcon> doInBackground() {
-                try {
-                    Sprites sprites = controller.getSpritesForPokemon(pokemonName);
-                    return loadSprites(sprites);
-                } catch (Exception e) {
-                    throw new SpriteFetchException("Failed to fetch sprites for Pokémon: " + pokemonName, e);
-                }
-            }
-
-            @Override
-            protected void done() {
-                try {
-                    List<ImageIcon> spriteIcons = get();
-                    updateSpritePanel(spriteIcons, spritePanel);
-                } catch (SpriteFetchException e) {
-                    showError(e.getMessage());
-                } catch (Exception e) {
-                    showError("Unexpected error occurred while fetching sprites.");
-                }
-            }
-        };
-        worker.execute();
+        tasks.cancelAll(); // Descarta la búsqueda anterior
+        UiLatencyTracker.Measurement search = uiLatencyTracker.start(UiLatencyTracker.SEARCH, VIEW);
+        Consumer<Throwable> onError = search.finishAfter(e -> showError(e instanceof SpriteFetchException
+                ? e.getMessage()
+                : "Unexpected error occurred while fetching sprites."));
+        tasks.track(pokedexData.getSpritesForPokemon(pokemonName), sprites -> tasks.submit(() -> loadSprites(sprites),
+                search.finishAfter(spriteIcons -> updateSpritePanel(spriteIcons, spritePanel)), onError), onError);
     }
 
     /**
      * Carga y devuelve una lista de ImageIcons en función de las URL de sprites proporcionadas.
+     * Las imágenes se descargan en paralelo, cada una en su propio hilo virtual.
      *
-     * @param sprites El objeto Sprites que contiene las URL de varios tipos de sprites.
+     * @param sprites Las URL de los distintos sprites del Pokémon.
      * @return Una lista de ImageIcons para los sprites válidos.
      */
-    private List<ImageIcon> loadSprites(Sprites sprites) {
-        List<ImageIcon> spriteIcons = new ArrayList<>();
+    private List<ImageIcon> loadSprites(PokemonSprites sprites) {
+        List<Callable<ImageIcon>> loads = new ArrayList<>();
+        addSpriteIfValid(loads, sprites.frontDefault());
+        addSpriteIfValid(loads, sprites.backDefault());
+        addSpriteIfValid(loads, sprites.frontShiny());
+        addSpriteIfValid(loads, sprites.backShiny());
+        addSpriteIfValid(loads, sprites.frontFemale());
+        addSpriteIfValid(loads, sprites.backFemale());
+        addSpriteIfValid(loads, sprites.frontShinyFemale());
+        addSpriteIfValid(loads, sprites.backShinyFemale());
         try {
-            addSpriteIfValid(spriteIcons, sprites.getFrontDefault());
-            addSpriteIfValid(spriteIcons, sprites.getBackDefault());
-            addSpriteIfValid(spriteIcons, sprites.getFrontShiny());
-            addSpriteIfValid(spriteIcons, sprites.getBackShiny());
-            addSpriteIfValid(spriteIcons, sprites.getFrontFemale());
-            addSpriteIfValid(spriteIcons, sprites.getBackFemale());
-            addSpriteIfValid(spriteIcons, sprites.getFrontShinyFemale());
-            addSpriteIfValid(spriteIcons, sprites.getBackShinyFemale());
+            return tasks.invokeAll(loads).stream().filter(Objects::nonNull).toList();
         } catch (Exception e) {
             throw new SpriteFetchException("Error while loading sprites.", e);
         }
-        return spriteIcons;
     }
 
     /**
-     * Agrega un sprite a la lista de ImageIcons si la URL del sprite es válida.
+     * Agrega la carga de un sprite a la lista si la URL del sprite es válida.
      *
-     * @param spriteIcons La lista de ImageIcons a la que se agregará el sprite.
+     * @param loads La lista de cargas a la que se agregará el sprite.
      * @param spriteUrl La URL de la imagen del sprite que se cargará.
      */
-    private void addSpriteIfValid(List<ImageIcon> spriteIcons, String spriteUrl) {
+    private void addSpriteIfValid(List<Callable<ImageIcon>> loads, String spriteUrl) {
         if (spriteUrl != null && !spriteUrl.isEmpty()) {
-            try {
-                URI uri = new URI(spriteUrl);
-                ImageIcon spriteIcon = new ImageIcon(uri.toURL());
-                spriteIcons.add(new ImageIcon(spriteIcon.getImage().getScaledInstance(200, 200, Image.SCALE_SMOOTH)));
-            } catch (Exception ignored) {
-                // Log the error if necessary, but avoid stopping the flow.
-            }
+            loads.add(() -> {
+                try {
+                    return imageCacheService.getIcon(spriteUrl, 200, 200);
+                } catch (Exception ignored) {
+                    return null; // Un sprite que falla no detiene al resto
+                }
+            });
         }
     }
 
@@ -1,16 +1,20 @@
 package ec.edu.uce.pokedex.view;
 
 import ec.edu.uce.pokedex.config.UIConfig;
-import ec.edu.uce.pokedex.controller.StatController;
+import ec.edu.uce.pokedex.dto.PokemonStat;
 import ec.edu.uce.pokedex.exception.StatFetchException;
-import ec.edu.uce.pokedex.models.Stat;
+import ec.edu.uce.pokedex.service.PokedexDataService;
+import ec.edu.uce.pokedex.service.UiLatencyTracker;
 import ec.edu.uce.pokedex.util.ComponentFactory;
+import ec.edu.uce.pokedex.util.TaskGroup;
 import lombok.Getter;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
 import javax.swing.*;
 import java.awt.*;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 /**
  * La clase StatView es responsable de administrar la interfaz de usuario relacionada con la visualización de las estadísticas de los Pokémon.
@@ -21,20 +25,28 @@ public class StatView {
 
     @Getter
     private final JPanel panel;
-    private final StatController controller;
+    private final PokedexDataService pokedexData;
     private final JTable statTable;
     private final UIConfig uiConfig;
+    private final UiLatencyTracker uiLatencyTracker;
+    private final TaskGroup tasks;
+    private static final String VIEW = "StatView"; // Nombre de su tarjeta en MainView
 
     /**
      * Constructor para la clase StatView.
      * Inicializa los componentes de la vista y configura los detectores de eventos.
      *
-     * @param controller El controlador responsable de obtener los datos de estadísticas de Pokémon.
+     * @param pokedexData Acceso asíncrono a los datos de los Pokémon.
      * @param uiConfig La configuración para el estilo de la interfaz de usuario.
+     * @param uiLatencyTracker Medidor del tiempo que tardan en responder las búsquedas.
+     * @param uiTaskExecutor Ejecutor de hilos virtuales para el trabajo en segundo plano.
      */
-    public StatView(StatController controller, UIConfig uiConfig) {
-        this.controller = controller;
+    public StatView(PokedexDataService pokedexData, UIConfig uiConfig, UiLatencyTracker uiLatencyTracker,
+                    @Qualifier("uiTaskExecutor") ExecutorService uiTaskExecutor) {
+        this.pokedexData = pokedexData;
         this.uiConfig = uiConfig;
+        this.uiLatencyTracker = uiLatencyTracker;
+        this.tasks = new TaskGroup(uiTaskExecutor);
         this.panel = new JPanel(new BorderLayout(10, 10));
         this.statTable = new JTable();
         initialize();
@@ -90,45 +102,29 @@ public class StatView {
      * @param pokemonName El nombre del Pokémon del que se obtendrán las estadísticas.
      */
     private void fetchAndDisplayStats(String pokemonName) {
-        SwingWorker<List<Stat>, Void> worker = new SwingWorker<>() {
-            @Override
-            protected List<Stat> doInBackground() {
-                try {
-                    return controller.getStatsForPokemon(pokemonName);
-                } catch (Exception e) {
-                    throw new StatFetchException("Failed to fetch stats for Pokémon: " + pokemonName, e);
-                }
+        tasks.cancelAll(); // Descarta la búsqueda anterior
+        UiLatencyTracker.Measurement search = uiLatencyTracker.start(UiLatencyTracker.SEARCH, VIEW);
+        tasks.track(pokedexData.getStatsForPokemon(pokemonName), search.finishAfter(stats -> {
+            if (stats.isEmpty()) {
+                showInfoMessage("No stats found for Pokémon: " + pokemonName);
+            } else {
+                populateTable(stats);
             }
-
-            @Override
-            protected void done() {
-                try {
-                    List<Stat> stats = get();
-                    if (stats.isEmpty()) {
-                        showInfoMessage("No stats found for Pokémon: " + pokemonName);
-                    } else {
-                        populateTable(stats);
-                    }
-                } catch (StatFetchException e) {
-                    showErrorMessage(e.getMessage());
-                } catch (Exception e) {
-                    showErrorMessage("Unexpected error occurred while fetching stats.");
-                }
-            }
-        };
-        worker.execute();
+        }), search.finishAfter(e -> showErrorMessage(e instanceof StatFetchException
+                ? e.getMessage()
+                : "Unexpected error occurred while fetching stats.")));
     }
 
     /**
      * Rellena la tabla de estadísticas con las estadísticas recuperadas del Pokémon.
      *
-     * @param stats Lista de objetos Stat que representan las estadísticas de un Pokémon.
+     * @param stats Las estadísticas de un Pokémon.
      */
-    private void populateTable(List<Stat> stats) {
+    private void populateTable(List<PokemonStat> stats) {
         SwingUtilities.invokeLater(() -> {
             String[] columnNames = {"Name", "Base Stat", "Effort"};
             Object[][] data = stats.stream()
-                    .map(stat -> new Object[]{stat.getName(), stat.getBaseStat(), stat.getEffort()})
+                    .map(stat -> new Object[]{stat.name(), stat.baseStat(), stat.effort()})
                     .toArray(Object[][]::new);
 
             statTable.setModel(new javax.swing.table.DefaultTableModel(data, columnNames));
@@ -1,17 +1,25 @@
 package ec.edu.uce.pokedex.view;
 
 import ec.edu.uce.pokedex.config.UIConfig;
-import ec.edu.uce.pokedex.controller.TypeController;
-import ec.edu.uce.pokedex.models.Pokemon;
+import ec.edu.uce.pokedex.dto.PokemonCardRow;
+import ec.edu.uce.pokedex.service.ImageCacheService;
+import ec.edu.uce.pokedex.service.ImageLoadScheduler;
+import ec.edu.uce.pokedex.service.PokedexDataService;
+import ec.edu.uce.pokedex.service.UiLatencyTracker;
+import ec.edu.uce.pokedex.service.SpriteAtlasService;
 import ec.edu.uce.pokedex.util.ComponentFactory;
-import ec.edu.uce.pokedex.util.WrapLayout;
+import ec.edu.uce.pokedex.util.TaskGroup;
+import ec.edu.uce.pokedex.util.VirtualCardGrid;
 import lombok.Getter;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
 import javax.swing.*;
 import java.awt.*;
-import java.net.URI;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 
 /**
  * La clase TypeView es la encargada de mostrar los Pokémon por tipo en la interfaz de usuario.
@@ -22,19 +30,40 @@ public class TypeView {
 
     @Getter
     private final JPanel panel;
-    private final TypeController controller;
+    private final PokedexDataService pokedexData;
     private final UIConfig uiConfig;
+    private final ImageCacheService imageCacheService;
+    private final ImageLoadScheduler imageLoadScheduler;
+    private final SpriteAtlasService spriteAtlasService;
+    private final UiLatencyTracker uiLatencyTracker;
+    private final TaskGroup tasks;
+    private VirtualCardGrid<PokemonCardRow, PokemonCard> grid;
+    private static final Dimension CARD_SIZE = new Dimension(200, 200);
+    private static final String VIEW = "TypeView"; // Nombre de su tarjeta en MainView
 
     /**
      * Constructor para la clase TypeView.
      * Inicializa la vista y configura los componentes y los detectores de eventos.
      *
-     * @param controller El controlador responsable de obtener los datos de Pokémon por tipo.
+     * @param pokedexData Acceso asíncrono a los datos de los Pokémon.
      * @param uiConfig La configuración de la interfaz de usuario para los componentes de estilo.
+     * @param imageCacheService Caché de imágenes compartida por las vistas.
+     * @param spriteAtlasService Atlas de sprites del que se dibujan las cartas.
+     * @param imageLoadScheduler Cola central de cargas de imágenes.
+     * @param uiLatencyTracker Medidor del tiempo que tardan en responder las búsquedas.
+     * @param uiTaskExecutor Ejecutor de hilos virtuales para el trabajo en segundo plano.
      */
-    public TypeView(TypeController controller, UIConfig uiConfig) {
-        this.controller = controller;
+    public TypeView(PokedexDataService pokedexData, UIConfig uiConfig, ImageCacheService imageCacheService,
+                    SpriteAtlasService spriteAtlasService, ImageLoadScheduler imageLoadScheduler,
+                    UiLatencyTracker uiLatencyTracker,
+                    @Qualifier("uiTaskExecutor") ExecutorService uiTaskExecutor) {
+        this.pokedexData = pokedexData;
         this.uiConfig = uiConfig;
+        this.imageCacheService = imageCacheService;
+        this.imageLoadScheduler = imageLoadScheduler;
+        this.spriteAtlasService = spriteAtlasService;
+        this.uiLatencyTracker = uiLatencyTracker;
+        this.tasks = new TaskGroup(uiTaskExecutor);
         this.panel = new JPanel(new BorderLayout(10, 10));
         initialize();
     }
@@ -93,16 +122,31 @@ public class TypeView {
     }
 
     /**
-     * Crea el panel de desplazamiento para mostrar Pokémon por tipo, que incluye un diseño para las cartas.
+     * Crea el panel de desplazamiento para mostrar Pokémon por tipo, con una cuadrícula
+     * que solo crea las cartas visibles.
      *
-     * @return Un JScrollPane que contiene un panel para mostrar Pokémon.
+     * @return Un JScrollPane que contiene la cuadrícula de Pokémon.
      */
     private JScrollPane createPokemonScrollPane() {
-        JPanel pokemonPanel = new JPanel();
-        pokemonPanel.setLayout(new WrapLayout(FlowLayout.LEFT, 15, 15));
-        pokemonPanel.setBackground(uiConfig.secondaryColor());
+        grid = new VirtualCardGrid<>(new VirtualCardGrid.CardBinder<>() {
+            @Override
+            public PokemonCard createCard() {
+                return new PokemonCard();
+            }
+
+            @Override
+            public void bind(PokemonCard card, PokemonCardRow pokemon) {
+                card.bind(pokemon);
+            }
 
-        JScrollPane scrollPane = new JScrollPane(pokemonPanel);
+            @Override
+            public void unbind(PokemonCard card) {
+                card.unbind();
+            }
+        }, CARD_SIZE, 15, 15);
+        grid.setBackground(uiConfig.secondaryColor());
+
+        JScrollPane scrollPane = new JScrollPane(grid);
         scrollPane.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
         scrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED);
         scrollPane.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
@@ -116,106 +160,88 @@ public class TypeView {
      * @param typeName El tipo de Pokémon que se buscará (p. ej., "Fuego", "Agua").
      */
     private void fetchAndDisplayPokemonByType(String typeName) {
-        SwingWorker<List<Pokemon>, Void> worker = new SwingWorker<>() {
-            @Override
-            protected List<Pokemon> doInBackground() {
-                try {
-                    return controller.getPokemonByType(typeName);
-                } catch (Exception e) {
-                    showError("Error: Unable to fetch Pokémon by type.");
-                    return null;
-                }
-            }
-
-            @Override
-            protected void done() {
-                try {
-                    List<Pokemon> pokemons = get();
-                    if (pokemons != null) {
-                        populatePokemonPanel(pokemons);
-                    } else {
-                        showError("No Pokémon found for this type.");
-                    }
-                } catch (Exception e) {
-                    showError("Error displaying Pokémon.");
-                }
+        tasks.cancelAll(); // Descarta la búsqueda anterior y sus imágenes pendientes
+        UiLatencyTracker.Measurement search = uiLatencyTracker.start(UiLatencyTracker.SEARCH, VIEW);
+        tasks.track(pokedexData.getPokemonByType(typeName), search.finishAfter(pokemons -> {
+            if (pokemons != null) {
+                populatePokemonPanel(pokemons);
+            } else {
+                showError("No Pokémon found for this type.");
             }
-        };
-        worker.execute();
+        }), search.finishAfter(e -> showError("Error: Unable to fetch Pokémon by type.")));
     }
 
     /**
-     * Rellena el panel de visualización de Pokémon con cartas de Pokémon.
+     * Rellena la cuadrícula con los Pokémon encontrados.
      *
      * @param pokemons Una lista de Pokémon que se mostrarán en la interfaz de usuario.
      */
-    private void populatePokemonPanel(List<Pokemon> pokemons) {
-        JPanel pokemonPanel = (JPanel) ((JScrollPane) panel.getComponent(1)).getViewport().getView();
-        SwingUtilities.invokeLater(() -> {
-            pokemonPanel.removeAll();
-            pokemons.forEach(pokemon -> pokemonPanel.add(createPokemonCard(pokemon)));
-            pokemonPanel.revalidate();
-            pokemonPanel.repaint();
-        });
+    private void populatePokemonPanel(List<PokemonCardRow> pokemons) {
+        grid.setItems(pokemons);
     }
 
     /**
-     * Crea una tarjeta de panel para un Pokémon que muestra su nombre y sprite.
-     *
-     * @param pokemon El Pokémon para el que se creará la tarjeta.
-     * @return Un JPanel que representa la tarjeta de Pokémon con su nombre y sprite.
+     * Carta de un Pokémon con su nombre y sprite. La cuadrícula la reutiliza para
+     * otros Pokémon al desplazarse.
      */
-    private JPanel createPokemonCard(Pokemon pokemon) {
-        JPanel card = ComponentFactory.createPanel(new BorderLayout(10, 10), uiConfig.secondaryColor());
-        card.setBorder(BorderFactory.createLineBorder(uiConfig.tertiaryColor(), 3));
+    private final class PokemonCard extends JPanel {
 
-        JLabel nameLabel = ComponentFactory.createLabel(pokemon.getName().toUpperCase(), 18, SwingConstants.CENTER);
-        JLabel spriteLabel = new JLabel();
-        spriteLabel.setHorizontalAlignment(SwingConstants.CENTER);
+        private final JLabel nameLabel = ComponentFactory.createLabel("", 18, SwingConstants.CENTER);
+        private final JLabel spriteLabel = new JLabel();
+        private int pokemonId; // Pokémon mostrado; evita pintar el sprite de uno anterior
+        private CompletableFuture<Icon> spriteLoad;
 
-        // Load Pokémon sprite asynchronously
-        loadImageAsync(pokemon.getSprites().getFrontDefault(), spriteLabel);
+        PokemonCard() {
+            super(new BorderLayout(10, 10));
+            setBackground(uiConfig.secondaryColor());
+            setBorder(BorderFactory.createLineBorder(uiConfig.tertiaryColor(), 3));
+            spriteLabel.setHorizontalAlignment(SwingConstants.CENTER);
+            spriteLabel.setFont(uiConfig.labelFont());
+            add(nameLabel, BorderLayout.NORTH);
+            add(spriteLabel, BorderLayout.CENTER);
+        }
 
-        card.add(nameLabel, BorderLayout.NORTH);
-        card.add(spriteLabel, BorderLayout.CENTER);
+        void bind(PokemonCardRow pokemon) {
+            pokemonId = pokemon.id();
+            nameLabel.setText(pokemon.name().toUpperCase());
+            spriteLoad = loadImageAsync(pokemon.id(), pokemon.spriteUrl(), this);
+        }
 
-        return card;
+        void unbind() {
+            if (spriteLoad != null) {
+                spriteLoad.cancel(true); // La carta salió de la vista antes de recibir su sprite
+                spriteLoad = null;
+            }
+            pokemonId = 0;
+            spriteLabel.setIcon(null);
+            spriteLabel.setText(null);
+        }
     }
 
     /**
      * Carga una imagen de forma asincrónica para mostrar el sprite del Pokémon.
+     * El sprite se dibuja desde el atlas; solo los Pokémon que no están en él se descargan.
+     * La carga pasa por la cola central de imágenes y se cancela con la búsqueda o
+     * cuando la carta sale de la vista.
      *
+     * @param pokemonId El id del Pokémon.
      * @param spriteUrl La URL de la imagen del sprite del Pokémon.
-     * @param spriteLabel La JLabel donde se mostrará el sprite.
+     * @param card La carta donde se mostrará el sprite.
+     * @return La carga en curso.
      */
-    private void loadImageAsync(String spriteUrl, JLabel spriteLabel) {
-        SwingWorker<ImageIcon, Void> worker = new SwingWorker<>() {
-            @Override
-            protected ImageIcon doInBackground() {
-                try {
-                    URI uri = new URI(spriteUrl);
-                    return new ImageIcon(new ImageIcon(uri.toURL()).getImage().getScaledInstance(150, 150, Image.SCALE_SMOOTH));
-                } catch (Exception e) {
-                    return null;
-                }
+    private CompletableFuture<Icon> loadImageAsync(int pokemonId, String spriteUrl, PokemonCard card) {
+        return tasks.track(imageLoadScheduler.submit(VIEW, spriteUrl, () -> {
+            Optional<Icon> atlasIcon = spriteAtlasService.getIcon(pokemonId, 150, 150);
+            return atlasIcon.isPresent() ? atlasIcon.get() : imageCacheService.getIcon(spriteUrl, 150, 150);
+        }), spriteIcon -> {
+            if (card.pokemonId == pokemonId) {
+                card.spriteLabel.setIcon(spriteIcon);
             }
-
-            @Override
-            protected void done() {
-                try {
-                    ImageIcon spriteIcon = get();
-                    if (spriteIcon != null) {
-                        spriteLabel.setIcon(spriteIcon);
-                    } else {
-                        spriteLabel.setText("Image not available");
-                    }
-                } catch (Exception e) {
-                    spriteLabel.setText("Error loading image");
-                }
-                spriteLabel.setFont(uiConfig.labelFont());
+        }, e -> {
+            if (card.pokemonId == pokemonId) {
+                card.spriteLabel.setText("Image not available");
             }
-        };
-        worker.execute();
+        });
     }
 
     /**
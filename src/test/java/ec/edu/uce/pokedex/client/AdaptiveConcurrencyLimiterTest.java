@@ -0,0 +1,174 @@
+package ec.edu.uce.pokedex.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Comprueba el límite adaptativo con un reloj controlado: crece con latencia estable o
+ * con jitter, se reduce a la mitad ante un 5xx o un timeout, se recupera, y cada
+ * petición ocupa su hueco hasta que se lee el cuerpo.
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final int INITIAL_LIMIT = 8;
+    private static final int MAX_LIMIT = 32;
+    private static final ClientRequest REQUEST =
+            ClientRequest.create(HttpMethod.GET, URI.create("https://pokeapi.co/api/v2/pokemon/25")).build();
+
+    private final AtomicLong clock = new AtomicLong(Duration.ofHours(1).toNanos());
+
+    @Test
+    void limitGrowsUnderSteadyLatency() {
+        AdaptiveConcurrencyLimiter limiter = limiter(INITIAL_LIMIT);
+
+        respond(limiter, 100, 100);
+        int afterWarmUp = limiter.currentLimit();
+        respond(limiter, 600, 100);
+
+        assertTrue(afterWarmUp > INITIAL_LIMIT, "limit after warm-up: " + afterWarmUp);
+        assertEquals(MAX_LIMIT, limiter.currentLimit());
+    }
+
+    @Test
+    void normalJitterDoesNotShrinkTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(INITIAL_LIMIT);
+        long[] latencies = {20, 180, 60, 140, 100, 30, 170};
+
+        for (int i = 0; i < 300; i++) {
+            request(limiter, latencies[i % latencies.length], HttpStatus.OK);
+        }
+
+        assertTrue(limiter.currentLimit() > INITIAL_LIMIT, "limit: " + limiter.currentLimit());
+    }
+
+    @Test
+    void serverErrorHalvesTheLimitAndItRecovers() {
+        AdaptiveConcurrencyLimiter limiter = limiter(16);
+
+        request(limiter, 100, HttpStatus.INTERNAL_SERVER_ERROR);
+        assertEquals(8, limiter.currentLimit());
+
+        respond(limiter, 200, 100);
+        assertTrue(limiter.currentLimit() > 16, "limit: " + limiter.currentLimit());
+    }
+
+    @Test
+    void timeoutHalvesTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(16);
+
+        ExchangeFunction timingOut = request -> {
+            clock.addAndGet(Duration.ofSeconds(5).toNanos());
+            return Mono.error(new TimeoutException("Did not observe any item within 5000ms"));
+        };
+
+        assertThrows(Exception.class, () -> limiter.filter(REQUEST, timingOut).block());
+        assertEquals(8, limiter.currentLimit());
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    void failuresInTheSameWindowHalveOnce() {
+        AdaptiveConcurrencyLimiter limiter = limiter(16);
+        respond(limiter, 10, 100);
+        int before = limiter.currentLimit();
+
+        request(limiter, 100, HttpStatus.INTERNAL_SERVER_ERROR);
+        request(limiter, 0, HttpStatus.INTERNAL_SERVER_ERROR); // Misma ráfaga: no cuenta otra vez
+
+        assertEquals(before / 2, limiter.currentLimit());
+    }
+
+    @Test
+    void sustainedSlowdownShrinksThenRecovers() {
+        AdaptiveConcurrencyLimiter limiter = limiter(INITIAL_LIMIT);
+        respond(limiter, 200, 100);
+        int beforeSlowdown = limiter.currentLimit();
+
+        respond(limiter, 10, 400);
+        int duringSlowdown = limiter.currentLimit();
+        respond(limiter, 1000, 400);
+
+        assertTrue(duringSlowdown < beforeSlowdown, duringSlowdown + " < " + beforeSlowdown);
+        assertEquals(MAX_LIMIT, limiter.currentLimit(), "the baseline follows the slower API");
+    }
+
+    @Test
+    void permitIsHeldUntilTheBodyIsRead() {
+        AdaptiveConcurrencyLimiter limiter = limiter(INITIAL_LIMIT);
+
+        ClientResponse response = limiter.filter(REQUEST, network(100, HttpStatus.OK)).block();
+
+        assertEquals(1, limiter.inFlight());
+        assertEquals("{}", response.bodyToMono(String.class).block());
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    void requestsAboveTheLimitWaitForABody() {
+        AdaptiveConcurrencyLimiter limiter = limiter(1);
+        AtomicInteger exchanges = new AtomicInteger();
+        ExchangeFunction network = request -> {
+            exchanges.incrementAndGet();
+            return network(100, HttpStatus.OK).exchange(request);
+        };
+
+        ClientResponse first = limiter.filter(REQUEST, network).block();
+        AtomicReference<ClientResponse> second = new AtomicReference<>();
+        limiter.filter(REQUEST, network).subscribe(second::set);
+
+        assertEquals(1, exchanges.get());
+        assertNull(second.get());
+
+        first.releaseBody().block();
+
+        assertEquals(2, exchanges.get());
+        assertNotNull(second.get());
+        second.get().releaseBody().block();
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit) {
+        return new AdaptiveConcurrencyLimiter(initialLimit, 1, MAX_LIMIT, 0,
+                Duration.ofMillis(10), Duration.ofMillis(100), 2.0, clock::get);
+    }
+
+    /**
+     * Lanza {@code count} peticiones seguidas que responden 200 con la latencia indicada.
+     */
+    private void respond(AdaptiveConcurrencyLimiter limiter, int count, long latencyMillis) {
+        for (int i = 0; i < count; i++) {
+            request(limiter, latencyMillis, HttpStatus.OK);
+        }
+    }
+
+    /**
+     * Lanza una petición y lee su cuerpo entero.
+     */
+    private void request(AdaptiveConcurrencyLimiter limiter, long latencyMillis, HttpStatus status) {
+        ClientResponse response = limiter.filter(REQUEST, network(latencyMillis, status)).block();
+        response.releaseBody().block();
+    }
+
+    /**
+     * Red simulada que avanza el reloj la latencia indicada antes de responder.
+     */
+    private ExchangeFunction network(long latencyMillis, HttpStatus status) {
+        return request -> Mono.fromSupplier(() -> {
+            clock.addAndGet(Duration.ofMillis(latencyMillis).toNanos());
+            return ClientResponse.create(status).body("{}").build();
+        });
+    }
+}
@@ -0,0 +1,163 @@
+package ec.edu.uce.pokedex.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Comprueba el filtro de caché con una red simulada: los aciertos no la tocan, los
+ * fallos guardan el cuerpo solo al terminar de leerlo y por debajo del límite, y las
+ * peticiones condicionales y las respuestas vencidas se tratan aparte.
+ */
+class CachingExchangeFilterTest {
+
+    private static final URI URL = URI.create("https://pokeapi.co/api/v2/pokemon-species/25");
+    private static final String BODY = "{\"id\":25,\"name\":\"pikachu\"}";
+
+    @TempDir
+    Path directory;
+
+    private HttpResponseCache cache;
+    private final AtomicInteger networkCalls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        cache = newCache(Duration.ofDays(1));
+    }
+
+    @Test
+    void missFetchesAndStoresTheBodyOnceRead() {
+        CachingExchangeFilter filter = filter(DataSize.ofMegabytes(1));
+
+        ClientResponse response = filter.filter(get(), network(() -> ok(BODY))).block();
+
+        assertEquals(1, networkCalls.get());
+        assertNull(response.headers().asHttpHeaders().getFirst(CachingExchangeFilter.CACHE_HEADER));
+        assertTrue(cache.get(URL.toString()).isEmpty(), "Nothing is stored before the body is read");
+        assertEquals(BODY, response.bodyToMono(String.class).block());
+        await().atMost(Duration.ofSeconds(5)).until(() -> cache.get(URL.toString()).isPresent());
+        assertEquals(BODY, new String(cache.get(URL.toString()).orElseThrow().body(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void freshHitIsServedWithoutTheNetwork() {
+        cache.put(URL.toString(), "application/json", "\"v1\"", null, BODY.getBytes(StandardCharsets.UTF_8));
+
+        ClientResponse response = filter(DataSize.ofMegabytes(1)).filter(get(), network(() -> ok("unused"))).block();
+
+        assertEquals(0, networkCalls.get());
+        assertEquals("HIT", response.headers().asHttpHeaders().getFirst(CachingExchangeFilter.CACHE_HEADER));
+        assertEquals("\"v1\"", response.headers().asHttpHeaders().getETag());
+        assertEquals(BODY, response.bodyToMono(String.class).block());
+    }
+
+    @Test
+    void bodiesAboveTheLimitStreamThroughWithoutBeingStored() throws InterruptedException {
+        String large = "x".repeat(4096);
+        CachingExchangeFilter filter = filter(DataSize.ofBytes(1024));
+
+        ClientResponse response = filter.filter(get(), network(() -> chunked(large, 512))).block();
+
+        assertEquals(large, response.bodyToMono(String.class).block());
+        Thread.sleep(200); // El guardado, si lo hubiera, es asíncrono
+        assertTrue(cache.get(URL.toString()).isEmpty());
+    }
+
+    @Test
+    void conditionalRequestsBypassTheCache() {
+        cache.put(URL.toString(), "application/json", "\"v1\"", null, BODY.getBytes(StandardCharsets.UTF_8));
+        ClientRequest revalidation = ClientRequest.create(HttpMethod.GET, URL)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"v1\"")
+                .build();
+
+        ClientResponse response = filter(DataSize.ofMegabytes(1))
+                .filter(revalidation, network(() -> ClientResponse.create(HttpStatus.NOT_MODIFIED).build()))
+                .block();
+
+        assertEquals(1, networkCalls.get());
+        assertEquals(HttpStatus.NOT_MODIFIED, response.statusCode());
+    }
+
+    @Test
+    void staleEntryIsServedWhenTheApiFails() throws IOException {
+        cache = newCache(Duration.ZERO); // Toda entrada está vencida nada más guardarse
+        cache.put(URL.toString(), "application/json", null, null, BODY.getBytes(StandardCharsets.UTF_8));
+        CachingExchangeFilter filter = filter(DataSize.ofMegabytes(1));
+
+        ClientResponse afterServerError = filter.filter(get(),
+                network(() -> ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build())).block();
+        ClientResponse afterNetworkError = filter.filter(get(),
+                request -> Mono.error(new IOException("Connection refused"))).block();
+
+        assertEquals("STALE", afterServerError.headers().asHttpHeaders().getFirst(CachingExchangeFilter.CACHE_HEADER));
+        assertEquals(BODY, afterServerError.bodyToMono(String.class).block());
+        assertEquals("STALE", afterNetworkError.headers().asHttpHeaders().getFirst(CachingExchangeFilter.CACHE_HEADER));
+    }
+
+    @Test
+    void networkErrorWithoutAnEntryPropagates() {
+        CachingExchangeFilter filter = filter(DataSize.ofMegabytes(1));
+
+        Mono<ClientResponse> response = filter.filter(get(), request -> Mono.error(new IOException("Connection refused")));
+
+        assertThrows(Exception.class, response::block);
+    }
+
+    private HttpResponseCache newCache(Duration ttl) throws IOException {
+        return new HttpResponseCache(directory, ttl, Duration.ofDays(30), DataSize.ofMegabytes(16));
+    }
+
+    private CachingExchangeFilter filter(DataSize maxEntrySize) {
+        return new CachingExchangeFilter(cache, ExchangeStrategies.withDefaults(), maxEntrySize);
+    }
+
+    private ClientRequest get() {
+        return ClientRequest.create(HttpMethod.GET, URL).build();
+    }
+
+    private ExchangeFunction network(Supplier<ClientResponse> response) {
+        return request -> {
+            networkCalls.incrementAndGet();
+            return Mono.fromSupplier(response);
+        };
+    }
+
+    private ClientResponse ok(String body) {
+        return chunked(body, body.length());
+    }
+
+    private ClientResponse chunked(String body, int chunkSize) {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        Flux<DataBuffer> chunks = Flux.range(0, (bytes.length + chunkSize - 1) / chunkSize)
+                .map(i -> DefaultDataBufferFactory.sharedInstance.wrap(ByteBuffer.wrap(bytes, i * chunkSize,
+                        Math.min(chunkSize, bytes.length - i * chunkSize))));
+        return ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, "application/json")
+                .body(chunks)
+                .build();
+    }
+}
@@ -0,0 +1,173 @@
+package ec.edu.uce.pokedex.config;
+
+import ec.edu.uce.pokedex.models.*;
+import ec.edu.uce.pokedex.repository.PokemonRepository;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Comprueba la migración de las tablas por Pokémon a los catálogos sobre H2: las filas
+ * copiadas, el orden de los tipos, que la tabla antigua queda sin claves foráneas y que
+ * una migración interrumpida se completa sin duplicar filas.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // El DDL confirma la transacción en curso
+class CatalogMigrationTest {
+
+    private static final String API = "https://pokeapi.co/api/v2/";
+
+    /**
+     * Solo la capa JPA, que crea las tablas nuevas.
+     */
+    @Configuration
+    @EntityScan(basePackageClasses = Pokemon.class)
+    @EnableJpaRepositories(basePackageClasses = PokemonRepository.class)
+    static class JpaSlice {
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PokemonRepository pokemonRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO pokemon (id, name) VALUES (1, 'bulbasaur'), (4, 'charmander')");
+        jdbcTemplate.execute("CREATE TABLE move (id BIGINT PRIMARY KEY, name VARCHAR(255), url VARCHAR(255), "
+                + "pokemon_id INT, CONSTRAINT fk_move_pokemon FOREIGN KEY (pokemon_id) REFERENCES pokemon (id))");
+        jdbcTemplate.execute("CREATE TABLE type (id BIGINT PRIMARY KEY, slot INT NOT NULL, name VARCHAR(255), "
+                + "url VARCHAR(255), pokemon_id INT, "
+                + "CONSTRAINT fk_type_pokemon FOREIGN KEY (pokemon_id) REFERENCES pokemon (id))");
+        jdbcTemplate.execute("CREATE TABLE ability (id BIGINT PRIMARY KEY, name VARCHAR(255), url VARCHAR(255), "
+                + "is_hidden BOOLEAN NOT NULL, slot INT NOT NULL, pokemon_id INT, "
+                + "CONSTRAINT fk_ability_pokemon FOREIGN KEY (pokemon_id) REFERENCES pokemon (id))");
+
+        jdbcTemplate.update("INSERT INTO move (id, name, url, pokemon_id) VALUES "
+                + "(1, 'tackle', '" + API + "move/33/', 1), (2, 'vine-whip', '" + API + "move/22/', 1), "
+                + "(3, 'tackle', '" + API + "move/33/', 4), (4, 'orphan', NULL, 4)");
+        // Los slots de la API, desordenados y con hueco
+        jdbcTemplate.update("INSERT INTO type (id, slot, name, url, pokemon_id) VALUES "
+                + "(1, 2, 'poison', '" + API + "type/4/', 1), (2, 1, 'grass', '" + API + "type/12/', 1), "
+                + "(3, 3, 'fire', '" + API + "type/10/', 4)");
+        jdbcTemplate.update("INSERT INTO ability (id, name, url, is_hidden, slot, pokemon_id) VALUES "
+                + "(10, 'overgrow', '" + API + "ability/65/', FALSE, 1, 1), "
+                + "(11, 'chlorophyll', '" + API + "ability/34/', TRUE, 3, 1), "
+                + "(12, 'blaze', '" + API + "ability/66/', FALSE, 1, 4)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (String table : List.of("pokemon_learnset", "pokemon_type_membership", "pokemon_ability",
+                "move_catalog", "type_catalog", "ability_catalog")) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+        for (String table : List.of("move", "type", "ability")) {
+            jdbcTemplate.execute("DROP TABLE IF EXISTS " + table);
+            jdbcTemplate.execute("DROP TABLE IF EXISTS " + table + "_legacy");
+        }
+        jdbcTemplate.update("DELETE FROM pokemon");
+    }
+
+    @Test
+    void copiesLegacyRowsIntoCatalogsAndMemberships() {
+        new CatalogMigration(jdbcTemplate).afterPropertiesSet();
+
+        assertEquals(List.of(22, 33), ids("SELECT id FROM move_catalog ORDER BY id"));
+        assertEquals(List.of(4, 10, 12), ids("SELECT id FROM type_catalog ORDER BY id"));
+        assertEquals(List.of(34, 65, 66), ids("SELECT id FROM ability_catalog ORDER BY id"));
+        assertEquals(3, count("pokemon_learnset"));
+        assertEquals(List.of(10, 11, 12), ids("SELECT id FROM pokemon_ability ORDER BY id"));
+        assertEquals(Boolean.TRUE, jdbcTemplate.queryForObject(
+                "SELECT is_hidden FROM pokemon_ability WHERE id = 11", Boolean.class));
+    }
+
+    @Test
+    void typesKeepTheirApiOrderWithoutGaps() {
+        new CatalogMigration(jdbcTemplate).afterPropertiesSet();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Pokemon bulbasaur = pokemonRepository.findById(1).orElseThrow();
+            Pokemon charmander = pokemonRepository.findById(4).orElseThrow();
+            Hibernate.initialize(bulbasaur.getTypes());
+            Hibernate.initialize(charmander.getTypes());
+
+            assertEquals(List.of("grass", "poison"), bulbasaur.getTypes().stream().map(Type::getName).toList());
+            assertEquals(List.of("fire"), charmander.getTypes().stream().map(Type::getName).toList());
+        });
+    }
+
+    @Test
+    void legacyTablesAreRenamedWithoutForeignKeys() {
+        new CatalogMigration(jdbcTemplate).afterPropertiesSet();
+
+        for (String table : List.of("MOVE", "TYPE", "ABILITY")) {
+            assertFalse(tableExists(table), table);
+            assertTrue(tableExists(table + "_LEGACY"), table + "_LEGACY");
+            assertEquals(0, importedKeys(table + "_LEGACY"), table + "_LEGACY still references pokemon");
+        }
+    }
+
+    @Test
+    void interruptedMigrationCompletesWithoutDuplicates() {
+        // Un arranque anterior llegó a copiar parte del catálogo y de los movimientos
+        jdbcTemplate.update("INSERT INTO move_catalog (id, name, url) VALUES (33, 'tackle', '" + API + "move/33/')");
+        jdbcTemplate.update("INSERT INTO pokemon_learnset (pokemon_id, move_id) VALUES (1, 33)");
+
+        new CatalogMigration(jdbcTemplate).afterPropertiesSet();
+        new CatalogMigration(jdbcTemplate).afterPropertiesSet(); // Sin tablas antiguas no hace nada
+
+        assertEquals(List.of(22, 33), ids("SELECT id FROM move_catalog ORDER BY id"));
+        assertEquals(3, count("pokemon_learnset"));
+        assertEquals(3, count("pokemon_type_membership"));
+    }
+
+    private List<Integer> ids(String sql) {
+        return jdbcTemplate.queryForList(sql, Integer.class);
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+
+    private boolean tableExists(String table) {
+        return jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            try (ResultSet tables = connection.getMetaData().getTables(null, null, table, null)) {
+                return tables.next();
+            }
+        });
+    }
+
+    private int importedKeys(String table) {
+        return jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            int keys = 0;
+            try (ResultSet imported = connection.getMetaData().getImportedKeys(null, null, table)) {
+                while (imported.next()) {
+                    keys++;
+                }
+            }
+            return keys;
+        });
+    }
+}
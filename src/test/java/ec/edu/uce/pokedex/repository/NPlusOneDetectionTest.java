@@ -0,0 +1,157 @@
+package ec.edu.uce.pokedex.repository;
+
+import ec.edu.uce.pokedex.config.QueryStatisticsConfig;
+import ec.edu.uce.pokedex.dto.PokemonCardRow;
+import ec.edu.uce.pokedex.dto.QueryOperationSummary;
+import ec.edu.uce.pokedex.models.*;
+import ec.edu.uce.pokedex.service.QueryStatisticsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Comprueba que las sentencias de cada operación no crecen con el tamaño de su
+ * resultado, contando con el {@code StatementInspector} de {@link QueryStatisticsService},
+ * y que el detector marca una operación que sí lanza una consulta por elemento.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class NPlusOneDetectionTest {
+
+    private static final int POKEMON = 12;
+    private static final int FIRE_POKEMON = 3;
+
+    /**
+     * Solo la capa JPA y el contador de sentencias.
+     */
+    @Configuration
+    @EntityScan(basePackageClasses = Pokemon.class)
+    @EnableJpaRepositories(basePackageClasses = PokemonRepository.class)
+    @Import({QueryStatisticsService.class, QueryStatisticsConfig.class})
+    static class JpaSlice {
+    }
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private QueryStatisticsService queryStatistics;
+
+    @Autowired
+    private PokemonRepository pokemonRepository;
+
+    @Autowired
+    private TypeRepository typeRepository;
+
+    @Autowired
+    private StatRepository statRepository;
+
+    @BeforeEach
+    void setUp() {
+        Type grass = testEntityManager.persist(new Type("grass", "https://pokeapi.co/api/v2/type/12/"));
+        Type fire = testEntityManager.persist(new Type("fire", "https://pokeapi.co/api/v2/type/10/"));
+        Move tackle = testEntityManager.persist(new Move("tackle", "https://pokeapi.co/api/v2/move/33/"));
+
+        for (int id = 1; id <= POKEMON; id++) {
+            Pokemon pokemon = new Pokemon();
+            pokemon.setId(id);
+            pokemon.setName("pokemon-" + id);
+            pokemon.setStats(new ArrayList<>(List.of(new Stat(45, 0, "hp"), new Stat(49, 0, "attack"))));
+            pokemon.setTypes(new ArrayList<>(id <= FIRE_POKEMON ? List.of(grass, fire) : List.of(grass)));
+            pokemon.setMoves(new ArrayList<>(List.of(tackle)));
+            Sprites sprites = new Sprites();
+            sprites.setFrontDefault("https://example.org/" + id + ".png");
+            pokemon.setSprites(sprites);
+            testEntityManager.persist(pokemon);
+        }
+        testEntityManager.flush();
+        testEntityManager.clear();
+        queryStatistics.clear();
+    }
+
+    @Test
+    void typeLookupStatementsDoNotGrowWithMembers() {
+        List<Pokemon> grass = tracked(QueryStatisticsService.TYPE_LOOKUP, () -> typeRepository.findPokemonsByTypeName("grass"));
+        List<Pokemon> fire = tracked(QueryStatisticsService.TYPE_LOOKUP, () -> typeRepository.findPokemonsByTypeName("fire"));
+        grass.forEach(pokemon -> assertNotNull(pokemon.getSprites().getFrontDefault()));
+
+        assertEquals(POKEMON, grass.size());
+        assertEquals(FIRE_POKEMON, fire.size());
+        QueryOperationSummary summary = assertNoNPlusOne(QueryStatisticsService.TYPE_LOOKUP);
+        assertEquals(2, summary.calls());
+        assertEquals(1, summary.maxStatements());
+    }
+
+    @Test
+    void pageStatementsDoNotGrowWithPageSize() {
+        for (int size : new int[]{3, POKEMON}) {
+            tracked(QueryStatisticsService.PAGE, () -> {
+                List<PokemonCardRow> rows = pokemonRepository.findCardRowsAfter(0, PageRequest.ofSize(size));
+                pokemonRepository.findCardLabels(rows.stream().map(PokemonCardRow::id).toList());
+                return rows;
+            });
+        }
+
+        QueryOperationSummary summary = assertNoNPlusOne(QueryStatisticsService.PAGE);
+        assertEquals(2, summary.maxStatements());
+    }
+
+    @Test
+    void detectorFlagsOneQueryPerMember() {
+        for (String type : List.of("grass", "fire")) {
+            tracked("stats-per-member", () -> {
+                List<Pokemon> members = typeRepository.findPokemonsByTypeName(type);
+                members.forEach(pokemon -> statRepository.findByPokemonName(pokemon.getName()));
+                return members;
+            });
+        }
+
+        QueryOperationSummary summary = queryStatistics.getSummary("stats-per-member").orElseThrow();
+        assertTrue(summary.nPlusOneSuspected());
+        assertEquals(1.0, summary.selectsPerRow(), 0.01);
+        assertEquals(POKEMON + 1, summary.maxStatements());
+        assertTrue(summary.mostRepeatedStatement().toLowerCase().contains("stat"));
+    }
+
+    @Test
+    void operationsWithoutStatementsAreNotRecorded() {
+        try (QueryStatisticsService.Operation operation = queryStatistics.begin(QueryStatisticsService.SEARCH)) {
+            operation.complete(1); // Como una búsqueda servida desde la caché
+        }
+
+        assertTrue(queryStatistics.getSummary(QueryStatisticsService.SEARCH).isEmpty());
+    }
+
+    /**
+     * Ejecuta una consulta como una operación, igual que {@code QueryStatisticsAspect}.
+     */
+    private <T> List<T> tracked(String operation, Supplier<List<T>> query) {
+        try (QueryStatisticsService.Operation tracked = queryStatistics.begin(operation)) {
+            List<T> result = query.get();
+            tracked.complete(result.size());
+            return result;
+        }
+    }
+
+    /**
+     * Falla si los SELECT de la operación crecen con el tamaño de su resultado.
+     */
+    private QueryOperationSummary assertNoNPlusOne(String operation) {
+        QueryOperationSummary summary = queryStatistics.getSummary(operation).orElseThrow();
+        assertFalse(summary.nPlusOneSuspected(), () -> "N+1 in '" + operation + "': " + summary.selectsPerRow()
+                + " SELECTs per row; most repeated: " + summary.mostRepeatedStatement());
+        return summary;
+    }
+}
@@ -0,0 +1,141 @@
+package ec.edu.uce.pokedex.repository;
+
+import ec.edu.uce.pokedex.dto.PokemonCardLabel;
+import ec.edu.uce.pokedex.dto.PokemonCardRow;
+import ec.edu.uce.pokedex.models.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Comprueba que cada vista carga solo lo que dibuja y en un número fijo de consultas,
+ * sin importar cuántos Pokémon ni cuántos movimientos haya.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class PokemonFetchPlanTest {
+
+    private static final int POKEMON = 12;
+    private static final int MOVES_PER_POKEMON = 40;
+
+    /**
+     * Solo la capa JPA: la clase principal necesita el controlador de Swing.
+     */
+    @Configuration
+    @EntityScan(basePackageClasses = Pokemon.class)
+    @EnableJpaRepositories(basePackageClasses = PokemonRepository.class)
+    static class JpaSlice {
+    }
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PokemonRepository pokemonRepository;
+
+    @Autowired
+    private TypeRepository typeRepository;
+
+    @Autowired
+    private StatRepository statRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        Type grass = testEntityManager.persist(new Type("grass", "https://pokeapi.co/api/v2/type/12/"));
+        Type poison = testEntityManager.persist(new Type("poison", "https://pokeapi.co/api/v2/type/4/"));
+        Ability overgrow = testEntityManager.persist(new Ability("overgrow", "https://pokeapi.co/api/v2/ability/65/"));
+        List<Move> moves = IntStream.rangeClosed(1, MOVES_PER_POKEMON)
+                .mapToObj(i -> testEntityManager.persist(new Move("move-" + i, "https://pokeapi.co/api/v2/move/" + i + "/")))
+                .toList();
+
+        for (int id = 1; id <= POKEMON; id++) {
+            Pokemon pokemon = new Pokemon();
+            pokemon.setId(id);
+            pokemon.setName("pokemon-" + id);
+            pokemon.setAbilities(new ArrayList<>(List.of(new PokemonAbility(overgrow, false, 1))));
+            pokemon.setStats(new ArrayList<>(List.of(new Stat(45, 0, "hp"), new Stat(49, 0, "attack"))));
+            pokemon.setTypes(new ArrayList<>(List.of(grass, poison)));
+            pokemon.setMoves(new ArrayList<>(moves));
+            Sprites sprites = new Sprites();
+            sprites.setFrontDefault("https://example.org/" + id + ".png");
+            pokemon.setSprites(sprites);
+            testEntityManager.persist(pokemon);
+        }
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void homeCardReadsProjectionInTwoQueries() {
+        List<PokemonCardRow> rows = pokemonRepository.findCardRowsAfter(0, PageRequest.ofSize(5));
+        List<PokemonCardLabel> labels = pokemonRepository.findCardLabels(rows.stream().map(PokemonCardRow::id).toList());
+
+        assertEquals(List.of(1, 2, 3, 4, 5), rows.stream().map(PokemonCardRow::id).toList());
+        rows.forEach(row -> assertEquals("https://example.org/" + row.id() + ".png", row.spriteUrl()));
+        assertEquals(List.of("grass", "poison"), labels.stream()
+                .filter(label -> label.pokemonId() == 1).map(PokemonCardLabel::typeName).toList());
+        assertTrue(labels.stream().allMatch(label -> "overgrow".equals(label.abilityName())));
+        assertEquals(0, statistics.getEntityLoadCount()); // Proyección: no se cargan entidades
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void searchDetailLoadsAbilitiesAndMovesInTwoQueries() {
+        Pokemon pokemon = pokemonRepository.findByNameIgnoreCase("POKEMON-3");
+        Hibernate.initialize(pokemon.getMoves());
+
+        assertNotNull(pokemon.getSprites().getFrontDefault());
+        assertEquals("overgrow", pokemon.getAbilities().get(0).getName());
+        assertEquals(MOVES_PER_POKEMON, pokemon.getMoves().size());
+        assertFalse(Hibernate.isInitialized(pokemon.getTypes()));
+        assertFalse(Hibernate.isInitialized(pokemon.getStats()));
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void typeListLoadsSpritesInOneQuery() {
+        List<Pokemon> members = typeRepository.findPokemonsByTypeName("GRASS");
+
+        assertEquals(POKEMON, members.size());
+        members.forEach(pokemon -> {
+            assertNotNull(pokemon.getSprites().getFrontDefault());
+            assertFalse(Hibernate.isInitialized(pokemon.getMoves()));
+        });
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void statTableLoadsOnlyStatsInOneQuery() {
+        List<Stat> stats = statRepository.findByPokemonName("pokemon-7");
+
+        assertEquals(List.of("hp", "attack"), stats.stream().map(Stat::getName).toList());
+        stats.forEach(stat -> assertFalse(Hibernate.isInitialized(stat.getPokemon())));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,55 @@
+package ec.edu.uce.pokedex.service;
+
+import ec.edu.uce.pokedex.dto.EdtStall;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.SwingUtilities;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Comprueba que el vigilante registra un bloqueo del hilo de Swing con la pila del
+ * código que lo bloquea, también cuando ocurre nada más arrancar.
+ */
+class EdtWatchdogTest {
+
+    private final EdtWatchdog watchdog = new EdtWatchdog(true, Duration.ofMillis(50), Duration.ofMillis(10), 10);
+
+    @AfterEach
+    void tearDown() {
+        watchdog.stop();
+    }
+
+    @Test
+    void firstStallCarriesTheBlockingStack() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        watchdog.start();
+        SwingUtilities.invokeLater(() -> blockEdt(release));
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (watchdog.getTotalStalls() == 0 && System.nanoTime() < deadline) {
+            if (release.getCount() > 0) {
+                Thread.sleep(300); // Más que el umbral: la sonda ya espera tras el bloqueo
+                release.countDown();
+            }
+            Thread.sleep(10);
+        }
+
+        assertEquals(1, watchdog.getTotalStalls());
+        EdtStall stall = watchdog.getStalls().getFirst();
+        assertTrue(stall.duration().compareTo(Duration.ofMillis(50)) > 0);
+        assertTrue(stall.stack().stream().anyMatch(frame -> frame.getMethodName().equals("blockEdt")),
+                "the stack points at the blocking code: " + stall.stack());
+    }
+
+    private static void blockEdt(CountDownLatch release) {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
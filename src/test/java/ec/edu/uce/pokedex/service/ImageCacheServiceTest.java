@@ -0,0 +1,157 @@
+package ec.edu.uce.pokedex.service;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Comprueba la caché de imágenes contra un servidor HTTP local: el almacén en disco
+ * por SHA-256, que una caché caliente no hace ninguna petición y que la memoria
+ * desaloja por los bytes de los píxeles.
+ */
+class ImageCacheServiceTest {
+
+    private static final int SPRITE_SIZE = 16;
+
+    @TempDir
+    Path directory;
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private HttpServer server;
+    private byte[] bulbasaurPng;
+    private byte[] charmanderPng;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        bulbasaurPng = png(0xFF00AA00);
+        charmanderPng = png(0xFFDD4400);
+        Map<String, byte[]> files = Map.of(
+                "/1.png", bulbasaurPng,
+                "/official/1.png", bulbasaurPng, // El mismo sprite publicado en otra URL
+                "/4.png", charmanderPng);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            requests.incrementAndGet();
+            byte[] body = files.get(exchange.getRequestURI().getPath());
+            if (body == null) {
+                exchange.sendResponseHeaders(404, -1);
+            } else {
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void blobsAreNamedByContentAndUrlsPointToThem() throws Exception {
+        ImageCacheService cache = cache(DataSize.ofMegabytes(1));
+
+        cache.getImage(url("/1.png"));
+        cache.getImage(url("/official/1.png"));
+        cache.getImage(url("/4.png"));
+
+        assertEquals(List.of(sha256(bulbasaurPng), sha256(charmanderPng)).stream().sorted().toList(),
+                fileNames(directory.resolve("blobs")));
+        assertArrayEquals(bulbasaurPng, Files.readAllBytes(directory.resolve("blobs").resolve(sha256(bulbasaurPng))));
+        for (String path : List.of("/1.png", "/official/1.png")) {
+            Path pointer = directory.resolve("urls").resolve(sha256(url(path).getBytes(StandardCharsets.UTF_8)));
+            assertEquals(sha256(bulbasaurPng), Files.readString(pointer), path);
+        }
+        assertEquals(3, fileNames(directory.resolve("urls")).size());
+    }
+
+    @Test
+    void warmDiskCacheMakesNoHttpCalls() throws Exception {
+        ImageCacheService cold = cache(DataSize.ofMegabytes(1));
+        cold.getImage(url("/1.png"));
+        cold.getImage(url("/4.png"));
+        assertEquals(2, requests.get());
+
+        ImageCacheService warm = cache(DataSize.ofMegabytes(1)); // Como tras reiniciar la aplicación
+        BufferedImage bulbasaur = warm.getImage(url("/1.png"));
+        warm.getScaledImage(url("/4.png"), 8, 8);
+        warm.getImage(url("/1.png"));
+
+        assertEquals(2, requests.get());
+        assertEquals(0, warm.networkFetches());
+        assertEquals(2, warm.diskHits());
+        assertEquals(1, warm.memoryHits());
+        assertEquals(0xFF00AA00, bulbasaur.getRGB(0, 0));
+    }
+
+    @Test
+    void memoryEvictsByPixelBytes() throws Exception {
+        ImageCacheService cache = cache(DataSize.ofBytes(SPRITE_SIZE * SPRITE_SIZE * 4)); // Cabe un sprite
+
+        cache.getImage(url("/1.png"));
+        cache.getImage(url("/1.png"));
+        assertEquals(1, cache.memoryHits());
+
+        cache.getImage(url("/4.png")); // Desaloja a bulbasaur
+        cache.getImage(url("/1.png"));
+
+        assertEquals(1, cache.memoryHits());
+        assertEquals(1, cache.diskHits(), "bulbasaur came back from disk, not memory");
+        assertEquals(2, requests.get());
+    }
+
+    private ImageCacheService cache(DataSize memorySize) throws IOException {
+        return new ImageCacheService(directory, memorySize, DataSize.ofMegabytes(1));
+    }
+
+    private String url(String path) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+
+    private static List<String> fileNames(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString()).sorted().toList();
+        }
+    }
+
+    private static byte[] png(int argb) throws IOException {
+        BufferedImage image = new BufferedImage(SPRITE_SIZE, SPRITE_SIZE, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < SPRITE_SIZE; y++) {
+            for (int x = 0; x < SPRITE_SIZE; x++) {
+                image.setRGB(x, y, argb);
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+
+    private static String sha256(byte[] bytes) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+    }
+}
@@ -0,0 +1,142 @@
+package ec.edu.uce.pokedex.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Comprueba la cola de imágenes: el límite de cargas simultáneas por host, que la
+ * vista visible pasa delante y que cancelar una carga la saca de la cola o
+ * interrumpe su hilo y libera el hueco.
+ */
+class ImageLoadSchedulerTest {
+
+    private static final String BULBASAUR = "https://raw.githubusercontent.com/sprites/1.png";
+    private static final String CHARMANDER = "https://raw.githubusercontent.com/sprites/4.png";
+    private static final String ARTWORK = "https://img.pokemondb.net/artwork/pikachu.jpg";
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void loadsPerHostAreCapped() throws Exception {
+        ImageLoadScheduler scheduler = new ImageLoadScheduler(executor, 2);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        CountDownLatch slotsTaken = new CountDownLatch(2);
+        CountDownLatch otherHostStarted = new CountDownLatch(1);
+
+        List<CompletableFuture<String>> sprites = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            sprites.add(scheduler.submit("HomeView", BULBASAUR, () -> {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                slotsTaken.countDown();
+                try {
+                    release.await();
+                    return "sprite";
+                } finally {
+                    running.decrementAndGet();
+                }
+            }));
+        }
+        CompletableFuture<String> artwork = scheduler.submit("HomeView", ARTWORK, () -> {
+            otherHostStarted.countDown();
+            return "artwork";
+        });
+
+        assertTrue(slotsTaken.await(5, TimeUnit.SECONDS));
+        assertTrue(otherHostStarted.await(5, TimeUnit.SECONDS), "another host is not blocked by a busy one");
+        assertEquals("artwork", artwork.get(5, TimeUnit.SECONDS));
+        assertEquals(3, scheduler.queuedCount());
+
+        release.countDown();
+        for (CompletableFuture<String> sprite : sprites) {
+            assertEquals("sprite", sprite.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(2, peak.get());
+    }
+
+    @Test
+    void visibleViewLoadsFirstInRequestOrder() throws Exception {
+        ImageLoadScheduler scheduler = new ImageLoadScheduler(executor, 1);
+        List<String> started = Collections.synchronizedList(new ArrayList<>());
+        CompletableFuture<String> blocker = scheduler.submit("HomeView", BULBASAUR, () -> {
+            release.await();
+            return "blocker";
+        });
+
+        List<CompletableFuture<String>> loads = new ArrayList<>();
+        for (String name : List.of("home-1", "type-1", "home-2", "type-2")) {
+            String view = name.startsWith("home") ? "HomeView" : "TypeView";
+            loads.add(scheduler.submit(view, CHARMANDER, () -> {
+                started.add(name);
+                return name;
+            }));
+        }
+        scheduler.setActiveView("TypeView");
+        release.countDown();
+
+        blocker.get(5, TimeUnit.SECONDS);
+        CompletableFuture.allOf(loads.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+        assertEquals(List.of("type-1", "type-2", "home-1", "home-2"), started);
+    }
+
+    @Test
+    void cancelledQueuedLoadNeverRuns() throws Exception {
+        ImageLoadScheduler scheduler = new ImageLoadScheduler(executor, 1);
+        AtomicInteger offScreenRuns = new AtomicInteger();
+        CompletableFuture<String> visible = scheduler.submit("HomeView", BULBASAUR, () -> {
+            release.await();
+            return "visible";
+        });
+        CompletableFuture<String> offScreen = scheduler.submit("HomeView", BULBASAUR, () -> {
+            offScreenRuns.incrementAndGet();
+            return "off-screen";
+        });
+        assertEquals(1, scheduler.queuedCount());
+
+        offScreen.cancel(true); // La tarjeta salió de la vista
+
+        assertEquals(0, scheduler.queuedCount());
+        release.countDown();
+        assertEquals("visible", visible.get(5, TimeUnit.SECONDS));
+        assertEquals(0, offScreenRuns.get());
+    }
+
+    @Test
+    void cancellingARunningLoadInterruptsItAndFreesTheSlot() throws Exception {
+        ImageLoadScheduler scheduler = new ImageLoadScheduler(executor, 1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        CompletableFuture<String> offScreen = scheduler.submit("HomeView", BULBASAUR, () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return "off-screen";
+        });
+        CompletableFuture<String> next = scheduler.submit("HomeView", BULBASAUR, () -> "next");
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        offScreen.cancel(true);
+
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS), "the download thread is interrupted");
+        assertEquals("next", next.get(5, TimeUnit.SECONDS));
+    }
+}
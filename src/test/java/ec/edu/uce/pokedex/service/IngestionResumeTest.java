@@ -0,0 +1,175 @@
+package ec.edu.uce.pokedex.service;
+
+import ec.edu.uce.pokedex.dto.IngestionProgress;
+import ec.edu.uce.pokedex.dto.PokemonRef;
+import ec.edu.uce.pokedex.models.*;
+import ec.edu.uce.pokedex.repository.PokemonRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+/**
+ * Comprueba sobre H2 que una carga interrumpida se reanuda desde sus checkpoints: solo
+ * se vuelven a pedir los Pokémon que faltan, y un Pokémon y su checkpoint se confirman
+ * o se pierden juntos.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "pokedex.ingestion.batch-size=2",
+        "pokedex.ingestion.total=6"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // El escritor confirma sus lotes en su propio hilo
+class IngestionResumeTest {
+
+    private static final String API = "https://pokeapi.co/api/v2/";
+    private static final int TOTAL = 6;
+
+    /**
+     * La capa JPA, el escritor y el servicio de carga, con la API externa simulada.
+     */
+    @Configuration
+    @EntityScan(basePackageClasses = Pokemon.class)
+    @EnableJpaRepositories(basePackageClasses = PokemonRepository.class)
+    @Import({PokeService.class, PokemonBatchWriter.class, QueryStatisticsService.class})
+    static class IngestionSlice {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        CacheManager cacheManager() {
+            return new NoOpCacheManager();
+        }
+
+        @Bean
+        ExternalApiService externalApiService() {
+            return Mockito.mock(ExternalApiService.class);
+        }
+    }
+
+    @Autowired
+    private PokeService pokeService;
+
+    @Autowired
+    private ExternalApiService externalApiService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Ids que la carga pidió a la API, en el orden en que los pidió.
+     */
+    private final List<Integer> fetched = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Mockito.reset(externalApiService);
+        when(externalApiService.getPokemonIndex(anyInt(), anyInt())).thenReturn(Flux.range(1, TOTAL)
+                .map(id -> new PokemonRef(id, "pokemon-" + id)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        List<String> tables = jdbcTemplate.queryForList("SELECT table_name FROM information_schema.tables "
+                + "WHERE table_schema = 'PUBLIC' AND table_type = 'BASE TABLE'", String.class);
+        jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY FALSE");
+        tables.forEach(table -> jdbcTemplate.execute("TRUNCATE TABLE " + table));
+        jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY TRUE");
+    }
+
+    @Test
+    void resumingFetchesOnlyThePokemonWithoutCheckpoint() {
+        // El lote [3, 4] no se puede guardar: la carga se detiene después de confirmar [1, 2]
+        serveFromApi(Set.of(4));
+        assertThrows(RuntimeException.class, () -> pokeService.loadAllPokemonsFromApiAndSave(progress -> { }));
+
+        assertEquals(List.of(1, 2), ids("pokemon"));
+        assertEquals(List.of(1, 2), ids("ingestion_checkpoint"),
+                "the checkpoints of the failed batch are rolled back with its Pokémon");
+        assertEquals(new IngestionProgress(2, TOTAL), pokeService.getIngestionProgress());
+
+        fetched.clear();
+        serveFromApi(Set.of());
+        List<IngestionProgress> progress = new ArrayList<>();
+        IngestionProgress last = pokeService.loadAllPokemonsFromApiAndSave(progress::add);
+
+        assertEquals(List.of(3, 4, 5, 6), fetched.stream().sorted().toList());
+        assertEquals(new IngestionProgress(2, TOTAL), progress.get(0), "resumes from the committed checkpoints");
+        assertEquals(new IngestionProgress(TOTAL, TOTAL), last);
+        assertEquals(List.of(1, 2, 3, 4, 5, 6), ids("pokemon"));
+        assertEquals(ids("pokemon"), ids("ingestion_checkpoint"));
+    }
+
+    @Test
+    void aCompletedLoadFetchesNothingAgain() {
+        serveFromApi(Set.of());
+        pokeService.loadAllPokemonsFromApiAndSave(progress -> { });
+        fetched.clear();
+
+        IngestionProgress last = pokeService.loadAllPokemonsFromApiAndSave(progress -> { });
+
+        assertTrue(fetched.isEmpty());
+        assertEquals(new IngestionProgress(TOTAL, TOTAL), last);
+    }
+
+    /**
+     * Simula la API: decodifica cada referencia pedida y anota su id. Los Pokémon de
+     * {@code broken} llevan una estadística que la base de datos rechaza, así que su
+     * lote entero falla al confirmarse.
+     */
+    private void serveFromApi(Set<Integer> broken) {
+        doAnswer(invocation -> {
+            Flux<PokemonRef> refs = invocation.getArgument(0);
+            return refs.map(ref -> {
+                fetched.add(ref.id());
+                return pokemon(ref.id(), broken.contains(ref.id()));
+            });
+        }).when(externalApiService).getAllPokemonFromApi(any(), anyInt());
+    }
+
+    private List<Integer> ids(String table) {
+        String column = table.equals("pokemon") ? "id" : "pokemon_id";
+        return jdbcTemplate.queryForList("SELECT " + column + " FROM " + table + " ORDER BY " + column, Integer.class);
+    }
+
+    private Pokemon pokemon(int id, boolean broken) {
+        Pokemon pokemon = new Pokemon();
+        pokemon.setId(id);
+        pokemon.setName("pokemon-" + id);
+        String statName = broken ? "x".repeat(300) : "hp"; // Más largo que la columna
+        pokemon.setStats(new ArrayList<>(List.of(new Stat(45, 0, statName))));
+        pokemon.setTypes(new ArrayList<>(List.of(new Type("grass", API + "type/12/"))));
+        pokemon.setMoves(new ArrayList<>(List.of(new Move("tackle", API + "move/33/"))));
+        pokemon.setAbilities(new ArrayList<>(List.of(new PokemonAbility(new Ability("overgrow", API + "ability/65/"), false, 1))));
+        return pokemon;
+    }
+}
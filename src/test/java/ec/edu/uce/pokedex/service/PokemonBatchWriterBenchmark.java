@@ -0,0 +1,183 @@
+package ec.edu.uce.pokedex.service;
+
+import ec.edu.uce.pokedex.models.*;
+import ec.edu.uce.pokedex.repository.PokemonRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Compara el guardado anterior, un {@code pokemonRepository.save} por Pokémon en su
+ * propia transacción, con la etapa de escritura por lotes de {@link PokemonBatchWriter}.
+ * <p>
+ * Cada operación escribe 200 Pokémon con 2 habilidades, 6 estadísticas, 2 tipos y 80
+ * movimientos, es decir 18 400 filas contando el Pokémon y su sprite, sobre H2 en
+ * memoria con los ajustes de JDBC por lotes de {@code application.properties}. Antes de
+ * cada operación se vacían todas las tablas, así que ambos caminos insertan también los
+ * catálogos. Los dos resuelven los catálogos con
+ * {@link PokemonBatchWriter#resolveCatalogs(List)}; el camino por Pokémon no registra
+ * checkpoints, como antes. Se ejecuta con {@code main}.
+ * <p>
+ * Resultado de referencia (JDK 21, un núcleo, H2 2.3 en memoria):
+ * <pre>
+ * Benchmark       Score (ms/op)   Filas/s
+ * perGraphSave     344 ± 136      53 500
+ * batchedWriter    233 ± 146      79 000
+ * </pre>
+ * H2 en memoria no paga un viaje de red por sentencia, así que contra MySQL la
+ * diferencia es mayor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class PokemonBatchWriterBenchmark {
+
+    private static final int GRAPHS = 200;
+    private static final int MOVES_PER_POKEMON = 80;
+
+    /**
+     * Solo la capa JPA y el escritor, sobre H2 y sin cachés.
+     */
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackageClasses = Pokemon.class)
+    @EnableJpaRepositories(basePackageClasses = PokemonRepository.class)
+    @Import({PokemonBatchWriter.class, QueryStatisticsService.class})
+    static class WriterSlice {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        CacheManager cacheManager() {
+            return new NoOpCacheManager();
+        }
+    }
+
+    private ConfigurableApplicationContext context;
+    private PokemonBatchWriter pokemonBatchWriter;
+    private PokemonRepository pokemonRepository;
+    private TransactionTemplate transactionTemplate;
+    private JdbcTemplate jdbcTemplate;
+    private List<Pokemon> graphs;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = new SpringApplicationBuilder(WriterSlice.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jmx.enabled=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.springframework.beans.factory.support=ERROR"); // El cierre de H2 al terminar
+        pokemonBatchWriter = context.getBean(PokemonBatchWriter.class);
+        pokemonRepository = context.getBean(PokemonRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+
+    /**
+     * Parte de una base de datos vacía y de grafos recién decodificados.
+     */
+    @Setup(Level.Invocation)
+    public void emptyTables() {
+        List<String> tables = jdbcTemplate.queryForList("SELECT table_name FROM information_schema.tables "
+                + "WHERE table_schema = 'PUBLIC' AND table_type = 'BASE TABLE'", String.class);
+        jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY FALSE");
+        tables.forEach(table -> jdbcTemplate.execute("TRUNCATE TABLE " + table));
+        jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY TRUE");
+        graphs = IntStream.rangeClosed(1, GRAPHS).mapToObj(PokemonBatchWriterBenchmark::createGraph).toList();
+    }
+
+    /**
+     * Como {@code PokeService.savePokemonData} antes de la escritura por lotes: una
+     * transacción y un {@code save} por Pokémon, que al tener id asignado hace un
+     * {@code merge} con su SELECT previo.
+     */
+    @Benchmark
+    public int perGraphSave() {
+        for (Pokemon graph : graphs) {
+            transactionTemplate.executeWithoutResult(status -> {
+                pokemonBatchWriter.resolveCatalogs(List.of(graph));
+                pokemonRepository.save(graph);
+            });
+        }
+        return graphs.size();
+    }
+
+    @Benchmark
+    public int batchedWriter() {
+        return pokemonBatchWriter.write(Flux.fromIterable(graphs)).collectList().block().size();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PokemonBatchWriterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    private static Pokemon createGraph(int id) {
+        Pokemon pokemon = new Pokemon();
+        pokemon.setId(id);
+        pokemon.setName("bench-" + id);
+        pokemon.setBaseExperience(64);
+        pokemon.setHeight(7);
+        pokemon.setWeight(69);
+        pokemon.setOrderIndex(id);
+        pokemon.setAbilities(new ArrayList<>(List.of(
+                new PokemonAbility(new Ability("overgrow", "https://pokeapi.co/api/v2/ability/65/"), false, 1),
+                new PokemonAbility(new Ability("chlorophyll", "https://pokeapi.co/api/v2/ability/34/"), true, 3))));
+        pokemon.setStats(IntStream.range(0, 6)
+                .mapToObj(i -> new Stat(45 + i, 0, "stat-" + i))
+                .collect(Collectors.toList()));
+        pokemon.setTypes(new ArrayList<>(List.of(
+                new Type("grass", "https://pokeapi.co/api/v2/type/12/"),
+                new Type("poison", "https://pokeapi.co/api/v2/type/4/"))));
+        pokemon.setMoves(IntStream.range(0, MOVES_PER_POKEMON)
+                .mapToObj(i -> new Move("move-" + i, "https://pokeapi.co/api/v2/move/" + (i + 1) + "/"))
+                .collect(Collectors.toList()));
+        Sprites sprites = new Sprites();
+        sprites.setFrontDefault("https://raw.githubusercontent.com/PokeAPI/sprites/master/sprites/pokemon/1.png");
+        pokemon.setSprites(sprites);
+        return pokemon;
+    }
+}
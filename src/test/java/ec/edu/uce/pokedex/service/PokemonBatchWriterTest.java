@@ -0,0 +1,140 @@
+package ec.edu.uce.pokedex.service;
+
+import ec.edu.uce.pokedex.config.QueryStatisticsConfig;
+import ec.edu.uce.pokedex.models.*;
+import ec.edu.uce.pokedex.repository.PokemonRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Comprueba la escritura por lotes sobre H2: volver a escribir Pokémon ya guardados, como
+ * al reanudar o sincronizar, cuesta las mismas consultas para cualquier tamaño de lote.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // El escritor confirma sus lotes en su propio hilo
+class PokemonBatchWriterTest {
+
+    private static final String API = "https://pokeapi.co/api/v2/";
+
+    /**
+     * La capa JPA, el escritor y el contador de sentencias.
+     */
+    @Configuration
+    @EntityScan(basePackageClasses = Pokemon.class)
+    @EnableJpaRepositories(basePackageClasses = PokemonRepository.class)
+    @Import({PokemonBatchWriter.class, QueryStatisticsService.class, QueryStatisticsConfig.class})
+    static class WriterSlice {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        CacheManager cacheManager() {
+            return new NoOpCacheManager();
+        }
+    }
+
+    @Autowired
+    private PokemonBatchWriter pokemonBatchWriter;
+
+    @Autowired
+    private QueryStatisticsService queryStatistics;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        List<String> tables = jdbcTemplate.queryForList("SELECT table_name FROM information_schema.tables "
+                + "WHERE table_schema = 'PUBLIC' AND table_type = 'BASE TABLE'", String.class);
+        jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY FALSE");
+        tables.forEach(table -> jdbcTemplate.execute("TRUNCATE TABLE " + table));
+        jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY TRUE");
+    }
+
+    @Test
+    void mergingStoredPokemonTakesTheSameQueriesForAnyBatchSize() {
+        write(1, 12);
+        queryStatistics.clear();
+
+        Queries small = queriesOf(() -> write(1, 2));
+        Queries large = queriesOf(() -> write(1, 12));
+
+        assertEquals(small.executed(), large.executed());
+        for (Queries batch : List.of(small, large)) {
+            assertEquals(0, batch.entityFetches(), "merge loads no Pokémon one by one");
+            assertEquals(0, batch.collectionFetches(), "merge loads no collection one by one");
+        }
+        assertFalse(queryStatistics.getSummary(QueryStatisticsService.INGEST).orElseThrow().nPlusOneSuspected());
+        assertEquals(24, count("stat"), "merged stats replace the stored ones");
+        assertEquals(12, count("ingestion_checkpoint"));
+    }
+
+    /**
+     * Consultas JPQL y cargas sueltas de entidades y colecciones que hizo el lote.
+     */
+    private Queries queriesOf(Runnable batch) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        batch.run();
+        return new Queries(statistics.getQueryExecutionCount(), statistics.getEntityFetchCount(),
+                statistics.getCollectionFetchCount());
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+
+    private void write(int first, int count) {
+        pokemonBatchWriter.write(Flux.fromIterable(IntStream.range(first, first + count).mapToObj(this::pokemon).toList())).blockLast();
+    }
+
+    private record Queries(long executed, long entityFetches, long collectionFetches) {
+    }
+
+    private Pokemon pokemon(int id) {
+        Pokemon pokemon = new Pokemon();
+        pokemon.setId(id);
+        pokemon.setName("pokemon-" + id);
+        pokemon.setStats(new ArrayList<>(List.of(new Stat(45, 0, "hp"), new Stat(49, 0, "attack"))));
+        pokemon.setTypes(new ArrayList<>(List.of(new Type("grass", API + "type/12/"), new Type("poison", API + "type/4/"))));
+        pokemon.setMoves(new ArrayList<>(List.of(new Move("tackle", API + "move/33/"))));
+        pokemon.setAbilities(new ArrayList<>(List.of(new PokemonAbility(new Ability("overgrow", API + "ability/65/"), false, 1))));
+        Sprites sprites = new Sprites();
+        sprites.setFrontDefault("https://example.org/" + id + ".png");
+        pokemon.setSprites(sprites);
+        return pokemon;
+    }
+}
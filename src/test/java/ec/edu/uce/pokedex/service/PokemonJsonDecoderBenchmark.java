@@ -0,0 +1,220 @@
+package ec.edu.uce.pokedex.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ec.edu.uce.pokedex.models.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara el tiempo y la memoria asignada por payload del decodificador en
+ * streaming frente a la decodificación anterior a través de un {@code Map}.
+ * <p>
+ * El payload es sintético pero reproduce la forma de {@code /pokemon/{name}}:
+ * 80 movimientos con 20 {@code version_group_details} cada uno y sprites anidados
+ * en {@code other}/{@code versions}, unos 300 KB en total. Se ejecuta con
+ * {@code main}, que activa el perfilador de GC para obtener {@code gc.alloc.rate.norm}.
+ * <p>
+ * Resultado de referencia (JDK 21, un núcleo, G1):
+ * <pre>
+ * Benchmark     Score (us/op)   gc.alloc.rate.norm (B/op)
+ * mapThenCast   1744 ± 568      1 974 869
+ * streaming      729 ± 474         54 642
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PokemonJsonDecoderBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final PokemonJsonDecoder decoder = new PokemonJsonDecoder();
+    private byte[] payload;
+
+    @Setup
+    public void createPayload() throws IOException {
+        payload = PokemonPayloads.create(80, 20);
+    }
+
+    @Benchmark
+    public Pokemon streaming() throws IOException {
+        return decoder.decode(payload);
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public Pokemon mapThenCast() throws IOException {
+        return mapToPokemon(objectMapper.readValue(payload, Map.class));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PokemonJsonDecoderBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+
+    /**
+     * Mapeo a través de {@code Map} tal como lo hacía {@code ExternalApiService}
+     * antes de usar {@link PokemonJsonDecoder}.
+     */
+    @SuppressWarnings("unchecked")
+    private Pokemon mapToPokemon(Map<String, Object> data) {
+        Pokemon pokemon = new Pokemon();
+        pokemon.setId((int) data.get("id"));
+        pokemon.setName((String) data.get("name"));
+        pokemon.setBaseExperience((int) data.get("base_experience"));
+        pokemon.setHeight((int) data.get("height"));
+        pokemon.setWeight((int) data.get("weight"));
+        pokemon.setOrderIndex((int) data.get("order"));
+        pokemon.setAbilities(((List<Map<String, Object>>) data.get("abilities")).stream().map(a -> {
+            Map<String, Object> ability = (Map<String, Object>) a.get("ability");
+            return new PokemonAbility(new Ability((String) ability.get("name"), (String) ability.get("url")),
+                    (boolean) a.get("is_hidden"), (int) a.get("slot"));
+        }).toList());
+        pokemon.setStats(((List<Map<String, Object>>) data.get("stats")).stream().map(s -> new Stat(
+                (int) s.get("base_stat"), (int) s.get("effort"),
+                (String) ((Map<String, Object>) s.get("stat")).get("name"))).toList());
+        pokemon.setTypes(((List<Map<String, Object>>) data.get("types")).stream().map(t -> {
+            Map<String, Object> type = (Map<String, Object>) t.get("type");
+            return new Type((String) type.get("name"), (String) type.get("url"));
+        }).toList());
+        pokemon.setMoves(((List<Map<String, Object>>) data.get("moves")).stream().map(m -> {
+            Map<String, Object> move = (Map<String, Object>) m.get("move");
+            return new Move((String) move.get("name"), (String) move.get("url"));
+        }).toList());
+        Map<String, Object> spriteData = (Map<String, Object>) data.get("sprites");
+        Sprites sprites = new Sprites();
+        sprites.setFrontDefault((String) spriteData.get("front_default"));
+        sprites.setBackDefault((String) spriteData.get("back_default"));
+        sprites.setFrontShiny((String) spriteData.get("front_shiny"));
+        sprites.setBackShiny((String) spriteData.get("back_shiny"));
+        pokemon.setSprites(sprites);
+        return pokemon;
+    }
+
+    /**
+     * Generador de payloads con la forma de {@code /pokemon/{name}}.
+     */
+    static final class PokemonPayloads {
+
+        private static final String API = "https://pokeapi.co/api/v2/";
+        private static final String SPRITES = "https://raw.githubusercontent.com/PokeAPI/sprites/master/sprites/pokemon/";
+
+        private PokemonPayloads() {
+        }
+
+        static byte[] create(int moves, int detailsPerMove) throws IOException {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (JsonGenerator json = new JsonFactory().createGenerator(out)) {
+                json.writeStartObject();
+                json.writeNumberField("id", 1);
+                json.writeStringField("name", "bulbasaur");
+                json.writeNumberField("base_experience", 64);
+                json.writeNumberField("height", 7);
+                json.writeNumberField("weight", 69);
+                json.writeNumberField("order", 1);
+                json.writeBooleanField("is_default", true);
+                json.writeStringField("location_area_encounters", API + "pokemon/1/encounters");
+
+                json.writeArrayFieldStart("abilities");
+                for (int i = 1; i <= 2; i++) {
+                    json.writeStartObject();
+                    writeNamed(json, "ability", "ability-" + i, API + "ability/" + i + "/");
+                    json.writeBooleanField("is_hidden", i == 2);
+                    json.writeNumberField("slot", i);
+                    json.writeEndObject();
+                }
+                json.writeEndArray();
+
+                json.writeArrayFieldStart("game_indices");
+                for (int i = 0; i < 20; i++) {
+                    json.writeStartObject();
+                    json.writeNumberField("game_index", 153);
+                    writeNamed(json, "version", "version-" + i, API + "version/" + i + "/");
+                    json.writeEndObject();
+                }
+                json.writeEndArray();
+
+                json.writeArrayFieldStart("moves");
+                for (int m = 0; m < moves; m++) {
+                    json.writeStartObject();
+                    writeNamed(json, "move", "move-" + m, API + "move/" + m + "/");
+                    json.writeArrayFieldStart("version_group_details");
+                    for (int d = 0; d < detailsPerMove; d++) {
+                        json.writeStartObject();
+                        json.writeNumberField("level_learned_at", d);
+                        writeNamed(json, "move_learn_method", "level-up", API + "move-learn-method/1/");
+                        writeNamed(json, "version_group", "version-group-" + d, API + "version-group/" + d + "/");
+                        json.writeEndObject();
+                    }
+                    json.writeEndArray();
+                    json.writeEndObject();
+                }
+                json.writeEndArray();
+
+                writeNamed(json, "species", "bulbasaur", API + "pokemon-species/1/");
+
+                json.writeObjectFieldStart("sprites");
+                json.writeStringField("front_default", SPRITES + "1.png");
+                json.writeStringField("back_default", SPRITES + "back/1.png");
+                json.writeStringField("front_shiny", SPRITES + "shiny/1.png");
+                json.writeStringField("back_shiny", SPRITES + "back/shiny/1.png");
+                json.writeNullField("front_female");
+                json.writeNullField("back_female");
+                json.writeNullField("front_shiny_female");
+                json.writeNullField("back_shiny_female");
+                json.writeObjectFieldStart("versions");
+                for (int g = 0; g < 40; g++) {
+                    json.writeObjectFieldStart("generation-" + g);
+                    for (String key : List.of("front_default", "back_default", "front_shiny", "back_shiny", "front_gray", "back_gray")) {
+                        json.writeStringField(key, SPRITES + "versions/generation-" + g + "/" + key + "/1.png");
+                    }
+                    json.writeEndObject();
+                }
+                json.writeEndObject();
+                json.writeEndObject();
+
+                json.writeArrayFieldStart("stats");
+                for (String stat : List.of("hp", "attack", "defense", "special-attack", "special-defense", "speed")) {
+                    json.writeStartObject();
+                    json.writeNumberField("base_stat", 45);
+                    json.writeNumberField("effort", 0);
+                    writeNamed(json, "stat", stat, API + "stat/" + stat + "/");
+                    json.writeEndObject();
+                }
+                json.writeEndArray();
+
+                json.writeArrayFieldStart("types");
+                json.writeStartObject();
+                json.writeNumberField("slot", 1);
+                writeNamed(json, "type", "grass", API + "type/12/");
+                json.writeEndObject();
+                json.writeEndArray();
+
+                json.writeEndObject();
+            }
+            return out.toByteArray();
+        }
+
+        private static void writeNamed(JsonGenerator json, String field, String name, String url) throws IOException {
+            json.writeObjectFieldStart(field);
+            json.writeStringField("name", name);
+            json.writeStringField("url", url);
+            json.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package ec.edu.uce.pokedex.service;
+
+import ec.edu.uce.pokedex.models.*;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Comprueba el decodificador con una respuesta de {@code /pokemon/ditto} de PokeAPI
+ * (con los detalles por versión recortados): los campos que se guardan, los nulos y
+ * las propiedades que el decodificador no conoce.
+ */
+class PokemonJsonDecoderTest {
+
+    private static final String SPRITES = "https://raw.githubusercontent.com/PokeAPI/sprites/master/sprites/pokemon/";
+
+    private final PokemonJsonDecoder decoder = new PokemonJsonDecoder();
+
+    @Test
+    void decodesStoredFieldsOfDitto() throws IOException {
+        Pokemon ditto = decodeDitto();
+
+        assertEquals(132, ditto.getId());
+        assertEquals("ditto", ditto.getName());
+        assertEquals(101, ditto.getBaseExperience());
+        assertEquals(3, ditto.getHeight());
+        assertEquals(40, ditto.getWeight());
+        assertEquals(214, ditto.getOrderIndex());
+
+        assertEquals(List.of("limber", "imposter"), ditto.getAbilities().stream().map(PokemonAbility::getName).toList());
+        PokemonAbility imposter = ditto.getAbilities().get(1);
+        assertTrue(imposter.isHidden());
+        assertEquals(3, imposter.getSlot());
+        assertEquals(150, imposter.getAbility().getId());
+
+        assertEquals(List.of("hp", "attack", "defense", "special-attack", "special-defense", "speed"),
+                ditto.getStats().stream().map(Stat::getName).toList());
+        assertTrue(ditto.getStats().stream().allMatch(stat -> stat.getBaseStat() == 48));
+        assertEquals(1, ditto.getStats().get(0).getEffort());
+
+        assertEquals(List.of("normal"), ditto.getTypes().stream().map(Type::getName).toList());
+        assertEquals(1, ditto.getTypes().get(0).getId());
+
+        assertEquals(1, ditto.getMoves().size());
+        assertEquals("transform", ditto.getMoves().get(0).getName());
+        assertEquals(144, ditto.getMoves().get(0).getId());
+    }
+
+    @Test
+    void keepsDefaultSpritesAndNullFemaleSprites() throws IOException {
+        Sprites sprites = decodeDitto().getSprites();
+
+        assertEquals(SPRITES + "132.png", sprites.getFrontDefault());
+        assertEquals(SPRITES + "back/132.png", sprites.getBackDefault());
+        assertEquals(SPRITES + "shiny/132.png", sprites.getFrontShiny());
+        assertEquals(SPRITES + "back/shiny/132.png", sprites.getBackShiny());
+        assertNull(sprites.getFrontFemale());
+        assertNull(sprites.getBackFemale());
+        assertNull(sprites.getFrontShinyFemale());
+        assertNull(sprites.getBackShinyFemale());
+    }
+
+    @Test
+    void streamAndByteArrayDecodeTheSame() throws IOException {
+        byte[] json;
+        try (InputStream in = ditto()) {
+            json = in.readAllBytes();
+        }
+        Pokemon fromBytes = decoder.decode(json);
+        Pokemon fromStream = decodeDitto();
+
+        assertEquals(fromStream, fromBytes); // Solo compara los campos escalares
+        assertEquals(fromStream.getSprites().getFrontDefault(), fromBytes.getSprites().getFrontDefault());
+        assertEquals(fromStream.getMoves().size(), fromBytes.getMoves().size());
+    }
+
+    @Test
+    void nullNumbersStayNull() throws IOException {
+        Pokemon pokemon = decode("""
+                {"id": 10001, "name": "deoxys-attack", "base_experience": null, "height": null,
+                 "weight": null, "order": null}
+                """);
+
+        assertEquals(10001, pokemon.getId());
+        assertNull(pokemon.getBaseExperience());
+        assertNull(pokemon.getHeight());
+        assertNull(pokemon.getWeight());
+        assertNull(pokemon.getOrderIndex());
+    }
+
+    @Test
+    void skipsUnknownPropertiesAtEveryLevel() throws IOException {
+        Pokemon pokemon = decode("""
+                {"future_field": {"nested": [1, 2, {"deep": true}]},
+                 "id": 25, "name": "pikachu", "tags": ["a", "b"],
+                 "abilities": [{"ability": {"name": "static", "url": "https://pokeapi.co/api/v2/ability/9/",
+                                            "extra": [1]},
+                                "is_hidden": false, "slot": 1, "flavor": {"x": 1}}],
+                 "stats": [{"base_stat": 35, "effort": 0, "stat": {"name": "hp", "url": "u"}, "note": null}],
+                 "moves": [{"move": {"name": "thunder-shock", "url": "https://pokeapi.co/api/v2/move/84/"},
+                            "version_group_details": [{"level_learned_at": 1}], "new_list": []}],
+                 "sprites": {"front_default": "front.png", "other": {"home": {"front_default": "home.png"}},
+                             "brand_new": "ignored.png"}}
+                """);
+
+        assertEquals(25, pokemon.getId());
+        assertEquals("pikachu", pokemon.getName());
+        assertEquals("static", pokemon.getAbilities().get(0).getName());
+        assertEquals(35, pokemon.getStats().get(0).getBaseStat());
+        assertEquals("thunder-shock", pokemon.getMoves().get(0).getName());
+        assertEquals("front.png", pokemon.getSprites().getFrontDefault());
+    }
+
+    @Test
+    void ordersTypesBySlot() throws IOException {
+        Pokemon pokemon = decode("""
+                {"id": 1, "name": "bulbasaur", "types": [
+                  {"slot": 2, "type": {"name": "poison", "url": "https://pokeapi.co/api/v2/type/4/"}},
+                  {"slot": 1, "type": {"name": "grass", "url": "https://pokeapi.co/api/v2/type/12/"}}]}
+                """);
+
+        assertEquals(List.of("grass", "poison"), pokemon.getTypes().stream().map(Type::getName).toList());
+    }
+
+    @Test
+    void nullArraysDecodeAsEmptyLists() throws IOException {
+        Pokemon pokemon = decode("""
+                {"id": 1, "name": "missingno", "abilities": null, "moves": null, "stats": null, "types": null}
+                """);
+
+        assertEquals(List.of(), pokemon.getAbilities());
+        assertEquals(List.of(), pokemon.getMoves());
+        assertEquals(List.of(), pokemon.getStats());
+        assertEquals(List.of(), pokemon.getTypes());
+    }
+
+    @Test
+    void rejectsAPayloadThatIsNotAnObject() {
+        assertThrows(IOException.class, () -> decode("[{\"id\": 1}]"));
+    }
+
+    private Pokemon decodeDitto() throws IOException {
+        try (InputStream in = ditto()) {
+            return decoder.decode(in);
+        }
+    }
+
+    private InputStream ditto() {
+        InputStream in = getClass().getResourceAsStream("/pokeapi/pokemon-ditto.json");
+        assertNotNull(in, "Missing fixture pokeapi/pokemon-ditto.json");
+        return in;
+    }
+
+    private Pokemon decode(String json) throws IOException {
+        return decoder.decode(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
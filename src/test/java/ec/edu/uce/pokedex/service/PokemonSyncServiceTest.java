@@ -0,0 +1,247 @@
+package ec.edu.uce.pokedex.service;
+
+import ec.edu.uce.pokedex.dto.PokemonRef;
+import ec.edu.uce.pokedex.dto.SyncResult;
+import ec.edu.uce.pokedex.dto.VersionedPokemon;
+import ec.edu.uce.pokedex.models.*;
+import ec.edu.uce.pokedex.repository.PokemonRepository;
+import ec.edu.uce.pokedex.repository.ResourceVersionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+/**
+ * Comprueba la sincronización incremental sobre H2 con la API externa simulada: qué
+ * Pokémon se reescriben, qué validadores se guardan y cuándo.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // El escritor confirma sus lotes en su propio hilo
+class PokemonSyncServiceTest {
+
+    private static final String API = "https://pokeapi.co/api/v2/";
+
+    /**
+     * La capa JPA, el escritor y la sincronización, con la API externa simulada.
+     */
+    @Configuration
+    @EntityScan(basePackageClasses = Pokemon.class)
+    @EnableJpaRepositories(basePackageClasses = PokemonRepository.class)
+    @Import({PokemonSyncService.class, PokemonBatchWriter.class, QueryStatisticsService.class})
+    static class SyncSlice {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        CacheManager cacheManager() {
+            return new NoOpCacheManager();
+        }
+
+        @Bean
+        ExternalApiService externalApiService() {
+            return Mockito.mock(ExternalApiService.class);
+        }
+    }
+
+    @Autowired
+    private PokemonSyncService pokemonSyncService;
+
+    @Autowired
+    private PokemonBatchWriter pokemonBatchWriter;
+
+    @Autowired
+    private ResourceVersionRepository resourceVersionRepository;
+
+    @Autowired
+    private ExternalApiService externalApiService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Respuesta de la API por nombre; los nombres sin respuesta vuelven como 304.
+     */
+    private final Map<String, Mono<VersionedPokemon>> responses = new ConcurrentHashMap<>();
+
+    /**
+     * ETag enviado en cada petición, o {@code null} si no fue condicional.
+     */
+    private final Map<String, String> sentEtags = Collections.synchronizedMap(new HashMap<>());
+
+    @BeforeEach
+    void setUp() {
+        Mockito.reset(externalApiService);
+        doAnswer(invocation -> {
+            String name = invocation.getArgument(0);
+            ResourceVersion known = invocation.getArgument(1);
+            sentEtags.put(name, known == null ? null : known.getEtag());
+            return responses.getOrDefault(name, Mono.empty());
+        }).when(externalApiService).getPokemonIfChanged(anyString(), any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        List<String> tables = jdbcTemplate.queryForList("SELECT table_name FROM information_schema.tables "
+                + "WHERE table_schema = 'PUBLIC' AND table_type = 'BASE TABLE'", String.class);
+        jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY FALSE");
+        tables.forEach(table -> jdbcTemplate.execute("TRUNCATE TABLE " + table));
+        jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY TRUE");
+    }
+
+    @Test
+    void notModifiedPokemonIsNotWritten() {
+        store(1, 64);
+        resourceVersionRepository.save(version(1, "v1"));
+        index(1);
+
+        SyncResult result = pokemonSyncService.sync();
+
+        assertEquals(new SyncResult(1, 0), result);
+        assertEquals("v1", sentEtags.get("pokemon-1"), "the request carries the stored validators");
+        assertEquals(64, baseExperience(1));
+        assertEquals(Map.of("/pokemon/pokemon-1", "v1"), storedEtags());
+    }
+
+    @Test
+    void pokemonStoredWithoutValidatorsAdoptsThemWithoutBeingRewritten() {
+        store(1, 64);
+        index(1);
+        responses.put("pokemon-1", changed(1, "v1", 99));
+
+        SyncResult result = pokemonSyncService.sync();
+
+        assertTrue(sentEtags.containsKey("pokemon-1"));
+        assertNull(sentEtags.get("pokemon-1"), "without validators the request is not conditional");
+        assertEquals(new SyncResult(1, 0), result);
+        assertEquals(64, baseExperience(1), "an adopted Pokémon keeps its stored data");
+        assertEquals(Map.of("/pokemon/pokemon-1", "v1"), storedEtags());
+
+        responses.clear();
+        assertEquals(new SyncResult(1, 0), pokemonSyncService.sync());
+        assertEquals("v1", sentEtags.get("pokemon-1"), "the next sync is conditional");
+    }
+
+    @Test
+    void changedPokemonIsRewrittenWithItsNewValidators() {
+        store(1, 64);
+        resourceVersionRepository.save(version(1, "v1"));
+        index(1);
+        responses.put("pokemon-1", changed(1, "v2", 99));
+
+        assertEquals(new SyncResult(1, 1), pokemonSyncService.sync());
+        assertEquals(99, baseExperience(1));
+        assertEquals(Map.of("/pokemon/pokemon-1", "v2"), storedEtags());
+    }
+
+    @Test
+    void validatorsAreSavedOnlyAfterTheirBatchCommits() {
+        index(1, 2);
+        responses.put("pokemon-1", changed(1, "v1", 64));
+        responses.put("pokemon-2", Mono.fromSupplier(() -> new VersionedPokemon(pokemon(2, 64, true), version(2, "v1"))));
+
+        assertThrows(RuntimeException.class, () -> pokemonSyncService.sync());
+        assertEquals(0, count("pokemon"));
+        assertEquals(Map.of(), storedEtags(), "a rolled back batch leaves no validators behind");
+
+        sentEtags.clear();
+        responses.put("pokemon-2", changed(2, "v1", 64));
+        assertEquals(new SyncResult(2, 2), pokemonSyncService.sync());
+        assertNull(sentEtags.get("pokemon-1"));
+        assertNull(sentEtags.get("pokemon-2"));
+        assertEquals(Map.of("/pokemon/pokemon-1", "v1", "/pokemon/pokemon-2", "v1"), storedEtags());
+    }
+
+    @Test
+    void aFailedRequestIsSkippedWithoutLosingTheOthers() {
+        index(1, 2, 3);
+        responses.put("pokemon-1", changed(1, "v1", 64));
+        responses.put("pokemon-2", Mono.error(new IllegalStateException("500 Internal Server Error")));
+        responses.put("pokemon-3", changed(3, "v1", 64));
+
+        SyncResult result = pokemonSyncService.sync();
+
+        assertEquals(new SyncResult(3, 2), result);
+        assertEquals(List.of(1, 3), jdbcTemplate.queryForList("SELECT id FROM pokemon ORDER BY id", Integer.class));
+        assertEquals(Map.of("/pokemon/pokemon-1", "v1", "/pokemon/pokemon-3", "v1"), storedEtags());
+    }
+
+    private void index(int... ids) {
+        when(externalApiService.getPokemonIndex(anyInt(), anyInt())).thenReturn(Flux.fromIterable(
+                Arrays.stream(ids).mapToObj(id -> new PokemonRef(id, "pokemon-" + id)).toList()));
+    }
+
+    private void store(int id, int baseExperience) {
+        pokemonBatchWriter.write(Flux.just(pokemon(id, baseExperience, false))).blockLast();
+    }
+
+    /**
+     * Un 200 con los validadores dados; cada petición decodifica un grafo nuevo, como la API.
+     */
+    private Mono<VersionedPokemon> changed(int id, String etag, int baseExperience) {
+        return Mono.fromSupplier(() -> new VersionedPokemon(pokemon(id, baseExperience, false), version(id, etag)));
+    }
+
+    private ResourceVersion version(int id, String etag) {
+        return new ResourceVersion("/pokemon/pokemon-" + id, etag, null, Instant.now());
+    }
+
+    private int baseExperience(int id) {
+        return jdbcTemplate.queryForObject("SELECT base_experience FROM pokemon WHERE id = ?", Integer.class, id);
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+
+    private Map<String, String> storedEtags() {
+        Map<String, String> etags = new HashMap<>();
+        resourceVersionRepository.findAll().forEach(version -> etags.put(version.getPath(), version.getEtag()));
+        return etags;
+    }
+
+    /**
+     * Un Pokémon; si {@code broken}, con una estadística que la base de datos rechaza.
+     */
+    private Pokemon pokemon(int id, int baseExperience, boolean broken) {
+        Pokemon pokemon = new Pokemon();
+        pokemon.setId(id);
+        pokemon.setName("pokemon-" + id);
+        pokemon.setBaseExperience(baseExperience);
+        String statName = broken ? "x".repeat(300) : "hp"; // Más largo que la columna
+        pokemon.setStats(new ArrayList<>(List.of(new Stat(45, 0, statName))));
+        pokemon.setTypes(new ArrayList<>(List.of(new Type("grass", API + "type/12/"))));
+        pokemon.setMoves(new ArrayList<>(List.of(new Move("tackle", API + "move/33/"))));
+        pokemon.setAbilities(new ArrayList<>(List.of(new PokemonAbility(new Ability("overgrow", API + "ability/65/"), false, 1))));
+        return pokemon;
+    }
+}
@@ -0,0 +1,200 @@
+package ec.edu.uce.pokedex.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import ec.edu.uce.pokedex.config.CacheConfig;
+import ec.edu.uce.pokedex.dto.PokemonCardRow;
+import ec.edu.uce.pokedex.dto.PokemonDetail;
+import ec.edu.uce.pokedex.dto.PokemonSprites;
+import ec.edu.uce.pokedex.dto.PokemonStat;
+import ec.edu.uce.pokedex.models.*;
+import ec.edu.uce.pokedex.repository.PokemonRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Comprueba las regiones de caché de la capa de servicio sobre H2: guardan copias
+ * inmutables y no entidades, se invalidan cuando {@link PokemonBatchWriter} confirma un
+ * lote, se conservan si la transacción se revierte y respetan su tamaño máximo.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "pokedex.cache.type-members.max-size=2"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // El escritor confirma sus lotes en su propio hilo
+class ReadCacheTest {
+
+    private static final String API = "https://pokeapi.co/api/v2/";
+
+    /**
+     * La capa JPA, las cachés y los servicios que las usan.
+     */
+    @Configuration
+    @EntityScan(basePackageClasses = Pokemon.class)
+    @EnableJpaRepositories(basePackageClasses = PokemonRepository.class)
+    @Import({CacheConfig.class, PokeService.class, TypeService.class, StatService.class, SpriteService.class,
+            PokemonBatchWriter.class, QueryStatisticsService.class})
+    static class CacheSlice {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        ExternalApiService externalApiService() {
+            return Mockito.mock(ExternalApiService.class);
+        }
+    }
+
+    @Autowired
+    private PokeService pokeService;
+
+    @Autowired
+    private TypeService typeService;
+
+    @Autowired
+    private StatService statService;
+
+    @Autowired
+    private SpriteService spriteService;
+
+    @Autowired
+    private PokemonBatchWriter pokemonBatchWriter;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        // Los lotes hacen merge de lo que ya existe, así que cada prueba parte de los mismos datos
+        pokemonBatchWriter.write(Flux.just(bulbasaur(64), charmander())).blockLast();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void regionsHoldImmutableCopiesInsteadOfEntities() {
+        PokemonDetail detail = pokeService.getPokemonByName("Bulbasaur").orElseThrow();
+        List<PokemonCardRow> grass = typeService.getPokemonByType("grass");
+
+        assertSame(detail, cacheManager.getCache(CacheConfig.POKEMON_BY_NAME).get("bulbasaur").get());
+        assertSame(grass, cacheManager.getCache(CacheConfig.TYPE_MEMBERS).get("grass").get());
+        assertEquals(List.of("overgrow", "chlorophyll"), detail.abilities().stream().map(PokemonDetail.Ability::name).toList());
+        assertEquals(List.of("tackle", "vine-whip"), detail.moveNames());
+        assertEquals(List.of(new PokemonCardRow(1, "bulbasaur", "https://example.org/1.png")), grass);
+        assertThrows(UnsupportedOperationException.class, () -> detail.moveNames().add("ember"));
+        assertThrows(UnsupportedOperationException.class, () -> grass.add(new PokemonCardRow(4, "charmander", null)));
+    }
+
+    @Test
+    void statsAndSpritesAreCachedAsImmutableCopies() {
+        List<PokemonStat> stats = statService.getStatsForPokemon("bulbasaur");
+        PokemonSprites sprites = spriteService.getSpritesForPokemon("Bulbasaur");
+
+        assertSame(stats, cacheManager.getCache(CacheConfig.POKEMON_STATS).get("bulbasaur").get());
+        assertSame(sprites, cacheManager.getCache(CacheConfig.SPRITES).get("bulbasaur").get());
+        assertEquals(List.of(new PokemonStat("hp", 45, 0), new PokemonStat("attack", 49, 0)), stats);
+        assertEquals("https://example.org/1.png", sprites.frontDefault());
+        assertNull(sprites.backShinyFemale());
+        assertThrows(UnsupportedOperationException.class, () -> stats.add(new PokemonStat("speed", 45, 0)));
+    }
+
+    @Test
+    void committedBatchEvictsTheEntriesItMakesStale() {
+        assertEquals(64, pokeService.getPokemonByName("bulbasaur").orElseThrow().baseExperience());
+        assertEquals(1, typeService.getPokemonByType("grass").size());
+        pokeService.getPokemonByName("charmander");
+        statService.getStatsForPokemon("bulbasaur");
+        spriteService.getSpritesForPokemon("bulbasaur");
+
+        pokemonBatchWriter.write(Flux.just(bulbasaur(65))).blockLast();
+
+        assertNull(cacheManager.getCache(CacheConfig.POKEMON_BY_NAME).get("bulbasaur"));
+        assertNull(cacheManager.getCache(CacheConfig.TYPE_MEMBERS).get("grass"));
+        assertNull(cacheManager.getCache(CacheConfig.POKEMON_STATS).get("bulbasaur"));
+        assertNull(cacheManager.getCache(CacheConfig.SPRITES).get("bulbasaur"));
+        assertNotNull(cacheManager.getCache(CacheConfig.POKEMON_BY_NAME).get("charmander"), "not in the batch");
+        assertEquals(65, pokeService.getPokemonByName("bulbasaur").orElseThrow().baseExperience());
+    }
+
+    @Test
+    void rolledBackTransactionKeepsTheCaches() {
+        PokemonDetail cached = pokeService.getPokemonByName("bulbasaur").orElseThrow();
+        List<PokemonCardRow> grass = typeService.getPokemonByType("grass");
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            pokemonBatchWriter.evictAfterCommit(List.of(bulbasaur(65)));
+            status.setRollbackOnly();
+        });
+
+        assertSame(cached, cacheManager.getCache(CacheConfig.POKEMON_BY_NAME).get("bulbasaur").get());
+        assertSame(grass, cacheManager.getCache(CacheConfig.TYPE_MEMBERS).get("grass").get());
+    }
+
+    @Test
+    void regionSizeIsBounded() {
+        for (String type : List.of("grass", "poison", "fire", "water", "electric")) {
+            typeService.getPokemonByType(type);
+        }
+
+        Cache<Object, Object> typeMembers =
+                ((CaffeineCache) cacheManager.getCache(CacheConfig.TYPE_MEMBERS)).getNativeCache();
+        typeMembers.cleanUp();
+        assertEquals(2, typeMembers.estimatedSize());
+    }
+
+    private Pokemon bulbasaur(int baseExperience) {
+        Pokemon pokemon = pokemon(1, "bulbasaur", baseExperience);
+        pokemon.setTypes(new ArrayList<>(List.of(new Type("grass", API + "type/12/"), new Type("poison", API + "type/4/"))));
+        pokemon.setMoves(new ArrayList<>(List.of(new Move("tackle", API + "move/33/"), new Move("vine-whip", API + "move/22/"))));
+        pokemon.setAbilities(new ArrayList<>(List.of(
+                new PokemonAbility(new Ability("chlorophyll", API + "ability/34/"), true, 3),
+                new PokemonAbility(new Ability("overgrow", API + "ability/65/"), false, 1))));
+        pokemon.setStats(new ArrayList<>(List.of(new Stat(45, 0, "hp"), new Stat(49, 0, "attack"))));
+        return pokemon;
+    }
+
+    private Pokemon charmander() {
+        Pokemon pokemon = pokemon(4, "charmander", 62);
+        pokemon.setTypes(new ArrayList<>(List.of(new Type("fire", API + "type/10/"))));
+        pokemon.setMoves(new ArrayList<>(List.of(new Move("scratch", API + "move/10/"))));
+        pokemon.setAbilities(new ArrayList<>());
+        return pokemon;
+    }
+
+    private Pokemon pokemon(int id, String name, int baseExperience) {
+        Pokemon pokemon = new Pokemon();
+        pokemon.setId(id);
+        pokemon.setName(name);
+        pokemon.setBaseExperience(baseExperience);
+        pokemon.setStats(new ArrayList<>());
+        Sprites sprites = new Sprites();
+        sprites.setFrontDefault("https://example.org/" + id + ".png");
+        pokemon.setSprites(sprites);
+        return pokemon;
+    }
+}
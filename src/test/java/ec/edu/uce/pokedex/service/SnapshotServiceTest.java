@@ -0,0 +1,189 @@
+package ec.edu.uce.pokedex.service;
+
+import ec.edu.uce.pokedex.dto.IngestionProgress;
+import ec.edu.uce.pokedex.models.*;
+import ec.edu.uce.pokedex.repository.PokemonRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Comprueba sobre H2 que una instantánea exportada e importada en un esquema vacío
+ * reproduce los mismos Pokémon con todas sus asociaciones.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // El escritor confirma sus lotes en su propio hilo
+class SnapshotServiceTest {
+
+    private static final String API = "https://pokeapi.co/api/v2/";
+
+    /**
+     * Más de una página de exportación, con huecos en los ids.
+     */
+    private static final List<Integer> IDS = IntStream.rangeClosed(1, 130).map(i -> i * 3).boxed().toList();
+
+    /**
+     * La capa JPA, el decodificador, el escritor y el servicio de instantáneas.
+     */
+    @Configuration
+    @EntityScan(basePackageClasses = Pokemon.class)
+    @EnableJpaRepositories(basePackageClasses = PokemonRepository.class)
+    @Import({SnapshotService.class, PokemonJsonDecoder.class, PokemonBatchWriter.class, QueryStatisticsService.class})
+    static class SnapshotSlice {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        CacheManager cacheManager() {
+            return new NoOpCacheManager();
+        }
+    }
+
+    @Autowired
+    private SnapshotService snapshotService;
+
+    @Autowired
+    private PokemonBatchWriter pokemonBatchWriter;
+
+    @Autowired
+    private PokemonRepository pokemonRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @TempDir
+    private Path tempDir;
+
+    @AfterEach
+    void tearDown() {
+        emptyTables();
+    }
+
+    @Test
+    void importingAnExportedSnapshotRestoresTheSameGraphs() throws Exception {
+        pokemonBatchWriter.write(Flux.fromIterable(IDS.stream().map(this::pokemon).toList())).blockLast();
+        List<Graph> stored = graphs();
+        Path file = tempDir.resolve("pokedex.ndjson.gz");
+
+        assertEquals(IDS.size(), snapshotService.exportSnapshot(file));
+        emptyTables();
+        assertEquals(0, count("pokemon"));
+
+        List<IngestionProgress> progress = new ArrayList<>();
+        IngestionProgress last = snapshotService.importSnapshot(file, progress::add);
+
+        assertEquals(new IngestionProgress(IDS.size(), IDS.size()), last);
+        assertEquals(new IngestionProgress(0, IDS.size()), progress.get(0));
+        assertEquals(stored, graphs());
+        assertEquals(IDS, jdbcTemplate.queryForList(
+                "SELECT pokemon_id FROM ingestion_checkpoint ORDER BY pokemon_id", Integer.class));
+    }
+
+    @Test
+    void exportingAnEmptyDatabaseWritesAnEmptySnapshot() throws Exception {
+        Path file = tempDir.resolve("empty.ndjson.gz");
+
+        assertEquals(0, snapshotService.exportSnapshot(file));
+        assertEquals(new IngestionProgress(0, 0), snapshotService.importSnapshot(file, progress -> { }));
+    }
+
+    /**
+     * Lo que una instantánea debe conservar de un Pokémon, en una forma comparable.
+     * Los tipos mantienen su orden de slot; el resto se ordena porque su orden no se guarda.
+     */
+    private record Graph(int id, String name, Integer baseExperience, List<String> types,
+                         List<String> abilities, List<String> moves, List<String> stats, List<String> sprites) {
+    }
+
+    private List<Graph> graphs() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        return transaction.execute(status -> pokemonRepository.findAll(Sort.by("id")).stream()
+                .map(pokemon -> new Graph(
+                        pokemon.getId(),
+                        pokemon.getName(),
+                        pokemon.getBaseExperience(),
+                        pokemon.getTypes().stream().map(type -> type.getName() + " " + type.getUrl()).toList(),
+                        pokemon.getAbilities().stream()
+                                .sorted(Comparator.comparingInt(PokemonAbility::getSlot))
+                                .map(ability -> ability.getSlot() + " " + ability.getName() + " " + ability.isHidden())
+                                .toList(),
+                        pokemon.getMoves().stream().map(Move::getName).sorted().toList(),
+                        pokemon.getStats().stream()
+                                .map(stat -> stat.getName() + " " + stat.getBaseStat() + " " + stat.getEffort())
+                                .sorted()
+                                .toList(),
+                        List.of(pokemon.getSprites().getFrontDefault(), pokemon.getSprites().getBackShiny())))
+                .toList());
+    }
+
+    private void emptyTables() {
+        List<String> tables = jdbcTemplate.queryForList("SELECT table_name FROM information_schema.tables "
+                + "WHERE table_schema = 'PUBLIC' AND table_type = 'BASE TABLE'", String.class);
+        jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY FALSE");
+        tables.forEach(table -> jdbcTemplate.execute("TRUNCATE TABLE " + table));
+        jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY TRUE");
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+
+    /**
+     * Un Pokémon cuyo segundo tipo tiene un id de catálogo menor que el primero, para
+     * que un orden por id en lugar de por slot se note.
+     */
+    private Pokemon pokemon(int id) {
+        Pokemon pokemon = new Pokemon();
+        pokemon.setId(id);
+        pokemon.setName("pokemon-" + id);
+        pokemon.setBaseExperience(id % 2 == 0 ? null : 64);
+        pokemon.setHeight(7);
+        pokemon.setWeight(69);
+        pokemon.setOrderIndex(id);
+        pokemon.setStats(new ArrayList<>(List.of(new Stat(45, 0, "hp"), new Stat(id, 1, "attack"))));
+        pokemon.setTypes(new ArrayList<>(List.of(new Type("grass", API + "type/12/"), new Type("poison", API + "type/4/"))));
+        pokemon.setMoves(new ArrayList<>(List.of(new Move("tackle", API + "move/33/"),
+                new Move("vine-whip", API + "move/22/"))));
+        pokemon.setAbilities(new ArrayList<>(List.of(
+                new PokemonAbility(new Ability("overgrow", API + "ability/65/"), false, 1),
+                new PokemonAbility(new Ability("chlorophyll", API + "ability/34/"), true, 3))));
+        Sprites sprites = new Sprites();
+        sprites.setFrontDefault("https://example.org/" + id + ".png");
+        sprites.setBackShiny("https://example.org/back/shiny/" + id + ".png");
+        pokemon.setSprites(sprites);
+        return pokemon;
+    }
+}
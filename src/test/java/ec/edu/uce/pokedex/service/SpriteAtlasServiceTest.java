@@ -0,0 +1,127 @@
+package ec.edu.uce.pokedex.service;
+
+import ec.edu.uce.pokedex.dto.PokemonCardRow;
+import ec.edu.uce.pokedex.repository.PokemonRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import javax.swing.Icon;
+import javax.swing.ImageIcon;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Comprueba el atlas de sprites: cada sprite se escala una vez por tamaño y el icono
+ * dibuja esa imagen sin volver a escalar, el atlas se relee del disco y una
+ * reconstrucción descarta las variantes anteriores.
+ */
+class SpriteAtlasServiceTest {
+
+    private static final int CELL = 96;
+    private static final int BULBASAUR_GREEN = 0xFF00AA00;
+    private static final int CHARMANDER_ORANGE = 0xFFDD4400;
+
+    @TempDir
+    Path directory;
+
+    private final PokemonRepository pokemonRepository = mock(PokemonRepository.class);
+    private final ImageCacheService imageCacheService = mock(ImageCacheService.class);
+
+    @BeforeEach
+    void setUp() throws IOException {
+        when(pokemonRepository.findAllCardRows()).thenReturn(List.of(
+                new PokemonCardRow(1, "bulbasaur", "https://example.org/1.png"),
+                new PokemonCardRow(4, "charmander", "https://example.org/4.png"),
+                new PokemonCardRow(0, "missingno", null)));
+        serve(Map.of("https://example.org/1.png", BULBASAUR_GREEN, "https://example.org/4.png", CHARMANDER_ORANGE));
+    }
+
+    @Test
+    void iconsArePreScaledOncePerSize() throws IOException {
+        SpriteAtlasService atlas = atlas();
+        assertEquals(2, atlas.rebuild());
+
+        Icon first = atlas.getIcon(1, 190, 190).orElseThrow();
+        Icon again = atlas.getIcon(1, 190, 190).orElseThrow();
+        Icon small = atlas.getIcon(1, 150, 150).orElseThrow();
+
+        assertSame(image(first), image(again), "the second lookup reuses the scaled sprite");
+        assertEquals(190, first.getIconWidth());
+        assertEquals(190, first.getIconHeight());
+        assertEquals(150, small.getIconWidth());
+        assertEquals(BULBASAUR_GREEN, center(first));
+        assertEquals(CHARMANDER_ORANGE, center(atlas.getIcon(4, 190, 190).orElseThrow()));
+        assertEquals(Optional.empty(), atlas.getIcon(0, 190, 190));
+    }
+
+    @Test
+    void builtAtlasIsReadBackFromDisk() throws IOException {
+        assertFalse(atlas().isBuilt());
+        atlas().rebuild();
+
+        SpriteAtlasService reopened = atlas(); // Como tras reiniciar la aplicación
+
+        assertTrue(reopened.isBuilt());
+        assertEquals(CHARMANDER_ORANGE, center(reopened.getIcon(4, 120, 120).orElseThrow()));
+        verify(imageCacheService, times(2)).readImage(anyString());
+    }
+
+    @Test
+    void rebuildDropsSpritesScaledFromThePreviousAtlas() throws IOException {
+        SpriteAtlasService atlas = atlas();
+        atlas.rebuild();
+        assertEquals(BULBASAUR_GREEN, center(atlas.getIcon(1, 190, 190).orElseThrow()));
+
+        serve(Map.of("https://example.org/1.png", CHARMANDER_ORANGE, "https://example.org/4.png", CHARMANDER_ORANGE));
+        atlas.rebuild();
+
+        assertEquals(CHARMANDER_ORANGE, center(atlas.getIcon(1, 190, 190).orElseThrow()));
+    }
+
+    private SpriteAtlasService atlas() throws IOException {
+        return new SpriteAtlasService(directory, CELL, 4, 2, DataSize.ofMegabytes(1),
+                pokemonRepository, imageCacheService);
+    }
+
+    private void serve(Map<String, Integer> colors) throws IOException {
+        for (Map.Entry<String, Integer> entry : colors.entrySet()) {
+            when(imageCacheService.readImage(entry.getKey())).thenReturn(filled(entry.getValue()));
+        }
+    }
+
+    private static BufferedImage filled(int argb) {
+        BufferedImage image = new BufferedImage(CELL, CELL, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < CELL; y++) {
+            for (int x = 0; x < CELL; x++) {
+                image.setRGB(x, y, argb);
+            }
+        }
+        return image;
+    }
+
+    private static Image image(Icon icon) {
+        return ((ImageIcon) icon).getImage();
+    }
+
+    /**
+     * Color del píxel central del icono ya dibujado.
+     */
+    private static int center(Icon icon) {
+        BufferedImage canvas = new BufferedImage(icon.getIconWidth(), icon.getIconHeight(), BufferedImage.TYPE_INT_ARGB);
+        var graphics = canvas.createGraphics();
+        icon.paintIcon(null, graphics, 0, 0);
+        graphics.dispose();
+        return canvas.getRGB(icon.getIconWidth() / 2, icon.getIconHeight() / 2);
+    }
+}
@@ -0,0 +1,120 @@
+package ec.edu.uce.pokedex.util;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara el camino anterior de las vistas (decodificar con {@code ImageIO.read} y
+ * escalar con {@code getScaledInstance(SCALE_SMOOTH)}) frente a {@link ImageScaler}.
+ * <p>
+ * Las imágenes son sintéticas con el tamaño de las reales: un sprite de 96 px que la
+ * página de inicio amplía a 190 px y un arte oficial de 475 px que la lista de tipos
+ * reduce a 150 px. Para que la comparación sea justa, la imagen de
+ * {@code getScaledInstance} se dibuja en un {@link BufferedImage}, que es cuando
+ * realmente se escala. Se ejecuta con {@code main}, que activa el perfilador de GC.
+ * <p>
+ * Resultado de referencia (JDK 21, un núcleo, G1):
+ * <pre>
+ * Benchmark                 Score (us/op)   gc.alloc.rate.norm (B/op)
+ * spriteScaledInstance       2004 ± 1143          776 323
+ * spriteScaler                851 ± 621           256 012
+ * artworkScaledInstance     12977 ± 3564        7 555 980
+ * artworkScalerSubsampled    2840 ± 374           238 772
+ * artworkScaleOnly           1413 ± 994           317 378
+ * </pre>
+ * Con el submuestreo el arte oficial ni siquiera se decodifica entero: reservar la
+ * imagen completa ({@code artworkScaleOnly}) ya cuesta más memoria que decodificarla
+ * submuestreada y escalarla.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ImageScalerBenchmark {
+
+    private byte[] sprite;
+    private byte[] artwork;
+    private BufferedImage decodedArtwork;
+
+    @Setup
+    public void createImages() throws IOException {
+        sprite = png(96);
+        artwork = png(475);
+        decodedArtwork = ImageIO.read(new ByteArrayInputStream(artwork));
+    }
+
+    @Benchmark
+    public BufferedImage spriteScaledInstance() throws IOException {
+        return scaledInstance(ImageIO.read(new ByteArrayInputStream(sprite)), 190);
+    }
+
+    @Benchmark
+    public BufferedImage spriteScaler() throws IOException {
+        return ImageScaler.scale(ImageScaler.decode(sprite, 190, 190), 190, 190);
+    }
+
+    @Benchmark
+    public BufferedImage artworkScaledInstance() throws IOException {
+        return scaledInstance(ImageIO.read(new ByteArrayInputStream(artwork)), 150);
+    }
+
+    @Benchmark
+    public BufferedImage artworkScalerSubsampled() throws IOException {
+        return ImageScaler.scale(ImageScaler.decode(artwork, 150, 150), 150, 150);
+    }
+
+    /**
+     * Solo el escalado, con la imagen ya en memoria, para separarlo de la decodificación.
+     */
+    @Benchmark
+    public BufferedImage artworkScaleOnly() {
+        return ImageScaler.scale(decodedArtwork, 150, 150);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ImageScalerBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+
+    private static BufferedImage scaledInstance(BufferedImage source, int size) {
+        Image scaled = source.getScaledInstance(size, size, Image.SCALE_SMOOTH);
+        BufferedImage target = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = target.createGraphics();
+        graphics.drawImage(scaled, 0, 0, null);
+        graphics.dispose();
+        return target;
+    }
+
+    /**
+     * PNG con transparencia y degradados, como los sprites de la API.
+     */
+    private static byte[] png(int size) throws IOException {
+        BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        graphics.setPaint(new GradientPaint(0, 0, Color.ORANGE, size, size, Color.RED));
+        graphics.fillOval(size / 8, size / 8, size * 3 / 4, size * 3 / 4);
+        graphics.setColor(Color.BLACK);
+        graphics.setStroke(new BasicStroke(Math.max(1, size / 48f)));
+        graphics.drawOval(size / 8, size / 8, size * 3 / 4, size * 3 / 4);
+        graphics.dispose();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,89 @@
+package ec.edu.uce.pokedex.util;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Comprueba que el escalado mantiene la proporción, que la decodificación solo
+ * submuestrea cuando la imagen es al menos el doble del destino y que la ampliación
+ * termina en el tamaño pedido.
+ */
+class ImageScalerTest {
+
+    @Test
+    void scaledImageKeepsTheAspectRatioAndFitsTheBox() {
+        assertSize(150, 75, ImageScaler.scale(image(300, 150), 150, 150));
+        assertSize(95, 190, ImageScaler.scale(image(100, 200), 190, 190));
+        assertSize(50, 13, ImageScaler.scale(image(400, 100), 50, 50)); // Un eje llega antes que el otro
+    }
+
+    @Test
+    void artworkIsSubsampledOnlyWhenItIsTwiceTheTarget() throws IOException {
+        byte[] artwork = png(475);
+
+        assertSize(475, 475, ImageScaler.decode(artwork, 238, 238)); // Factor 1: se lee entera
+        assertSize(238, 238, ImageScaler.decode(artwork, 237, 237)); // Factor 2: uno de cada dos píxeles
+        BufferedImage card = ImageScaler.decode(artwork, 150, 150);
+        assertSize(159, 159, card); // Factor 3
+        assertTrue(card.getWidth() >= 150 && card.getWidth() < 2 * 150, "never below nor twice the target");
+    }
+
+    @Test
+    void subsamplingUsesTheSmallerFactorOfBothAxes() throws IOException {
+        byte[] wide = png(600, 200);
+
+        assertSize(300, 100, ImageScaler.decode(wide, 100, 100)); // 6 a lo ancho, 2 a lo alto
+    }
+
+    @Test
+    void spriteSmallerThanTheTargetIsNotSubsampled() throws IOException {
+        assertSize(96, 96, ImageScaler.decode(png(96), 190, 190));
+    }
+
+    @Test
+    void upscaleDrawsStraightToTheTargetSize() {
+        BufferedImage sprite = image(96, 96);
+
+        BufferedImage scaled = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> ImageScaler.scale(sprite, 190, 190));
+
+        assertSize(190, 190, scaled);
+        assertEquals(BufferedImage.TYPE_INT_ARGB, scaled.getType());
+        assertEquals(Color.RED.getRGB(), scaled.getRGB(95, 95));
+    }
+
+    @Test
+    void unsupportedBytesAreRejected() {
+        assertThrows(IOException.class, () -> ImageScaler.decode(new byte[]{1, 2, 3}, 96, 96));
+    }
+
+    private static void assertSize(int width, int height, BufferedImage image) {
+        assertEquals(width + "x" + height, image.getWidth() + "x" + image.getHeight());
+    }
+
+    private static BufferedImage image(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.RED);
+        graphics.fillRect(0, 0, width, height);
+        graphics.dispose();
+        return image;
+    }
+
+    private static byte[] png(int size) throws IOException {
+        return png(size, size);
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image(width, height), "png", out);
+        return out.toByteArray();
+    }
+}
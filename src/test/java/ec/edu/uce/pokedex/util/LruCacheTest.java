@@ -0,0 +1,88 @@
+package ec.edu.uce.pokedex.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Comprueba que la LRU desaloja por el peso de los píxeles y no por número de
+ * entradas, empezando por la menos usada.
+ */
+class LruCacheTest {
+
+    private static final long SPRITE_BYTES = 96 * 96 * 4;
+
+    private final LruCache<String, BufferedImage> cache =
+            new LruCache<>(2 * SPRITE_BYTES, image -> (long) image.getWidth() * image.getHeight() * 4);
+
+    @Test
+    void evictsLeastRecentlyUsedWhenPixelBytesExceedTheLimit() {
+        cache.put("bulbasaur", image(96));
+        cache.put("ivysaur", image(96));
+        cache.get("bulbasaur"); // Ahora ivysaur es la menos usada
+
+        cache.put("venusaur", image(96));
+
+        assertNull(cache.get("ivysaur"));
+        assertNotNull(cache.get("bulbasaur"));
+        assertNotNull(cache.get("venusaur"));
+        assertEquals(2 * SPRITE_BYTES, cache.weight());
+        assertEquals(1, cache.evictions());
+    }
+
+    @Test
+    void largerImageEvictsAsManySmallOnesAsItWeighs() {
+        for (int i = 0; i < 16; i++) {
+            cache.put("icon-" + i, image(48));
+        }
+        assertEquals(8, cache.size()); // 48×48 es una cuarta parte de 96×96
+
+        cache.put("artwork", image(64)); // Pesa casi dos iconos
+
+        assertNotNull(cache.get("artwork"));
+        assertEquals(7, cache.size());
+        assertTrue(cache.weight() <= 2 * SPRITE_BYTES, "weight: " + cache.weight());
+        assertNull(cache.get("icon-8"), "the least recently used icons leave first");
+        assertNull(cache.get("icon-9"));
+        assertNotNull(cache.get("icon-10"));
+    }
+
+    @Test
+    void imageHeavierThanTheLimitIsNotStored() {
+        cache.put("bulbasaur", image(96));
+
+        cache.put("huge", image(512));
+
+        assertNull(cache.get("huge"));
+        assertNotNull(cache.get("bulbasaur"), "a rejected entry does not evict the others");
+    }
+
+    @Test
+    void replacingAnEntryUpdatesTheWeight() {
+        cache.put("bulbasaur", image(96));
+        cache.put("bulbasaur", image(48));
+
+        assertEquals(1, cache.size());
+        assertEquals(48 * 48 * 4, cache.weight());
+    }
+
+    @Test
+    void countsHitsAndMisses() {
+        cache.put("bulbasaur", image(96));
+
+        cache.get("bulbasaur");
+        cache.get("missingno");
+        cache.clear();
+        cache.get("bulbasaur");
+
+        assertEquals(1, cache.hits());
+        assertEquals(2, cache.misses());
+        assertEquals(0, cache.weight());
+    }
+
+    private static BufferedImage image(int size) {
+        return new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+    }
+}
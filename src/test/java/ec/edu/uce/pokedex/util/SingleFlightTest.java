@@ -0,0 +1,105 @@
+package ec.edu.uce.pokedex.util;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Comprueba que los llamadores concurrentes de una clave comparten una ejecución y su
+ * resultado o error, y que la clave queda libre al terminar.
+ */
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @Test
+    void concurrentCallersShareOneExecution() throws Exception {
+        Sinks.One<String> response = Sinks.one();
+        int callers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            CountDownLatch subscribed = new CountDownLatch(callers);
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> singleFlight.execute("pikachu", () -> call(response.asMono()))
+                        .doOnSubscribe(subscription -> subscribed.countDown())
+                        .block()));
+            }
+            assertTrue(subscribed.await(5, TimeUnit.SECONDS));
+            assertEquals(1, singleFlight.inFlightCount());
+
+            response.tryEmitValue("pikachu-data");
+
+            for (Future<String> result : results) {
+                assertEquals("pikachu-data", result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, executions.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void differentKeysRunSeparately() {
+        Sinks.One<String> pikachu = Sinks.one();
+        Sinks.One<String> eevee = Sinks.one();
+
+        Mono<String> first = singleFlight.execute("pikachu", () -> call(pikachu.asMono()));
+        Mono<String> second = singleFlight.execute("eevee", () -> call(eevee.asMono()));
+        first.subscribe();
+        second.subscribe();
+
+        assertEquals(2, executions.get());
+        assertEquals(2, singleFlight.inFlightCount());
+    }
+
+    @Test
+    void failurePropagatesToEveryWaiter() {
+        Sinks.One<String> response = Sinks.one();
+        CompletableFuture<String> first = singleFlight.execute("missingno", () -> call(response.asMono())).toFuture();
+        CompletableFuture<String> second = singleFlight.execute("missingno", () -> call(response.asMono())).toFuture();
+
+        response.tryEmitError(new IllegalStateException("404 Not Found"));
+
+        for (CompletableFuture<String> waiter : List.of(first, second)) {
+            ExecutionException failure = assertThrows(ExecutionException.class, () -> waiter.get(5, TimeUnit.SECONDS));
+            assertEquals("404 Not Found", failure.getCause().getMessage());
+        }
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void keyIsReleasedAfterCompletion() {
+        assertEquals("first", singleFlight.execute("pikachu", () -> call(Mono.just("first"))).block());
+
+        assertEquals(0, singleFlight.inFlightCount());
+        assertEquals("second", singleFlight.execute("pikachu", () -> call(Mono.just("second"))).block());
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void keyIsReleasedAfterError() {
+        Mono<String> failing = singleFlight.execute("pikachu", () -> call(Mono.error(new IllegalStateException("boom"))));
+        assertThrows(IllegalStateException.class, failing::block);
+
+        assertEquals(0, singleFlight.inFlightCount());
+        assertEquals("retry", singleFlight.execute("pikachu", () -> call(Mono.just("retry"))).block());
+        assertEquals(2, executions.get());
+    }
+
+    /**
+     * Cuenta cuántas veces se crea la petición real.
+     */
+    private Mono<String> call(Mono<String> response) {
+        executions.incrementAndGet();
+        return response;
+    }
+}
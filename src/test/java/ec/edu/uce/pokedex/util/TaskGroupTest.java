@@ -0,0 +1,140 @@
+package ec.edu.uce.pokedex.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.SwingUtilities;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Comprueba que {@link TaskGroup#track} entrega el resultado en el hilo de Swing y que
+ * {@link TaskGroup#cancelAll()} cancela el trabajo seguido y descarta su resultado, también
+ * el de una tarea que aún no había empezado.
+ */
+class TaskGroupTest {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final TaskGroup tasks = new TaskGroup(executor);
+    private final List<String> delivered = Collections.synchronizedList(new ArrayList<>());
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void trackDeliversOnTheEventDispatchThread() throws Exception {
+        CompletableFuture<String> load = new CompletableFuture<>();
+        tasks.track(load, value -> delivered.add(value + " on EDT: " + SwingUtilities.isEventDispatchThread()),
+                ex -> delivered.add("error"));
+        assertEquals(1, tasks.runningCount());
+
+        load.complete("sprite");
+        flushEventQueue();
+
+        assertEquals(List.of("sprite on EDT: true"), delivered);
+        assertEquals(0, tasks.runningCount());
+    }
+
+    @Test
+    void trackDeliversFailures() throws Exception {
+        tasks.track(CompletableFuture.failedFuture(new IllegalStateException("404")),
+                value -> delivered.add("value"), ex -> delivered.add(ex.getMessage()));
+        flushEventQueue();
+
+        assertEquals(List.of("404"), delivered);
+        assertEquals(0, tasks.runningCount());
+    }
+
+    @Test
+    void cancelAllCancelsTrackedWork() throws Exception {
+        CompletableFuture<String> load = new CompletableFuture<>();
+        tasks.track(load, delivered::add, ex -> delivered.add("error"));
+
+        tasks.cancelAll();
+        flushEventQueue();
+
+        assertTrue(load.isCancelled());
+        assertEquals(List.of(), delivered, "a cancelled load reports nothing");
+        assertEquals(0, tasks.runningCount());
+    }
+
+    @Test
+    void cancelAllCompletesATaskThatNeverStarted() throws Exception {
+        ExecutorService single = Executors.newSingleThreadExecutor();
+        TaskGroup queued = new TaskGroup(single);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean ran = new AtomicBoolean();
+        try {
+            single.submit(() -> {
+                release.await(); // Ocupa el único hilo para que la tarea quede en cola
+                return null;
+            });
+            CompletableFuture<String> result = queued.submit(() -> {
+                ran.set(true);
+                return "bulbasaur";
+            }, delivered::add, ex -> delivered.add("error"));
+            CompletableFuture<String> chained = result.thenApply(String::toUpperCase);
+
+            queued.cancelAll();
+            release.countDown();
+            single.shutdown();
+            assertTrue(single.awaitTermination(5, TimeUnit.SECONDS));
+            flushEventQueue();
+
+            assertTrue(result.isCancelled());
+            ExecutionException failure = assertThrows(ExecutionException.class, () -> chained.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(CancellationException.class, failure.getCause(), "a chained stage does not hang");
+            assertFalse(ran.get(), "a cancelled task never starts");
+            assertEquals(List.of(), delivered);
+            assertEquals(0, queued.runningCount());
+        } finally {
+            release.countDown();
+            single.shutdownNow();
+        }
+    }
+
+    @Test
+    void resultsOfAReplacedSearchAreDropped() throws Exception {
+        CountDownLatch edtBusy = new CountDownLatch(1);
+        SwingUtilities.invokeLater(() -> {
+            try {
+                edtBusy.await(); // Retiene el hilo de Swing para que la entrega quede en cola
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        tasks.track(CompletableFuture.completedFuture("bulbasaur"), delivered::add, ex -> delivered.add("error"));
+
+        tasks.cancelAll(); // Empieza una búsqueda nueva antes de que se entregue la anterior
+        tasks.track(CompletableFuture.completedFuture("charmander"), delivered::add, ex -> delivered.add("error"));
+        edtBusy.countDown();
+        flushEventQueue();
+
+        assertEquals(List.of("charmander"), delivered);
+    }
+
+    @Test
+    void submitRunsOffTheEventDispatchThread() throws Exception {
+        CompletableFuture<Boolean> onEdt = tasks.submit(SwingUtilities::isEventDispatchThread,
+                value -> delivered.add("done"), ex -> delivered.add("error"));
+
+        assertFalse(onEdt.get());
+        flushEventQueue();
+        assertEquals(List.of("done"), delivered);
+    }
+
+    /**
+     * Espera a que el hilo de Swing procese lo que ya tiene en cola.
+     */
+    private static void flushEventQueue() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+        });
+    }
+}
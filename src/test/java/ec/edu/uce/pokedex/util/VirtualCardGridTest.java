@@ -0,0 +1,176 @@
+package ec.edu.uce.pokedex.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.JLabel;
+import javax.swing.JScrollPane;
+import javax.swing.JViewport;
+import javax.swing.SwingUtilities;
+import java.awt.Component;
+import java.awt.Dimension;
+import java.awt.Point;
+import java.lang.reflect.InvocationTargetException;
+import java.util.*;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Comprueba que la cuadrícula solo vincula las tarjetas de las filas visibles, las
+ * reutiliza al desplazarse, avisa una vez al acercarse al final y no acumula
+ * suscripciones al viewport cuando se quita y se vuelve a añadir. Todo se ejecuta en
+ * el hilo de Swing, como en la aplicación.
+ */
+class VirtualCardGridTest {
+
+    private static final Dimension CARD = new Dimension(100, 100);
+    private static final int GAP = 10;
+    private static final int COLUMNS = 4;
+    private static final int BOUND_ROWS = 5; // 3 filas a la vista y las de reserva
+
+    private final List<JLabel> created = new ArrayList<>();
+    private final Map<JLabel, Integer> bound = new HashMap<>();
+    private int nearEndCalls;
+    private VirtualCardGrid<Integer, JLabel> grid;
+    private JScrollPane scrollPane;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        onEdt(() -> {
+            grid = new VirtualCardGrid<>(new VirtualCardGrid.CardBinder<>() {
+                @Override
+                public JLabel createCard() {
+                    JLabel card = new JLabel();
+                    created.add(card);
+                    return card;
+                }
+
+                @Override
+                public void bind(JLabel card, Integer item) {
+                    assertNull(bound.put(card, item), "a card is unbound before it is reused");
+                }
+
+                @Override
+                public void unbind(JLabel card) {
+                    assertNotNull(bound.remove(card));
+                }
+            }, CARD, GAP, GAP);
+            grid.setOnNearEnd(() -> nearEndCalls++);
+            scrollPane = new JScrollPane(grid);
+            scrollPane.setBorder(null);
+            scrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_NEVER);
+            scrollPane.setSize(450, 330); // 4 columnas y 3 filas a la vista
+            scrollPane.addNotify();
+            scrollPane.validate();
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        onEdt(() -> scrollPane.removeNotify());
+    }
+
+    @Test
+    void onlyVisibleRowsAreBound() throws Exception {
+        onEdt(() -> {
+            grid.setItems(items(1000));
+            scrollPane.validate();
+
+            assertEquals(IntStream.range(0, BOUND_ROWS * COLUMNS).boxed().toList(),
+                    bound.values().stream().sorted().toList());
+            assertEquals(BOUND_ROWS * COLUMNS, created.size());
+        });
+    }
+
+    @Test
+    void scrollingReusesCards() throws Exception {
+        onEdt(() -> {
+            grid.setItems(items(1000));
+            scrollPane.validate();
+
+            for (int index = 0; index < 1000; index += 40) {
+                grid.scrollToIndex(index);
+                assertTrue(bound.containsValue(index), "row of item " + index + " is bound");
+            }
+
+            assertTrue(created.size() <= (BOUND_ROWS + 1) * COLUMNS, "cards created: " + created.size());
+            assertTrue(bound.size() <= (BOUND_ROWS + 1) * COLUMNS, "cards bound: " + bound.size());
+            for (Map.Entry<JLabel, Integer> entry : bound.entrySet()) {
+                int row = entry.getValue() / COLUMNS;
+                int column = entry.getValue() % COLUMNS;
+                assertEquals(new Point(GAP + column * (CARD.width + GAP), GAP + row * (CARD.height + GAP)),
+                        entry.getKey().getLocation());
+                assertTrue(entry.getKey().isVisible());
+            }
+        });
+    }
+
+    @Test
+    void nearEndIsNotifiedOncePerItemCount() throws Exception {
+        onEdt(() -> {
+            grid.setItems(items(40));
+            scrollPane.validate();
+            assertEquals(0, nearEndCalls);
+
+            grid.scrollToIndex(36);
+            grid.scrollToIndex(32);
+            assertEquals(1, nearEndCalls);
+
+            grid.addItems(items(40));
+            scrollPane.validate();
+            grid.scrollToIndex(79);
+            assertEquals(2, nearEndCalls);
+        });
+    }
+
+    @Test
+    void setItemsReleasesEveryBoundCard() throws Exception {
+        onEdt(() -> {
+            grid.setItems(items(1000));
+            scrollPane.validate();
+
+            grid.setItems(List.of());
+
+            assertEquals(Map.of(), bound);
+            assertTrue(Arrays.stream(grid.getComponents()).noneMatch(Component::isVisible));
+        });
+    }
+
+    @Test
+    void viewportListenerIsRegisteredOnce() throws Exception {
+        onEdt(() -> {
+            JViewport viewport = scrollPane.getViewport();
+            int listeners = viewport.getChangeListeners().length;
+
+            for (int i = 0; i < 3; i++) {
+                scrollPane.removeNotify();
+                scrollPane.addNotify();
+            }
+
+            assertEquals(listeners, viewport.getChangeListeners().length);
+            scrollPane.removeNotify();
+            assertEquals(listeners - 1, viewport.getChangeListeners().length);
+            scrollPane.addNotify();
+        });
+    }
+
+    private static List<Integer> items(int count) {
+        return IntStream.range(0, count).boxed().toList();
+    }
+
+    /**
+     * Ejecuta en el hilo de Swing y relanza los fallos de las aserciones.
+     */
+    private static void onEdt(Runnable action) throws Exception {
+        try {
+            SwingUtilities.invokeAndWait(action);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
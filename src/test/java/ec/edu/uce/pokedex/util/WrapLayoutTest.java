@@ -0,0 +1,45 @@
+package ec.edu.uce.pokedex.util;
+
+import org.junit.jupiter.api.Test;
+
+import javax.swing.BorderFactory;
+import javax.swing.JPanel;
+import java.awt.FlowLayout;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Comprueba cuántas tarjetas caben por fila según el ancho, los márgenes y las
+ * separaciones del contenedor.
+ */
+class WrapLayoutTest {
+
+    private final WrapLayout layout = new WrapLayout(FlowLayout.LEFT, 10, 10);
+
+    @Test
+    void columnsCountGapsOnBothEdgesAndBetweenItems() {
+        // 3 tarjetas de 100 + 2 huecos entre ellas + 1 hueco a cada lado
+        assertEquals(3, layout.columnsFor(panel(340, 0), 100));
+        assertEquals(2, layout.columnsFor(panel(339, 0), 100));
+        assertEquals(4, layout.columnsFor(panel(470, 0), 100));
+    }
+
+    @Test
+    void insetsNarrowTheRow() {
+        assertEquals(3, layout.columnsFor(panel(350, 5), 100));
+        assertEquals(2, layout.columnsFor(panel(349, 5), 100));
+    }
+
+    @Test
+    void alwaysAtLeastOneColumn() {
+        assertEquals(1, layout.columnsFor(panel(0, 0), 100));
+        assertEquals(1, layout.columnsFor(panel(50, 0), 100));
+    }
+
+    private static JPanel panel(int width, int inset) {
+        JPanel panel = new JPanel();
+        panel.setBorder(BorderFactory.createEmptyBorder(inset, inset, inset, inset));
+        panel.setSize(width, 500);
+        return panel;
+    }
+}